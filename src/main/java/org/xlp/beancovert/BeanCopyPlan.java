@@ -0,0 +1,188 @@
+package org.xlp.beancovert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+import org.xlp.javabean.PropertyDescriptor;
+
+/**
+ * <p>创建时间：2026年10月18日 下午3:20:41</p>
+ * @author xlp
+ * @version 1.0
+ * @Description bean拷贝计划，每一对(源类型, 目标类型, 转换配置)只编译一次
+ * <p>
+ * 编译时确定同名字段对、每个字段使用的转换器以及是否需要判断null或""，执行时只调用已缓存的读写方法
+*/
+final class BeanCopyPlan {
+	/**
+	 * 没有转换配置时使用的全局缓存，源类型 -> (目标类型 -> 拷贝计划)。
+	 * 拷贝计划保存在目标类型的缓存中，源类型的缓存中不会引用目标类型
+	 */
+	private static final ClassValue<ClassValue<AtomicReference<BeanCopyPlan>>> DEFAULT_PLANS =
+			new ClassValue<ClassValue<AtomicReference<BeanCopyPlan>>>() {
+		@Override
+		protected ClassValue<AtomicReference<BeanCopyPlan>> computeValue(Class<?> sourceType) {
+			return new ClassValue<AtomicReference<BeanCopyPlan>>() {
+				@Override
+				protected AtomicReference<BeanCopyPlan> computeValue(Class<?> targetType) {
+					return new AtomicReference<BeanCopyPlan>();
+				}
+			};
+		}
+	};
+
+	/**
+	 * 编译时使用的源类型属性描述，全局缓存被清除后与{@link JavaBeanPropertiesDescriptor#getInstance(Class)}
+	 * 的返回值不再相同，此时该计划失效
+	 */
+	private final JavaBeanPropertiesDescriptor<?> sourceDescriptor;
+
+	/**
+	 * 编译时使用的目标类型属性描述
+	 */
+	private final JavaBeanPropertiesDescriptor<?> targetDescriptor;
+
+	/**
+	 * 要拷贝的字段对
+	 */
+	final FieldPair[] pairs;
+
+	private BeanCopyPlan(JavaBeanPropertiesDescriptor<?> sourceDescriptor,
+			JavaBeanPropertiesDescriptor<?> targetDescriptor, FieldPair[] pairs){
+		this.sourceDescriptor = sourceDescriptor;
+		this.targetDescriptor = targetDescriptor;
+		this.pairs = pairs;
+	}
+
+	/**
+	 * 判断该计划是否是用给定的属性描述编译的
+	 *
+	 * @param sjps
+	 * @param tjps
+	 * @return
+	 */
+	private boolean isCompiledWith(JavaBeanPropertiesDescriptor<?> sjps, JavaBeanPropertiesDescriptor<?> tjps){
+		return sourceDescriptor == sjps && targetDescriptor == tjps;
+	}
+
+	/**
+	 * 获取拷贝计划，不存在或{@link JavaBeanPropertiesDescriptor}的缓存被清除后编译并缓存
+	 *
+	 * @param sourceClass 源bean类型
+	 * @param targetClass 目标bean类型
+	 * @param settings bean字段转换配置，可以为null
+	 * @return
+	 */
+	static BeanCopyPlan getPlan(Class<?> sourceClass, Class<?> targetClass,
+			BeanFieldConvertSettings settings){
+		JavaBeanPropertiesDescriptor<?> sjps = JavaBeanPropertiesDescriptor.getInstance(sourceClass);
+		JavaBeanPropertiesDescriptor<?> tjps = JavaBeanPropertiesDescriptor.getInstance(targetClass);
+		if (settings == null) {
+			AtomicReference<BeanCopyPlan> cached = DEFAULT_PLANS.get(sourceClass).get(targetClass);
+			BeanCopyPlan plan = cached.get();
+			if (plan == null || !plan.isCompiledWith(sjps, tjps)) {
+				plan = compile(sjps, tjps, null);
+				cached.set(plan);
+			}
+			return plan;
+		}
+		Map<Class<?>, BeanCopyPlan> plans = settings.getCopyPlans(sourceClass);
+		BeanCopyPlan plan = plans.get(targetClass);
+		if (plan == null || !plan.isCompiledWith(sjps, tjps)) {
+			plan = compile(sjps, tjps, settings);
+			plans.put(targetClass, plan);
+		}
+		return plan;
+	}
+
+	/**
+	 * 编译拷贝计划
+	 *
+	 * @param sjps 源类型属性描述
+	 * @param tjps 目标类型属性描述
+	 * @param settings
+	 * @return
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static BeanCopyPlan compile(JavaBeanPropertiesDescriptor<?> sjps, JavaBeanPropertiesDescriptor<?> tjps,
+			BeanFieldConvertSettings settings){
+		List<FieldPair> pairs = new ArrayList<FieldPair>();
+		for (PropertyDescriptor<?> tp : tjps.getPds()) {
+			String fieldName = tp.getFieldName();
+			//字段名重复时只使用子类字段
+			if (tjps.getDescriptor(fieldName) != tp) continue;
+
+			PropertyDescriptor<?> sp = sjps.getDescriptor(fieldName);
+			if (sp == null) continue;
+
+			IBeanFieldCovert fieldCovert = settings == null ? null : settings.getCovert(fieldName);
+			pairs.add(new FieldPair(fieldName, (PropertyDescriptor) sp, (PropertyDescriptor) tp, fieldCovert));
+		}
+		return new BeanCopyPlan(sjps, tjps, pairs.toArray(new FieldPair[pairs.size()]));
+	}
+
+	/**
+	 * 一对同名字段
+	 */
+	static final class FieldPair {
+		final String fieldName;
+
+		/**
+		 * 源bean字段描述
+		 */
+		final PropertyDescriptor<Object> sp;
+
+		/**
+		 * 目标bean字段描述
+		 */
+		final PropertyDescriptor<Object> tp;
+
+		/**
+		 * 配置的字段转换器，为null时使用默认转换
+		 */
+		final IBeanFieldCovert fieldCovert;
+
+		/**
+		 * 源字段值是否可能为null，基本类型字段不可能为null
+		 */
+		final boolean nullable;
+
+		/**
+		 * 源字段值是否可能为""
+		 */
+		final boolean mayBeEmpty;
+
+		/**
+		 * 默认转换时是否需要转换值的类型
+		 */
+		final boolean needCovert;
+
+		FieldPair(String fieldName, PropertyDescriptor<Object> sp, PropertyDescriptor<Object> tp,
+				IBeanFieldCovert fieldCovert) {
+			this.fieldName = fieldName;
+			this.sp = sp;
+			this.tp = tp;
+			this.fieldCovert = fieldCovert;
+			Class<?> sc = sp.getFiledClassType();
+			this.nullable = sc == null || !sc.isPrimitive();
+			this.mayBeEmpty = sc == null || sc.isAssignableFrom(String.class);
+			this.needCovert = FieldCovertUtils.needCovert(tp.getFiledClassType(), sc);
+		}
+
+		/**
+		 * 把源字段值转换成目标字段类型的值
+		 *
+		 * @param value
+		 * @return
+		 */
+		Object covert(Object value){
+			if (fieldCovert != null) {
+				return fieldCovert.covert(value);
+			}
+			return needCovert ? FieldCovertUtils.covert(value, tp, sp) : value;
+		}
+	}
+}
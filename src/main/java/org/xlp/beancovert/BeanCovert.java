@@ -1,13 +1,12 @@
 package org.xlp.beancovert;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.xlp.assertion.AssertUtils;
 import org.xlp.beancovert.exception.BeanConvertException;
-import org.xlp.javabean.JavaBeanPropertiesDescriptor;
 import org.xlp.javabean.MethodException;
-import org.xlp.javabean.PropertyDescriptor;
 import org.xlp.utils.XLPOutputInfoUtil;
 import org.xlp.utils.XLPStringUtil;
 
@@ -59,31 +58,28 @@ public class BeanCovert {
 	public <T, S> void covert(T targetBean, S sourceBean) throws BeanConvertException{
 		AssertUtils.isNotNull(targetBean, "targetBean parameter is null");
 		if (sourceBean == null) return;
-		//记录源对象字段信息
-		Map<String, PropertyDescriptor<S>> sMap = getBeanFieldMapper(sourceBean);
-		//记录目标对象字段信息
-		Map<String, PropertyDescriptor<T>> tMap = getBeanFieldMapper(targetBean);
-		String fieldName;
-		PropertyDescriptor<T> tp;
-		PropertyDescriptor<S> sp;
-		for(Map.Entry<String, PropertyDescriptor<T>> entry : tMap.entrySet()){
-			//字段值浅拷贝
-			fieldName = entry.getKey();
-			//源bean字段描述
-			sp = sMap.get(fieldName);
-			
-			if (sp == null) continue;
-			
-			//目标bean字段描述
-			tp = entry.getValue();
-			
+		BeanCopyPlan plan = BeanCopyPlan.getPlan(sourceBean.getClass(), targetBean.getClass(), 
+				convertSettings);
+		copy(plan, targetBean, sourceBean);
+	}
+	
+	/**
+	 * 按拷贝计划把源bean的字段值赋值给目标bean
+	 * 
+	 * @param plan 拷贝计划
+	 * @param targetBean 目标bean
+	 * @param sourceBean 要转换的bean
+	 * @throws BeanConvertException 假如bean转换失败，则抛出该异常
+	 */
+	private void copy(BeanCopyPlan plan, Object targetBean, Object sourceBean) throws BeanConvertException{
+		for (BeanCopyPlan.FieldPair pair : plan.pairs) {
 			//获取源bean字段值
 			Object value = null;
 			try {
-				value = sp.executeReadMethod(sourceBean);
+				value = pair.sp.executeReadMethod(sourceBean);
 			} catch (MethodException e) {
 				if (covertFailThrow) {
-					throw new BeanConvertException("源对象的【" + fieldName + "】的字段值读取失败，", e);
+					throw new BeanConvertException("源对象的【" + pair.fieldName + "】的字段值读取失败，", e);
 				}
 				XLPOutputInfoUtil.println(e);
 				//不抛出异常时，继续拷贝其他的字段
@@ -91,49 +87,25 @@ public class BeanCovert {
 			}
 			
 			//判断是否需要把源字段的值赋值给目标字段
-			if (skipNull && value == null) continue;
-			if (skipEmpty && XLPStringUtil.EMPTY.equals(value)) continue;
-			
-			//获取bean字段转换器
-			IBeanFieldCovert fieldCovert = convertSettings == null ? null 
-					: convertSettings.getCovert(fieldName);
+			if (skipNull && pair.nullable && value == null) continue;
+			if (skipEmpty && pair.mayBeEmpty && XLPStringUtil.EMPTY.equals(value)) continue;
 			
 			//赋值个目标bean
 			try {
-				Object tv = fieldCovert == null ? FieldCovertUtils.covert(value, tp, sp) 
-						: fieldCovert.covert(value);
-				
-				tp.executeWriteMethod(targetBean, tv);
+				pair.tp.executeWriteMethod(targetBean, pair.covert(value));
 			} catch (MethodException e) {
 				if (covertFailThrow) {
-					throw new BeanConvertException("目标对象的【" + fieldName + "】的字段赋值失败，", e);
+					throw new BeanConvertException("目标对象的【" + pair.fieldName + "】的字段赋值失败，", e);
 				}
 				XLPOutputInfoUtil.println(e);
 			} catch (Exception e) {
 				if (covertFailThrow) {
-					throw new BeanConvertException("两个bean字段类型不匹配，【" + fieldName + "】的字段复制失败，", e);
+					throw new BeanConvertException("两个bean字段类型不匹配，【" + pair.fieldName + "】的字段复制失败，", e);
 				}
 				XLPOutputInfoUtil.println(e);
 			}
 		}
 	}
-
-	/**
-	 * 对象字段信息 key：字段名称，value：字段对应的PropertyDescriptor对象
-	 * @param bean
-	 * @return
-	 */
-	private <T> Map<String, PropertyDescriptor<T>> getBeanFieldMapper(T bean) {
-		Map<String, PropertyDescriptor<T>> map = new HashMap<>();
-		@SuppressWarnings("unchecked")
-		JavaBeanPropertiesDescriptor<T> jps = 
-				new JavaBeanPropertiesDescriptor<T>((Class<T>) bean.getClass());
-		PropertyDescriptor<T>[] pds = jps.getPds();
-		for (PropertyDescriptor<T> pd : pds) {
-			map.put(pd.getFieldName(), pd);
-		}
-		return map;
-	}
 	
 	/**
 	 * bean对象转换
@@ -149,8 +121,8 @@ public class BeanCovert {
 		if (sourceBean == null) return null;
 		T target = null;
 		try {
-			target = targetBeanClass.newInstance();
-		} catch (InstantiationException | IllegalAccessException e) {
+			target = targetBeanClass.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
 			if (covertFailThrow) {
 				throw new BeanConvertException("目标bean Class实例化失败：", e);
 			}
@@ -161,6 +133,53 @@ public class BeanCovert {
 		return target;
 	}
 	
+	/**
+	 * 批量bean对象转换，相同源类型的bean共用同一个拷贝计划
+	 * 
+	 * @param sourceBeans 要转换的bean集合
+	 * @param targetBeanClass 目标bean Class对象
+	 * @throws NullPointerException 假如第二个参数为null，则抛出该异常
+	 * @return 与源集合一一对应的目标bean集合，源集合中为null的元素或<code>covertFailThrow</code>值为false并且转换失败时，
+	 * 			对应的元素为null；假如源集合为null，则返回空集合
+	 * @throws BeanConvertException 假如bean转换失败，则抛出该异常
+	 */
+	public <T, S> List<T> covertAll(List<S> sourceBeans, Class<T> targetBeanClass) throws BeanConvertException{
+		AssertUtils.isNotNull(targetBeanClass, "targetBeanClass parameter is null");
+		if (sourceBeans == null) return new ArrayList<T>(0);
+		List<T> targetBeans = new ArrayList<T>(sourceBeans.size());
+		Class<?> sourceClass = null;
+		BeanCopyPlan plan = null;
+		Constructor<T> constructor = null;
+		for (S sourceBean : sourceBeans) {
+			if (sourceBean == null) {
+				targetBeans.add(null);
+				continue;
+			}
+			//集合中元素类型不同时，重新获取拷贝计划
+			if (sourceBean.getClass() != sourceClass) {
+				sourceClass = sourceBean.getClass();
+				plan = BeanCopyPlan.getPlan(sourceClass, targetBeanClass, convertSettings);
+			}
+			T target;
+			try {
+				if (constructor == null) {
+					constructor = targetBeanClass.getDeclaredConstructor();
+				}
+				target = constructor.newInstance();
+			} catch (ReflectiveOperationException e) {
+				if (covertFailThrow) {
+					throw new BeanConvertException("目标bean Class实例化失败：", e);
+				}
+				XLPOutputInfoUtil.println(e);
+				targetBeans.add(null);
+				continue;
+			}
+			copy(plan, target, sourceBean);
+			targetBeans.add(target);
+		}
+		return targetBeans;
+	}
+	
 	/**
 	 * 获取转换出错时，是否抛出异常状态
 	 * 
@@ -2,6 +2,7 @@ package org.xlp.beancovert;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.xlp.assertion.AssertUtils;
 
@@ -32,6 +33,12 @@ public class BeanFieldConvertSettings {
 	 */
 	private boolean covertFailThrow = true;
 	
+	/**
+	 * 使用该配置编译的拷贝计划，key：源类型，value：目标类型 -> 拷贝计划，字段转换实现改变时清空
+	 */
+	private final Map<Class<?>, Map<Class<?>, BeanCopyPlan>> copyPlans = 
+			new ConcurrentHashMap<Class<?>, Map<Class<?>, BeanCopyPlan>>();
+	
 	/**
 	 * 添加字段转换实现类
 	 * 
@@ -43,6 +50,7 @@ public class BeanFieldConvertSettings {
 		AssertUtils.isNotNull(fieldName, "fieldName parameter is null or empty");
 		if (covert != null) {
 			beanFieldCovertMap.put(fieldName, covert);
+			copyPlans.clear();
 		}
 	}
 	
@@ -58,6 +66,22 @@ public class BeanFieldConvertSettings {
 		return beanFieldCovertMap.get(fieldName);
 	}
 	
+	/**
+	 * 获取使用该配置编译的拷贝计划
+	 * 
+	 * @param sourceClass 源bean类型
+	 * @return key：目标类型，value：拷贝计划
+	 */
+	Map<Class<?>, BeanCopyPlan> getCopyPlans(Class<?> sourceClass){
+		Map<Class<?>, BeanCopyPlan> plans = copyPlans.get(sourceClass);
+		if (plans == null) {
+			plans = new ConcurrentHashMap<Class<?>, BeanCopyPlan>();
+			Map<Class<?>, BeanCopyPlan> old = copyPlans.putIfAbsent(sourceClass, plans);
+			if (old != null) plans = old;
+		}
+		return plans;
+	}
+	
 	/**
 	 * 获取 bean字段转换实现映射关系，key：字段名称，value：该字段转换实现类
 	 * @return
@@ -9,6 +9,27 @@ import org.xlp.javabean.PropertyDescriptor;
  * @Description bean字段转换工具类
 */
 class FieldCovertUtils {
+	/**
+	 * 判断默认转换时是否需要转换值的类型，与{@link #covert(Object, PropertyDescriptor, PropertyDescriptor)}的判断一致
+	 * 
+	 * @param tc 目标字段类型
+	 * @param sc 源字段类型
+	 * @return false：值原样赋值给目标字段
+	 */
+	static boolean needCovert(Class<?> tc, Class<?> sc){
+		if (tc == null || sc == null) return true;
+		if (String.class.equals(tc)) return !String.class.equals(sc);
+		if (!String.class.equals(sc)) return false;
+		return Integer.TYPE.equals(tc) || Integer.class.equals(tc) 
+				|| Double.TYPE.equals(tc) || Double.class.equals(tc)
+				|| Float.TYPE.equals(tc) || Float.class.equals(tc)
+				|| Long.TYPE.equals(tc) || Long.class.equals(tc)
+				|| Short.TYPE.equals(tc) || Short.class.equals(tc)
+				|| Byte.TYPE.equals(tc) || Byte.class.equals(tc)
+				|| Boolean.TYPE.equals(tc) || Boolean.class.equals(tc)
+				|| Character.TYPE.equals(tc) || Character.class.equals(tc);
+	}
+	
 	/**
 	 * bean字段转换
 	 * 
@@ -0,0 +1,345 @@
+package org.xlp.csv;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+import org.xlp.javabean.MethodException;
+import org.xlp.javabean.PropertyDescriptor;
+import org.xlp.javabean.annotation.FieldName;
+import org.xlp.javabean.annotation.Formatter;
+import org.xlp.javabean.convert.mapandbean.MapValueProcesser;
+import org.xlp.javabean.processer.ValueProcesser;
+import org.xlp.utils.XLPFormatterUtil;
+import org.xlp.utils.XLPOutputInfoUtil;
+
+/**
+ * <p>创建时间：2026年10月18日 下午9:16:52</p>
+ * @author xlp
+ * @version 1.0
+ * @Description csv行数据直接转换成bean的绑定器
+ * <p>
+ * 每个标题行只解析一次：按列名（字段{@link FieldName}注解的名称，没有该注解时为字段名，先精确匹配再忽略大小写匹配）
+ * 找到每列对应的属性写方法，之后每行按列号直接调用已缓存的写方法，不再创建中间map。
+ * 没有标题行时与{@link CSVWriter#writeBean(Object)}写入的列一致，即按字段声明顺序依次对应各可读属性，
+ * 只读属性对应的列跳过。该类是线程安全的，可在多个线程中共用
+*/
+public class CSVBeanBinder<T> {
+	private final Class<T> beanClass;
+
+	private final Constructor<T> constructor;
+
+	/**
+	 * 值处理器，把单元格字符串转换成字段类型的值
+	 */
+	private final ValueProcesser processer;
+
+	/**
+	 * 列名 -> 可写属性对应的列（精确匹配）
+	 */
+	private final Map<String, Column> exactIndex;
+
+	/**
+	 * 小写列名 -> 可写属性对应的列（忽略大小写匹配）
+	 */
+	private final Map<String, Column> ignoreCaseIndex;
+
+	/**
+	 * 没有标题行时使用的绑定
+	 */
+	private final Binding positional;
+
+	/**
+	 * 最近一次使用的绑定，同一文件的行数据共用同一个标题行索引，通常只会解析一次
+	 */
+	private volatile Binding lastBinding;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param beanClass bean类型，必须有无参构造函数
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 * @throws CSVException 假如bean类型没有无参构造函数，则抛出该异常
+	 */
+	public CSVBeanBinder(Class<T> beanClass) {
+		this(beanClass, null);
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param beanClass bean类型，必须有无参构造函数
+	 * @param processer 值处理器，为null时使用{@link MapValueProcesser}
+	 * @throws NullPointerException 假如bean类型为null，则抛出该异常
+	 * @throws CSVException 假如bean类型没有无参构造函数，则抛出该异常
+	 */
+	public CSVBeanBinder(Class<T> beanClass, ValueProcesser processer) {
+		if (beanClass == null)
+			throw new NullPointerException("bean类型参数必须不为null");
+		this.beanClass = beanClass;
+		this.processer = processer == null ? new MapValueProcesser() : processer;
+		try {
+			constructor = beanClass.getDeclaredConstructor();
+			constructor.setAccessible(true);
+		} catch (NoSuchMethodException e) {
+			throw new CSVException(beanClass.getName() + "没有无参构造函数", e);
+		} catch (SecurityException e) {
+			throw new CSVException(e);
+		}
+
+		PropertyDescriptor<?>[] pds = JavaBeanPropertiesDescriptor.getInstance(beanClass).getPds();
+		int capacity = pds.length * 4 / 3 + 1;
+		exactIndex = new HashMap<String, Column>(capacity);
+		ignoreCaseIndex = new HashMap<String, Column>(capacity);
+		Map<PropertyDescriptor<?>, Column> columnMap = new IdentityHashMap<PropertyDescriptor<?>, Column>(capacity);
+		for (PropertyDescriptor<?> pd : pds) {
+			//没有写方法的字段不绑定
+			if (!CSVBeanColumns.isWritable(pd))
+				continue;
+			Column column = new Column(pd, this.processer);
+			columnMap.put(pd, column);
+			String title = CSVBeanColumns.title(pd);
+			//名称相同时第一个优先
+			if (!exactIndex.containsKey(title))
+				exactIndex.put(title, column);
+			String lowerTitle = title.toLowerCase(Locale.ROOT);
+			if (!ignoreCaseIndex.containsKey(lowerTitle))
+				ignoreCaseIndex.put(lowerTitle, column);
+		}
+		// 与CSVWriter写入的列一一对应，只读属性的列为null
+		PropertyDescriptor<?>[] readable = CSVBeanColumns.readable(beanClass);
+		Column[] columns = new Column[readable.length];
+		for (int i = 0; i < readable.length; i++) {
+			columns[i] = columnMap.get(readable[i]);
+		}
+		positional = new Binding(null, columns);
+	}
+
+	/**
+	 * 获取bean类型
+	 *
+	 * @return
+	 */
+	public Class<T> getBeanClass() {
+		return beanClass;
+	}
+
+	/**
+	 * 把一行数据转换成bean，值转换失败的单元格忽略，空单元格只设置给字符串类型的字段
+	 *
+	 * @param csvRow
+	 * @return 标题行返回null
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 * @throws CSVException 假如创建bean对象失败，则抛出该异常
+	 */
+	public T toBean(CSVRow csvRow) {
+		if (csvRow.isHeader())
+			return null;
+		Column[] columns = getBinding(csvRow.getHeaderIndex()).columns;
+		T bean = newInstance();
+		int size = Math.min(columns.length, csvRow.getAllColumnCount());
+		for (int i = 0; i < size; i++) {
+			Column column = columns[i];
+			if (column != null) {
+				column.set(bean, csvRow.getCellData(i));
+			}
+		}
+		return bean;
+	}
+
+	/**
+	 * 把多行数据转换成bean，标题行和空行不转换
+	 *
+	 * @param csvRows
+	 * @return
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 * @throws CSVException 假如创建bean对象失败，则抛出该异常
+	 */
+	public List<T> toBeans(Collection<CSVRow> csvRows) {
+		List<T> beans = new ArrayList<T>(csvRows.size());
+		for (CSVRow csvRow : csvRows) {
+			if (!csvRow.isHeader() && !csvRow.isEmpty()) {
+				beans.add(toBean(csvRow));
+			}
+		}
+		return beans;
+	}
+
+	/**
+	 * 创建把行数据分批转换成bean的行数据处理器，读取结束后须调用{@link BatchRowHandler#finish()}处理最后一批
+	 *
+	 * @param batchSize 每批bean的个数，小于1时为1
+	 * @param handler bean数据处理器
+	 * @return
+	 * @throws NullPointerException 假如bean数据处理器为null，则抛出该异常
+	 */
+	BatchRowHandler batchHandler(int batchSize, CSVBeanHandler<T> handler) {
+		if (handler == null)
+			throw new NullPointerException("handler paramter is null!");
+		return new BatchRowHandler(Math.max(batchSize, 1), handler);
+	}
+
+	private T newInstance() {
+		try {
+			return constructor.newInstance();
+		} catch (Exception e) {
+			throw new CSVException("创建" + beanClass.getName() + "对象失败", e);
+		}
+	}
+
+	private Binding getBinding(CSVHeader header) {
+		if (header == null)
+			return positional;
+		Binding binding = lastBinding;
+		if (binding == null || binding.header != header) {
+			binding = bind(header);
+			lastBinding = binding;
+		}
+		return binding;
+	}
+
+	/**
+	 * 解析标题行，找出每列对应的属性
+	 *
+	 * @param header
+	 * @return
+	 */
+	private Binding bind(CSVHeader header) {
+		Column[] columns = new Column[header.size()];
+		for (int i = 0; i < columns.length; i++) {
+			String title = header.getTitle(i);
+			if (title == null)
+				continue;
+			title = title.trim();
+			Column column = exactIndex.get(title);
+			columns[i] = column != null ? column : ignoreCaseIndex.get(title.toLowerCase(Locale.ROOT));
+		}
+		return new Binding(header, columns);
+	}
+
+	/**
+	 * 标题行与列绑定信息
+	 */
+	private static final class Binding {
+		final CSVHeader header;
+
+		/**
+		 * 下标为列号，没有对应属性的列为null
+		 */
+		final Column[] columns;
+
+		Binding(CSVHeader header, Column[] columns) {
+			this.header = header;
+			this.columns = columns;
+		}
+	}
+
+	/**
+	 * 一列对应的属性及值转换方式
+	 */
+	private static final class Column {
+		final PropertyDescriptor<Object> pd;
+
+		final ValueProcesser processer;
+
+		final Class<?> fieldType;
+
+		/**
+		 * {@link Formatter}注解的格式化模式，没有时为null
+		 */
+		final String pattern;
+
+		@SuppressWarnings("unchecked")
+		Column(PropertyDescriptor<?> pd, ValueProcesser processer) {
+			// 属性描述来自bean类型，转换出的bean一定是其所属类型的实例
+			this.pd = (PropertyDescriptor<Object>) pd;
+			this.processer = processer;
+			this.fieldType = pd.getFiledClassType();
+			this.pattern = CSVBeanColumns.pattern(pd);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		void set(Object bean, String cellData) {
+			Object value;
+			if (fieldType == String.class) {
+				value = cellData;
+			} else if (cellData == null || cellData.isEmpty()) {
+				return;
+			} else {
+				try {
+					if (pattern != null) {
+						value = XLPFormatterUtil.parse(pattern, cellData, fieldType);
+					} else if (fieldType.isEnum()) {
+						value = Enum.valueOf((Class<? extends Enum>) fieldType, cellData.trim());
+					} else {
+						value = processer.processValue(fieldType, cellData);
+					}
+				} catch (RuntimeException e) {
+					XLPOutputInfoUtil.println(pd.getFieldName() + "的值转换异常，" + e.getMessage());
+					return;
+				}
+				if (value == null)
+					return;
+			}
+			try {
+				pd.executeWriteMethod(bean, value);
+			} catch (MethodException e) {
+				XLPOutputInfoUtil.println(pd.getFieldName() + "的值设置异常，" + e.getMessage());
+			} catch (RuntimeException e) {
+				XLPOutputInfoUtil.println(pd.getFieldName() + "的值设置异常，" + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * 把行数据分批转换成bean的行数据处理器
+	 */
+	final class BatchRowHandler implements CSVRowHandler {
+		private final int batchSize;
+
+		private final CSVBeanHandler<T> handler;
+
+		private List<T> batch;
+
+		private boolean stopped = false;
+
+		BatchRowHandler(int batchSize, CSVBeanHandler<T> handler) {
+			this.batchSize = batchSize;
+			this.handler = handler;
+			this.batch = new ArrayList<T>(Math.min(batchSize, 1024));
+		}
+
+		@Override
+		public boolean handle(CSVRow csvRow) {
+			if (csvRow.isHeader() || csvRow.isEmpty())
+				return true;
+			batch.add(toBean(csvRow));
+			if (batch.size() >= batchSize) {
+				return flush();
+			}
+			return true;
+		}
+
+		private boolean flush() {
+			List<T> beans = batch;
+			batch = new ArrayList<T>(Math.min(batchSize, 1024));
+			stopped = !handler.handle(beans);
+			return !stopped;
+		}
+
+		/**
+		 * 处理最后一批不足batchSize个的bean
+		 */
+		void finish() {
+			if (!stopped && !batch.isEmpty()) {
+				flush();
+			}
+		}
+	}
+}
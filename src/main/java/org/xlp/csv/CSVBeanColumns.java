@@ -0,0 +1,90 @@
+package org.xlp.csv;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+import org.xlp.javabean.MethodException;
+import org.xlp.javabean.PropertyDescriptor;
+import org.xlp.javabean.annotation.FieldName;
+import org.xlp.javabean.annotation.Formatter;
+import org.xlp.utils.XLPStringUtil;
+
+/**
+ * <p>创建时间：2026年10月18日 下午9:02:18</p>
+ * @author xlp
+ * @version 1.0
+ * @Description bean字段与csv列对应关系的公共方法，保证写入与读取时使用相同的列名
+*/
+final class CSVBeanColumns {
+	private CSVBeanColumns() {
+	}
+
+	/**
+	 * 获取bean写入csv时的列，即所有可读属性，按字段声明顺序排列
+	 *
+	 * @param beanClass
+	 * @return
+	 */
+	static PropertyDescriptor<?>[] readable(Class<?> beanClass) {
+		return readable(JavaBeanPropertiesDescriptor.getInstance(beanClass));
+	}
+
+	/**
+	 * 获取属性描述对象中写入csv时的列，即所有可读属性，按字段声明顺序排列
+	 *
+	 * @param descriptor
+	 * @return
+	 */
+	static PropertyDescriptor<?>[] readable(JavaBeanPropertiesDescriptor<?> descriptor) {
+		List<PropertyDescriptor<?>> readable = new ArrayList<PropertyDescriptor<?>>();
+		for (PropertyDescriptor<?> pd : descriptor.getPds()) {
+			try {
+				pd.getReadMethod();
+				readable.add(pd);
+			} catch (MethodException e) {
+				//没有读方法的字段不写入
+			}
+		}
+		return readable.toArray(new PropertyDescriptor<?>[readable.size()]);
+	}
+
+	/**
+	 * 判断属性是否有写方法
+	 *
+	 * @param pd
+	 * @return
+	 */
+	static boolean isWritable(PropertyDescriptor<?> pd) {
+		try {
+			pd.getWriteMethod();
+			return true;
+		} catch (MethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * 获取字段对应的csv列名，为字段{@link FieldName}注解的名称，没有该注解或名称为空时为字段名
+	 *
+	 * @param pd
+	 * @return
+	 */
+	static String title(PropertyDescriptor<?> pd) {
+		FieldName fieldName = pd.getFieldAnnotation(FieldName.class);
+		String title = fieldName == null ? null : XLPStringUtil.emptyTrim(fieldName.name());
+		return XLPStringUtil.isEmpty(title) ? pd.getFieldName() : title;
+	}
+
+	/**
+	 * 获取字段{@link Formatter}注解的格式化模式
+	 *
+	 * @param pd
+	 * @return 没有该注解或模式为空时返回null
+	 */
+	static String pattern(PropertyDescriptor<?> pd) {
+		Formatter formatter = pd.getFieldAnnotation(Formatter.class);
+		return formatter == null || XLPStringUtil.isEmpty(formatter.formatter())
+				? null : formatter.formatter();
+	}
+}
@@ -0,0 +1,20 @@
+package org.xlp.csv;
+
+import java.util.List;
+
+/**
+ * <p>创建时间：2026年10月18日 下午9:10:36</p>
+ * @author xlp
+ * @version 1.0
+ * @Description csv bean数据处理器，流式读取csv数据时每转换出一批bean调用一次
+*/
+@FunctionalInterface
+public interface CSVBeanHandler<T> {
+	/**
+	 * 处理一批bean
+	 *
+	 * @param beans 本批次的bean，不包括标题行和空行，每批次都是新的集合
+	 * @return true：继续读取，false：停止读取
+	 */
+	boolean handle(List<T> beans);
+}
@@ -0,0 +1,137 @@
+package org.xlp.csv;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>创建时间：2026年10月18日 下午6:31:47</p>
+ * @author xlp
+ * @version 1.0
+ * @Description csv标题行索引，每个文件只创建一次，所有行数据共用，不可修改
+ * <p>
+ * 预先计算好标题栏名称到列索引的映射及{@link CSVRow#rowDataToMap()}使用的key，按名称取值时只需一次哈希查找
+*/
+public final class CSVHeader {
+	/**
+	 * 标题栏名称，下标为列号
+	 */
+	private final String[] titles;
+
+	/**
+	 * 标题栏名称 -> 列号，名称重复时取第一个
+	 */
+	private final Map<String, Integer> index;
+
+	/**
+	 * 转换成map时每列使用的key，名称重复时加上列号作为后缀
+	 */
+	private final String[] mapKeys;
+
+	/**
+	 * key：列号从0开始，value：标题名称
+	 */
+	private final Map<Integer, String> headerMap;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param titles 标题栏名称
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public CSVHeader(List<String> titles) {
+		this(titles.toArray(new String[titles.size()]));
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param headerMap key：列号从0开始，value：标题名称
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public CSVHeader(Map<Integer, String> headerMap) {
+		this(toArray(headerMap));
+	}
+
+	private CSVHeader(String[] titles) {
+		this.titles = titles;
+		int size = titles.length;
+		Map<String, Integer> index = new HashMap<String, Integer>(size * 4 / 3 + 1);
+		Map<Integer, String> headerMap = new HashMap<Integer, String>(size * 4 / 3 + 1);
+		Set<String> keys = new HashSet<String>(size * 4 / 3 + 1);
+		this.mapKeys = new String[size];
+		for (int i = 0; i < size; i++) {
+			String title = titles[i];
+			headerMap.put(Integer.valueOf(i), title);
+			if (!index.containsKey(title)) {
+				index.put(title, Integer.valueOf(i));
+			}
+			// 与原来逐行判断key是否存在的结果一致
+			String key = keys.contains(title) ? title + i : title;
+			keys.add(key);
+			mapKeys[i] = key;
+		}
+		this.index = index;
+		this.headerMap = Collections.unmodifiableMap(headerMap);
+	}
+
+	private static String[] toArray(Map<Integer, String> headerMap) {
+		String[] titles = new String[headerMap.size()];
+		for (int i = 0; i < titles.length; i++) {
+			titles[i] = headerMap.get(Integer.valueOf(i));
+		}
+		return titles;
+	}
+
+	/**
+	 * 获取标题栏列数
+	 *
+	 * @return
+	 */
+	public int size() {
+		return titles.length;
+	}
+
+	/**
+	 * 获取指定列的标题栏名称
+	 *
+	 * @param columnIndex 列号从0开始
+	 * @return 列号不存在时返回null
+	 */
+	public String getTitle(int columnIndex) {
+		return columnIndex < 0 || columnIndex >= titles.length ? null : titles[columnIndex];
+	}
+
+	/**
+	 * 获取标题栏名称对应的列号
+	 *
+	 * @param title 标题栏名称
+	 * @return 名称不存在时返回-1，名称重复时返回第一个的列号
+	 */
+	public int indexOf(String title) {
+		Integer columnIndex = index.get(title);
+		return columnIndex == null ? -1 : columnIndex.intValue();
+	}
+
+	/**
+	 * 转换成map时指定列使用的key
+	 *
+	 * @param columnIndex
+	 * @return
+	 */
+	String getMapKey(int columnIndex) {
+		return mapKeys[columnIndex];
+	}
+
+	/**
+	 * 获取标题数据，key：列号从0开始，value：标题名称
+	 *
+	 * @return 不可修改的map
+	 */
+	public Map<Integer, String> toMap() {
+		return headerMap;
+	}
+}
@@ -0,0 +1,511 @@
+package org.xlp.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.FileInputStream;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * <p>创建时间：2026年10月18日 下午5:26:03</p>
+ * @author xlp
+ * @version 1.0
+ * @Description csv文件并行读取类
+ * <p>
+ * 把文件映射到内存中，按固定大小分段，分三步完成读取：
+ * <ol>
+ * <li>并行扫描每段数据，分别假设段开始时在引号外和引号内，统计引号数奇偶性、行数以及第一个引号外的换行符位置</li>
+ * <li>按顺序累计引号奇偶性，确定每段开始时的真实状态，从而得到安全的记录边界（引号外的换行符之后）及每段的起始行号</li>
+ * <li>在fork-join线程池中并行解析每段数据，按顺序或按完成顺序把行数据交给行数据处理器</li>
+ * </ol>
+ * 行数据处理器只在调用线程中执行，无需线程安全；同时解析的段数有上限，内存占用与文件大小无关
+*/
+final class CSVParallelReader {
+	/**
+	 * 每次映射的最大字节数
+	 */
+	private static final int MAX_MAP_SIZE = 1 << 30;
+
+	/**
+	 * 解码时使用的字符缓冲区大小
+	 */
+	private static final int DECODE_BUFFER_SIZE = 64 * 1024;
+
+	private static final byte LF = (byte) CSVReader.LF;
+
+	private static final byte CR = (byte) CSVReader.CR;
+
+	private final CSVReaderConfig config;
+
+	private final File file;
+
+	private final Charset charset;
+
+	private final byte quote;
+
+	/**
+	 * 是否按文件中的顺序输出行数据
+	 */
+	private final boolean orderedOutput;
+
+	/**
+	 * csv文件内容总行数（包括空行）
+	 */
+	private long allRowCount = 0;
+
+	/**
+	 * csv文件内容有效行数（不包括空行）
+	 */
+	private long validRowCount = 0;
+
+	/**
+	 * 标题行数据
+	 */
+	private CSVHeader header;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param config 读取配置，不会修改
+	 * @param file csv文件
+	 * @param charset 文件字符编码
+	 * @param orderedOutput 是否按文件中的顺序输出行数据
+	 */
+	CSVParallelReader(CSVReaderConfig config, File file, Charset charset, boolean orderedOutput) {
+		this.config = config;
+		this.file = file;
+		this.charset = charset;
+		this.quote = (byte) config.getTextDelimiter();
+		this.orderedOutput = orderedOutput;
+	}
+
+	/**
+	 * 判断能否按字节查找记录边界，即换行符、回车符及文本包装符在该编码下都是单字节，且不会出现在多字节字符中
+	 *
+	 * @param charset
+	 * @param config
+	 * @return
+	 */
+	static boolean isSupported(Charset charset, CSVReaderConfig config) {
+		char textDelimiter = config.getTextDelimiter();
+		if (textDelimiter >= 0x80) {
+			return false;
+		}
+		String name = charset.name().toUpperCase();
+		// 这些编码中ASCII字节只表示ASCII字符
+		if (name.equals("UTF-8") || name.equals("US-ASCII") || name.startsWith("ISO-8859-")
+				|| name.startsWith("WINDOWS-125") || name.startsWith("EUC-")) {
+			return true;
+		}
+		// 这些编码中多字节字符的后续字节不小于0x40
+		if (name.equals("GBK") || name.equals("GB2312") || name.equals("BIG5") || name.equals("SHIFT_JIS")) {
+			return textDelimiter < 0x40;
+		}
+		// GB18030四字节字符的第二、四字节为0x30~0x39，其余后续字节不小于0x40
+		if (name.equals("GB18030")) {
+			return textDelimiter < 0x30;
+		}
+		return false;
+	}
+
+	/**
+	 * 读取csv文件
+	 *
+	 * @param handler 行数据处理器
+	 * @throws CSVException 读取数据失败或不是csv格式数据，则抛出该异常
+	 */
+	void read(CSVRowHandler handler) {
+		FileInputStream in = null;
+		ForkJoinPool pool = new ForkJoinPool(config.getParallelism());
+		try {
+			in = new FileInputStream(file);
+			FileChannel channel = in.getChannel();
+			List<Region> regions = split(channel, pool);
+			emit(channel, pool, regions, handler);
+		} catch (IOException e) {
+			throw new CSVException("从csv文件中读取数据失败", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CSVException("读取csv文件被中断", e);
+		} finally {
+			pool.shutdownNow();
+			// 工作线程可能仍在读取文件通道，等其结束后再关闭
+			awaitTermination(pool);
+			XLPIOUtil.closeInputStream(in);
+		}
+	}
+
+	/**
+	 * 把文件划分成以记录边界分隔的多段
+	 *
+	 * @param channel
+	 * @param pool
+	 * @return
+	 * @throws IOException
+	 */
+	private List<Region> split(final FileChannel channel, ForkJoinPool pool) throws IOException, 
+			InterruptedException {
+		long size = channel.size();
+		int chunkSize = config.getParallelChunkSize();
+		List<Callable<Segment>> tasks = new ArrayList<Callable<Segment>>();
+		for (long start = 0; start < size; start += chunkSize) {
+			final long from = start;
+			final long to = Math.min(size, start + chunkSize);
+			tasks.add(new Callable<Segment>() {
+				@Override
+				public Segment call() throws IOException {
+					return scan(channel, from, to, size);
+				}
+			});
+		}
+
+		List<Region> regions = new ArrayList<Region>();
+		regions.add(new Region(0, 0, 0));
+		// 当前段开始时是否在引号内，0：在引号外，1：在引号内
+		int p = 0;
+		long lines = 0;
+		Segment prev = null;
+		for (Future<Segment> future : pool.invokeAll(tasks)) {
+			Segment segment = get(future);
+			// 跨段的CRLF只算一个换行符
+			int corr = (prev != null && prev.endsWithCR && prev.crParity == (p ^ prev.quoteParity)
+					&& segment.startsWithLF && p == 0) ? 1 : 0;
+			if (prev != null && segment.boundary[p] >= 0) {
+				regions.add(new Region(regions.size(), segment.boundary[p], lines + segment.before[p] - corr));
+			}
+			lines += segment.total[p] - corr;
+			p ^= segment.quoteParity;
+			prev = segment;
+		}
+		for (int i = 0, n = regions.size(); i < n; i++) {
+			regions.get(i).end = i + 1 < n ? regions.get(i + 1).start : size;
+		}
+		return regions;
+	}
+
+	/**
+	 * 扫描一段数据，同时计算段开始时在引号外和在引号内两种情况的结果
+	 * <p>
+	 * 多映射段后的一个字节，用来判断段末尾的回车符是否单独作为换行符
+	 *
+	 * @param channel
+	 * @param start
+	 * @param end
+	 * @param size 文件大小
+	 * @return
+	 * @throws IOException
+	 */
+	private Segment scan(FileChannel channel, long start, long end, long size) throws IOException {
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(end + 1, size) - start);
+		try {
+			Segment segment = new Segment();
+			int len = (int) (end - start);
+			int limit = buffer.limit();
+			// 相对于段开始时的引号奇偶性，段开始时状态为p时，s == p的位置在引号外
+			int s = 0;
+			byte prev = 0;
+			for (int i = 0; i < len; i++) {
+				byte b = buffer.get(i);
+				if (b == quote) {
+					s ^= 1;
+				} else if (b == LF || b == CR) {
+					if (b == CR || prev != CR) {
+						segment.total[s]++;
+					}
+					// CRLF在LF之后切分，单独的CR（只用CR换行的文件）在CR之后切分
+					if (segment.boundary[s] < 0
+							&& (b == LF || i + 1 >= limit || buffer.get(i + 1) != LF)) {
+						segment.boundary[s] = start + i + 1;
+						segment.before[s] = segment.total[s];
+					}
+				}
+				prev = b;
+			}
+			segment.quoteParity = s;
+			segment.startsWithLF = len > 0 && buffer.get(0) == LF;
+			segment.endsWithCR = prev == CR;
+			segment.crParity = s;
+			return segment;
+		} finally {
+			XLPIOUtil.unmap(buffer);
+		}
+	}
+
+	/**
+	 * 并行解析各段数据，并把行数据交给行数据处理器
+	 *
+	 * @param channel
+	 * @param pool
+	 * @param regions
+	 * @param handler
+	 */
+	private void emit(final FileChannel channel, ForkJoinPool pool, List<Region> regions,
+			CSVRowHandler handler) {
+		CompletionService<Region> service = new ExecutorCompletionService<Region>(pool);
+		int maxPending = config.getParallelism() * 2;
+		int n = regions.size();
+		int submitted = 0, emitted = 0, nextOrdered = 0;
+		Map<Integer, Region> done = new HashMap<Integer, Region>();
+		List<Future<Region>> futures = new ArrayList<Future<Region>>();
+		try {
+			while (emitted < n) {
+				// 限制已解析但未输出的段数
+				while (submitted < n && submitted - emitted < maxPending) {
+					final Region region = regions.get(submitted++);
+					futures.add(service.submit(new Callable<Region>() {
+						@Override
+						public Region call() throws IOException {
+							return parse(channel, region);
+						}
+					}));
+				}
+				Region region = get(service.take());
+				done.put(region.index, region);
+
+				// 标题行确定之前按顺序输出
+				if (orderedOutput || (config.isHasHeader() && header == null)) {
+					while (done.containsKey(nextOrdered)) {
+						emitted++;
+						if (!emit(done.remove(nextOrdered++), handler)) {
+							return;
+						}
+					}
+				} else {
+					for (Iterator<Region> it = done.values().iterator(); it.hasNext();) {
+						Region r = it.next();
+						it.remove();
+						emitted++;
+						if (!emit(r, handler)) {
+							return;
+						}
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CSVException("读取csv文件被中断", e);
+		} finally {
+			for (Future<Region> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * 把一段的行数据交给行数据处理器
+	 *
+	 * @param region
+	 * @param handler
+	 * @return false：行数据处理器要求停止读取
+	 */
+	private boolean emit(Region region, CSVRowHandler handler) {
+		allRowCount += region.allRowCount;
+		validRowCount += region.validRowCount;
+		List<CSVRow> rows = region.rows;
+		region.rows = null;
+		for (CSVRow csvRow : rows) {
+			if (header == null && config.isHasHeader() && !csvRow.isEmpty()) {
+				csvRow.setHeader(true);
+				header = csvRow.getHeaderIndex();
+			}
+			csvRow.setHeaderIndex(header);
+			if (!handler.handle(csvRow)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 解码并解析一段数据
+	 *
+	 * @param channel
+	 * @param region
+	 * @return
+	 * @throws IOException
+	 */
+	private Region parse(FileChannel channel, Region region) throws IOException {
+		final List<CSVRow> rows = new ArrayList<CSVRow>();
+		CSVRowHandler handler = new CSVRowHandler() {
+			@Override
+			public boolean handle(CSVRow csvRow) {
+				rows.add(csvRow);
+				return true;
+			}
+		};
+		CSVParser parser = new CSVParser(config, region.baseLineNo + 1, false);
+		CharsetDecoder decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		CharBuffer out = CharBuffer.allocate(DECODE_BUFFER_SIZE);
+		long pos = region.start;
+		while (pos < region.end) {
+			long len = Math.min(region.end - pos, MAX_MAP_SIZE);
+			boolean last = pos + len >= region.end;
+			MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, pos, len);
+			try {
+				for (;;) {
+					CoderResult result = decoder.decode(in, out, last);
+					parse(parser, out, handler);
+					if (result.isUnderflow()) {
+						break;
+					}
+				}
+				// 未解码的不完整字符留到下次映射
+				pos += in.position();
+			} finally {
+				XLPIOUtil.unmap(in);
+			}
+			if (last) {
+				break;
+			}
+		}
+		decoder.flush(out);
+		parse(parser, out, handler);
+		parser.finish(handler);
+		region.rows = rows;
+		region.allRowCount = parser.getAllRowCount();
+		region.validRowCount = parser.getValidRowCount();
+		return region;
+	}
+
+	private void parse(CSVParser parser, CharBuffer out, CSVRowHandler handler) {
+		out.flip();
+		if (out.hasRemaining()) {
+			parser.parse(out.array(), out.arrayOffset() + out.position(), out.remaining(), handler);
+		}
+		out.clear();
+	}
+
+	private static <V> V get(Future<V> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CSVException) {
+				throw (CSVException) cause;
+			}
+			throw new CSVException("从csv文件中读取数据失败", cause);
+		}
+	}
+
+	/**
+	 * 等待所有读取线程结束，等待期间的中断在结束后恢复
+	 *
+	 * @param pool
+	 */
+	private static void awaitTermination(ForkJoinPool pool) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (pool.awaitTermination(1, TimeUnit.MINUTES)) {
+					break;
+				}
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 获取csv文件内容总行数（包括空行）
+	 *
+	 * @return
+	 */
+	long getAllRowCount() {
+		return allRowCount;
+	}
+
+	/**
+	 * 获取csv文件内容有效行数（不包括空行）
+	 *
+	 * @return
+	 */
+	long getValidRowCount() {
+		return validRowCount;
+	}
+
+	/**
+	 * 按固定大小划分的一段数据的扫描结果，数组下标表示段开始时是否在引号内
+	 */
+	private static final class Segment {
+		/**
+		 * 该段引号数的奇偶性
+		 */
+		int quoteParity;
+
+		/**
+		 * 该段中引号外的换行数
+		 */
+		final long[] total = new long[2];
+
+		/**
+		 * 第一个引号外的换行符之后的位置，不存在时为-1
+		 */
+		final long[] boundary = {-1, -1};
+
+		/**
+		 * 第一个引号外的换行符之前（包括该换行符）的换行数
+		 */
+		final long[] before = new long[2];
+
+		boolean startsWithLF;
+
+		boolean endsWithCR;
+
+		/**
+		 * 最后一个字节处相对于段开始时的引号奇偶性
+		 */
+		int crParity;
+	}
+
+	/**
+	 * 以记录边界分隔的一段数据
+	 */
+	private static final class Region {
+		final int index;
+
+		final long start;
+
+		long end;
+
+		/**
+		 * 该段之前的行数
+		 */
+		final long baseLineNo;
+
+		List<CSVRow> rows;
+
+		long allRowCount;
+
+		long validRowCount;
+
+		Region(int index, long start, long baseLineNo) {
+			this.index = index;
+			this.start = start;
+			this.baseLineNo = baseLineNo;
+		}
+	}
+}
@@ -0,0 +1,277 @@
+package org.xlp.csv;
+
+import java.util.Arrays;
+
+import org.xlp.utils.snumber.XLPMathUtil;
+
+/**
+ * <p>创建时间：2026年10月18日 下午4:12:36</p>
+ * @author xlp
+ * @version 1.0 
+ * @Description csv增量解析器，分段传入字符数据，每解析出一行就交给行数据处理器
+ * <p>
+ * 跨段的单元格数据暂存在可重复使用的缓存中，内存占用只与单元格的大小有关，与数据总量无关
+*/
+final class CSVParser {
+	/**
+	 * 出错时输出的上下文字符数
+	 */
+	private static final int ERROR_CONTEXT_LEN = 127;
+	
+	private final CSVReaderConfig config;
+	
+	private final char textDelimiter;
+	
+	private final char fieldSeparator;
+	
+	/**
+	 * 分别为csv文件行号，实际有效行号（跳过空行），csv每行数据对应的行号（包括空行）
+	 */
+	private long lineNo = 0, suitLineNo = 0, realityNo = 1;
+	
+	/**
+	 * 是否在特殊字符包含内，默认特殊字符是"
+	 */
+	private boolean inQuotes = false;
+	
+	private char preChar = 0;
+	
+	private int delimiterCount = 0;
+	
+	/**
+	 * 上一段数据中未结束的单元格数据
+	 */
+	private final StringBuilder pending = new StringBuilder();
+	
+	private CSVRow csvRow;
+	
+	/**
+	 * 是否延迟创建单元格字符串
+	 */
+	private final boolean lazyCells;
+	
+	/**
+	 * 延迟创建单元格字符串时，当前行的字符数据，各行重复使用
+	 */
+	private char[] rowBuffer;
+	
+	private int rowLength = 0;
+	
+	/**
+	 * 延迟创建单元格字符串时，当前行各单元格的起止位置，各行重复使用
+	 */
+	private int[] cellBounds;
+	
+	private int cellCount = 0;
+	
+	/**
+	 * 当前单元格在rowBuffer中的起始位置
+	 */
+	private int cellStart = 0;
+	
+	private CSVHeader header;
+	
+	/**
+	 * 是否把第一个非空行作为标题行
+	 */
+	private final boolean detectHeader;
+	
+	/**
+	 * 标记行数据处理器是否要求停止读取
+	 */
+	private boolean stopped = false;
+	
+	CSVParser(CSVReaderConfig config) {
+		this(config, 1, config.isHasHeader());
+	}
+	
+	/**
+	 * @param config
+	 * @param firstLineNo 第一行数据对应的行号
+	 * @param detectHeader 是否把第一个非空行作为标题行，分段并行解析时，除第一段外应为false
+	 */
+	CSVParser(CSVReaderConfig config, long firstLineNo, boolean detectHeader) {
+		this.config = config;
+		this.detectHeader = detectHeader;
+		this.lazyCells = config.isLazyCells();
+		if (lazyCells) {
+			rowBuffer = new char[256];
+			cellBounds = new int[32];
+		}
+		this.textDelimiter = config.getTextDelimiter();
+		this.fieldSeparator = config.getFieldSeparator();
+		this.realityNo = firstLineNo;
+		this.csvRow = new CSVRow(realityNo, config);
+	}
+	
+	/**
+	 * 解析一段字符数据
+	 * 
+	 * @param cs
+	 * @param offset
+	 * @param length
+	 * @param handler
+	 * @return false：行数据处理器要求停止读取
+	 * @throws CSVException 假如不是csv格式数据，则抛出该异常
+	 */
+	boolean parse(char[] cs, int offset, int length, CSVRowHandler handler) {
+		int end = offset + length;
+		int count = 0;
+		for (int j = offset; j < end && !stopped; j++) {
+			char c = cs[j];
+			// 判断是否在特殊字符包含内
+			if (c == textDelimiter) {
+				delimiterCount++;
+			} else if (delimiterCount > 0) {
+				if (XLPMathUtil.isEven(delimiterCount) && !inQuotes) {
+					preChar = textDelimiter;
+				} else if (!XLPMathUtil.isEven(delimiterCount) && !inQuotes) {
+					inQuotes = true;
+					preChar = textDelimiter;
+				} else if (!XLPMathUtil.isEven(delimiterCount) && inQuotes) {
+					inQuotes = false;
+					preChar = textDelimiter;
+				}
+				delimiterCount = 0;
+			}
+
+			// 判断是否在特殊字符内
+			if (!inQuotes && delimiterCount == 0) {
+				// 判断前一个特殊字符是否是"
+				if (preChar == textDelimiter) {
+					if (c != fieldSeparator && c != CSVReader.LF && c != CSVReader.CR) {
+						int from = Math.max(offset, j - ERROR_CONTEXT_LEN);
+						int to = Math.min(end, j + ERROR_CONTEXT_LEN);
+						throw new CSVException("..." + new String(cs, from, to - from) + "...不是csv格式数据，解析失败！");
+					}
+				}
+
+				if (c == fieldSeparator) {
+					addCellData(cs, j - count, count);
+					preChar = fieldSeparator;
+					count = 0;
+				} else if (c == CSVReader.CR || (c == CSVReader.LF && preChar != CSVReader.CR)) {
+					addCellData(cs, j - count, count);
+					endRow(handler);
+					count = 0;
+					preChar = c;
+				} else if (c == CSVReader.LF && preChar == CSVReader.CR) {
+					//CRLF只作为一个换行符
+					preChar = CSVReader.LF;
+				} else {
+					count++;
+					preChar = c;
+				}
+			} else {
+				count++;
+			}
+		}
+		// 暂存未结束的单元格数据
+		if (count > 0 && !stopped) {
+			if (lazyCells) {
+				appendRow(cs, end - count, count);
+			} else {
+				pending.append(cs, end - count, count);
+			}
+		}
+		return !stopped;
+	}
+	
+	/**
+	 * 处理最后一行数据
+	 * 
+	 * @param handler
+	 */
+	void finish(CSVRowHandler handler) {
+		boolean hasData = lazyCells ? (rowLength > cellStart || cellCount > 0)
+				: (pending.length() > 0 || csvRow.getAllColumnCount() > 0);
+		if (!stopped && hasData) {
+			addCellData(null, 0, 0);
+			endRow(handler);
+		}
+	}
+	
+	private void addCellData(char[] cs, int start, int count) {
+		if (lazyCells) {
+			if (count > 0) {
+				appendRow(cs, start, count);
+			}
+			if (cellCount * 2 == cellBounds.length) {
+				cellBounds = Arrays.copyOf(cellBounds, cellBounds.length * 2);
+			}
+			cellBounds[cellCount * 2] = cellStart;
+			cellBounds[cellCount * 2 + 1] = rowLength;
+			cellCount++;
+			cellStart = rowLength;
+			return;
+		}
+		String cellData;
+		if (pending.length() == 0) {
+			cellData = count == 0 ? "" : String.valueOf(cs, start, count);
+		} else {
+			if (count > 0) {
+				pending.append(cs, start, count);
+			}
+			cellData = pending.toString();
+			pending.setLength(0);
+		}
+		csvRow.addCellData(cellData);
+	}
+	
+	/**
+	 * 把字符数据添加到当前行中
+	 * 
+	 * @param cs
+	 * @param start
+	 * @param count
+	 */
+	private void appendRow(char[] cs, int start, int count) {
+		if (rowLength + count > rowBuffer.length) {
+			rowBuffer = Arrays.copyOf(rowBuffer, Math.max(rowBuffer.length * 2, rowLength + count));
+		}
+		System.arraycopy(cs, start, rowBuffer, rowLength, count);
+		rowLength += count;
+	}
+	
+	private void endRow(CSVRowHandler handler) {
+		if (lazyCells) {
+			csvRow.setRowData(new LazyRowData(rowBuffer, rowLength, cellBounds, cellCount, textDelimiter));
+			rowLength = cellCount = cellStart = 0;
+		}
+		boolean rowIsEmpty = csvRow.isEmpty();
+		if (header == null && detectHeader && !rowIsEmpty) {
+			csvRow.setHeader(true);
+			header = csvRow.getHeaderIndex();
+		}
+		// 设置标题行
+		csvRow.setHeaderIndex(header);
+		if (!rowIsEmpty) {
+			suitLineNo++;
+		}
+		lineNo++;
+		CSVRow row = csvRow;
+		csvRow = new CSVRow(++realityNo, config);
+		// 判断是否跳过空行
+		if (!config.isSkipEmptyRow() || !rowIsEmpty) {
+			stopped = !handler.handle(row);
+		}
+	}
+	
+	/**
+	 * 获取csv文件内容总行数（包括空行）
+	 * 
+	 * @return
+	 */
+	long getAllRowCount() {
+		return lineNo;
+	}
+	
+	/**
+	 * 获取csv文件内容有效行数（不包括空行）
+	 * 
+	 * @return
+	 */
+	long getValidRowCount() {
+		return suitLineNo;
+	}
+}
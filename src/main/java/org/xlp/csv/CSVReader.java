@@ -8,10 +8,16 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.xlp.assertion.AssertUtils;
 import org.xlp.assertion.IllegalObjectException;
@@ -19,7 +25,6 @@ import org.xlp.utils.XLPCharsetUtil;
 import org.xlp.utils.XLPStringUtil;
 import org.xlp.utils.collection.XLPCollectionUtil;
 import org.xlp.utils.io.XLPIOUtil;
-import org.xlp.utils.snumber.XLPMathUtil;
 
 /**
  * <p>
@@ -51,6 +56,11 @@ public class CSVReader {
 	 */
 	public static final char LF = '\n';
 
+	/**
+	 * 流式读取时使用的缓冲区大小
+	 */
+	private static final int STREAM_BUFFER_SIZE = 8192;
+
 	/**
 	 * csv文件读取配置对象
 	 */
@@ -175,9 +185,383 @@ public class CSVReader {
 	 *             从csv输入流中读取数据失败，则抛出该异常
 	 */
 	public void read(Reader csvReader) {
+		read(csvReader, new CSVRowHandler() {
+			@Override
+			public boolean handle(CSVRow csvRow) {
+				csvRows.add(csvRow);
+				return true;
+			}
+		});
+	}
+
+	/**
+	 * 从Reader中流式读取CSV数据，每解析出一行就交给行数据处理器，读取的数据不会保存在{@link #getCsvRows()}中
+	 * 
+	 * @param csvReader
+	 *            CSV文件输入流，读取完毕后不会关闭
+	 * @param handler
+	 *            行数据处理器，返回false时停止读取
+	 * @throws NullPointerException
+	 *             假如参数为空，则抛该异常
+	 * @throws CSVException
+	 *             从csv输入流中读取数据失败，则抛出该异常
+	 */
+	public void read(Reader csvReader, CSVRowHandler handler) {
 		AssertUtils.isNotNull(csvReader, "csvReader paramter is null!");
-		List<char[]> charList = readToChars(csvReader);
-		read(charList);
+		AssertUtils.isNotNull(handler, "handler paramter is null!");
+		CSVParser parser = new CSVParser(config);
+		char[] buffer = new char[STREAM_BUFFER_SIZE];
+		int len;
+		try {
+			boolean next = true;
+			while (next && (len = csvReader.read(buffer)) >= 0) {
+				next = parser.parse(buffer, 0, len, handler);
+			}
+			if (next) {
+				parser.finish(handler);
+			}
+		} catch (IOException e) {
+			throw new CSVException("从csv输入流中读取数据失败", e);
+		} finally {
+			setRowCount(parser.getAllRowCount(), parser.getValidRowCount());
+		}
+	}
+
+	/**
+	 * 从File中流式读取CSV数据，每解析出一行就交给行数据处理器，读取的数据不会保存在{@link #getCsvRows()}中
+	 * 
+	 * @param csvFlie
+	 *            CSV文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @param handler
+	 *            行数据处理器，返回false时停止读取
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws CSVException
+	 *             从csv文件中读取数据失败，则抛出该异常
+	 */
+	public void read(File csvFlie, String charsetName, CSVRowHandler handler) {
+		Reader reader = openReader(csvFlie, charsetName);
+		try {
+			read(reader, handler);
+		} finally {
+			XLPIOUtil.closeReader(reader);
+		}
+	}
+
+	/**
+	 * 并行读取CSV文件，每解析出一行就交给行数据处理器，读取的数据不会保存在{@link #getCsvRows()}中
+	 * <p>
+	 * 文件被映射到内存中并按{@link CSVReaderConfig#getParallelChunkSize()}分段，在记录边界处切分后并行解析，
+	 * 按{@link CSVReaderConfig#isOrderedOutput()}决定是否按文件中的顺序输出，行号与顺序读取时一致。
+	 * 线程数不大于1、文件较小或编码不支持按字节查找记录边界（例如UTF-16）时，按顺序读取
+	 * 
+	 * @param csvFlie
+	 *            CSV文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @param handler
+	 *            行数据处理器，只在调用线程中执行，返回false时停止读取
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws CSVException
+	 *             从csv文件中读取数据失败，则抛出该异常
+	 */
+	public void readParallel(File csvFlie, String charsetName, CSVRowHandler handler) {
+		readParallel(csvFlie, charsetName, handler, config.isOrderedOutput());
+	}
+
+	/**
+	 * 并行读取CSV文件
+	 * 
+	 * @param csvFlie
+	 * @param charsetName
+	 * @param handler
+	 * @param orderedOutput
+	 *            是否按文件中的顺序输出，不修改共享的配置对象
+	 */
+	private void readParallel(File csvFlie, String charsetName, CSVRowHandler handler, boolean orderedOutput) {
+		AssertUtils.assertFile(csvFlie);
+		AssertUtils.isNotNull(handler, "handler paramter is null!");
+		charsetName = XLPStringUtil.isEmpty(charsetName) ? DEFAULT_CHARSET : charsetName.trim();
+		Charset charset = Charset.forName(charsetName);
+		if (config.getParallelism() <= 1 || csvFlie.length() < 2L * config.getParallelChunkSize()
+				|| !CSVParallelReader.isSupported(charset, config)) {
+			read(csvFlie, charsetName, handler);
+			return;
+		}
+		CSVParallelReader reader = new CSVParallelReader(config, csvFlie, charset, orderedOutput);
+		try {
+			reader.read(handler);
+		} finally {
+			setRowCount(reader.getAllRowCount(), reader.getValidRowCount());
+		}
+	}
+
+	/**
+	 * 并行读取CSV文件，读取的数据按文件中的顺序保存在{@link #getCsvRows()}中
+	 * 
+	 * @param csvFlie
+	 *            CSV文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws CSVException
+	 *             从csv文件中读取数据失败，则抛出该异常
+	 * @see #readParallel(File, String, CSVRowHandler)
+	 */
+	public void readParallel(File csvFlie, String charsetName) {
+		readParallel(csvFlie, charsetName, new CSVRowHandler() {
+			@Override
+			public boolean handle(CSVRow csvRow) {
+				csvRows.add(csvRow);
+				return true;
+			}
+		}, true);
+	}
+
+	/**
+	 * 从Reader中流式读取CSV数据并直接转换成bean，每转换出batchSize个bean就交给bean数据处理器，
+	 * 标题行和空行不转换，读取的数据不会保存在{@link #getCsvRows()}中
+	 * 
+	 * @param csvReader
+	 *            CSV文件输入流，读取完毕后不会关闭
+	 * @param binder
+	 *            csv行数据与bean的绑定器
+	 * @param batchSize
+	 *            每批bean的个数，小于1时为1
+	 * @param handler
+	 *            bean数据处理器，返回false时停止读取
+	 * @throws NullPointerException
+	 *             假如参数为空，则抛该异常
+	 * @throws CSVException
+	 *             从csv输入流中读取数据失败或创建bean对象失败，则抛出该异常
+	 */
+	public <T> void readBeans(Reader csvReader, CSVBeanBinder<T> binder, int batchSize,
+			CSVBeanHandler<T> handler) {
+		AssertUtils.isNotNull(binder, "binder paramter is null!");
+		CSVBeanBinder<T>.BatchRowHandler batchHandler = binder.batchHandler(batchSize, handler);
+		read(csvReader, batchHandler);
+		batchHandler.finish();
+	}
+
+	/**
+	 * 从File中流式读取CSV数据并直接转换成bean，每转换出batchSize个bean就交给bean数据处理器，
+	 * 标题行和空行不转换，读取的数据不会保存在{@link #getCsvRows()}中
+	 * 
+	 * @param csvFlie
+	 *            CSV文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @param binder
+	 *            csv行数据与bean的绑定器
+	 * @param batchSize
+	 *            每批bean的个数，小于1时为1
+	 * @param handler
+	 *            bean数据处理器，返回false时停止读取
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws CSVException
+	 *             从csv文件中读取数据失败或创建bean对象失败，则抛出该异常
+	 */
+	public <T> void readBeans(File csvFlie, String charsetName, CSVBeanBinder<T> binder,
+			int batchSize, CSVBeanHandler<T> handler) {
+		AssertUtils.isNotNull(binder, "binder paramter is null!");
+		CSVBeanBinder<T>.BatchRowHandler batchHandler = binder.batchHandler(batchSize, handler);
+		read(csvFlie, charsetName, batchHandler);
+		batchHandler.finish();
+	}
+
+	/**
+	 * 从File中读取全部CSV数据并直接转换成bean，标题行和空行不转换，读取的数据不会保存在{@link #getCsvRows()}中
+	 * 
+	 * @param csvFlie
+	 *            CSV文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @param beanClass
+	 *            bean类型
+	 * @return
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws CSVException
+	 *             从csv文件中读取数据失败或创建bean对象失败，则抛出该异常
+	 */
+	public <T> List<T> readBeans(File csvFlie, String charsetName, Class<T> beanClass) {
+		final List<T> beans = new ArrayList<T>();
+		readBeans(csvFlie, charsetName, new CSVBeanBinder<T>(beanClass), 1024, new CSVBeanHandler<T>() {
+			@Override
+			public boolean handle(List<T> batch) {
+				beans.addAll(batch);
+				return true;
+			}
+		});
+		return beans;
+	}
+
+	/**
+	 * 获取从File中增量读取CSV数据并转换成bean的流，标题行和空行不转换，使用完毕后应关闭该流
+	 * 
+	 * @param csvFlie
+	 *            CSV文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @param binder
+	 *            csv行数据与bean的绑定器
+	 * @return
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws CSVException
+	 *             打开文件失败，则抛出该异常
+	 */
+	public <T> Stream<T> beanStream(File csvFlie, String charsetName, final CSVBeanBinder<T> binder) {
+		AssertUtils.isNotNull(binder, "binder paramter is null!");
+		return stream(csvFlie, charsetName).filter(new Predicate<CSVRow>() {
+			@Override
+			public boolean test(CSVRow csvRow) {
+				return !csvRow.isHeader() && !csvRow.isEmpty();
+			}
+		}).map(new Function<CSVRow, T>() {
+			@Override
+			public T apply(CSVRow csvRow) {
+				return binder.toBean(csvRow);
+			}
+		});
+	}
+
+	/**
+	 * 获取从Reader中增量读取CSV数据的迭代器，读取的数据不会保存在{@link #getCsvRows()}中
+	 * 
+	 * @param csvReader
+	 *            CSV文件输入流，读取完毕或关闭迭代器时关闭
+	 * @return
+	 * @throws NullPointerException
+	 *             假如参数为空，则抛该异常
+	 */
+	public CSVRowIterator iterator(Reader csvReader) {
+		AssertUtils.isNotNull(csvReader, "csvReader paramter is null!");
+		return new CSVRowIterator(this, csvReader, STREAM_BUFFER_SIZE);
+	}
+
+	/**
+	 * 获取从InputStream中增量读取CSV数据的迭代器，读取的数据不会保存在{@link #getCsvRows()}中
+	 * 
+	 * @param csvIn
+	 *            CSV文件输入流，读取完毕或关闭迭代器时关闭
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @return
+	 * @throws NullPointerException
+	 *             假如参数为空，则抛该异常
+	 */
+	public CSVRowIterator iterator(InputStream csvIn, String charsetName) {
+		AssertUtils.isNotNull(csvIn, "csvIn paramter is null!");
+		charsetName = XLPStringUtil.isEmpty(charsetName) ? DEFAULT_CHARSET : charsetName.trim();
+		return iterator(XLPIOUtil.getReader(csvIn, charsetName));
+	}
+
+	/**
+	 * 获取从File中增量读取CSV数据的迭代器，读取的数据不会保存在{@link #getCsvRows()}中
+	 * 
+	 * @param csvFlie
+	 *            CSV文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @return
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws CSVException
+	 *             打开文件失败，则抛出该异常
+	 */
+	public CSVRowIterator iterator(File csvFlie, String charsetName) {
+		return iterator(openReader(csvFlie, charsetName));
+	}
+
+	/**
+	 * 获取从Reader中增量读取CSV数据的流，使用完毕后应关闭该流
+	 * 
+	 * @param csvReader
+	 *            CSV文件输入流，读取完毕或关闭流时关闭
+	 * @return
+	 * @throws NullPointerException
+	 *             假如参数为空，则抛该异常
+	 */
+	public Stream<CSVRow> stream(Reader csvReader) {
+		return toStream(iterator(csvReader));
+	}
+
+	/**
+	 * 获取从File中增量读取CSV数据的流，使用完毕后应关闭该流
+	 * 
+	 * @param csvFlie
+	 *            CSV文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @return
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws CSVException
+	 *             打开文件失败，则抛出该异常
+	 */
+	public Stream<CSVRow> stream(File csvFlie, String charsetName) {
+		return toStream(iterator(csvFlie, charsetName));
+	}
+
+	private Stream<CSVRow> toStream(final CSVRowIterator iterator) {
+		Spliterator<CSVRow> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(new Runnable() {
+			@Override
+			public void run() {
+				iterator.close();
+			}
+		});
+	}
+
+	/**
+	 * 打开csv文件
+	 * 
+	 * @param csvFlie
+	 * @param charsetName
+	 * @return
+	 */
+	private Reader openReader(File csvFlie, String charsetName) {
+		AssertUtils.assertFile(csvFlie);
+		charsetName = XLPStringUtil.isEmpty(charsetName) ? DEFAULT_CHARSET : charsetName.trim();
+		try {
+			return XLPIOUtil.getReader(new FileInputStream(csvFlie), charsetName);
+		} catch (FileNotFoundException e) {
+			throw new CSVException(e);
+		}
+	}
+
+	/**
+	 * 设置行数
+	 * 
+	 * @param allRowCount
+	 * @param validRowCount
+	 */
+	void setRowCount(long allRowCount, long validRowCount) {
+		this.allRowCount = allRowCount;
+		this.validRowCount = validRowCount;
 	}
 
 	/**
@@ -294,118 +678,22 @@ public class CSVReader {
 	 */
 	void read(List<char[]> charList) {
 		AssertUtils.isNotNull(charList, "charList paramter is null!");
-		int size = charList.size();
-		// 分别为csv文件行号，实际有效行号（跳过空行），csv每行数据对应的行号（包括空行）
-		long lineNo = 0, suitLineNo = 0, realityNo = 1;
-		// 是否在特殊字符包含内，默认特殊字符是"
-		boolean inQuotes = false;
-		char preChar = 0;
-		char[] cs;
-		int arrLen;
-		CSVRow csvRow = new CSVRow(realityNo, config);
-		boolean hasHeader = config.isHasHeader();
-		int delimiterCount = 0;
-		String temp = null;
-		Map<Integer, String> headerMap = null;
-		int count = 0;
-		for (int i = 0; i < size; i++) {
-			cs = charList.get(i);
-			arrLen = cs.length;
-			for (int j = 0; j < arrLen; j++) {
-				// 判断是否在特殊字符包含内
-				if (cs[j] == config.getTextDelimiter()) {
-					delimiterCount++;
-				} else if (delimiterCount > 0) {
-					if (XLPMathUtil.isEven(delimiterCount) && !inQuotes) {
-						preChar = config.getTextDelimiter();
-					} else if (!XLPMathUtil.isEven(delimiterCount) && !inQuotes) {
-						inQuotes = true;
-						preChar = config.getTextDelimiter();
-					} else if (!XLPMathUtil.isEven(delimiterCount) && inQuotes) {
-						inQuotes = false;
-						preChar = config.getTextDelimiter();
-					}
-					delimiterCount = 0;
-				}
-
-				// 判断是否在特殊字符内
-				if (!inQuotes && delimiterCount == 0) {
-					// 判断前一个特殊字符是否是"
-					if (preChar == config.getTextDelimiter()) {
-						if (cs[j] != config.getFieldSeparator() && cs[j] != LF && cs[j] != CR) {
-							throw new CSVException("..." + new String(cs) + "...不是csv格式数据，解析失败！");
-						}
-					}
-
-					if (cs[j] == config.getFieldSeparator()) {
-						String cellData = String.valueOf(cs, j - count, count);
-						csvRow.addCellData(temp == null ? cellData : temp + cellData);
-						preChar = config.getFieldSeparator();
-						temp = null;
-						count = 0;
-					} else if (cs[j] == CR || (cs[j] == LF && preChar != CR)) {
-						String cellData = String.valueOf(cs, j - count, count);
-						csvRow.addCellData(temp == null ? cellData : temp + cellData);
-						boolean rowIsEmpty = csvRow.isEmpty();
-						if (headerMap == null && hasHeader && !rowIsEmpty) {
-							csvRow.setHeader(true);
-							headerMap = csvRow.getHeaderMap();
-						}
-						// 设置标题行
-						csvRow.setHeaderMap(headerMap);
-						// 判断是否跳过空行
-						if ((config.isSkipEmptyRow() && !rowIsEmpty) || !config.isSkipEmptyRow()) {
-							csvRows.add(csvRow);
-						}
-						if (!rowIsEmpty) {
-							suitLineNo++;
-						}
-						temp = null;
-						count = 0;
-						preChar = cs[j] == LF ? LF : CR;
-						csvRow = new CSVRow(++realityNo, config);
-						lineNo++;
-					} else if (cs[j] == LF && preChar == CR) {
-						continue;
-					} else {
-						count++;
-						if (j == arrLen - 1) {
-							temp = String.valueOf(cs, j - count + 1, count);
-							count = 0;
-						}
-					}
-				} else {
-					count++;
-					if (j == arrLen - 1) {
-						temp = String.valueOf(cs, j - count + 1, count);
-						count = 0;
-					}
-				}
-			}
-		}
-		// 处理最后一个单元格数据
-		if (temp != null) {
-			csvRow.addCellData(temp);
-			boolean rowIsEmpty = csvRow.isEmpty();
-			if (headerMap == null && hasHeader && !rowIsEmpty) {
-				csvRow.setHeader(true);
-				headerMap = csvRow.getHeaderMap();
-			}
-			// 设置标题行
-			csvRow.setHeaderMap(headerMap);
-			// 判断是否跳过空行
-			if ((config.isSkipEmptyRow() && !rowIsEmpty) || !config.isSkipEmptyRow()) {
+		CSVParser parser = new CSVParser(config);
+		CSVRowHandler handler = new CSVRowHandler() {
+			@Override
+			public boolean handle(CSVRow csvRow) {
 				csvRows.add(csvRow);
+				return true;
 			}
-			if (!rowIsEmpty) {
-				suitLineNo++;
+		};
+		try {
+			for (char[] cs : charList) {
+				parser.parse(cs, 0, cs.length, handler);
 			}
-			temp = null;
-			lineNo++;
+			parser.finish(handler);
+		} finally {
+			setRowCount(parser.getAllRowCount(), parser.getValidRowCount());
 		}
-		allRowCount = lineNo;
-		validRowCount = suitLineNo;
-		charList = null;
 	}
 
 	/**
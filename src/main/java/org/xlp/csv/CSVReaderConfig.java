@@ -22,6 +22,31 @@ public class CSVReaderConfig extends CSVConfig {
 	 */
 	private boolean hasHeader = true;
 
+	/**
+	 * 并行读取时每段数据的最小字节数
+	 */
+	private static final int MIN_PARALLEL_CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * 并行读取时使用的线程数，默认为CPU核数
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * 并行读取时每段数据的大致字节数，默认8MB
+	 */
+	private int parallelChunkSize = 8 * 1024 * 1024;
+
+	/**
+	 * 并行读取时是否按文件中的顺序输出行数据，默认按顺序输出
+	 */
+	private boolean orderedOutput = true;
+
+	/**
+	 * 是否延迟创建单元格字符串，默认不延迟
+	 */
+	private boolean lazyCells = false;
+
 	/**
 	 * 获取是否跳过空行, 默认跳过空行
 	 * 
@@ -57,4 +82,79 @@ public class CSVReaderConfig extends CSVConfig {
 	public void setHasHeader(boolean hasHeader) {
 		this.hasHeader = hasHeader;
 	}
+
+	/**
+	 * 获取并行读取时使用的线程数，默认为CPU核数
+	 * 
+	 * @return
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * 设置并行读取时使用的线程数，默认为CPU核数
+	 * 
+	 * @param parallelism 小于1时按1处理，此时不并行读取
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * 获取并行读取时每段数据的大致字节数，默认8MB
+	 * 
+	 * @return
+	 */
+	public int getParallelChunkSize() {
+		return parallelChunkSize;
+	}
+
+	/**
+	 * 设置并行读取时每段数据的大致字节数，默认8MB
+	 * 
+	 * @param parallelChunkSize 小于64KB时按64KB处理
+	 */
+	public void setParallelChunkSize(int parallelChunkSize) {
+		this.parallelChunkSize = Math.max(MIN_PARALLEL_CHUNK_SIZE, parallelChunkSize);
+	}
+
+	/**
+	 * 获取并行读取时是否按文件中的顺序输出行数据，默认按顺序输出
+	 * 
+	 * @return
+	 */
+	public boolean isOrderedOutput() {
+		return orderedOutput;
+	}
+
+	/**
+	 * 设置并行读取时是否按文件中的顺序输出行数据，默认按顺序输出
+	 * 
+	 * @param orderedOutput true：按顺序输出，false：哪段先解析完先输出哪段
+	 */
+	public void setOrderedOutput(boolean orderedOutput) {
+		this.orderedOutput = orderedOutput;
+	}
+
+	/**
+	 * 获取是否延迟创建单元格字符串，默认不延迟
+	 * 
+	 * @return
+	 */
+	public boolean isLazyCells() {
+		return lazyCells;
+	}
+
+	/**
+	 * 设置是否延迟创建单元格字符串，默认不延迟
+	 * <p>
+	 * 为true时每行数据只保存一个字符数组及各单元格的起止位置，读取某个单元格时才创建字符串，
+	 * 适合每行只读取少数几列的场景，可用{@link CSVRow#getCellChars(int)}直接读取字符而不创建字符串
+	 * 
+	 * @param lazyCells
+	 */
+	public void setLazyCells(boolean lazyCells) {
+		this.lazyCells = lazyCells;
+	}
 }
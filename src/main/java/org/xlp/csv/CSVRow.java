@@ -1,10 +1,10 @@
 package org.xlp.csv;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import org.xlp.utils.XLPStringUtil;
 
@@ -31,15 +31,37 @@ public class CSVRow {
 	private List<String> rowData = new ArrayList<String>();
 
 	/**
-	 * csv标题数据，key：列号从0开始，value：标题名称
+	 * csv标题行索引，同一文件的行数据共用，创建后不可修改
 	 */
-	private Map<Integer, String> headerMap;
+	private CSVHeader headerIndex;
+
+	/**
+	 * 标题行索引是否由本行数据创建，行数据变化时需要重新创建
+	 */
+	private boolean rowHeaderIndex = false;
 
 	/**
 	 * 是否是标题行，默认非标题行
 	 */
 	private boolean isHeader = false;
 
+	/**
+	 * 各行数据类型是否重写了{@link #unwrap(String, String, String)}
+	 */
+	private static final ClassValue<Boolean> UNWRAP_OVERRIDDEN = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> cs = type; cs != CSVRow.class && cs != null; cs = cs.getSuperclass()) {
+				try {
+					cs.getDeclaredMethod("unwrap", String.class, String.class, String.class);
+					return Boolean.TRUE;
+				} catch (NoSuchMethodException e) {
+				}
+			}
+			return Boolean.FALSE;
+		}
+	};
+
 	/**
 	 * 构造函数
 	 */
@@ -147,6 +169,10 @@ public class CSVRow {
 	public void setRowData(List<String> rowData) {
 		if (rowData != null) {
 			this.rowData = rowData;
+			resetRowHeaderIndex();
+			if (rowData instanceof LazyRowData) {
+				((LazyRowData) rowData).setOwner(this);
+			}
 		}
 	}
 
@@ -156,8 +182,8 @@ public class CSVRow {
 	 * @param cellData
 	 */
 	public void addCellData(String cellData) {
-		String textWrap = config.getTextDelimiter() + "";
-		rowData.add(unwrap(textWrap, textWrap, cellData).replace(textWrap + textWrap, textWrap));
+		rowData.add(unwrapCell(cellData));
+		resetRowHeaderIndex();
 	}
 
 	/**
@@ -167,8 +193,29 @@ public class CSVRow {
 	 * @param cellData
 	 */
 	public void addCellData(int index, String cellData) {
+		rowData.add(index, unwrapCell(cellData));
+		resetRowHeaderIndex();
+	}
+
+	/**
+	 * 去除单元格数据的前后包装字符，并把两个连续的包装字符还原成一个
+	 * 
+	 * @param cellData
+	 * @return
+	 */
+	String unwrapCell(String cellData) {
 		String textWrap = config.getTextDelimiter() + "";
-		rowData.add(index, unwrap(textWrap, textWrap, cellData).replace(textWrap + textWrap, textWrap));
+		return unwrap(textWrap, textWrap, cellData).replace(textWrap + textWrap, textWrap);
+	}
+
+	/**
+	 * 判断给定的行数据类型是否重写了{@link #unwrap(String, String, String)}
+	 * 
+	 * @param rowClass
+	 * @return
+	 */
+	static boolean isUnwrapOverridden(Class<?> rowClass) {
+		return rowClass != CSVRow.class && UNWRAP_OVERRIDDEN.get(rowClass).booleanValue();
 	}
 
 	/**
@@ -193,26 +240,59 @@ public class CSVRow {
 	/**
 	 * 获取csv头部数据，key：列号从0开始，value：头部名称
 	 * 
-	 * @return
+	 * @return 标题数据的副本，修改它不会影响该行数据，要修改标题数据时调用{@link #setHeaderMap(Map)}
 	 */
 	public Map<Integer, String> getHeaderMap() {
-		if (isHeader && headerMap == null) {
-			headerMap = new HashMap<>();
-			int size = getAllColumnCount();
-			for (int i = 0; i < size; i++) {
-				headerMap.put(Integer.valueOf(i), rowData.get(i)); 
-			}
-		}
-		return headerMap;
+		CSVHeader header = getHeaderIndex();
+		return header == null ? null : new HashMap<Integer, String>(header.toMap());
 	}
 
 	/**
 	 * 设置csv头部数据，key：列号从0开始，value：头部名称
+	 * <p>
+	 * 按调用时的数据创建标题行索引，之后修改参数中的map不会影响该行数据
 	 * 
 	 * @param headerMap
 	 */
 	public void setHeaderMap(Map<Integer, String> headerMap) {
-		this.headerMap = headerMap;
+		this.headerIndex = headerMap == null ? null : new CSVHeader(headerMap);
+		this.rowHeaderIndex = false;
+	}
+
+	/**
+	 * 获取csv标题行索引，未设置索引的标题行返回由本行数据创建的索引
+	 * <p>
+	 * 该索引在第一次获取时创建，之后通过{@link #setRowData(List)}或addCellData修改行数据时重新创建；
+	 * 直接修改{@link #getRowData()}返回的列表后，需再次调用{@link #setRowData(List)}
+	 * 
+	 * @return 没有标题行时返回null
+	 */
+	public CSVHeader getHeaderIndex() {
+		if (headerIndex == null && isHeader) {
+			headerIndex = new CSVHeader(rowData);
+			rowHeaderIndex = true;
+		}
+		return headerIndex;
+	}
+
+	/**
+	 * 清除由本行数据创建的标题行索引
+	 */
+	private void resetRowHeaderIndex() {
+		if (rowHeaderIndex) {
+			headerIndex = null;
+			rowHeaderIndex = false;
+		}
+	}
+
+	/**
+	 * 设置csv标题行索引，读取csv文件时同一文件的行数据共用同一个索引
+	 * 
+	 * @param headerIndex
+	 */
+	public void setHeaderIndex(CSVHeader headerIndex) {
+		this.headerIndex = headerIndex;
+		this.rowHeaderIndex = false;
 	}
 
 	/**
@@ -241,6 +321,7 @@ public class CSVRow {
 	 */
 	public void setHeader(boolean isHeader) {
 		this.isHeader = isHeader;
+		resetRowHeaderIndex();
 	}
 
 	/**
@@ -262,18 +343,216 @@ public class CSVRow {
 	 * @return 假如标题栏名称不存在，则返回null，否则该列值
 	 */
 	public String getCellData(String tilteName) {
-		headerMap = getHeaderMap();
-		if (headerMap == null) {
+		CSVHeader header = getHeaderIndex();
+		return header == null ? null : getCellData(header.indexOf(tilteName));
+	}
+
+	/**
+	 * 根据列索引获取该列的字符序列，调用者只读取字符时可避免创建字符串
+	 * 
+	 * @param columnIndex
+	 *            列索引号，从0开始
+	 * @return 假如索引号不小于该行列数或小于0，则返回null，否则该列值
+	 */
+	public CharSequence getCellChars(int columnIndex) {
+		if (rowData instanceof LazyRowData) {
+			return (columnIndex < 0 || getAllColumnCount() <= columnIndex) ? null 
+					: ((LazyRowData) rowData).cellChars(columnIndex);
+		}
+		return getCellData(columnIndex);
+	}
+
+	/**
+	 * 根据标题栏名称获取该列的字符序列，调用者只读取字符时可避免创建字符串
+	 * 
+	 * @param tilteName
+	 *            标题栏名称
+	 * @return 假如标题栏名称不存在，则返回null，否则该列值
+	 */
+	public CharSequence getCellChars(String tilteName) {
+		return getCellChars(columnIndexOf(tilteName));
+	}
+
+	/**
+	 * 根据列索引获取该列的int值
+	 * 
+	 * @param columnIndex
+	 *            列索引号，从0开始
+	 * @return 假如该列不存在或为空，则返回null
+	 * @throws NumberFormatException
+	 *             假如该列值不是整数或超出int范围，则抛出该异常
+	 */
+	public Integer getInt(int columnIndex) {
+		CharSequence cs = getCellChars(columnIndex);
+		if (isBlank(cs)) {
 			return null;
 		}
-		int columnIndex = -1;
-		for (Entry<Integer, String> entry : headerMap.entrySet()) {
-			if (entry.getValue().equals(tilteName)) {
-				columnIndex = entry.getKey().intValue();
-				break;
+		long value = parseLong(cs);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new NumberFormatException("For input string: \"" + cs + "\"");
+		}
+		return Integer.valueOf((int) value);
+	}
+
+	/**
+	 * 根据标题栏名称获取该列的int值
+	 * 
+	 * @param tilteName
+	 *            标题栏名称
+	 * @return 假如该列不存在或为空，则返回null
+	 * @throws NumberFormatException
+	 *             假如该列值不是整数或超出int范围，则抛出该异常
+	 */
+	public Integer getInt(String tilteName) {
+		return getInt(columnIndexOf(tilteName));
+	}
+
+	/**
+	 * 根据列索引获取该列的long值
+	 * 
+	 * @param columnIndex
+	 *            列索引号，从0开始
+	 * @return 假如该列不存在或为空，则返回null
+	 * @throws NumberFormatException
+	 *             假如该列值不是整数或超出long范围，则抛出该异常
+	 */
+	public Long getLong(int columnIndex) {
+		CharSequence cs = getCellChars(columnIndex);
+		return isBlank(cs) ? null : Long.valueOf(parseLong(cs));
+	}
+
+	/**
+	 * 根据标题栏名称获取该列的long值
+	 * 
+	 * @param tilteName
+	 *            标题栏名称
+	 * @return 假如该列不存在或为空，则返回null
+	 * @throws NumberFormatException
+	 *             假如该列值不是整数或超出long范围，则抛出该异常
+	 */
+	public Long getLong(String tilteName) {
+		return getLong(columnIndexOf(tilteName));
+	}
+
+	/**
+	 * 根据列索引获取该列的double值
+	 * 
+	 * @param columnIndex
+	 *            列索引号，从0开始
+	 * @return 假如该列不存在或为空，则返回null
+	 * @throws NumberFormatException
+	 *             假如该列值不是数字，则抛出该异常
+	 */
+	public Double getDouble(int columnIndex) {
+		CharSequence cs = getCellChars(columnIndex);
+		return isBlank(cs) ? null : Double.valueOf(cs.toString().trim());
+	}
+
+	/**
+	 * 根据标题栏名称获取该列的double值
+	 * 
+	 * @param tilteName
+	 *            标题栏名称
+	 * @return 假如该列不存在或为空，则返回null
+	 * @throws NumberFormatException
+	 *             假如该列值不是数字，则抛出该异常
+	 */
+	public Double getDouble(String tilteName) {
+		return getDouble(columnIndexOf(tilteName));
+	}
+
+	/**
+	 * 根据列索引获取该列的BigDecimal值
+	 * 
+	 * @param columnIndex
+	 *            列索引号，从0开始
+	 * @return 假如该列不存在或为空，则返回null
+	 * @throws NumberFormatException
+	 *             假如该列值不是数字，则抛出该异常
+	 */
+	public BigDecimal getDecimal(int columnIndex) {
+		CharSequence cs = getCellChars(columnIndex);
+		if (isBlank(cs)) {
+			return null;
+		}
+		int start = 0, end = cs.length();
+		while (cs.charAt(start) <= ' ') start++;
+		while (cs.charAt(end - 1) <= ' ') end--;
+		char[] chars = new char[end - start];
+		for (int i = start; i < end; i++) {
+			chars[i - start] = cs.charAt(i);
+		}
+		return new BigDecimal(chars);
+	}
+
+	/**
+	 * 根据标题栏名称获取该列的BigDecimal值
+	 * 
+	 * @param tilteName
+	 *            标题栏名称
+	 * @return 假如该列不存在或为空，则返回null
+	 * @throws NumberFormatException
+	 *             假如该列值不是数字，则抛出该异常
+	 */
+	public BigDecimal getDecimal(String tilteName) {
+		return getDecimal(columnIndexOf(tilteName));
+	}
+
+	private int columnIndexOf(String tilteName) {
+		CSVHeader header = getHeaderIndex();
+		return header == null ? -1 : header.indexOf(tilteName);
+	}
+
+	private static boolean isBlank(CharSequence cs) {
+		if (cs == null) {
+			return true;
+		}
+		for (int i = 0, len = cs.length(); i < len; i++) {
+			if (cs.charAt(i) > ' ') {
+				return false;
 			}
 		}
-		return getCellData(columnIndex);
+		return true;
+	}
+
+	/**
+	 * 直接从字符序列中解析整数，忽略前后空白字符，不创建中间字符串
+	 * 
+	 * @param cs
+	 *            不全为空白字符的字符序列
+	 * @return
+	 * @throws NumberFormatException
+	 *             假如不是整数或超出long范围，则抛出该异常
+	 */
+	private static long parseLong(CharSequence cs) {
+		int i = 0, end = cs.length();
+		while (cs.charAt(i) <= ' ') i++;
+		while (cs.charAt(end - 1) <= ' ') end--;
+		boolean negative = false;
+		char first = cs.charAt(i);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			i++;
+		}
+		if (i == end) {
+			throw new NumberFormatException("For input string: \"" + cs + "\"");
+		}
+		// 按负数累加，可以表示Long.MIN_VALUE
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multmin = limit / 10;
+		long result = 0;
+		for (; i < end; i++) {
+			int digit = cs.charAt(i) - '0';
+			if (digit < 0 || digit > 9 || result < multmin) {
+				throw new NumberFormatException("For input string: \"" + cs + "\"");
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				throw new NumberFormatException("For input string: \"" + cs + "\"");
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
 	}
 
 	/**
@@ -290,35 +569,27 @@ public class CSVRow {
 	 * @return 转换成的map key=标题栏名称[+列索引], value=列值
 	 */
 	public Map<String, String> rowDataToMap() {
-		headerMap = getHeaderMap();
+		CSVHeader header = getHeaderIndex();
 		int rowDatasize = getAllColumnCount();
-		int headerSize = headerMap == null ? 0 : headerMap.size();
+		int headerSize = header == null ? 0 : header.size();
 		// 取标题栏与数据栏列数的最大值
 		int maxSize = Math.max(rowDatasize, headerSize);
 		// 取标题栏与数据栏列数的最小大值
 		int minSize = Math.min(headerSize, rowDatasize);
-		Map<String, String> map = new HashMap<String, String>(maxSize);
-		// 处理相同列数情况的数据
+		Map<String, String> map = new HashMap<String, String>(maxSize * 4 / 3 + 1);
+		// 处理相同列数情况的数据，重复的标题栏名称已在标题行索引中加上列号
 		for (int i = 0; i < minSize; i++) {
-			String title = headerMap.get(i);
-			if (map.containsKey(title)) {
-				title += i;
-			}
-			map.put(title, rowData.get(i));
+			map.put(header.getMapKey(i), getCellData(i));
 		}
 
 		// 标题栏列数小于数据列数，则用索引值扩充key值
 		for (int i = headerSize; i < rowDatasize; i++) {
-			map.put(String.valueOf(i), rowData.get(i));
+			map.put(String.valueOf(i), getCellData(i));
 		}
 
 		// 题栏列数大于数据列数，则用null作为该列值
 		for (int i = rowDatasize; i < headerSize; i++) {
-			String title = headerMap.get(i);
-			if (map.containsKey(title)) {
-				title += i;
-			}
-			map.put(title, null);
+			map.put(header.getMapKey(i), null);
 		}
 		return map;
 	}
@@ -332,6 +603,9 @@ public class CSVRow {
 		if (rowData == null) {
 			return true;
 		}
+		if (rowData instanceof LazyRowData) {
+			return ((LazyRowData) rowData).isBlank();
+		}
 		for (String s : rowData) {
 			if (!XLPStringUtil.isEmpty(s)) {
 				return false;
@@ -0,0 +1,17 @@
+package org.xlp.csv;
+/**
+ * <p>创建时间：2026年10月18日 下午4:05:12</p>
+ * @author xlp
+ * @version 1.0 
+ * @Description csv行数据处理器，流式读取csv数据时每解析出一行调用一次
+*/
+@FunctionalInterface
+public interface CSVRowHandler {
+	/**
+	 * 处理一行数据
+	 * 
+	 * @param csvRow 行数据，标题行也会传入，可用{@link CSVRow#isHeader()}判断
+	 * @return true：继续读取，false：停止读取
+	 */
+	boolean handle(CSVRow csvRow);
+}
@@ -0,0 +1,105 @@
+package org.xlp.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * <p>创建时间：2026年10月18日 下午4:40:18</p>
+ * @author xlp
+ * @version 1.0 
+ * @Description csv行数据迭代器，使用固定大小的缓冲区从Reader中增量解析数据，不会一次性把全部数据读入内存
+ * <p>
+ * 标题行也会返回，可用{@link CSVRow#isHeader()}判断；读取完毕或调用{@link #close()}后关闭Reader
+*/
+public class CSVRowIterator implements Iterator<CSVRow>, Closeable {
+	private final CSVReader csvReader;
+	
+	private final Reader reader;
+	
+	private final CSVParser parser;
+	
+	private final char[] buffer;
+	
+	/**
+	 * 已解析但未返回的行数据
+	 */
+	private final ArrayDeque<CSVRow> rows = new ArrayDeque<CSVRow>();
+	
+	private final CSVRowHandler handler = new CSVRowHandler() {
+		@Override
+		public boolean handle(CSVRow csvRow) {
+			rows.add(csvRow);
+			return true;
+		}
+	};
+	
+	private boolean finished = false;
+	
+	CSVRowIterator(CSVReader csvReader, Reader reader, int bufferSize) {
+		this.csvReader = csvReader;
+		this.reader = reader;
+		this.parser = new CSVParser(csvReader.getConfig());
+		this.buffer = new char[bufferSize];
+	}
+
+	/**
+	 * @throws CSVException 假如读取数据失败或不是csv格式数据，则抛出该异常
+	 */
+	@Override
+	public boolean hasNext() {
+		while (rows.isEmpty() && !finished) {
+			fill();
+		}
+		return !rows.isEmpty();
+	}
+
+	/**
+	 * @throws CSVException 假如读取数据失败或不是csv格式数据，则抛出该异常
+	 */
+	@Override
+	public CSVRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return rows.poll();
+	}
+	
+	private void fill() {
+		int len;
+		try {
+			len = reader.read(buffer);
+		} catch (IOException e) {
+			close();
+			throw new CSVException("从csv输入流中读取数据失败", e);
+		}
+		try {
+			if (len < 0) {
+				parser.finish(handler);
+				close();
+			} else {
+				parser.parse(buffer, 0, len, handler);
+			}
+		} catch (CSVException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * 关闭Reader，并更新{@link CSVReader}中记录的行数
+	 */
+	@Override
+	public void close() {
+		if (!finished) {
+			finished = true;
+			XLPIOUtil.closeReader(reader);
+			csvReader.setRowCount(parser.getAllRowCount(), parser.getValidRowCount());
+		}
+	}
+}
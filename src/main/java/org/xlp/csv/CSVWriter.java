@@ -0,0 +1,559 @@
+package org.xlp.csv;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+import org.xlp.javabean.PropertyDescriptor;
+import org.xlp.javabean.annotation.FieldName;
+import org.xlp.javabean.annotation.Formatter;
+import org.xlp.utils.XLPFormatterUtil;
+import org.xlp.utils.XLPStringUtil;
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * <p>创建时间：2026年10月18日 下午8:12:40</p>
+ * @author xlp
+ * @version 1.0
+ * @Description csv文件写入类
+ * <p>
+ * 所有行数据都先写入一个可重复使用的字符缓冲区，缓冲区满时才写入输出目标；每个单元格只扫描一次，
+ * 只有含有字段分隔符、文本包装符或换行符的单元格才用文本包装符包装。该类不是线程安全的，使用完毕后应关闭
+*/
+public class CSVWriter implements Closeable, Flushable {
+	/**
+	 * 默认编码
+	 */
+	public static final String DEFAULT_CHARSET = CSVReader.DEFAULT_CHARSET;
+
+	/**
+	 * 写入gzip文件时字节缓冲区大小
+	 */
+	private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * bean类型 -> 写入时使用的列信息，属性描述缓存被清除后重新计算
+	 */
+	private static final ClassValue<AtomicReference<BeanColumns>> BEAN_COLUMNS = 
+			new ClassValue<AtomicReference<BeanColumns>>() {
+		@Override
+		protected AtomicReference<BeanColumns> computeValue(Class<?> type) {
+			return new AtomicReference<BeanColumns>();
+		}
+	};
+
+	private final Writer writer;
+
+	private final char[] buffer;
+
+	private int count = 0;
+
+	private final char fieldSeparator;
+
+	private final char textDelimiter;
+
+	private final char[] lineSeparator;
+
+	private final boolean quoteAll;
+
+	/**
+	 * 当前行已写入的单元格数
+	 */
+	private int cellCount = 0;
+
+	/**
+	 * 已写入的行数
+	 */
+	private long rowCount = 0;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param writer 输出目标
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public CSVWriter(Writer writer) {
+		this(writer, null);
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param writer 输出目标
+	 * @param config csv文件写入配置，为null时使用默认配置
+	 * @throws NullPointerException 假如输出目标为null，则抛出该异常
+	 */
+	public CSVWriter(Writer writer, CSVWriterConfig config) {
+		if (writer == null)
+			throw new NullPointerException("输出目标参数必须不为null");
+		if (config == null)
+			config = new CSVWriterConfig();
+		this.writer = writer;
+		this.buffer = new char[config.getBufferSize()];
+		this.fieldSeparator = config.getFieldSeparator();
+		this.textDelimiter = config.getTextDelimiter();
+		this.lineSeparator = config.getLineSeparator().toCharArray();
+		this.quoteAll = config.isQuoteAll();
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param out 输出流
+	 * @param charsetName 字符编码，为空时使用utf-8编码
+	 * @param config csv文件写入配置，为null时使用默认配置
+	 * @throws NullPointerException 假如输出流为null，则抛出该异常
+	 */
+	public CSVWriter(OutputStream out, String charsetName, CSVWriterConfig config) {
+		this(toWriter(out, charsetName), config);
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param out 输出流
+	 * @param charsetName 字符编码，为空时使用utf-8编码
+	 * @throws NullPointerException 假如输出流为null，则抛出该异常
+	 */
+	public CSVWriter(OutputStream out, String charsetName) {
+		this(out, charsetName, null);
+	}
+
+	/**
+	 * 构造函数，文件已存在时覆盖原文件
+	 *
+	 * @param csvFile 要写入的csv文件
+	 * @param charsetName 字符编码，为空时使用utf-8编码
+	 * @param gzip 是否用gzip格式压缩写入的数据
+	 * @param config csv文件写入配置，为null时使用默认配置
+	 * @throws NullPointerException 假如文件参数为null，则抛出该异常
+	 * @throws CSVException 假如打开文件失败，则抛出该异常
+	 */
+	public CSVWriter(File csvFile, String charsetName, boolean gzip, CSVWriterConfig config) {
+		this(openFile(csvFile, charsetName, gzip), config);
+	}
+
+	/**
+	 * 构造函数，文件已存在时覆盖原文件
+	 *
+	 * @param csvFile 要写入的csv文件
+	 * @param charsetName 字符编码，为空时使用utf-8编码
+	 * @throws NullPointerException 假如文件参数为null，则抛出该异常
+	 * @throws CSVException 假如打开文件失败，则抛出该异常
+	 */
+	public CSVWriter(File csvFile, String charsetName) {
+		this(csvFile, charsetName, false, null);
+	}
+
+	private static Writer toWriter(OutputStream out, String charsetName) {
+		if (out == null)
+			throw new NullPointerException("输出流参数必须不为null");
+		return new OutputStreamWriter(out, toCharset(charsetName));
+	}
+
+	private static Charset toCharset(String charsetName) {
+		charsetName = XLPStringUtil.isEmpty(charsetName) ? DEFAULT_CHARSET : charsetName.trim();
+		return Charset.forName(charsetName);
+	}
+
+	private static Writer openFile(File csvFile, String charsetName, boolean gzip) {
+		if (csvFile == null)
+			throw new NullPointerException("文件参数必须不为null");
+		// 先检查编码，编码无效时不打开文件
+		Charset charset = toCharset(charsetName);
+		OutputStream out = null;
+		try {
+			out = new FileOutputStream(csvFile);
+			out = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out;
+			return new OutputStreamWriter(out, charset);
+		} catch (FileNotFoundException e) {
+			throw new CSVException(e);
+		} catch (IOException e) {
+			XLPIOUtil.closeOutputStream(out);
+			throw new CSVException(e);
+		}
+	}
+
+	/**
+	 * 写入一行数据
+	 *
+	 * @param cells 单元格数据，null写入空字符串
+	 * @return
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 */
+	public CSVWriter writeRow(String... cells) {
+		if (cells != null) {
+			if (cells.length == 1) {
+				writeSingleCell(cells[0]);
+			} else {
+				for (String cell : cells) {
+					writeCell(cell);
+				}
+			}
+		}
+		return endRow();
+	}
+
+	/**
+	 * 写入一行数据
+	 *
+	 * @param cells 单元格数据，null写入空字符串，其他非字符串对象写入其toString()的值
+	 * @return
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 */
+	public CSVWriter writeRow(Collection<?> cells) {
+		if (cells != null) {
+			if (cells.size() == 1) {
+				writeSingleCell(toCellData(cells.iterator().next(), null));
+			} else {
+				for (Object cell : cells) {
+					writeCell(toCellData(cell, null));
+				}
+			}
+		}
+		return endRow();
+	}
+
+	/**
+	 * 写入一行数据
+	 *
+	 * @param csvRow 读取到的行数据
+	 * @return
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public CSVWriter writeRow(CSVRow csvRow) {
+		return writeRow(csvRow.getRowData());
+	}
+
+	/**
+	 * 按给定的key顺序写入map中的值作为一行数据
+	 *
+	 * @param map 行数据
+	 * @param keys 列对应的key
+	 * @return
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public CSVWriter writeRow(Map<?, ?> map, List<?> keys) {
+		if (keys.size() == 1) {
+			writeSingleCell(toCellData(map.get(keys.get(0)), null));
+		} else {
+			for (Object key : keys) {
+				writeCell(toCellData(map.get(key), null));
+			}
+		}
+		return endRow();
+	}
+
+	/**
+	 * 写入多个map，每个map一行
+	 *
+	 * @param maps 行数据
+	 * @param keys 列对应的key
+	 * @param writeHeader 是否先把keys作为标题行写入
+	 * @return
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public CSVWriter writeMaps(Iterable<? extends Map<?, ?>> maps, List<?> keys, boolean writeHeader) {
+		if (writeHeader) {
+			writeRow(keys);
+		}
+		for (Map<?, ?> map : maps) {
+			writeRow(map, keys);
+		}
+		return this;
+	}
+
+	/**
+	 * 写入bean类型对应的标题行，列名为字段{@link FieldName}注解的名称，没有该注解时为字段名
+	 *
+	 * @param beanClass bean类型
+	 * @return
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public CSVWriter writeHeader(Class<?> beanClass) {
+		return writeRow(beanColumns(beanClass).titles);
+	}
+
+	/**
+	 * 写入bean的所有可读属性值作为一行数据，列顺序与{@link #writeHeader(Class)}一致，
+	 * 字段有{@link Formatter}注解时，数字或日期类型值按该注解的格式格式化
+	 *
+	 * @param bean
+	 * @return
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public CSVWriter writeBean(Object bean) {
+		return writeBean(bean, beanColumns(bean.getClass()));
+	}
+
+	/**
+	 * 获取bean类型写入时使用的列信息，与当前的属性描述对象不一致时重新计算
+	 *
+	 * @param beanClass
+	 * @return
+	 */
+	private static BeanColumns beanColumns(Class<?> beanClass) {
+		JavaBeanPropertiesDescriptor<?> descriptor = JavaBeanPropertiesDescriptor.getInstance(beanClass);
+		AtomicReference<BeanColumns> cached = BEAN_COLUMNS.get(beanClass);
+		BeanColumns columns = cached.get();
+		if (columns == null || columns.descriptor != descriptor) {
+			columns = new BeanColumns(descriptor);
+			cached.set(columns);
+		}
+		return columns;
+	}
+
+	/**
+	 * 按给定的列信息写入bean的属性值作为一行数据
+	 *
+	 * @param bean
+	 * @param columns
+	 * @return
+	 */
+	private CSVWriter writeBean(Object bean, BeanColumns columns) {
+		PropertyDescriptor<?>[] pds = columns.pds;
+		if (pds.length == 1) {
+			writeSingleCell(toCellData(callGetter(pds[0], bean), columns.patterns[0]));
+		} else {
+			for (int i = 0; i < pds.length; i++) {
+				writeCell(toCellData(callGetter(pds[i], bean), columns.patterns[i]));
+			}
+		}
+		return endRow();
+	}
+
+	/**
+	 * 写入多个bean，每个bean一行，所有行都按beanClass的列写入（包括beanClass子类的对象），与标题行一致
+	 *
+	 * @param beans
+	 * @param beanClass bean类型
+	 * @param writeHeader 是否先写入标题行
+	 * @return
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public <T> CSVWriter writeBeans(Iterable<? extends T> beans, Class<T> beanClass,
+			boolean writeHeader) {
+		BeanColumns columns = beanColumns(beanClass);
+		if (writeHeader) {
+			writeRow(columns.titles);
+		}
+		for (T bean : beans) {
+			writeBean(bean, columns);
+		}
+		return this;
+	}
+
+	/**
+	 * 获取已写入的行数
+	 *
+	 * @return
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * 调用bean属性的读方法
+	 *
+	 * @param pd
+	 * @param bean
+	 * @return
+	 * @throws CSVException 假如读方法调用失败，则抛出该异常
+	 */
+	private static Object callGetter(PropertyDescriptor<?> pd, Object bean) {
+		// 列信息来自bean的类型或其父类型，bean一定是属性描述所属类型的实例
+		@SuppressWarnings("unchecked")
+		PropertyDescriptor<Object> getter = (PropertyDescriptor<Object>) pd;
+		try {
+			return getter.executeReadMethod(bean);
+		} catch (Exception e) {
+			throw new CSVException("读取bean属性【" + pd.getFieldName() + "】的值失败", e);
+		}
+	}
+
+	private static String toCellData(Object value, String pattern) {
+		if (value == null)
+			return null;
+		if (value instanceof String)
+			return (String) value;
+		if (pattern != null) {
+			String formatValue = XLPFormatterUtil.format(pattern, value);
+			return formatValue == null ? value.toString() : formatValue;
+		}
+		return value.toString();
+	}
+
+	/**
+	 * 一行只有一个空单元格时写入一对文本包装符，使该行不是空白行（很多csv解析器会忽略空白行）。
+	 * 注意{@link CSVReader}仍把这样的行当作空行，{@link CSVReaderConfig#isSkipEmptyRow()}为true时会跳过
+	 *
+	 * @param cellData
+	 */
+	private void writeSingleCell(String cellData) {
+		if (cellData == null || cellData.isEmpty()) {
+			append(textDelimiter);
+			append(textDelimiter);
+			cellCount++;
+		} else {
+			writeCell(cellData);
+		}
+	}
+
+	/**
+	 * 写入一个单元格，只扫描一次：第一个特殊字符之前的字符直接写入，之后每遇到文本包装符就写入两次
+	 *
+	 * @param cellData
+	 */
+	private void writeCell(String cellData) {
+		if (cellCount++ > 0) {
+			append(fieldSeparator);
+		}
+		if (cellData == null)
+			cellData = "";
+		int len = cellData.length();
+		int i = 0;
+		if (!quoteAll) {
+			for (; i < len; i++) {
+				char c = cellData.charAt(i);
+				if (c == fieldSeparator || c == textDelimiter || c == CSVReader.LF || c == CSVReader.CR)
+					break;
+			}
+			if (i == len) {
+				append(cellData, 0, len);
+				return;
+			}
+		}
+		append(textDelimiter);
+		int start = 0;
+		for (; i < len; i++) {
+			if (cellData.charAt(i) == textDelimiter) {
+				append(cellData, start, i + 1);
+				start = i;
+			}
+		}
+		append(cellData, start, len);
+		append(textDelimiter);
+	}
+
+	private CSVWriter endRow() {
+		for (char c : lineSeparator) {
+			append(c);
+		}
+		cellCount = 0;
+		rowCount++;
+		return this;
+	}
+
+	private void append(char ch) {
+		if (count == buffer.length)
+			flushBuffer();
+		buffer[count++] = ch;
+	}
+
+	private void append(String str, int start, int end) {
+		int len = end - start;
+		if (len > buffer.length - count) {
+			flushBuffer();
+			if (len > buffer.length) {
+				try {
+					writer.write(str, start, len);
+				} catch (IOException e) {
+					throw new CSVException(e);
+				}
+				return;
+			}
+		}
+		str.getChars(start, end, buffer, count);
+		count += len;
+	}
+
+	private void flushBuffer() {
+		if (count > 0) {
+			try {
+				writer.write(buffer, 0, count);
+			} catch (IOException e) {
+				throw new CSVException(e);
+			}
+			count = 0;
+		}
+	}
+
+	/**
+	 * 把缓冲区中的数据写入输出目标
+	 *
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 */
+	@Override
+	public void flush() {
+		flushBuffer();
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new CSVException(e);
+		}
+	}
+
+	/**
+	 * 把缓冲区中的数据写入输出目标并关闭输出目标，写入gzip文件时同时写入gzip文件尾
+	 *
+	 * @throws CSVException 假如写入失败，则抛出该异常
+	 */
+	@Override
+	public void close() {
+		try {
+			flush();
+		} finally {
+			XLPIOUtil.closeWrite(writer);
+		}
+	}
+
+	/**
+	 * bean写入csv时使用的列信息，同一属性描述对象只计算一次
+	 */
+	private static final class BeanColumns {
+		/**
+		 * 计算列信息时使用的属性描述对象
+		 */
+		final JavaBeanPropertiesDescriptor<?> descriptor;
+
+		final String[] titles;
+
+		final PropertyDescriptor<?>[] pds;
+
+		/**
+		 * 每列的格式化模式，没有{@link Formatter}注解时为null
+		 */
+		final String[] patterns;
+
+		BeanColumns(JavaBeanPropertiesDescriptor<?> descriptor) {
+			this.descriptor = descriptor;
+			pds = CSVBeanColumns.readable(descriptor);
+			int size = pds.length;
+			titles = new String[size];
+			patterns = new String[size];
+			for (int i = 0; i < size; i++) {
+				titles[i] = CSVBeanColumns.title(pds[i]);
+				patterns[i] = CSVBeanColumns.pattern(pds[i]);
+			}
+		}
+	}
+}
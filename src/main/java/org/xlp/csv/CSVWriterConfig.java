@@ -0,0 +1,96 @@
+package org.xlp.csv;
+
+/**
+ * <p>创建时间：2026年10月18日 下午8:05:12</p>
+ * @author xlp
+ * @version 1.0
+ * @Description csv文件写入配置类
+*/
+public class CSVWriterConfig extends CSVConfig {
+	private static final long serialVersionUID = -2795462373104861327L;
+
+	/**
+	 * 默认行分隔符
+	 */
+	public static final String DEFAULT_LINE_SEPARATOR = "\r\n";
+
+	/**
+	 * 默认缓冲区大小，64K个字符
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * 最小缓冲区大小
+	 */
+	private static final int MIN_BUFFER_SIZE = 1024;
+
+	/**
+	 * 行分隔符，默认"\r\n"
+	 */
+	private String lineSeparator = DEFAULT_LINE_SEPARATOR;
+
+	/**
+	 * 是否所有单元格都用文本包装符包装，默认只包装含有特殊字符的单元格
+	 */
+	private boolean quoteAll = false;
+
+	/**
+	 * 缓冲区大小（字符数）
+	 */
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+	/**
+	 * 获取行分隔符，默认"\r\n"
+	 *
+	 * @return
+	 */
+	public String getLineSeparator() {
+		return lineSeparator;
+	}
+
+	/**
+	 * 设置行分隔符，默认"\r\n"
+	 *
+	 * @param lineSeparator 为空时使用默认值
+	 */
+	public void setLineSeparator(String lineSeparator) {
+		this.lineSeparator = lineSeparator == null || lineSeparator.isEmpty()
+				? DEFAULT_LINE_SEPARATOR : lineSeparator;
+	}
+
+	/**
+	 * 获取是否所有单元格都用文本包装符包装，默认只包装含有特殊字符的单元格
+	 *
+	 * @return
+	 */
+	public boolean isQuoteAll() {
+		return quoteAll;
+	}
+
+	/**
+	 * 设置是否所有单元格都用文本包装符包装，默认只包装含有字段分隔符、文本包装符或换行符的单元格
+	 *
+	 * @param quoteAll
+	 */
+	public void setQuoteAll(boolean quoteAll) {
+		this.quoteAll = quoteAll;
+	}
+
+	/**
+	 * 获取缓冲区大小（字符数）
+	 *
+	 * @return
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * 设置缓冲区大小（字符数），默认64K，小于1024时使用1024
+	 *
+	 * @param bufferSize
+	 */
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = Math.max(bufferSize, MIN_BUFFER_SIZE);
+	}
+}
@@ -0,0 +1,263 @@
+package org.xlp.csv;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.xlp.utils.XLPStringUtil;
+
+/**
+ * <p>创建时间：2026年10月18日 下午7:12:25</p>
+ * @author xlp
+ * @version 1.0
+ * @Description 延迟创建单元格字符串的行数据
+ * <p>
+ * 一行的所有单元格共用一个字符数组，只记录每个单元格的原始起止位置（包含前后包装符），
+ * 访问单元格时才由start、end去除前后包装符，
+ * 调用{@link #get(int)}时才创建该单元格的字符串并缓存，{@link #cellChars(int)}可直接返回字符数组上的视图。
+ * 第一次修改（set、add、remove）时把所有单元格转换成普通集合，之后的操作都在该集合上进行。
+ * 所属行重写了{@link CSVRow#unwrap(String, String, String)}时，单元格字符串由该方法创建
+*/
+final class LazyRowData extends AbstractList<String> implements RandomAccess {
+	private final char[] chars;
+
+	/**
+	 * 每个单元格的起止位置（包含前后包装符），下标2i为起始位置，2i+1为结束位置（不包含）
+	 */
+	private final int[] bounds;
+
+	private final char textDelimiter;
+
+	/**
+	 * 已创建的单元格字符串
+	 */
+	private String[] cache;
+
+	/**
+	 * 所属行，用来调用其重写的去除包装符方法
+	 */
+	private CSVRow owner;
+
+	/**
+	 * 第一次修改后转换成的普通集合，不为null时所有操作都在该集合上进行
+	 */
+	private List<String> modified;
+
+	/**
+	 * @param buffer 行数据字符，会复制一份，调用者可以重复使用
+	 * @param length 行数据字符数
+	 * @param cellBounds 每个单元格在buffer中的起止位置（包含前后包装符）
+	 * @param cellCount 单元格数
+	 * @param textDelimiter 文本包装符
+	 */
+	LazyRowData(char[] buffer, int length, int[] cellBounds, int cellCount, char textDelimiter) {
+		this.chars = Arrays.copyOf(buffer, length);
+		this.textDelimiter = textDelimiter;
+		this.bounds = Arrays.copyOf(cellBounds, cellCount * 2);
+	}
+
+	/**
+	 * 设置所属行
+	 *
+	 * @param owner
+	 */
+	void setOwner(CSVRow owner) {
+		this.owner = owner;
+	}
+
+	/**
+	 * 判断单元格字符串是否需要由所属行重写的去除包装符方法创建
+	 *
+	 * @return
+	 */
+	private boolean customUnwrap() {
+		return owner != null && CSVRow.isUnwrapOverridden(owner.getClass());
+	}
+
+	/**
+	 * 与CSVRow.unwrap一致，去除前包装符后的起始位置
+	 */
+	private int start(int index) {
+		int start = bounds[2 * index], end = bounds[2 * index + 1];
+		return start < end && chars[start] == textDelimiter ? start + 1 : start;
+	}
+
+	/**
+	 * 与CSVRow.unwrap一致，去除后包装符后的结束位置
+	 */
+	private int end(int index) {
+		int start = start(index), end = bounds[2 * index + 1];
+		return start < end && chars[end - 1] == textDelimiter ? end - 1 : end;
+	}
+
+	@Override
+	public String get(int index) {
+		if (modified != null) {
+			return modified.get(index);
+		}
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+		}
+		if (cache == null) {
+			cache = new String[size()];
+		}
+		String cell = cache[index];
+		if (cell == null) {
+			cell = cache[index] = createCell(index);
+		}
+		return cell;
+	}
+
+	@Override
+	public String set(int index, String element) {
+		return modifiable().set(index, element);
+	}
+
+	@Override
+	public void add(int index, String element) {
+		modifiable().add(index, element);
+		modCount++;
+	}
+
+	@Override
+	public String remove(int index) {
+		String old = modifiable().remove(index);
+		modCount++;
+		return old;
+	}
+
+	/**
+	 * 第一次修改时把所有单元格转换成普通集合
+	 *
+	 * @return
+	 */
+	private List<String> modifiable() {
+		if (modified == null) {
+			int size = size();
+			List<String> list = new ArrayList<String>(size + 4);
+			for (int i = 0; i < size; i++) {
+				list.add(get(i));
+			}
+			modified = list;
+			cache = null;
+		}
+		return modified;
+	}
+
+	/**
+	 * 获取单元格的字符序列，单元格中没有转义的包装符时不创建字符串
+	 *
+	 * @param index
+	 * @return
+	 */
+	CharSequence cellChars(int index) {
+		if (modified != null || customUnwrap() || (cache != null && cache[index] != null)) {
+			return get(index);
+		}
+		int start = start(index), end = end(index);
+		return indexOfEscape(start, end) < 0 ? new CharSlice(chars, start, end) : get(index);
+	}
+
+	private String createCell(int index) {
+		if (customUnwrap()) {
+			int start = bounds[2 * index];
+			return owner.unwrapCell(new String(chars, start, bounds[2 * index + 1] - start));
+		}
+		int start = start(index), end = end(index);
+		int escape = indexOfEscape(start, end);
+		if (escape < 0) {
+			return new String(chars, start, end - start);
+		}
+		// 两个连续的包装符还原成一个，与String.replace的结果一致
+		StringBuilder sb = new StringBuilder(end - start);
+		sb.append(chars, start, escape - start);
+		for (int i = escape; i < end; i++) {
+			sb.append(chars[i]);
+			if (chars[i] == textDelimiter && i + 1 < end && chars[i + 1] == textDelimiter) {
+				i++;
+			}
+		}
+		return sb.toString();
+	}
+
+	private int indexOfEscape(int start, int end) {
+		for (int i = start; i < end - 1; i++) {
+			if (chars[i] == textDelimiter && chars[i + 1] == textDelimiter) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 判断是否每个单元格都为空或全为空白字符
+	 *
+	 * @return
+	 */
+	boolean isBlank() {
+		if (modified != null || customUnwrap()) {
+			for (String cell : this) {
+				if (!XLPStringUtil.isEmpty(cell)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		for (int i = 0, size = size(); i < size; i++) {
+			for (int j = start(i), end = end(i); j < end; j++) {
+				if (chars[j] > ' ') {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int size() {
+		return modified != null ? modified.size() : bounds.length / 2;
+	}
+
+	/**
+	 * 字符数组上的只读视图
+	 */
+	private static final class CharSlice implements CharSequence {
+		private final char[] chars;
+		private final int start;
+		private final int end;
+
+		CharSlice(char[] chars, int start, int end) {
+			this.chars = chars;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int length() {
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= end - start) {
+				throw new IndexOutOfBoundsException("index: " + index);
+			}
+			return chars[start + index];
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to) {
+			if (from < 0 || to > end - start || from > to) {
+				throw new IndexOutOfBoundsException("from: " + from + ", to: " + to);
+			}
+			return new CharSlice(chars, start + from, start + to);
+		}
+
+		@Override
+		public String toString() {
+			return new String(chars, start, end - start);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package org.xlp.encryption;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Cipher;
+
+/**
+ * 已初始化的Cipher对象池，同一个池中的对象使用相同的算法、加解密模式及密钥
+ * <p>
+ * 对象用完（doFinal成功）后恢复到初始化后的状态，可以直接重用，避免每次都查找提供商及初始化。
+ * 池中最多保留{@link #maxIdle}个空闲对象，多出的对象直接丢弃
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+final class CipherPool {
+	private final String transformation;
+
+	private final int mode;
+
+	private final Key key;
+
+	private final int maxIdle;
+
+	private final ConcurrentLinkedQueue<Cipher> idle = new ConcurrentLinkedQueue<Cipher>();
+
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	/**
+	 * 构造函数
+	 *
+	 * @param transformation 算法
+	 * @param mode {@link Cipher#ENCRYPT_MODE}或{@link Cipher#DECRYPT_MODE}
+	 * @param key 密钥
+	 * @param maxIdle 最多保留的空闲对象数
+	 */
+	CipherPool(String transformation, int mode, Key key, int maxIdle) {
+		this.transformation = transformation;
+		this.mode = mode;
+		this.key = key;
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * 判断该池是否使用给定的算法及密钥
+	 *
+	 * @param transformation
+	 * @param key
+	 * @return
+	 */
+	boolean matches(String transformation, Key key) {
+		return this.key == key && this.transformation.equals(transformation);
+	}
+
+	/**
+	 * 借出一个已初始化的Cipher对象，没有空闲对象时创建
+	 *
+	 * @return
+	 * @throws GeneralSecurityException 假如创建或初始化失败，则抛出该异常
+	 */
+	Cipher borrow() throws GeneralSecurityException {
+		Cipher cipher = idle.poll();
+		if (cipher != null) {
+			idleCount.decrementAndGet();
+			return cipher;
+		}
+		cipher = Cipher.getInstance(transformation);
+		cipher.init(mode, key);
+		return cipher;
+	}
+
+	/**
+	 * 归还Cipher对象，只能归还成功完成加解密的对象，出错的对象状态不确定，不能归还
+	 *
+	 * @param cipher
+	 */
+	void release(Cipher cipher) {
+		if (idleCount.incrementAndGet() <= maxIdle) {
+			idle.offer(cipher);
+		} else {
+			idleCount.decrementAndGet();
+		}
+	}
+}
@@ -896,4 +896,217 @@ public class EncryptRSA {
 			XLPIOUtil.closeInputStream(cin);
 		}
 	}
+
+	/**
+	 * 混合加密文件：生成AES-GCM数据密钥并用公钥包装，数据按块加密，多个块并行处理，适用于大文件，
+	 * 加密失败时删除目标文件
+	 * <p>
+	 * 密文格式见{@link #encryptInputStreamHybridByPublicKey(InputStream, OutputStream, HybridEncryptConfig)}，
+	 * 用{@link #decryptFileHybridByPrivateKey(File, File)}解密
+	 *
+	 * @param srcFile
+	 *            要加密的文件
+	 * @param destFile
+	 *            加密后存放的文件
+	 * @throws EncryptException
+	 *             假如文件加密失败，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 * @throws IllegalArgumentException
+	 *             假如给定的加密后，存放目标文件是目录，则抛出该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的加密文件是目录或不存在，则抛出该异常
+	 */
+	public void encryptFileHybridByPublicKey(File srcFile, File destFile) throws EncryptException {
+		encryptFileHybridByPublicKey(srcFile, destFile, new HybridEncryptConfig());
+	}
+
+	/**
+	 * 混合加密文件：生成AES-GCM数据密钥并用公钥包装，数据按块加密，多个块并行处理，适用于大文件，
+	 * 加密失败时删除目标文件
+	 *
+	 * @param srcFile
+	 *            要加密的文件
+	 * @param destFile
+	 *            加密后存放的文件
+	 * @param config
+	 *            加密配置，为null时使用默认配置
+	 * @throws EncryptException
+	 *             假如文件加密失败，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 * @throws IllegalArgumentException
+	 *             假如给定的加密后，存放目标文件是目录，则抛出该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的加密文件是目录或不存在，则抛出该异常
+	 */
+	public void encryptFileHybridByPublicKey(File srcFile, File destFile, HybridEncryptConfig config)
+			throws EncryptException {
+		AssertUtils.assertFile(srcFile);
+		AssertUtils.isNotNull(destFile, "加密后目标存储文件路径为null！");
+		mkdirsAndCheckFile(destFile);
+		InputStream in = null;
+		OutputStream out = null;
+		boolean success = false;
+		try {
+			in = new FileInputStream(srcFile);
+			out = new FileOutputStream(destFile);
+			encryptInputStreamHybridByPublicKey(in, out, config);
+			success = true;
+		} catch (IOException e) {
+			throw new EncryptException("加密失败", e);
+		} finally {
+			XLPIOUtil.closeInputStream(in);
+			XLPIOUtil.closeOutputStream(out);
+			if (!success) {
+				destFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * 混合加密文件流，使用默认配置
+	 *
+	 * @param srcIn
+	 *            要加密的输入流
+	 * @param destOut
+	 *            加密后数据输出流
+	 * @throws EncryptException
+	 *             假如加密失败，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 */
+	public void encryptInputStreamHybridByPublicKey(InputStream srcIn, OutputStream destOut)
+			throws EncryptException {
+		encryptInputStreamHybridByPublicKey(srcIn, destOut, new HybridEncryptConfig());
+	}
+
+	/**
+	 * 混合加密文件流
+	 * <p>
+	 * 每次加密生成一个256位AES数据密钥，用公钥（RSA OAEP SHA-256）包装后写入自描述的密文头，
+	 * 数据按块用AES-GCM加密，每块单独认证，块序号及密文头都参与认证，块被篡改、调换或截断时解密失败。
+	 * 块在多个线程中并行加密，按顺序写入输出流，同时处理中的块数有上限，内存占用与数据大小无关。
+	 * 数据密钥包装需要至少1024位的RSA密钥。输入输出流不会被关闭
+	 *
+	 * @param srcIn
+	 *            要加密的输入流
+	 * @param destOut
+	 *            加密后数据输出流
+	 * @param config
+	 *            加密配置，为null时使用默认配置
+	 * @throws EncryptException
+	 *             假如加密失败，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 */
+	public void encryptInputStreamHybridByPublicKey(InputStream srcIn, OutputStream destOut,
+			HybridEncryptConfig config) throws EncryptException {
+		AssertUtils.isNotNull(srcIn, "srcIn param is null！");
+		AssertUtils.isNotNull(destOut, "destOut param is null！");
+		AssertUtils.isNotNull(publicKey, "publicKey is null！");
+		HybridCipher.encrypt(srcIn, destOut, publicKey, config == null ? new HybridEncryptConfig() : config);
+	}
+
+	/**
+	 * 解密混合加密的文件，多个块并行解密，解密失败时删除目标文件
+	 *
+	 * @param srcFile
+	 *            要解密的文件
+	 * @param destFile
+	 *            解密后目标文件
+	 * @throws EncryptException
+	 *             假如文件解密失败、密文被篡改或私钥不匹配，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 * @throws IllegalArgumentException
+	 *             假如给定的解密后，存放目标文件是目录，则抛出该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的解密文件是目录或不存在，则抛出该异常
+	 */
+	public void decryptFileHybridByPrivateKey(File srcFile, File destFile) throws EncryptException {
+		decryptFileHybridByPrivateKey(srcFile, destFile, new HybridEncryptConfig());
+	}
+
+	/**
+	 * 解密混合加密的文件，多个块并行解密，解密失败时删除目标文件
+	 *
+	 * @param srcFile
+	 *            要解密的文件
+	 * @param destFile
+	 *            解密后目标文件
+	 * @param config
+	 *            解密配置，只使用其中的线程数，为null时使用默认配置
+	 * @throws EncryptException
+	 *             假如文件解密失败、密文被篡改或私钥不匹配，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 * @throws IllegalArgumentException
+	 *             假如给定的解密后，存放目标文件是目录，则抛出该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的解密文件是目录或不存在，则抛出该异常
+	 */
+	public void decryptFileHybridByPrivateKey(File srcFile, File destFile, HybridEncryptConfig config)
+			throws EncryptException {
+		AssertUtils.assertFile(srcFile);
+		AssertUtils.isNotNull(destFile, "解密后目标存储文件路径为null！");
+		mkdirsAndCheckFile(destFile);
+		InputStream in = null;
+		OutputStream out = null;
+		boolean success = false;
+		try {
+			in = new FileInputStream(srcFile);
+			out = new FileOutputStream(destFile);
+			decryptInputStreamHybridByPrivateKey(in, out, config);
+			success = true;
+		} catch (IOException e) {
+			throw new EncryptException("解密失败", e);
+		} finally {
+			XLPIOUtil.closeInputStream(in);
+			XLPIOUtil.closeOutputStream(out);
+			if (!success) {
+				destFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * 解密混合加密的文件流，使用默认配置
+	 *
+	 * @param srcIn
+	 *            要解密的输入流
+	 * @param destOut
+	 *            解密后数据输出流
+	 * @throws EncryptException
+	 *             假如解密失败、密文被篡改或私钥不匹配，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 */
+	public void decryptInputStreamHybridByPrivateKey(InputStream srcIn, OutputStream destOut)
+			throws EncryptException {
+		decryptInputStreamHybridByPrivateKey(srcIn, destOut, new HybridEncryptConfig());
+	}
+
+	/**
+	 * 解密混合加密的文件流，密文头中的块大小等信息自动读取，多个块并行解密后按顺序写入输出流。
+	 * 每块认证通过后才写入输出流，解密失败时已写入的数据不可信，应丢弃。输入输出流不会被关闭
+	 *
+	 * @param srcIn
+	 *            要解密的输入流
+	 * @param destOut
+	 *            解密后数据输出流
+	 * @param config
+	 *            解密配置，只使用其中的线程数，为null时使用默认配置
+	 * @throws EncryptException
+	 *             假如解密失败、密文被篡改或私钥不匹配，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 */
+	public void decryptInputStreamHybridByPrivateKey(InputStream srcIn, OutputStream destOut,
+			HybridEncryptConfig config) throws EncryptException {
+		AssertUtils.isNotNull(srcIn, "srcIn param is null！");
+		AssertUtils.isNotNull(destOut, "destOut param is null！");
+		AssertUtils.isNotNull(privateKey, "privateKey is null！");
+		HybridCipher.decrypt(srcIn, destOut, privateKey, config == null ? new HybridEncryptConfig() : config);
+	}
 }
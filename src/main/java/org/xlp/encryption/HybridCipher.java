@@ -0,0 +1,358 @@
+package org.xlp.encryption;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.MGF1ParameterSpec;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
+
+/**
+ * RSA + AES-GCM 混合加密实现类
+ * <p>
+ * 每次加密生成一个256位的AES数据密钥，用RSA公钥（OAEP-SHA256填充）包装后写入密文头，数据按块用AES-GCM加密，
+ * 每块使用不同的IV并单独认证，块序号、是否是最后一块及整个密文头都作为附加认证数据，块被篡改、调换、删除或截断都会解密失败。
+ * <p>
+ * 密文格式（大端）：
+ * <pre>
+ * 魔数"XLPH"(4) 版本(1) 包装算法(1) 每块明文字节数(4) 基础IV(12) 包装后密钥长度(2) 包装后密钥(n)
+ * 块0密文+认证标签(16) 块1密文+认证标签(16) ... 最后一块密文+认证标签(16)
+ * </pre>
+ * 除最后一块外每块明文都是完整的块大小，最后一块明文小于块大小（可以为0字节），以此标识数据结束
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+final class HybridCipher {
+	private static final int MAGIC = 0x584C5048;
+
+	private static final byte VERSION = 1;
+
+	/**
+	 * 包装算法：RSA OAEP SHA-256
+	 */
+	private static final byte WRAP_RSA_OAEP_SHA256 = 1;
+
+	private static final String WRAP_TRANSFORMATION = "RSA/ECB/OAEPPadding";
+
+	private static final OAEPParameterSpec OAEP_SPEC = new OAEPParameterSpec("SHA-256", "MGF1",
+			MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT);
+
+	private static final String DATA_TRANSFORMATION = "AES/GCM/NoPadding";
+
+	private static final int DATA_KEY_SIZE = 256;
+
+	private static final int NONCE_LENGTH = 12;
+
+	private static final int TAG_LENGTH = 16;
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	private final SecretKey dataKey;
+
+	private final byte[] nonce;
+
+	/**
+	 * 密文头，作为每块的附加认证数据
+	 */
+	private final byte[] header;
+
+	private final int chunkSize;
+
+	private final int mode;
+
+	/**
+	 * 可重用的Cipher对象
+	 */
+	private final ConcurrentLinkedQueue<Cipher> ciphers = new ConcurrentLinkedQueue<Cipher>();
+
+	private HybridCipher(SecretKey dataKey, byte[] nonce, byte[] header, int chunkSize, int mode) {
+		this.dataKey = dataKey;
+		this.nonce = nonce;
+		this.header = header;
+		this.chunkSize = chunkSize;
+		this.mode = mode;
+	}
+
+	/**
+	 * 加密数据流
+	 *
+	 * @param in 明文输入流
+	 * @param out 密文输出流
+	 * @param publicKey RSA公钥
+	 * @param config 加密配置
+	 * @throws EncryptException 假如加密失败，则抛出该异常
+	 */
+	static void encrypt(InputStream in, OutputStream out, PublicKey publicKey, HybridEncryptConfig config)
+			throws EncryptException {
+		HybridCipher hybridCipher;
+		try {
+			SecureRandom random = new SecureRandom();
+			KeyGenerator generator = KeyGenerator.getInstance("AES");
+			generator.init(DATA_KEY_SIZE, random);
+			SecretKey dataKey = generator.generateKey();
+			Cipher wrapCipher = Cipher.getInstance(WRAP_TRANSFORMATION);
+			wrapCipher.init(Cipher.WRAP_MODE, publicKey, OAEP_SPEC, random);
+			byte[] wrappedKey = wrapCipher.wrap(dataKey);
+			byte[] nonce = new byte[NONCE_LENGTH];
+			random.nextBytes(nonce);
+
+			ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(32 + wrappedKey.length);
+			DataOutputStream headerOut = new DataOutputStream(headerBytes);
+			headerOut.writeInt(MAGIC);
+			headerOut.writeByte(VERSION);
+			headerOut.writeByte(WRAP_RSA_OAEP_SHA256);
+			headerOut.writeInt(config.getChunkSize());
+			headerOut.write(nonce);
+			headerOut.writeShort(wrappedKey.length);
+			headerOut.write(wrappedKey);
+			byte[] header = headerBytes.toByteArray();
+			out.write(header);
+			hybridCipher = new HybridCipher(dataKey, nonce, header, config.getChunkSize(), Cipher.ENCRYPT_MODE);
+		} catch (GeneralSecurityException e) {
+			throw new EncryptException("生成或包装数据密钥失败", e);
+		} catch (IOException e) {
+			throw new EncryptException("加密失败", e);
+		}
+		hybridCipher.process(in, out, config.getParallelism());
+	}
+
+	/**
+	 * 解密数据流
+	 *
+	 * @param in 密文输入流
+	 * @param out 明文输出流，解密失败时已写入的数据不可信，应丢弃
+	 * @param privateKey RSA私钥
+	 * @param config 解密配置，只使用其中的线程数
+	 * @throws EncryptException 假如解密失败、密文格式错误或被篡改，则抛出该异常
+	 */
+	static void decrypt(InputStream in, OutputStream out, PrivateKey privateKey, HybridEncryptConfig config)
+			throws EncryptException {
+		HybridCipher hybridCipher;
+		try {
+			DataInputStream headerIn = new DataInputStream(in);
+			if (headerIn.readInt() != MAGIC) {
+				throw new EncryptException("不是混合加密的密文");
+			}
+			byte version = headerIn.readByte();
+			byte wrapAlgorithm = headerIn.readByte();
+			if (version != VERSION || wrapAlgorithm != WRAP_RSA_OAEP_SHA256) {
+				throw new EncryptException("不支持的混合加密版本：" + version + "，包装算法：" + wrapAlgorithm);
+			}
+			int chunkSize = headerIn.readInt();
+			if (chunkSize < HybridEncryptConfig.MIN_CHUNK_SIZE || chunkSize > HybridEncryptConfig.MAX_CHUNK_SIZE) {
+				throw new EncryptException("无效的块大小：" + chunkSize);
+			}
+			byte[] nonce = new byte[NONCE_LENGTH];
+			headerIn.readFully(nonce);
+			int wrappedKeyLength = headerIn.readUnsignedShort();
+			byte[] wrappedKey = new byte[wrappedKeyLength];
+			headerIn.readFully(wrappedKey);
+
+			ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(32 + wrappedKeyLength);
+			DataOutputStream headerOut = new DataOutputStream(headerBytes);
+			headerOut.writeInt(MAGIC);
+			headerOut.writeByte(version);
+			headerOut.writeByte(wrapAlgorithm);
+			headerOut.writeInt(chunkSize);
+			headerOut.write(nonce);
+			headerOut.writeShort(wrappedKeyLength);
+			headerOut.write(wrappedKey);
+
+			Cipher unwrapCipher = Cipher.getInstance(WRAP_TRANSFORMATION);
+			unwrapCipher.init(Cipher.UNWRAP_MODE, privateKey, OAEP_SPEC);
+			SecretKey dataKey = (SecretKey) unwrapCipher.unwrap(wrappedKey, "AES", Cipher.SECRET_KEY);
+			hybridCipher = new HybridCipher(dataKey, nonce, headerBytes.toByteArray(), chunkSize,
+					Cipher.DECRYPT_MODE);
+		} catch (GeneralSecurityException e) {
+			throw new EncryptException("解开数据密钥失败，私钥不匹配或密文被篡改", e);
+		} catch (IOException e) {
+			throw new EncryptException("读取密文头失败", e);
+		}
+		hybridCipher.process(in, out, config.getParallelism());
+	}
+
+	/**
+	 * 按块读取、加密或解密并按顺序写入输出流，同时处理中的块数不超过线程数的2倍
+	 *
+	 * @param in
+	 * @param out
+	 * @param parallelism
+	 * @throws EncryptException
+	 */
+	private void process(InputStream in, OutputStream out, int parallelism) throws EncryptException {
+		int readSize = mode == Cipher.ENCRYPT_MODE ? chunkSize : chunkSize + TAG_LENGTH;
+		ExecutorService executor = parallelism > 1 ? newExecutor(parallelism) : null;
+		int maxInFlight = parallelism * 2;
+		ArrayDeque<Future<byte[]>> inFlight = new ArrayDeque<Future<byte[]>>(maxInFlight);
+		try {
+			long index = 0;
+			boolean last = false;
+			while (!last || !inFlight.isEmpty()) {
+				while (!last && inFlight.size() < maxInFlight) {
+					byte[] buffer = new byte[readSize];
+					int length = readFully(in, buffer);
+					last = length < readSize;
+					if (last) {
+						checkLastChunk(in, length, index);
+					}
+					Callable<byte[]> task = newTask(index++, buffer, length, last);
+					if (executor == null) {
+						FutureTask<byte[]> future = new FutureTask<byte[]>(task);
+						future.run();
+						inFlight.add(future);
+					} else {
+						inFlight.add(executor.submit(task));
+					}
+				}
+				out.write(await(inFlight.poll()));
+			}
+			out.flush();
+		} catch (IOException e) {
+			throw new EncryptException(mode == Cipher.ENCRYPT_MODE ? "加密失败" : "解密失败", e);
+		} finally {
+			for (Future<byte[]> future : inFlight) {
+				future.cancel(true);
+			}
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * 检查最后一块密文，最后一块之后不能再有数据
+	 *
+	 * @param in
+	 * @param length 最后一块读取的字节数
+	 * @param index 最后一块的序号
+	 * @throws IOException
+	 * @throws EncryptException 假如密文不完整或最后一块之后还有数据，则抛出该异常
+	 */
+	private void checkLastChunk(InputStream in, int length, long index) throws IOException, EncryptException {
+		if (mode == Cipher.ENCRYPT_MODE) {
+			return;
+		}
+		if (length < TAG_LENGTH) {
+			throw new EncryptException("密文不完整，第" + index + "块数据被截断");
+		}
+		if (in.read() != -1) {
+			throw new EncryptException("密文最后一块之后还有多余的数据");
+		}
+	}
+
+	private Callable<byte[]> newTask(final long index, final byte[] input, final int length, final boolean last) {
+		return new Callable<byte[]>() {
+			@Override
+			public byte[] call() throws GeneralSecurityException {
+				Cipher cipher = ciphers.poll();
+				if (cipher == null) {
+					cipher = Cipher.getInstance(DATA_TRANSFORMATION);
+				}
+				try {
+					cipher.init(mode, dataKey, new GCMParameterSpec(TAG_LENGTH * 8, chunkIv(index)));
+					cipher.updateAAD(header);
+					cipher.updateAAD(chunkAad(index, last));
+					return cipher.doFinal(input, 0, length);
+				} finally {
+					ciphers.offer(cipher);
+				}
+			}
+		};
+	}
+
+	/**
+	 * 块的IV：基础IV的后8个字节与块序号异或
+	 *
+	 * @param index
+	 * @return
+	 */
+	private byte[] chunkIv(long index) {
+		byte[] iv = nonce.clone();
+		for (int i = 0; i < 8; i++) {
+			iv[NONCE_LENGTH - 1 - i] ^= (byte) (index >>> (i * 8));
+		}
+		return iv;
+	}
+
+	private static byte[] chunkAad(long index, boolean last) {
+		byte[] aad = new byte[9];
+		for (int i = 0; i < 8; i++) {
+			aad[i] = (byte) (index >>> (56 - i * 8));
+		}
+		aad[8] = (byte) (last ? 1 : 0);
+		return aad;
+	}
+
+	private static ExecutorService newExecutor(int parallelism) {
+		return Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "xlp-hybrid-" + THREAD_NUMBER.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	private static byte[] await(Future<byte[]> future) throws EncryptException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new EncryptException("处理被中断", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof AEADBadTagException) {
+				throw new EncryptException("密文认证失败，密文被篡改或密钥错误", cause);
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new EncryptException("数据块处理失败", cause);
+		}
+	}
+
+	/**
+	 * 读取数据直到缓冲区满或数据结束
+	 *
+	 * @param in
+	 * @param buffer
+	 * @return 读取的字节数
+	 * @throws IOException
+	 */
+	private static int readFully(InputStream in, byte[] buffer) throws IOException {
+		int length = 0;
+		int n;
+		while (length < buffer.length && (n = in.read(buffer, length, buffer.length - length)) != -1) {
+			length += n;
+		}
+		return length;
+	}
+}
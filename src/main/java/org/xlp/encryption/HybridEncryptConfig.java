@@ -0,0 +1,65 @@
+package org.xlp.encryption;
+
+/**
+ * RSA混合加密配置类
+ * <p>
+ * 数据按块用AES-GCM加密，每块单独认证，多个块可以在多个线程中并行加密或解密
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+public class HybridEncryptConfig {
+	/**
+	 * 默认每块明文字节数
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+	/**
+	 * 最小每块明文字节数
+	 */
+	public static final int MIN_CHUNK_SIZE = 4 * 1024;
+
+	/**
+	 * 最大每块明文字节数
+	 */
+	public static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * 每块明文字节数，只在加密时使用，解密时从密文头中读取
+	 */
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * 加密或解密线程数，默认为CPU核数，为1时在调用线程中处理
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * 设置每块明文字节数，只在加密时使用
+	 *
+	 * @param chunkSize
+	 *            小于{@link #MIN_CHUNK_SIZE}时为{@link #MIN_CHUNK_SIZE}，
+	 *            大于{@link #MAX_CHUNK_SIZE}时为{@link #MAX_CHUNK_SIZE}
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = Math.min(Math.max(chunkSize, MIN_CHUNK_SIZE), MAX_CHUNK_SIZE);
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * 设置加密或解密线程数
+	 *
+	 * @param parallelism
+	 *            小于1时为1
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(parallelism, 1);
+	}
+}
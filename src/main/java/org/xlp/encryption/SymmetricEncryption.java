@@ -7,11 +7,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
 import java.security.Provider;
 import java.security.SecureRandom;
 import java.security.Security;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
 
 import javax.crypto.Cipher;
 import javax.crypto.CipherInputStream;
@@ -62,6 +67,21 @@ public class SymmetricEncryption {
 	 */
 	private EncryptType encryptType = EncryptType.DES;
 
+	/**
+	 * 每个对象池最多保留的空闲Cipher对象数
+	 */
+	private static final int MAX_IDLE_CIPHERS = Runtime.getRuntime().availableProcessors() * 2;
+
+	/**
+	 * 加密用的Cipher对象池，加密方式或秘钥改变后重新创建
+	 */
+	private volatile CipherPool encryptPool;
+
+	/**
+	 * 解密用的Cipher对象池，加密方式或秘钥改变后重新创建
+	 */
+	private volatile CipherPool decryptPool;
+
 	/**
 	 * 默认provider 提供商
 	 */
@@ -234,18 +254,10 @@ public class SymmetricEncryption {
 	 */
 	public byte[] encryptToByteArray(String str) throws EncryptException {
 		if (str != null) {
-			if (key == null) {
-				init();
-			}
 			try {
-				// 生成Cipher对象,指定其支持的DES算法
-				Cipher c = Cipher.getInstance(encryptType.getEncryptName());
-				// 根据密钥，对Cipher对象进行初始化，ENCRYPT_MODE表示加密模式
-				c.init(Cipher.ENCRYPT_MODE, key);
-				byte[] src = str.getBytes(charsetName);
-				// 加密，结果保存进cipherByte
-				byte[] cipherByte = c.doFinal(src);
-				return cipherByte;
+				return doFinal(Cipher.ENCRYPT_MODE, str.getBytes(charsetName));
+			} catch (EncryptException e) {
+				throw e;
 			} catch (Exception e) {
 				throw new EncryptException("加密字符串失败", e);
 			}
@@ -281,16 +293,10 @@ public class SymmetricEncryption {
 	 */
 	public String decryptor(byte[] encryptBytes) throws EncryptException {
 		if (encryptBytes != null) {
-			if (key == null) {
-				init();
-			}
 			try {
-				// 生成Cipher对象,指定其支持的DES算法
-				Cipher c = Cipher.getInstance(encryptType.getEncryptName());
-				// 根据密钥，对Cipher对象进行初始化，DECRYPT_MODE表示加密模式
-				c.init(Cipher.DECRYPT_MODE, key);
-				byte[] cipherByte = c.doFinal(encryptBytes);
-				return new String(cipherByte, charsetName);
+				return new String(doFinal(Cipher.DECRYPT_MODE, encryptBytes), charsetName);
+			} catch (EncryptException e) {
+				throw e;
 			} catch (Exception e) {
 				throw new EncryptException("解密失败", e);
 			}
@@ -298,6 +304,214 @@ public class SymmetricEncryption {
 		return null;
 	}
 
+	/**
+	 * 批量加密字符串，整批只借用一个Cipher对象，适合加密大量短字符串
+	 * 
+	 * @param values
+	 *            要加密的字符串集合
+	 * @return 加密后的字符串（通过base64转码）集合，顺序与参数相同，参数中为null的元素对应结果为null
+	 * @throws EncryptException
+	 *             假如加密失败抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 */
+	public List<String> encryptBatch(Collection<String> values) throws EncryptException {
+		List<byte[]> data = encryptToByteArrayBatch(values);
+		List<String> result = new ArrayList<String>(data.size());
+		Base64.Encoder encoder = Base64.getEncoder();
+		for (byte[] bytes : data) {
+			result.add(bytes == null ? null : encoder.encodeToString(bytes));
+		}
+		return result;
+	}
+
+	/**
+	 * 批量加密字符串，整批只借用一个Cipher对象，适合加密大量短字符串
+	 * 
+	 * @param values
+	 *            要加密的字符串集合
+	 * @return 加密后的字节数组集合，顺序与参数相同，参数中为null的元素对应结果为null
+	 * @throws EncryptException
+	 *             假如加密失败抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 */
+	public List<byte[]> encryptToByteArrayBatch(Collection<String> values) throws EncryptException {
+		AssertUtils.isNotNull(values, "values param is null!");
+		List<byte[]> result = new ArrayList<byte[]>(values.size());
+		CipherPool pool = getCipherPool(Cipher.ENCRYPT_MODE);
+		try {
+			Cipher c = pool.borrow();
+			for (String value : values) {
+				result.add(value == null ? null : c.doFinal(value.getBytes(charsetName)));
+			}
+			pool.release(c);
+			return result;
+		} catch (Exception e) {
+			throw new EncryptException("加密字符串失败", e);
+		}
+	}
+
+	/**
+	 * 批量解密字符串，整批只借用一个Cipher对象
+	 * 
+	 * @param encryptStrs
+	 *            要解密的字符串（通过base64后的加密字符串）集合
+	 * @return 解密后的字符串集合，顺序与参数相同，参数中为null的元素对应结果为null
+	 * @throws EncryptException
+	 *             假如解密失败抛出该异常
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 */
+	public List<String> decryptBatch(Collection<String> encryptStrs) throws EncryptException {
+		AssertUtils.isNotNull(encryptStrs, "encryptStrs param is null!");
+		List<String> result = new ArrayList<String>(encryptStrs.size());
+		Base64.Decoder decoder = Base64.getDecoder();
+		CipherPool pool = getCipherPool(Cipher.DECRYPT_MODE);
+		try {
+			Cipher c = pool.borrow();
+			for (String value : encryptStrs) {
+				result.add(value == null ? null : new String(c.doFinal(decoder.decode(value)), charsetName));
+			}
+			pool.release(c);
+			return result;
+		} catch (Exception e) {
+			throw new EncryptException("解密失败", e);
+		}
+	}
+
+	/**
+	 * 加密input中剩余的数据，结果直接写入output中，不产生中间字节数组
+	 * <p>
+	 * 完成后input的position移到limit，output的position后移写入的字节数
+	 * 
+	 * @param input
+	 *            要加密的数据
+	 * @param output
+	 *            加密后数据存放的缓冲区，剩余空间至少为{@link #getEncryptOutputSize(int)}
+	 * @return 写入output的字节数
+	 * @throws EncryptException
+	 *             假如output剩余空间不足或加密失败，则抛出该异常，空间不足时input和output都不会改变
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 */
+	public int encrypt(ByteBuffer input, ByteBuffer output) throws EncryptException {
+		return doFinal(Cipher.ENCRYPT_MODE, input, output, "加密失败");
+	}
+
+	/**
+	 * 解密input中剩余的数据，结果直接写入output中，不产生中间字节数组
+	 * <p>
+	 * 完成后input的position移到limit，output的position后移写入的字节数
+	 * 
+	 * @param input
+	 *            要解密的数据
+	 * @param output
+	 *            解密后数据存放的缓冲区，剩余空间至少为input剩余的字节数
+	 * @return 写入output的字节数
+	 * @throws EncryptException
+	 *             假如output剩余空间不足或解密失败，则抛出该异常，空间不足时input和output都不会改变
+	 * @throws NullPointerException
+	 *             假如参数为null，则抛出该异常
+	 */
+	public int decrypt(ByteBuffer input, ByteBuffer output) throws EncryptException {
+		return doFinal(Cipher.DECRYPT_MODE, input, output, "解密失败");
+	}
+
+	/**
+	 * 获取加密给定长度的数据后，结果的最大字节数，用于分配{@link #encrypt(ByteBuffer, ByteBuffer)}的输出缓冲区
+	 * 
+	 * @param inputLength
+	 *            要加密的字节数
+	 * @return
+	 * @throws EncryptException
+	 *             假如获取Cipher对象失败，则抛出该异常
+	 */
+	public int getEncryptOutputSize(int inputLength) throws EncryptException {
+		CipherPool pool = getCipherPool(Cipher.ENCRYPT_MODE);
+		try {
+			Cipher c = pool.borrow();
+			int size = c.getOutputSize(inputLength);
+			pool.release(c);
+			return size;
+		} catch (GeneralSecurityException e) {
+			throw new EncryptException("加密失败", e);
+		}
+	}
+
+	/**
+	 * 用对象池中的Cipher对象加密或解密数据
+	 * 
+	 * @param mode
+	 * @param data
+	 * @return
+	 * @throws EncryptException
+	 *             假如获取Cipher对象失败，则抛出该异常
+	 * @throws GeneralSecurityException
+	 *             假如加密或解密失败，则抛出该异常
+	 */
+	private byte[] doFinal(int mode, byte[] data) throws EncryptException, GeneralSecurityException {
+		CipherPool pool = getCipherPool(mode);
+		Cipher c = pool.borrow();
+		byte[] result = c.doFinal(data);
+		// 出错时不归还，doFinal失败后Cipher对象的状态不确定
+		pool.release(c);
+		return result;
+	}
+
+	/**
+	 * 用对象池中的Cipher对象加密或解密缓冲区中的数据
+	 * 
+	 * @param mode
+	 * @param input
+	 * @param output
+	 * @param errorMsg
+	 * @return 写入output的字节数
+	 * @throws EncryptException
+	 */
+	private int doFinal(int mode, ByteBuffer input, ByteBuffer output, String errorMsg) throws EncryptException {
+		AssertUtils.isNotNull(input, "input param is null!");
+		AssertUtils.isNotNull(output, "output param is null!");
+		CipherPool pool = getCipherPool(mode);
+		try {
+			Cipher c = pool.borrow();
+			int outputSize = c.getOutputSize(input.remaining());
+			if (output.remaining() < outputSize) {
+				pool.release(c);
+				throw new EncryptException("输出缓冲区剩余空间不足，至少需要" + outputSize + "字节");
+			}
+			int count = c.doFinal(input, output);
+			pool.release(c);
+			return count;
+		} catch (GeneralSecurityException e) {
+			throw new EncryptException(errorMsg, e);
+		}
+	}
+
+	/**
+	 * 获取与当前加密方式、秘钥及加解密模式对应的Cipher对象池，加密方式或秘钥改变后重新创建
+	 * 
+	 * @param mode
+	 *            {@link Cipher#ENCRYPT_MODE}或{@link Cipher#DECRYPT_MODE}
+	 * @return
+	 * @throws EncryptException
+	 *             假如秘钥初始化失败，则抛出该异常
+	 */
+	private CipherPool getCipherPool(int mode) throws EncryptException {
+		SecretKey currentKey = getKey();
+		String transformation = encryptType.getEncryptName();
+		CipherPool pool = mode == Cipher.ENCRYPT_MODE ? encryptPool : decryptPool;
+		if (pool == null || !pool.matches(transformation, currentKey)) {
+			pool = new CipherPool(transformation, mode, currentKey, MAX_IDLE_CIPHERS);
+			if (mode == Cipher.ENCRYPT_MODE) {
+				encryptPool = pool;
+			} else {
+				decryptPool = pool;
+			}
+		}
+		return pool;
+	}
+
 	/**
 	 * 根据给定的字符串，生成key
 	 * 
@@ -0,0 +1,21 @@
+package org.xlp.javabean;
+
+/**
+ * javabean读写方法的调用方式
+ * 
+ * @author 徐龙平
+ * 
+ * @version 1.0
+ */
+public enum AccessorStrategy {
+	/**
+	 * 使用缓存的MethodHandle调用读写方法，默认方式
+	 */
+	METHOD_HANDLE,
+	
+	/**
+	 * 运行时为每个读写方法生成访问类，直接调用读写方法（基本类型直接拆装箱），
+	 * 无法生成时（例如类或方法不是public的、类对当前类加载器不可见）自动退回到{@link #METHOD_HANDLE}方式
+	 */
+	GENERATED;
+}
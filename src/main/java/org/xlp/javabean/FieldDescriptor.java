@@ -5,6 +5,9 @@ import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 
+import org.xlp.javabean.annotation.FieldName;
+import org.xlp.javabean.annotation.Formatter;
+
 /**
  * 字段描述
  * 
@@ -18,9 +21,15 @@ import java.lang.reflect.Type;
 public class FieldDescriptor {
 	//字段
 	private Field field;
+	
+	//字段上的常用注解，构造时解析一次，之后直接使用
+	private final FieldName fieldNameAnnotation;
+	private final Formatter formatterAnnotation;
 
 	public FieldDescriptor(Field field){
 		this.field = field;
+		this.fieldNameAnnotation = field == null ? null : field.getAnnotation(FieldName.class);
+		this.formatterAnnotation = field == null ? null : field.getAnnotation(Formatter.class);
 	}
 	
 	/**
@@ -48,6 +57,10 @@ public class FieldDescriptor {
 	 * @return 假如参数为null，返回null，否则返回注解对象
 	 */
 	public <T extends Annotation> T getFieldAnnotation(Class<T> annotationClass){
+		if (annotationClass == FieldName.class) 
+			return annotationClass.cast(fieldNameAnnotation);
+		if (annotationClass == Formatter.class) 
+			return annotationClass.cast(formatterAnnotation);
 		return field == null ? null : field.getAnnotation(annotationClass);
 	}
 	
@@ -0,0 +1,114 @@
+package org.xlp.javabean;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 运行时生成读写方法访问类
+ * <p>
+ * 通过LambdaMetafactory为每个读写方法生成一个实现类，生成的类中直接调用bean的读写方法，
+ * 基本类型的拆装箱也在生成的类中完成，不经过反射。无法生成时返回null，由调用者退回到其他调用方式
+ * 
+ * @author 徐龙平
+ * 
+ * @version 1.0
+ */
+final class GeneratedAccessors {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	
+	private static final MethodType GETTER_FACTORY = MethodType.methodType(Function.class);
+	private static final MethodType SETTER_FACTORY = MethodType.methodType(BiConsumer.class);
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	
+	private GeneratedAccessors(){
+	}
+	
+	/**
+	 * 生成读方法访问类
+	 * 
+	 * @param method 读方法
+	 * @return 无法生成时返回null
+	 */
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> getter(Method method) {
+		if (!canGenerate(method)) 
+			return null;
+		try {
+			MethodHandle handle = LOOKUP.unreflect(method);
+			MethodType instantiated = MethodType.methodType(
+					method.getReturnType(), method.getDeclaringClass()).wrap();
+			CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", GETTER_FACTORY, 
+					GETTER_TYPE, handle, instantiated);
+			return (Function<Object, Object>) site.getTarget().invoke();
+		} catch (Throwable e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * 生成写方法访问类
+	 * 
+	 * @param method 写方法
+	 * @return 无法生成时返回null
+	 */
+	@SuppressWarnings("unchecked")
+	static BiConsumer<Object, Object> setter(Method method) {
+		if (!canGenerate(method)) 
+			return null;
+		try {
+			MethodHandle handle = LOOKUP.unreflect(method);
+			MethodType instantiated = MethodType.methodType(void.class, 
+					method.getDeclaringClass(), method.getParameterTypes()[0]).wrap()
+					.changeReturnType(void.class);
+			CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept", SETTER_FACTORY, 
+					SETTER_TYPE, handle, instantiated);
+			return (BiConsumer<Object, Object>) site.getTarget().invoke();
+		} catch (Throwable e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * 判断是否可以生成访问类：方法及其所在类必须是public的，并且涉及的类型对当前类加载器可见
+	 * 
+	 * @param method
+	 * @return
+	 */
+	private static boolean canGenerate(Method method) {
+		if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())
+				|| !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+			return false;
+		}
+		if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) 
+			return false;
+		for (Class<?> type : method.getParameterTypes()) {
+			if (!isVisible(type)) 
+				return false;
+		}
+		return true;
+	}
+	
+	private static boolean isVisible(Class<?> type) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		if (type.isPrimitive()) 
+			return true;
+		try {
+			return Class.forName(type.getName(), false, 
+					GeneratedAccessors.class.getClassLoader()) == type;
+		} catch (ClassNotFoundException e) {
+			return false;
+		} catch (LinkageError e) {
+			return false;
+		}
+	}
+}
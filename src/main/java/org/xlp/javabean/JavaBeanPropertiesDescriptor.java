@@ -3,8 +3,13 @@ package org.xlp.javabean;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.xlp.javabean.annotation.Bean;
 import org.xlp.utils.XLPListArrayUtil;
 
 /**
@@ -18,6 +23,23 @@ import org.xlp.utils.XLPListArrayUtil;
  * 
  */
 public class JavaBeanPropertiesDescriptor<T> {
+	/**
+	 * 全局的bean元数据缓存，以Class为key，不会阻止类的卸载
+	 */
+	private static final ClassValue<JavaBeanPropertiesDescriptor<?>> CACHE = 
+			new ClassValue<JavaBeanPropertiesDescriptor<?>>() {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		@Override
+		protected JavaBeanPropertiesDescriptor<?> computeValue(Class<?> type) {
+			return new JavaBeanPropertiesDescriptor(type, true, CACHE_GENERATION.get());
+		}
+	};
+	
+	/**
+	 * 缓存版本号，调用{@link #clearCache()}时递增，使已缓存的数据全部失效
+	 */
+	private static final AtomicInteger CACHE_GENERATION = new AtomicInteger();
+	
 	// 属性描述数组
 	private PropertyDescriptor<T>[] pds;
 	
@@ -31,6 +53,21 @@ public class JavaBeanPropertiesDescriptor<T> {
 	 * 标志是否深度查找给定class的字段对象， true：是，false：否
 	 */
 	private boolean isDepth = true;
+	
+	/**
+	 * 字段名与属性描述的映射，字段名重复时（子类字段覆盖父类字段）保留子类的
+	 */
+	private Map<String, PropertyDescriptor<T>> pdMap;
+	
+	/**
+	 * 标记该类是否有{@link Bean}注解
+	 */
+	private boolean bean;
+	
+	/**
+	 * 创建时的缓存版本号
+	 */
+	private final int generation;
 
 	/**
 	 * @param cs
@@ -51,14 +88,60 @@ public class JavaBeanPropertiesDescriptor<T> {
 	 *             假如参数为null，抛出该异常
 	 */
 	public JavaBeanPropertiesDescriptor(Class<T> cs, boolean isDepth) {
+		this(cs, isDepth, CACHE_GENERATION.get());
+	}
+	
+	private JavaBeanPropertiesDescriptor(Class<T> cs, boolean isDepth, int generation) {
 		if (cs == null) {
 			throw new NullPointerException("javabean类型为空");
 		}
 		this.cs = cs;
 		this.isDepth = isDepth;
+		this.generation = generation;
+		this.bean = cs.getAnnotation(Bean.class) != null;
 		initFields();
 		initPds();
 	}
+	
+	/**
+	 * 从全局缓存中获取给定类的属性描述（深度查找字段），第一次获取时创建，之后重复使用
+	 * 
+	 * @param cs
+	 *            javabean对象类型
+	 * @return
+	 * @throws NullPointerException
+	 *             假如参数为null，抛出该异常
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> JavaBeanPropertiesDescriptor<T> getInstance(Class<T> cs) {
+		if (cs == null) {
+			throw new NullPointerException("javabean类型为空");
+		}
+		JavaBeanPropertiesDescriptor<?> descriptor = CACHE.get(cs);
+		if (descriptor.generation != CACHE_GENERATION.get()) {
+			CACHE.remove(cs);
+			descriptor = CACHE.get(cs);
+		}
+		return (JavaBeanPropertiesDescriptor<T>) descriptor;
+	}
+	
+	/**
+	 * 移除给定类的缓存数据，例如类被重新定义之后
+	 * 
+	 * @param cs
+	 */
+	public static void clearCache(Class<?> cs) {
+		if (cs != null) {
+			CACHE.remove(cs);
+		}
+	}
+	
+	/**
+	 * 使所有缓存数据失效
+	 */
+	public static void clearCache() {
+		CACHE_GENERATION.incrementAndGet();
+	}
 
 	private void initFields() {
 		List<Field[]> fieldList = new ArrayList<Field[]>();
@@ -89,19 +172,19 @@ public class JavaBeanPropertiesDescriptor<T> {
 	/**
 	 * 获取指定类的所有字段，包括父类的
 	 * 
-	 * @return
+	 * @return 新的数组，修改它不会影响缓存的数据
 	 */
 	public Field[] getFields(){
-		return fields;
+		return fields.clone();
 	}
 
 	/**
 	 * 获取JavaBean属性描述数组
 	 * 
-	 * @return
+	 * @return 新的数组，修改它不会影响缓存的数据
 	 */
 	public PropertyDescriptor<T>[] getPds() {
-		return pds;
+		return pds.clone();
 	}
 
 	/**
@@ -109,11 +192,14 @@ public class JavaBeanPropertiesDescriptor<T> {
 	 */
 	@SuppressWarnings("unchecked")
 	private void initPds() {
-		Field[] fields = getFields();
 		int len = fields.length;
 		this.pds = new PropertyDescriptor[len];
+		this.pdMap = new HashMap<String, PropertyDescriptor<T>>(len * 4 / 3 + 1);
 		for (int i = 0; i < len; i++) {
 			pds[i] = new PropertyDescriptor<T>(fields[i], cs);
+			if (!pdMap.containsKey(pds[i].getFieldName())) {
+				pdMap.put(pds[i].getFieldName(), pds[i]);
+			}
 		}
 	}
 
@@ -123,7 +209,6 @@ public class JavaBeanPropertiesDescriptor<T> {
 	 * @return
 	 */
 	public String[] getAllFieldNames() {
-		Field[] fields = getFields();
 		int len = fields.length;
 		String[] fieldNames = new String[len];
 
@@ -145,7 +230,6 @@ public class JavaBeanPropertiesDescriptor<T> {
 			Class<A> annotationClass) {
 		List<PropertyDescriptor> propertyDescriptorList = new ArrayList<PropertyDescriptor>();
 		if (annotationClass != null) {
-			PropertyDescriptor<T>[] pds = getPds();
 			int len = pds.length;
 			for (int i = 0; i < len; i++) {
 				A anno = pds[i].getFieldAnnotation(annotationClass);
@@ -167,10 +251,33 @@ public class JavaBeanPropertiesDescriptor<T> {
 	 * @return 假如未找到，返回null
 	 */
 	public PropertyDescriptor<T> getDescriptor(String fieldName) {
-		for (PropertyDescriptor<T> pd : pds) {
-			if (pd.getFieldName().equals(fieldName))
-				return pd;
-		}
-		return null;
+		return pdMap.get(fieldName);
+	}
+	
+	/**
+	 * 获取字段名与属性描述的映射
+	 * 
+	 * @return 不可修改的map
+	 */
+	public Map<String, PropertyDescriptor<T>> getDescriptorMap() {
+		return Collections.unmodifiableMap(pdMap);
+	}
+	
+	/**
+	 * 判断该类是否有{@link Bean}注解
+	 * 
+	 * @return
+	 */
+	public boolean isBean() {
+		return bean;
+	}
+	
+	/**
+	 * 获取javabean类型
+	 * 
+	 * @return
+	 */
+	public Class<T> getBeanClass() {
+		return cs;
 	}
 }
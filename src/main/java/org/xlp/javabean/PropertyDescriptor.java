@@ -1,9 +1,15 @@
 package org.xlp.javabean;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
+import org.xlp.javabean.config.AccessorConfig;
 import org.xlp.javabean.utils.MethodNameUtil;
 
 /**
@@ -21,6 +27,16 @@ public class PropertyDescriptor<T> extends FieldDescriptor{
 
 	volatile private Class<T> cs;
 	
+	/**
+	 * 已解析的读方法，第一次使用时解析，之后重复使用
+	 */
+	private volatile Accessor readAccessor;
+	
+	/**
+	 * 已解析的写方法，第一次使用时解析，之后重复使用
+	 */
+	private volatile Accessor writeAccessor;
+	
 	/**
 	 * 
 	 * @param field bean字段
@@ -39,9 +55,18 @@ public class PropertyDescriptor<T> extends FieldDescriptor{
 	 * @throws NullPointerException 
 	 */
 	public Method getWriteMethod() throws MethodException{
+		return getWriteAccessor().getMethod();
+	}
+	
+	/**
+	 * 解析写方法
+	 * 
+	 * @return
+	 */
+	private Accessor resolveWriteMethod() {
 		String fieldName = this.getFieldName();
 		if (fieldName == null) {
-			throw new MethodException("给定字段(" + fieldName + ")的写方法不存在");
+			return new Accessor("给定字段(" + fieldName + ")的写方法不存在");
 		}
 		
 		Method method;
@@ -50,22 +75,22 @@ public class PropertyDescriptor<T> extends FieldDescriptor{
 		String setterName = MethodNameUtil.createSetterMethodName(fieldName, typeIsBoolean);
 		try {
 			method =  cs.getMethod(setterName, new Class<?>[]{type});
-			return method;
+			return new Accessor(method, false, isGenerated());
 		} catch (NoSuchMethodException e) {
 			if (typeIsBoolean) {
 				setterName = MethodNameUtil.createSetterMethodName(fieldName);
 				try {
 					method =  cs.getMethod(setterName, new Class<?>[]{type});
-					return method;
+					return new Accessor(method, false, isGenerated());
 				} catch (NoSuchMethodException e1) {
-					throw new MethodException("该方法" + setterName + "(...)不存在");
+					return new Accessor("该方法" + setterName + "(...)不存在");
 				} catch (SecurityException e1) {
-					throw new MethodException("该方法" + setterName + "(...)不可访问");
+					return new Accessor("该方法" + setterName + "(...)不可访问");
 				}
 			}
-			throw new MethodException("该方法" + setterName + "(...)不存在");
+			return new Accessor("该方法" + setterName + "(...)不存在");
 		} catch (SecurityException e) {
-			throw new MethodException("该方法" + setterName + "(...)不可访问");
+			return new Accessor("该方法" + setterName + "(...)不可访问");
 		}
 	}
 	
@@ -77,9 +102,18 @@ public class PropertyDescriptor<T> extends FieldDescriptor{
 	 * @throws NullPointerException 
 	 */
 	public Method getReadMethod() throws MethodException{
+		return getReadAccessor().getMethod();
+	}
+	
+	/**
+	 * 解析读方法
+	 * 
+	 * @return
+	 */
+	private Accessor resolveReadMethod() {
 		String fieldName = this.getFieldName();
 		if (fieldName == null) {
-			throw new MethodException("给定字段(" + fieldName + ")的读方法不存在");
+			return new Accessor("给定字段(" + fieldName + ")的读方法不存在");
 		}
 		
 		Class<?> type = this.getFiledClassType();
@@ -93,23 +127,50 @@ public class PropertyDescriptor<T> extends FieldDescriptor{
 		Method method;
 		try {
 			method =  cs.getMethod(getterName, new Class<?>[]{});
-			return method;
+			return new Accessor(method, true, isGenerated());
 		} catch (NoSuchMethodException e) {
 			if (typeIsBoolean) { 
 				getterName = MethodNameUtil.createGetterMethodName(fieldName);
 				try {
 					method =  cs.getMethod(getterName, new Class<?>[]{});
-					return method;
+					return new Accessor(method, true, isGenerated());
 				} catch (NoSuchMethodException e1) {
-					throw new MethodException("该方法" + getterName + "()不存在");
+					return new Accessor("该方法" + getterName + "()不存在");
 				} catch (SecurityException e1) {
-					throw new MethodException("该方法" + getterName + "()不可访问");
+					return new Accessor("该方法" + getterName + "()不可访问");
 				}
 			}
-			throw new MethodException("该方法" + getterName + "()不存在");
+			return new Accessor("该方法" + getterName + "()不存在");
 		} catch (SecurityException e) {
-			throw new MethodException("该方法" + getterName + "()不可访问");
+			return new Accessor("该方法" + getterName + "()不可访问");
+		}
+	}
+	
+	/**
+	 * 判断该类是否配置为使用生成的访问类调用读写方法
+	 * 
+	 * @return
+	 */
+	private boolean isGenerated() {
+		return AccessorConfig.getStrategy(cs) == AccessorStrategy.GENERATED;
+	}
+	
+	private Accessor getReadAccessor() {
+		Accessor accessor = readAccessor;
+		if (accessor == null) {
+			accessor = resolveReadMethod();
+			readAccessor = accessor;
 		}
+		return accessor;
+	}
+	
+	private Accessor getWriteAccessor() {
+		Accessor accessor = writeAccessor;
+		if (accessor == null) {
+			accessor = resolveWriteMethod();
+			writeAccessor = accessor;
+		}
+		return accessor;
 	}
 	
 	/**
@@ -125,12 +186,26 @@ public class PropertyDescriptor<T> extends FieldDescriptor{
 			throw new NullPointerException("参数不能为空");
 		}
 		
-		Method method = this.getReadMethod();
+		Accessor accessor = getReadAccessor();
+		Method method = accessor.getMethod();
 		
-		try {
-			if (method == null) {
-				return null;
+		if (accessor.getter != null && accessor.owner.isInstance(obj)) {
+			try {
+				return accessor.getter.apply(obj);
+			} catch (Throwable e) {
+				throw new RuntimeException(new InvocationTargetException(e));
 			}
+		}
+		
+		if (accessor.handle != null && accessor.owner.isInstance(obj)) {
+			try {
+				return accessor.handle.invokeExact((Object) obj);
+			} catch (Throwable e) {
+				throw new RuntimeException(new InvocationTargetException(e));
+			}
+		}
+		
+		try {
 			return method.invoke(obj, new Object[]{});
 		} catch (IllegalAccessException e) {
 			throw new RuntimeException(e);
@@ -155,12 +230,27 @@ public class PropertyDescriptor<T> extends FieldDescriptor{
 			throw new NullPointerException();
 		}
 		
-		Method method = this.getWriteMethod();
+		Accessor accessor = getWriteAccessor();
+		Method method = accessor.getMethod();
 		
-		try {
-			if (method != null) {
-				method.invoke(obj, new Object[]{param});
+		if (accessor.handle != null && accessor.owner.isInstance(obj)
+				&& (param == null ? !accessor.paramType.isPrimitive() 
+						: accessor.paramWrapperType.isInstance(param))) {
+			try {
+				if (accessor.setter != null) {
+					accessor.setter.accept(obj, param);
+				} else {
+					accessor.handle.invokeExact((Object) obj, param);
+				}
+				return;
+			} catch (Throwable e) {
+				throw new RuntimeException(new InvocationTargetException(e));
 			}
+		}
+		
+		//参数需要类型转换（例如基本类型的拓宽转换）或参数不合法时，交由反射处理，保持原有的行为
+		try {
+			method.invoke(obj, new Object[]{param});
 		} catch (IllegalAccessException e) {
 			throw new RuntimeException(e);
 		} catch (IllegalArgumentException e) {
@@ -169,5 +259,86 @@ public class PropertyDescriptor<T> extends FieldDescriptor{
 			throw new RuntimeException(e);
 		}
 	}
-
+	
+	/**
+	 * 已解析的读写方法，包含可直接调用的MethodHandle
+	 */
+	private static final class Accessor {
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+		private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+		
+		final Method method;
+		
+		/**
+		 * 类型已适配为(Object)Object或(Object, Object)void的方法句柄，无法访问时为null
+		 */
+		final MethodHandle handle;
+		
+		/**
+		 * 生成的读方法访问类，未配置为{@link AccessorStrategy#GENERATED}或无法生成时为null
+		 */
+		final Function<Object, Object> getter;
+		
+		/**
+		 * 生成的写方法访问类，未配置为{@link AccessorStrategy#GENERATED}或无法生成时为null
+		 */
+		final BiConsumer<Object, Object> setter;
+		
+		final Class<?> owner;
+		
+		/**
+		 * 写方法参数类型
+		 */
+		final Class<?> paramType;
+		
+		/**
+		 * 写方法参数类型对应的包装类型
+		 */
+		final Class<?> paramWrapperType;
+		
+		/**
+		 * 方法不存在时的错误信息
+		 */
+		final String error;
+		
+		Accessor(String error) {
+			this.method = null;
+			this.handle = null;
+			this.getter = null;
+			this.setter = null;
+			this.owner = null;
+			this.paramType = null;
+			this.paramWrapperType = null;
+			this.error = error;
+		}
+		
+		Accessor(Method method, boolean read, boolean generated) {
+			this.method = method;
+			this.owner = method.getDeclaringClass();
+			this.error = null;
+			if (read) {
+				this.paramType = null;
+				this.paramWrapperType = null;
+			} else {
+				this.paramType = method.getParameterTypes()[0];
+				this.paramWrapperType = MethodType.methodType(paramType).wrap().returnType();
+			}
+			MethodHandle handle;
+			try {
+				handle = MethodHandles.publicLookup().unreflect(method)
+						.asType(read ? GETTER_TYPE : SETTER_TYPE);
+			} catch (IllegalAccessException e) {
+				handle = null;
+			}
+			this.handle = handle;
+			this.getter = generated && read && handle != null ? GeneratedAccessors.getter(method) : null;
+			this.setter = generated && !read && handle != null ? GeneratedAccessors.setter(method) : null;
+		}
+		
+		Method getMethod() throws MethodException {
+			if (method == null) 
+				throw new MethodException(error);
+			return method;
+		}
+	}
 }
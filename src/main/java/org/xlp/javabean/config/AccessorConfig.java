@@ -0,0 +1,82 @@
+package org.xlp.javabean.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.xlp.javabean.AccessorStrategy;
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+
+/**
+ * javabean读写方法调用方式配置，可以全局设置，也可以针对某个类单独设置
+ * <p>
+ * 读写方法在第一次使用时按当时的配置解析，配置改变时清除{@link JavaBeanPropertiesDescriptor}中相关类的缓存，
+ * 之后重新解析。已解析的读写方法需要重新生成，所以最好在程序启动时设置
+ * 
+ * @author 徐龙平
+ * 
+ * @version 1.0
+ */
+public final class AccessorConfig {
+	/**
+	 * 全局调用方式
+	 */
+	private static volatile AccessorStrategy defaultStrategy = AccessorStrategy.METHOD_HANDLE;
+	
+	/**
+	 * 单独设置的类，key：bean类型，value：调用方式
+	 */
+	private static final Map<Class<?>, AccessorStrategy> STRATEGIES = 
+			new ConcurrentHashMap<Class<?>, AccessorStrategy>();
+	
+	private AccessorConfig(){
+	}
+	
+	/**
+	 * 获取全局调用方式
+	 * 
+	 * @return
+	 */
+	public static AccessorStrategy getDefaultStrategy() {
+		return defaultStrategy;
+	}
+	
+	/**
+	 * 设置全局调用方式，改变时清除所有类的属性描述缓存
+	 * 
+	 * @param strategy 为null时设置为{@link AccessorStrategy#METHOD_HANDLE}
+	 */
+	public static void setDefaultStrategy(AccessorStrategy strategy) {
+		strategy = strategy == null ? AccessorStrategy.METHOD_HANDLE : strategy;
+		if (defaultStrategy != strategy) {
+			defaultStrategy = strategy;
+			JavaBeanPropertiesDescriptor.clearCache();
+		}
+	}
+	
+	/**
+	 * 单独设置某个类的调用方式，改变时清除该类的属性描述缓存
+	 * 
+	 * @param cs bean类型
+	 * @param strategy 为null时移除该类的单独设置
+	 * @throws NullPointerException 假如第一个参数为null，则抛出该异常
+	 */
+	public static void setStrategy(Class<?> cs, AccessorStrategy strategy) {
+		if (cs == null) 
+			throw new NullPointerException("bean类型参数不能为null");
+		AccessorStrategy old = strategy == null ? STRATEGIES.remove(cs) : STRATEGIES.put(cs, strategy);
+		if (old != strategy) {
+			JavaBeanPropertiesDescriptor.clearCache(cs);
+		}
+	}
+	
+	/**
+	 * 获取某个类使用的调用方式，没有单独设置时返回全局调用方式
+	 * 
+	 * @param cs bean类型
+	 * @return
+	 */
+	public static AccessorStrategy getStrategy(Class<?> cs) {
+		AccessorStrategy strategy = cs == null ? null : STRATEGIES.get(cs);
+		return strategy == null ? defaultStrategy : strategy;
+	}
+}
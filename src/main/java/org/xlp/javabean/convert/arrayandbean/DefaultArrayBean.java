@@ -50,7 +50,7 @@ public class DefaultArrayBean<T> implements ArrayBean<T>{
 			return null;
 		}
 
-		PropertyDescriptor<T>[] pds = new JavaBeanPropertiesDescriptor<T>(cs)
+		PropertyDescriptor<T>[] pds = JavaBeanPropertiesDescriptor.getInstance(cs)
 				.getPds();
 		
 		return createBean(array, cs, pds);
@@ -81,7 +81,7 @@ public class DefaultArrayBean<T> implements ArrayBean<T>{
 		}
 		
 		@SuppressWarnings("unchecked")
-		PropertyDescriptor<T>[] pds = new JavaBeanPropertiesDescriptor<T>(
+		PropertyDescriptor<T>[] pds = JavaBeanPropertiesDescriptor.getInstance(
 				(Class<T>) bean.getClass()).getPds();
 		
 		return createArray(pds, bean);
@@ -119,7 +119,7 @@ public class DefaultArrayBean<T> implements ArrayBean<T>{
 			return beanList;
 		}
 		
-		PropertyDescriptor<T>[] pds = new JavaBeanPropertiesDescriptor<T>(cs)
+		PropertyDescriptor<T>[] pds = JavaBeanPropertiesDescriptor.getInstance(cs)
 				.getPds();
 		for (Object[] array : arrays) {
 			if (array != null) {
@@ -138,7 +138,7 @@ public class DefaultArrayBean<T> implements ArrayBean<T>{
 		}
 		
 		@SuppressWarnings("unchecked")
-		PropertyDescriptor<T>[] pds = new JavaBeanPropertiesDescriptor<T>(
+		PropertyDescriptor<T>[] pds = JavaBeanPropertiesDescriptor.getInstance(
 				(Class<T>) beaList.get(0).getClass()).getPds();
 		
 		for (T bean : beaList) {
@@ -74,6 +74,14 @@ public class DefaultMapBean<T> extends MapBeanAbstract<T>{
 		return pd.getFieldName();
 	}
 
+	/**
+	 * 映射字段名只由字段（及其注解）决定；子类可能覆盖映射方法，所以只有该类本身的实例共用索引
+	 */
+	@Override
+	protected boolean isNameMappingStateless() {
+		return getClass() == DefaultMapBean.class;
+	}
+
 	@Override
 	protected boolean canUseBeanAnnotation() {
 		return false;
@@ -6,6 +6,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.xlp.javabean.JavaBeanPropertiesDescriptor;
 import org.xlp.javabean.MethodException;
@@ -36,6 +39,23 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 	private boolean isContainNull = false;
 	// map值处理器
 	private ValueProcesser processer = new MapValueProcesser();
+	// 映射字段名无状态的转换器共用的索引缓存，转换器类型 -> (bean类型 -> 索引)，
+	// 以转换器类型为外层key，bean类型的缓存中不会引用转换器类型
+	private static final ClassValue<ClassValue<AtomicReference<PropertyNameIndex>>> SHARED_NAME_INDEXES = 
+			new ClassValue<ClassValue<AtomicReference<PropertyNameIndex>>>() {
+		@Override
+		protected ClassValue<AtomicReference<PropertyNameIndex>> computeValue(Class<?> converterType) {
+			return new ClassValue<AtomicReference<PropertyNameIndex>>() {
+				@Override
+				protected AtomicReference<PropertyNameIndex> computeValue(Class<?> beanType) {
+					return new AtomicReference<PropertyNameIndex>();
+				}
+			};
+		}
+	};
+	// 该实例的映射字段名索引缓存，bean类型 -> 索引
+	private final ConcurrentMap<Class<?>, PropertyNameIndex> nameIndexes = 
+			new ConcurrentHashMap<Class<?>, PropertyNameIndex>(4);
 
 	public MapBeanAbstract() {
 		this(XLPDateUtil.DATE_FORMAT);
@@ -119,6 +139,54 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 		this.isContainNull = isContainNull;
 	}
 
+	/**
+	 * 获取指定类型的映射字段名索引，第一次获取时创建，之后重复使用；{@link #isNameMappingStateless()}返回true时
+	 * 同一种转换器的所有实例共用，否则每个实例单独缓存。{@link JavaBeanPropertiesDescriptor}的缓存被清除后重新创建
+	 * 
+	 * @param cs
+	 * @return
+	 */
+	private PropertyNameIndex getNameIndex(Class<?> cs) {
+		JavaBeanPropertiesDescriptor<?> descriptor = JavaBeanPropertiesDescriptor.getInstance(cs);
+		if (isNameMappingStateless()) {
+			AtomicReference<PropertyNameIndex> shared = SHARED_NAME_INDEXES.get(getClass()).get(cs);
+			PropertyNameIndex index = shared.get();
+			if (index == null || index.descriptor != descriptor) {
+				index = createNameIndex(descriptor);
+				shared.set(index);
+			}
+			return index;
+		}
+		PropertyNameIndex index = nameIndexes.get(cs);
+		if (index == null || index.descriptor != descriptor) {
+			index = createNameIndex(descriptor);
+			nameIndexes.put(cs, index);
+		}
+		return index;
+	}
+
+	private PropertyNameIndex createNameIndex(JavaBeanPropertiesDescriptor<?> descriptor) {
+		PropertyDescriptor<?>[] pds = descriptor.getPds();
+		String[] readNames = new String[pds.length];
+		String[] writeNames = new String[pds.length];
+		for (int i = 0; i < pds.length; i++) {
+			readNames[i] = virtualReadFieldName(pds[i]);
+			writeNames[i] = virtualWriteFieldName(pds[i]);
+		}
+		return new PropertyNameIndex(descriptor, readNames, writeNames);
+	}
+
+	/**
+	 * 标记{@link #virtualReadFieldName(PropertyDescriptor)}及{@link #virtualWriteFieldName(PropertyDescriptor)}
+	 * 的返回值是否只由属性描述决定，与转换器实例的状态无关。返回true时映射字段名索引由同一种转换器的所有实例共用，
+	 * 默认返回false，每个实例单独缓存
+	 * 
+	 * @return
+	 */
+	protected boolean isNameMappingStateless() {
+		return false;
+	}
+
 	/**
 	 * 用map创建一个指定类型的bean对象
 	 * 
@@ -134,10 +202,7 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 			return null;
 		}
 
-		PropertyDescriptor<T>[] pds = new JavaBeanPropertiesDescriptor<T>(cs)
-				.getPds();
-
-		return createBean(map, cs, pds);
+		return createBean(map, cs, getNameIndex(cs));
 	}
 
 	/**
@@ -145,11 +210,11 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 	 * 
 	 * @param map
 	 * @param cs
-	 * @param pds
+	 * @param index
 	 */
 	private T createBean(Map<String, ?> map, Class<T> cs,
-			PropertyDescriptor<T>[] pds) {
-		if (canUseBeanAnnotation() && cs.getAnnotation(Bean.class) == null) { 
+			PropertyNameIndex index) {
+		if (canUseBeanAnnotation() && !JavaBeanPropertiesDescriptor.getInstance(cs).isBean()) { 
 			throw new RuntimeException("要实例化的类没有@Bean注解，创建对象失败！");
 		}
 
@@ -159,7 +224,7 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 			String key;
 			if (entry != null && !XLPStringUtil.isEmpty(key = entry.getKey())) { 
 				try {
-					_createBean(key, bean, pds, entry.getValue());
+					_createBean(key, bean, cs, index, entry.getValue());
 				} catch (Exception e) {
 					XLPOutputInfoUtil.println("值设置异常，" + e.getMessage());
 				}
@@ -174,50 +239,80 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 	 * 
 	 * @param fieldName
 	 * @param bean
-	 * @param pds
+	 * @param cs
+	 * @param index
 	 * @param value
 	 * @throws Exception 
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private void _createBean(String fieldName, Object bean, PropertyDescriptor<?>[] pds, Object value) throws Exception {
-		int dotIndex = fieldName.indexOf(".");
-		PropertyDescriptor<Object> pd = null;
-		for (int i = 0; i < pds.length; i++) {
-			if (fieldName.equalsIgnoreCase(virtualWriteFieldName(pds[i]))) {
-				pd = (PropertyDescriptor<Object>) pds[i];
-				break;
+	@SuppressWarnings("unchecked")
+	private void _createBean(String fieldName, Object bean, Class<?> cs, PropertyNameIndex index, 
+			Object value) throws Exception {
+		PropertyDescriptor<?>[] path;
+		if (fieldName.indexOf('.') < 0) {
+			PropertyDescriptor<?> pd = index.find(fieldName);
+			if (pd != null) {
+				_callSetter(value, bean, (PropertyDescriptor<Object>) pd);
 			}
+			return;
 		}
 		
-		if (pd != null) {
-			_callSetter(value, bean, (PropertyDescriptor<Object>) pd);
-		} else if (dotIndex >= 0) {
-			String prefixName = fieldName.substring(0, dotIndex); 
-			for (int i = 0; i < pds.length; i++) {
-				if (prefixName.equalsIgnoreCase(virtualWriteFieldName(pds[i]))) {
-					pd = (PropertyDescriptor<Object>) pds[i];
-					break;
-				}
+		path = index.getPath(fieldName);
+		if (path == null) {
+			path = resolvePath(fieldName, cs, index);
+			index.putPath(fieldName, path);
+		}
+		if (path == PropertyNameIndex.UNRESOLVED) {
+			return;
+		}
+		
+		int last = path.length - 1;
+		for (int i = 0; i < last; i++) {
+			PropertyDescriptor<Object> pd = (PropertyDescriptor<Object>) path[i];
+			Object _bean = pd.executeReadMethod(bean);
+			if (_bean == null) {
+				_bean = pd.getFiledClassType().newInstance();
+				pd.executeWriteMethod(bean, _bean); 
 			}
+			bean = _bean;
+		}
+		_callSetter(value, bean, (PropertyDescriptor<Object>) path[last]);
+	}
+	
+	/**
+	 * 解析<code>a.b.c</code>形式的嵌套路径，优先把剩余部分作为整体字段名匹配
+	 * 
+	 * @param fieldName
+	 * @param cs
+	 * @param index
+	 * @return 从外到内依次经过的属性描述，无法解析时返回{@link PropertyNameIndex#UNRESOLVED}
+	 */
+	private PropertyDescriptor<?>[] resolvePath(String fieldName, Class<?> cs, PropertyNameIndex index) {
+		List<PropertyDescriptor<?>> path = new ArrayList<PropertyDescriptor<?>>();
+		for (;;) {
+			PropertyDescriptor<?> pd = index.find(fieldName);
 			if (pd != null) {
-				Object _bean = pd.executeReadMethod(bean);
-				Class<?> _beanClass = pd.getFiledClassType();
-				//判断是否需要创建bean
-				if (canUseBeanAnnotation() && _beanClass.getAnnotation(Bean.class) == null) {
-					return;
-				}
-				if (_bean == null ) {
-					_bean = _beanClass.newInstance();
-					pd.executeWriteMethod(bean, _bean); 
-				}
-				pds = new JavaBeanPropertiesDescriptor(_beanClass).getPds();
-				_createBean(fieldName.substring(dotIndex + 1), _bean, pds, value);
+				path.add(pd);
+				return path.toArray(new PropertyDescriptor<?>[path.size()]);
 			}
-		} 
+			int dotIndex = fieldName.indexOf('.');
+			if (dotIndex < 0 || (pd = index.find(fieldName.substring(0, dotIndex))) == null) {
+				return PropertyNameIndex.UNRESOLVED;
+			}
+			cs = pd.getFiledClassType();
+			//判断是否需要创建bean
+			if (canUseBeanAnnotation() && !JavaBeanPropertiesDescriptor.getInstance(cs).isBean()) {
+				return PropertyNameIndex.UNRESOLVED;
+			}
+			path.add(pd);
+			index = getNameIndex(cs);
+			fieldName = fieldName.substring(dotIndex + 1);
+		}
 	}
 
 	/**
 	 * 用指定的属性描述器获取其对应的字段名(bean->map是字段名映射)
+	 * <p>
+	 * 结果按转换器实例缓存，返回值依赖实例状态时，状态应在第一次转换之前确定，详见{@link #isNameMappingStateless()}
 	 * 
 	 * @param pd
 	 * @return
@@ -226,6 +321,8 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 	
 	/**
 	 * 用指定的属性描述器获取其对应的字段名(map->bean是字段名映射)
+	 * <p>
+	 * 结果按转换器实例缓存，返回值依赖实例状态时，状态应在第一次转换之前确定，详见{@link #isNameMappingStateless()}
 	 * 
 	 * @param pd
 	 * @return
@@ -317,23 +414,24 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 		}
 
 		@SuppressWarnings("unchecked")
-		JavaBeanPropertiesDescriptor<T> jbd = new JavaBeanPropertiesDescriptor<T>(
+		JavaBeanPropertiesDescriptor<T> jbd = JavaBeanPropertiesDescriptor.getInstance(
 				(Class<T>) bean.getClass());
 
 		PropertyDescriptor<T>[] pds = jbd.getPds();
 
-		return createMap(pds, bean);
+		return createMap(pds, getNameIndex(bean.getClass()).readNames, bean);
 	}
 
 	/**
 	 * 创建一个新的Map集合
 	 * 
 	 * @param pds
+	 * @param readNames 与pds一一对应的映射字段名
 	 * @param bean
 	 * @return
 	 */
 	private Map<String, Object> createMap(final PropertyDescriptor<T>[] pds,
-			T bean) {
+			String[] readNames, T bean) {
 		Map<String, Object> map = new HashMap<String, Object>();
 
 		for (int i = 0, len = pds.length; i < len; i++) {
@@ -342,7 +440,7 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 				continue;
 			}
 
-			String vfn = virtualReadFieldName(pds[i]);
+			String vfn = readNames[i];
 			if (vfn != null)
 				map.put(vfn, value);
 		}
@@ -380,12 +478,11 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 			return beanList;
 		}
 
-		PropertyDescriptor<T>[] pds = new JavaBeanPropertiesDescriptor<T>(cs)
-				.getPds();
+		PropertyNameIndex index = getNameIndex(cs);
 
 		for (Map<String, ?> map : mapList) {
 			if (map != null) {
-				beanList.add(this.createBean(map, cs, pds));
+				beanList.add(this.createBean(map, cs, index));
 			}
 		}
 		return beanList;
@@ -405,13 +502,14 @@ public abstract class MapBeanAbstract<T> implements MapBean<T> {
 		}
 
 		@SuppressWarnings("unchecked")
-		JavaBeanPropertiesDescriptor<T> jbd = new JavaBeanPropertiesDescriptor<T>(
+		JavaBeanPropertiesDescriptor<T> jbd = JavaBeanPropertiesDescriptor.getInstance(
 				(Class<T>) beanList.get(0).getClass());
 
 		PropertyDescriptor<T>[] pds = jbd.getPds();
+		String[] readNames = getNameIndex(jbd.getBeanClass()).readNames;
 
 		for (T bean : beanList) {
-			mapList.add(createMap(pds, bean));
+			mapList.add(createMap(pds, readNames, bean));
 		}
 		return mapList;
 	}
@@ -89,6 +89,14 @@ public class MapBeanConverter<T> extends MapBeanAbstract<T>{
 		return virtualFieldName(pd);
 	}
 
+	/**
+	 * 映射字段名只由字段（及其注解）决定；子类可能覆盖映射方法，所以只有该类本身的实例共用索引
+	 */
+	@Override
+	protected boolean isNameMappingStateless() {
+		return getClass() == MapBeanConverter.class;
+	}
+
 	@Override
 	protected boolean canUseBeanAnnotation() {
 		return true;
@@ -0,0 +1,111 @@
+package org.xlp.javabean.convert.mapandbean;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+import org.xlp.javabean.PropertyDescriptor;
+
+/**
+ * 某个javabean类型的映射字段名索引
+ * <p>
+ * 预先计算好映射字段名与属性描述的精确匹配及忽略大小写匹配的哈希索引，并缓存已解析过的
+ * <code>a.b.c</code>形式的嵌套路径，map->bean时每个key只需常数次查找
+ *
+ * @author 徐龙平
+ *
+ * @version 1.0
+ */
+final class PropertyNameIndex {
+	/**
+	 * 最多缓存的嵌套路径数，防止map中key的种类过多时占用过多内存
+	 */
+	private static final int MAX_CACHED_PATHS = 1024;
+
+	/**
+	 * 无法解析的路径标记
+	 */
+	static final PropertyDescriptor<?>[] UNRESOLVED = new PropertyDescriptor<?>[0];
+
+	/**
+	 * 创建该索引时使用的属性描述，全局缓存被清除后与{@link JavaBeanPropertiesDescriptor#getInstance(Class)}
+	 * 的返回值不再相同，此时该索引失效
+	 */
+	final JavaBeanPropertiesDescriptor<?> descriptor;
+
+	/**
+	 * bean->map时每个属性对应的映射字段名，与pds一一对应
+	 */
+	final String[] readNames;
+
+	/**
+	 * 映射字段名 -> 属性描述（精确匹配）
+	 */
+	private final Map<String, PropertyDescriptor<?>> exactIndex;
+
+	/**
+	 * 小写映射字段名 -> 属性描述（忽略大小写匹配）
+	 */
+	private final Map<String, PropertyDescriptor<?>> ignoreCaseIndex;
+
+	/**
+	 * 已解析的嵌套路径，值为从外到内依次经过的属性描述，最后一个为要设置值的属性
+	 */
+	private final Map<String, PropertyDescriptor<?>[]> paths =
+			new ConcurrentHashMap<String, PropertyDescriptor<?>[]>();
+
+	PropertyNameIndex(JavaBeanPropertiesDescriptor<?> descriptor, String[] readNames, String[] writeNames) {
+		this.descriptor = descriptor;
+		this.readNames = readNames;
+		PropertyDescriptor<?>[] pds = descriptor.getPds();
+		int capacity = pds.length * 4 / 3 + 1;
+		exactIndex = new HashMap<String, PropertyDescriptor<?>>(capacity);
+		ignoreCaseIndex = new HashMap<String, PropertyDescriptor<?>>(capacity);
+		for (int i = 0; i < pds.length; i++) {
+			String name = writeNames[i];
+			if (name == null)
+				continue;
+			//与原来的顺序查找保持一致，名称相同时第一个优先
+			if (!exactIndex.containsKey(name))
+				exactIndex.put(name, pds[i]);
+			String lowerName = name.toLowerCase(Locale.ROOT);
+			if (!ignoreCaseIndex.containsKey(lowerName))
+				ignoreCaseIndex.put(lowerName, pds[i]);
+		}
+	}
+
+	/**
+	 * 根据映射字段名查找属性描述，先精确匹配，再忽略大小写匹配
+	 *
+	 * @param name
+	 * @return 未找到时返回null
+	 */
+	PropertyDescriptor<?> find(String name) {
+		PropertyDescriptor<?> pd = exactIndex.get(name);
+		return pd != null ? pd : ignoreCaseIndex.get(name.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * 获取已缓存的路径
+	 *
+	 * @param key
+	 * @return 未缓存时返回null
+	 */
+	PropertyDescriptor<?>[] getPath(String key) {
+		return paths.get(key);
+	}
+
+	/**
+	 * 缓存解析过的路径
+	 *
+	 * @param key
+	 * @param path
+	 */
+	void putPath(String key, PropertyDescriptor<?>[] path) {
+		if (paths.size() < MAX_CACHED_PATHS) {
+			paths.put(key, path);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package org.xlp.json;
 
+import java.io.IOException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.LocalDate;
@@ -9,7 +10,6 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
-import java.util.Stack;
 
 import org.xlp.assertion.AssertUtils;
 import org.xlp.json.config.JsonConfig;
@@ -19,8 +19,6 @@ import org.xlp.json.utils.PackingTypeUtil;
 import org.xlp.utils.XLPDateUtil;
 import org.xlp.utils.XLPFormatterUtil;
 import org.xlp.utils.XLPStringUtil;
-import org.xlp.utils.XLPSystemParamUtil;
-import org.xlp.utils.XLPVerifedUtil;
 
 /**
  * json抽象类,主要实现json的一些公有功能
@@ -76,13 +74,14 @@ public abstract class Json{
 	 * 处理单个jsonElement对象
 	 * 
 	 * @param je
-	 * @param jsonSB
+	 * @param writer
 	 * @param spaceCount 缩颈空格数
 	 * @param isAddSpace 是否缩进
+	 * @throws IOException
 	 */
 	@SuppressWarnings("all")
-	protected void dealValue(JsonElement je, StringBuilder jsonSB,
-			int spaceCount, boolean isAddSpace) {
+	protected void dealValue(JsonElement je, JsonWriter writer,
+			int spaceCount, boolean isAddSpace) throws IOException {
 		Class<?> cs = je.getType();
 		Object value = je.getValue();
 		boolean bean = je.isBean();
@@ -93,18 +92,18 @@ public abstract class Json{
 		if(value == null){ //假如包含对空值进行处理
 			if(cs.isArray() || JsonArray.class == cs 
 					|| Collection.class.isAssignableFrom(cs))
-				jsonSB.append(JsonUtil.LEFT_M + JsonUtil.RIGHT_M);
+				writer.append(JsonUtil.LEFT_M).append(JsonUtil.RIGHT_M);
 			else if(JsonObject.class == cs || Map.class.isAssignableFrom(cs))
-				jsonSB.append(JsonUtil.LEFT_B + JsonUtil.RIGHT_B);
+				writer.append(JsonUtil.LEFT_B).append(JsonUtil.RIGHT_B);
 			else
-				jsonSB.append(jsonConfig.getNullConfig().getNone());
+				writer.append(jsonConfig.getNullConfig().getNone());
 			return;
 		}
 		
 		String formatter = je.getFormatter();
 		String strVal;
 		if ((cs == Long.TYPE || cs == Long.class) && XLPStringUtil.containSubString(formatter, "[yMmdHhs]")) {
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(XLPDateUtil.longDateFormat((Long)value, formatter))
+			writer.append(JsonUtil.DOUBLE_QUOTES).append(XLPDateUtil.longDateFormat((Long)value, formatter))
 				.append(JsonUtil.DOUBLE_QUOTES);
 		}else if(PackingTypeUtil.isDecimalType(cs)){
 			strVal = XLPStringUtil.isEmpty(formatter) ? jsonConfig.getNumberConfig().toDecimalString((Number)value)
@@ -112,77 +111,88 @@ public abstract class Json{
 			if (formatter != null && !formatter.matches("^[#0-9]*[.]{0,1}[#0-9]*$")) {
 				strVal = JsonUtil.DOUBLE_QUOTES + strVal + JsonUtil.DOUBLE_QUOTES; 
 			}
-			jsonSB.append(strVal);
+			writer.append(strVal);
 		}else if(PackingTypeUtil.isNumberType(cs)){
 			strVal = XLPStringUtil.isEmpty(formatter) ? jsonConfig.getNumberConfig().toIntString((Number)value)
 					: XLPFormatterUtil.format(formatter, (Number)value);
 			if (formatter != null && !formatter.matches("^[#0-9]*[.]{0,1}[#0-9]*$")) {
 				strVal = JsonUtil.DOUBLE_QUOTES + strVal + JsonUtil.DOUBLE_QUOTES; 
 			}
-			jsonSB.append(strVal);
+			writer.append(strVal);
 		}else if (Date.class == cs || Timestamp.class == cs) {
 			strVal = XLPStringUtil.isEmpty(formatter) 
 					? jsonConfig.getDateFormatConfig().utilDateToString((Date) value)
 					: XLPDateUtil.dateToString((Date)value, formatter);
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
+			writer.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
 		}else if (Time.class == cs) {
 			strVal = XLPStringUtil.isEmpty(formatter) 
 					? jsonConfig.getDateFormatConfig().timeToString((Time) value)
 					: XLPDateUtil.dateToString((Time)value, formatter);
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
+			writer.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
 		}else if (java.sql.Date.class == cs) {
 			strVal = XLPStringUtil.isEmpty(formatter) 
 					? jsonConfig.getDateFormatConfig().dateToString((java.sql.Date) value)
 					: XLPDateUtil.dateToString((java.sql.Date)value, formatter);
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
+			writer.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
 		}else if (Calendar.class.isAssignableFrom(cs)) {
 			strVal = XLPStringUtil.isEmpty(formatter) 
 					? jsonConfig.getDateFormatConfig().calendarToString((Calendar) value)
 					: XLPDateUtil.dateToString(((Calendar)value).getTime(), formatter);
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
+			writer.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
 		}else if (LocalDateTime.class == cs) {
 			strVal = XLPStringUtil.isEmpty(formatter) 
 					? jsonConfig.getDateFormatConfig().localDateTimeToString((LocalDateTime) value)
 					: XLPDateUtil.dateToString(value, formatter);
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
+			writer.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
 		}else if (LocalDate.class == cs) {
 			strVal = XLPStringUtil.isEmpty(formatter) 
 					? jsonConfig.getDateFormatConfig().localDateToString((LocalDate) value)
 					: XLPDateUtil.dateToString(value, formatter);
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
+			writer.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
 		}else if (LocalTime.class == cs) {
 			strVal = XLPStringUtil.isEmpty(formatter) 
 					? jsonConfig.getDateFormatConfig().localTimeToString((LocalTime) value)
 					: XLPDateUtil.dateToString(value, formatter);
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
+			writer.append(JsonUtil.DOUBLE_QUOTES).append(strVal).append(JsonUtil.DOUBLE_QUOTES);
 		}else if (bean) {
 			Json json = JsonObject.fromBean(value, jsonConfig, isUsedAnnotation);
-			json.spaceCount = this.spaceCount;
-			jsonSB.append(json.format(spaceCount + this.spaceCount, isAddSpace));
+			writeNested(json, writer, spaceCount, isAddSpace);
 		}else if (Json.class.isAssignableFrom(cs)) {
 			Json json = (Json) value;
 			json.setJsonConfig(jsonConfig);
-			json.spaceCount = this.spaceCount;
-			jsonSB.append(json.format(spaceCount + this.spaceCount, isAddSpace));
+			writeNested(json, writer, spaceCount, isAddSpace);
 		}else if (Map.class.isAssignableFrom(cs)) {
 			Json json = JsonObject.fromMap((Map)value, jsonConfig);
-			json.spaceCount = this.spaceCount;
-			jsonSB.append(json.format(spaceCount + this.spaceCount, isAddSpace));
+			writeNested(json, writer, spaceCount, isAddSpace);
 		}else if (cs.isArray()) {
 			Json json = JsonArray.fromArray(value, jsonConfig);
-			json.spaceCount = this.spaceCount;
-			jsonSB.append(json.format(spaceCount + this.spaceCount, isAddSpace));
+			writeNested(json, writer, spaceCount, isAddSpace);
 		}else if (Collection.class.isAssignableFrom(cs)) {
 			Json json = JsonArray.fromCollection((Collection<?>) value, jsonConfig);
-			json.spaceCount = this.spaceCount;
-			jsonSB.append(json.format(spaceCount + this.spaceCount, isAddSpace));
+			writeNested(json, writer, spaceCount, isAddSpace);
 		}else if (cs == Boolean.TYPE || cs == Boolean.class) {
-			jsonSB.append(Boolean.TRUE.equals(value)); 
+			writer.append(String.valueOf(Boolean.TRUE.equals(value)));
 		} else {
-			value = value.toString();
-			value = jsonConfig.getSpecialCharacterConfig().toString((String) value);
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(value)
-					.append(JsonUtil.DOUBLE_QUOTES);
+			writer.appendQuoted(value.toString(), jsonConfig.getSpecialCharacterConfig());
+		}
+	}
+	
+	/**
+	 * 把嵌套的json对象直接写入输出目标中
+	 * 
+	 * @param json
+	 * @param writer
+	 * @param spaceCount 缩颈空格数
+	 * @param isAddSpace 是否缩进
+	 * @throws IOException
+	 */
+	private void writeNested(Json json, JsonWriter writer, int spaceCount, 
+			boolean isAddSpace) throws IOException {
+		json.spaceCount = this.spaceCount;
+		if (json.outJsoStringPreDeal != null) {
+			writer.append(json.format(spaceCount + this.spaceCount, isAddSpace));
+		} else {
+			json.write(writer, spaceCount + this.spaceCount, isAddSpace);
 		}
 	}
 	
@@ -207,154 +217,10 @@ public abstract class Json{
 	 * @param jsonString
 	 * @param jsonConfig
 	 * @return
+	 * @throws JsonException 假如json解析异常，则抛出该异常
 	 */
 	protected static Object parser(String jsonString, JsonConfig jsonConfig){
-		Stack<String> tempStack = new Stack<String>();//存储分解后字符串
-		Stack<Object> jsonStack = new Stack<Object>();//存储JsonObject|JsonArray|String对象 
-		String origin = jsonString;
-		if(jsonString.startsWith(JsonUtil.COMMA))
-			throwJsonException(origin);
-		
-		while (!jsonString.equals(EMPTY)) {
-			if (jsonString.startsWith(JsonUtil.COMMA)) {
-				jsonString = jsonString.substring(COMMA_LEN).trim();
-			}else if (jsonString.startsWith(JsonUtil.LEFT_M)) {//[开始
-				jsonStack.push(new JsonArray(jsonConfig));//当遇到JsonUtil.LEFT_M时，向栈中放入一个JsonArray
-				tempStack.push(JsonUtil.LEFT_M);
-				jsonString = jsonString.substring(LEFT_M_LEN).trim();//截取JsonUtil.LEFT_M之后的字符串
-			}else if (jsonString.startsWith(JsonUtil.LEFT_B)) {//{开始
-				jsonStack.push(new JsonObject(jsonConfig, true));//当遇到JsonUtil.LEFT_B时，向栈中放入一个JsonObject
-				tempStack.push(JsonUtil.LEFT_B);
-				jsonString = jsonString.substring(LEFT_B_LEN).trim();//截取JsonUtil.LEFT_B之后的字符串
-			}else if (jsonString.startsWith(JsonUtil.DOUBLE_QUOTES)) {//"开始
-				String temp = jsonString;
-				jsonString = jsonString.substring(DOUBLE_QUOTES_LEN);//截取JsonUtil.DOUBLE_QUOTES之后的字符串
-				
-				int count = 1;
-				String k_v = "";
-				int index = -1;
-				while (count % 2 != 0) {
-					count = 0;
-					index = jsonString.indexOf(JsonUtil.DOUBLE_QUOTES, index + DOUBLE_QUOTES_LEN);//从截取JsonUtil.DOUBLE_QUOTES之后的字符串中获取第一次出现JsonUtil.DOUBLE_QUOTES的索引值
-					if(index == NOT_FOUND_INDEX)//假如未找到，则说明不符合json格式
-						throw new JsonException("..." + temp + "该处不符合json格式");
-					k_v = jsonString.substring(0, index);//获取双引号之间的值
-					int len = k_v.length();
-					for(int i = len - 1; i >= 0; i-- ){
-						if (k_v.charAt(i) == '\\') {
-							count++;
-						}else {
-							break;
-						}
-					}
-				}
-				k_v = jsonConfig.getSpecialCharacterConfig().toRawString(k_v);
-				jsonString = jsonString.substring(index + DOUBLE_QUOTES_LEN).trim();
-				jsonString = dealEachElement(jsonString, jsonConfig, origin, jsonStack, k_v, temp);
-			}else if (jsonString.startsWith(JsonUtil.RIGHT_B)) {
-				if (tempStack.empty() || !JsonUtil.LEFT_B.equals(tempStack.peek()))
-					throwJsonException(origin);
-				else{
-					tempStack.pop();
-					jsonString = jsonString.substring(RIGHT_B_LEN).trim();
-					initJson(jsonStack, jsonString);
-				}
-			}else if (jsonString.startsWith(JsonUtil.RIGHT_M)) {
-				if (tempStack.empty() || !JsonUtil.LEFT_M.equals(tempStack.peek()))
-					throwJsonException(origin);
-				else{
-					tempStack.pop();
-					jsonString = jsonString.substring(RIGHT_M_LEN).trim();
-					initJson(jsonStack, jsonString);
-				}
-			}else if (jsonString.startsWith("null")) {
-				jsonString = jsonString.substring("null".length()).trim();
-				if(!(jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_M)))
-					throw new JsonException("..." + jsonString + "该处不符合json格式");
-				Object object = jsonStack.pop();
-				if(JsonArray.class != object.getClass())
-					throwJsonException(origin);
-				((JsonArray) object).add(null);
-				jsonStack.push(object);
-			}else if (jsonString.startsWith("false")) {
-				jsonString = jsonString.substring("false".length()).trim();
-				if(!(jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_M)))
-					throw new JsonException("..." + jsonString + "该处不符合json格式");
-				Object object = jsonStack.pop();
-				if(JsonArray.class != object.getClass())
-					throwJsonException(origin);
-				((JsonArray) object).add(false);
-				jsonStack.push(object);
-			}else if (jsonString.startsWith("true")) {
-				jsonString = jsonString.substring("true".length()).trim();
-				if(!(jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_M)))
-					throw new JsonException("..." + jsonString + "该处不符合json格式");
-				Object object = jsonStack.pop();
-				if(JsonArray.class != object.getClass())
-					throwJsonException(origin);
-				((JsonArray) object).add(true);
-				jsonStack.push(object);
-			}else {
-				String temp = jsonString;
-				int index = getFirstIndexNotNumberOfString(jsonString);
-				if(index == NOT_FOUND_INDEX)//假如未找到，则说明不符合json格式
-					throw new JsonException("..." + temp + "该处不符合json格式");
-				String k_v = jsonString.substring(0, index);//获取数字
-				if(!XLPVerifedUtil.isNumber(k_v)) 
-					throw new JsonException("..." + temp + "该处不符合json格式");
-				
-				jsonString = jsonString.substring(index).trim();
-				if(!(jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_M)))
-					throw new JsonException("..." + jsonString + "该处不符合json格式");
-				Object object = jsonStack.pop();
-				if(JsonArray.class != object.getClass())
-					throwJsonException(origin);
-				((JsonArray) object).add(k_v);
-				jsonStack.push(object);
-				//jsonString = dealEachElement(jsonString, jsonConfig, origin, jsonStack, k_v, temp);
-			}
-		}
-		if(!tempStack.empty())//判断堆栈是否为空
-			throwJsonException(origin);
-
-		if (jsonStack.size() != 1) 
-			throwJsonException(origin);
-		return jsonStack.pop();
-	}
-	
-	/**
-	 * 获取解析后的Json对象
-	 * 
-	 * @param jsonStack
-	 * @param jsonString
-	 * @return
-	 */
-	private static void initJson(Stack<Object> jsonStack, String jsonString) {
-		Object firstObject = null, object;
-		if (!jsonStack.empty()) {
-			firstObject = jsonStack.pop();
-		}
-		
-		if (!jsonStack.empty()) {
-			Object preObject = null;
-			object = jsonStack.pop();
-			Class<?> cs = object.getClass();
-			if (cs.equals(String.class)) {
-				if(jsonStack.empty())
-					throwJsonException(jsonString);
-				preObject = jsonStack.pop();
-				if(!preObject.getClass().equals(JsonObject.class))
-					throwJsonException(jsonString);
-				((JsonObject) preObject).put((String)object, firstObject);
-				firstObject = preObject;
-			}else if (cs.equals(JsonArray.class)) {
-				((JsonArray)object).add(firstObject);
-				firstObject = object;
-			}else {
-				throwJsonException(jsonString);
-			}
-		}
-		jsonStack.push(firstObject);
+		return new JsonParser(jsonString, jsonConfig).parse();
 	}
 
 	/**
@@ -365,141 +231,6 @@ public abstract class Json{
 		throw new JsonException(string + "：该字符串不符合json格式");
 	}
 	
-	/**
-	 * 
-	 * @param jsonString
-	 * @param jsonConfig
-	 * @param origin
-	 * @param jsonStack
-	 * @param k_v key或value值
-	 * @param temp
-	 * @return
-	 */
-	private static String dealEachElement(String jsonString, JsonConfig jsonConfig, String origin,
-			Stack<Object> jsonStack, String k_v, String temp ){
-		int index;
-		if (jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_M)) {//判断是否是jsonArray中的值
-			Object object = jsonStack.pop();//获取堆栈中的第一个对象值
-			if(object.getClass() != JsonArray.class)
-				throwJsonException(origin);
-			((JsonArray)object).add(k_v);
-			jsonStack.push(object);//把对象放进堆栈中
-		}else if (jsonString.startsWith(JsonUtil.COLON)) {//判断是否是json格式的键值对
-			jsonString = jsonString.substring(COLON_LEN).trim();
-			if (jsonString.startsWith(JsonUtil.LEFT_B)) {
-				jsonStack.push(k_v);
-			}else if (jsonString.startsWith(JsonUtil.LEFT_M)) {
-				jsonStack.push(k_v);
-			}else if (jsonString.startsWith(JsonUtil.DOUBLE_QUOTES)) {
-				temp = jsonString;
-				jsonString = jsonString.substring(DOUBLE_QUOTES_LEN);//截取JsonUtil.DOUBLE_QUOTES之后的字符串
-				
-				int count = 1;
-				String _k_v = "";
-				index = -1;
-				while (count % 2 != 0) {
-					count = 0;
-					index = jsonString.indexOf(JsonUtil.DOUBLE_QUOTES, index + DOUBLE_QUOTES_LEN);//从截取JsonUtil.DOUBLE_QUOTES之后的字符串中获取第一次出现JsonUtil.DOUBLE_QUOTES的索引值
-					if(index == NOT_FOUND_INDEX)//假如未找到，则说明不符合json格式
-						throw new JsonException("..." + temp + "该处不符合json格式");
-					_k_v = jsonString.substring(0, index);//获取双引号之间的值
-					int len = _k_v.length();
-					for(int i = len - 1; i >= 0; i-- ){
-						if (_k_v.charAt(i) == '\\') {
-							count++;
-						}else {
-							break;
-						}
-					}
-				}
-
-				jsonString = jsonString.substring(index + DOUBLE_QUOTES_LEN).trim();
-				if(!(jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_B)))
-					throw new JsonException("..." + temp + "该处不符合json格式");
-				
-				_k_v = jsonConfig.getSpecialCharacterConfig().toRawString(_k_v);
-				Object object = jsonStack.pop();
-				if(JsonObject.class != object.getClass())
-					throwJsonException(origin);
-				((JsonObject) object).put(k_v, _k_v);
-				jsonStack.push(object);
-			}else if (jsonString.startsWith("null")) {
-				jsonString = jsonString.substring("null".length()).trim();
-				if(!(jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_B)))
-					throw new JsonException("..." + temp + "该处不符合json格式");
-				Object object = jsonStack.pop();
-				if(JsonObject.class != object.getClass())
-					throwJsonException(origin);
-				((JsonObject) object).put(k_v, null);
-				jsonStack.push(object);
-			}else if (jsonString.startsWith("false")) {
-				jsonString = jsonString.substring("false".length()).trim();
-				if(!(jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_B)))
-					throw new JsonException("..." + temp + "该处不符合json格式");
-				Object object = jsonStack.pop();
-				if(JsonObject.class != object.getClass())
-					throwJsonException(origin);
-				((JsonObject) object).put(k_v, false);
-				jsonStack.push(object);
-			}else if (jsonString.startsWith("true")) {
-				jsonString = jsonString.substring("true".length()).trim();
-				if(!(jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_B)))
-					throw new JsonException("..." + temp + "该处不符合json格式");
-				Object object = jsonStack.pop();
-				if(JsonObject.class != object.getClass())
-					throwJsonException(origin);
-				((JsonObject) object).put(k_v, true);
-				jsonStack.push(object);
-			}else {
-				//获取指定字符串中非数字字符第一次出现的索引值
-				index = getFirstIndexNotNumberOfString(jsonString);
-				
-				if(index == NOT_FOUND_INDEX)//假如未找到，则说明不符合json格式
-					throw new JsonException("..." + jsonString + "该处不符合json格式");
-				String _k_v = jsonString.substring(0, index);
-				if(!XLPVerifedUtil.isNumber(_k_v))
-					throw new JsonException("..." + jsonString + "该处不符合json格式");
-				
-				jsonString = jsonString.substring(index).trim();
-				if(!(jsonString.startsWith(JsonUtil.COMMA) || jsonString.startsWith(JsonUtil.RIGHT_B)))
-					throw new JsonException("..." + temp + "该处不符合json格式");
-				
-				_k_v = jsonConfig.getSpecialCharacterConfig().toRawString(_k_v);
-				Object object = jsonStack.pop();
-				if(JsonObject.class != object.getClass())
-					throwJsonException(origin);
-				((JsonObject) object).put(k_v, _k_v);
-				jsonStack.push(object);
-			}
-			
-		}else  {
-			throw new JsonException("..." + temp + "该处不符合json格式");
-		}
-		
-		return jsonString;
-	}
-
-	/**
-	 * 获取指定字符串中非数字字符第一次出现的索引值
-	 * 
-	 * @param jsonString
-	 * @return
-	 */
-	private static int getFirstIndexNotNumberOfString(String jsonString) {
-		int index;
-		index = NOT_FOUND_INDEX;
-		int len = jsonString.length();
-		for (int i = 0; i < len; i++) {
-			char ch = jsonString.charAt(i);
-			if ((ch >= '0' && ch <= '9') || ch == '+' || ch == '-' 
-				|| ch == '.' || ch == 'e' || ch == 'E') 
-				continue;
-			index = i;
-			break;
-		}
-		return index;
-	}
-	
 	/**
 	 * 设置toString()之前预处理器
 	 * 
@@ -518,25 +249,6 @@ public abstract class Json{
 		public String preDeal(String string);
 	}
 	
-	/**
-	 * 格式json字符串
-	 * 
-	 * @param sb
-	 * @param spaceCount 缩颈空格数
-	 * @param isAddSpace 是否缩进
-	 */
-	protected void formatSpace(StringBuilder sb, int spaceCount, 
-			boolean isAddSpace){
-		if (isAddSpace) {
-			if (spaceCount >= 0) {
-				sb.append(XLPSystemParamUtil.getSystemNewline());
-				for (int i = 0; i < spaceCount; i++) {
-					sb.append(" ");
-				}
-			}
-		}
-	}
-
 	/**
 	 * 格式化json字符串
 	 * 
@@ -564,7 +276,61 @@ public abstract class Json{
 	 * @param isAddSpace 是否缩进
 	 * @return
 	 */
-	abstract String format(int spaceCount, boolean isAddSpace);
+	String format(int spaceCount, boolean isAddSpace){
+		StringBuilder jsonSB = new StringBuilder();
+		try {
+			write(new JsonWriter(jsonSB), spaceCount, isAddSpace);
+		} catch (IOException e) {
+			//StringBuilder不会抛出IO异常
+			throw new JsonException("json格式化失败", e);
+		}
+		String jsonString = jsonSB.toString();
+		return outJsoStringPreDeal == null ? jsonString :
+				outJsoStringPreDeal.preDeal(jsonString);
+	}
+	
+	/**
+	 * 把json对象直接写入输出目标中
+	 * 
+	 * @param writer
+	 * @param spaceCount 缩颈空格数
+	 * @param isAddSpace 是否缩进
+	 * @throws IOException
+	 */
+	abstract void write(JsonWriter writer, int spaceCount, boolean isAddSpace) throws IOException;
+	
+	/**
+	 * 把json对象写入输出目标中
+	 * 
+	 * @param writer
+	 * @param isFormat 是否格式化字符串，true：格式化 false：不格式化
+	 * @throws IOException
+	 */
+	public void writeTo(JsonWriter writer, boolean isFormat) throws IOException {
+		int spaceCount = 0;
+		if (isFormat) {
+			this.spaceCount = DEFALUT_SPACE_COUNT;
+			spaceCount = DEFALUT_SPACE_COUNT;
+		}
+		if (outJsoStringPreDeal != null) {
+			writer.append(format(spaceCount, isFormat));
+		} else {
+			write(writer, spaceCount, isFormat);
+		}
+	}
+	
+	/**
+	 * 把json对象写入给定的输出目标中
+	 * 
+	 * @param out 输出目标，例如Writer、StringBuilder
+	 * @param isFormat 是否格式化字符串，true：格式化 false：不格式化
+	 * @throws IOException
+	 */
+	public void writeTo(Appendable out, boolean isFormat) throws IOException {
+		JsonWriter writer = new JsonWriter(out);
+		writeTo(writer, isFormat);
+		writer.flush();
+	}
 	
 	/**
 	 * 把给定的对象转换成jso格式的字符串
@@ -651,8 +417,12 @@ public abstract class Json{
 		if (XLPStringUtil.isEmpty(jsonString)) {
 			return null;
 		}
-		jsonString = jsonString.trim();
-		if (jsonString.startsWith("{")) {
+		int len = jsonString.length();
+		int i = 0;
+		while (i < len && jsonString.charAt(i) <= ' ') {
+			i++;
+		}
+		if (i < len && jsonString.charAt(i) == '{') {
 			return JsonObject.fromJsonString(jsonString, jsonConfig);
 		} else {
 			return JsonArray.fromJsonString(jsonString, jsonConfig);
@@ -1,10 +1,10 @@
 package org.xlp.json;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.xlp.javabean.annotation.Bean;
@@ -20,15 +20,40 @@ import org.xlp.json.utils.JsonUtil;
  * @version 1.0
  */
 public final class JsonArray extends Json{
-	//jsonArray对象用来储蓄数据的容器
-	private volatile List<JsonElement>  list = new LinkedList<JsonElement>();
+	/**
+	 * 默认初始容量
+	 */
+	private static final int DEFAULT_CAPACITY = 10;
+	
+	//jsonArray对象用来储蓄数据的容器，基于数组实现，支持按索引快速访问
+	private final ArrayList<JsonElement> list;
 	
 	public JsonArray() {
-		super();
+		this(null, DEFAULT_CAPACITY);
 	}
 
 	public JsonArray(JsonConfig jsonConfig) {
+		this(jsonConfig, DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * 构造函数
+	 * 
+	 * @param initialCapacity 初始容量，已知元素个数时可避免扩容
+	 */
+	public JsonArray(int initialCapacity) {
+		this(null, initialCapacity);
+	}
+	
+	/**
+	 * 构造函数
+	 * 
+	 * @param jsonConfig
+	 * @param initialCapacity 初始容量，已知元素个数时可避免扩容
+	 */
+	public JsonArray(JsonConfig jsonConfig, int initialCapacity) {
 		super(jsonConfig);
+		list = new ArrayList<JsonElement>(initialCapacity < 0 ? 0 : initialCapacity);
 	}
 
 	@Override
@@ -37,33 +62,30 @@ public final class JsonArray extends Json{
 	}
 	
 	/**
-	 * 格式化json字符串
+	 * 把json对象直接写入输出目标中
 	 * 
+	 * @param writer
 	 * @param spaceCount 缩颈空格数
 	 * @param isAddSpace 是否缩进
-	 * @return
+	 * @throws IOException
 	 */
 	@Override
-	String format(int spaceCount, boolean isAddSpace) {
-		StringBuilder jsonSB = new StringBuilder();
-		jsonSB.append(JsonUtil.LEFT_M);
+	void write(JsonWriter writer, int spaceCount, boolean isAddSpace) throws IOException {
+		writer.append(JsonUtil.LEFT_M);
 		if (!isEmpty())
-			formatSpace(jsonSB, spaceCount, isAddSpace);
+			writer.formatSpace(spaceCount, isAddSpace);
 		int i = 0;
 		for(JsonElement jsonElement : list){
 			if(i != 0){
-				jsonSB.append(JsonUtil.COMMA);
-				formatSpace(jsonSB, spaceCount, isAddSpace);
+				writer.append(JsonUtil.COMMA);
+				writer.formatSpace(spaceCount, isAddSpace);
 			}
-			dealValue(jsonElement, jsonSB, spaceCount, isAddSpace);
+			dealValue(jsonElement, writer, spaceCount, isAddSpace);
 			i++;
 		}
 		if (!isEmpty())
-			formatSpace(jsonSB, spaceCount - this.spaceCount, isAddSpace);
-		jsonSB.append(JsonUtil.RIGHT_M);
-		String jsonString = jsonSB.toString();
-		return outJsoStringPreDeal == null ? jsonString :
-				outJsoStringPreDeal.preDeal(jsonString);
+			writer.formatSpace(spaceCount - this.spaceCount, isAddSpace);
+		writer.append(JsonUtil.RIGHT_M);
 	}
 	
 	/**
@@ -355,6 +377,47 @@ public final class JsonArray extends Json{
 		addBean(value, true); 
 	}
 	
+	/**
+	 * 把给定集合中的所有值依次放入<code>JsonArray</code>对象中
+	 * 
+	 * @param values
+	 */
+	public void addAll(Collection<?> values){
+		if(values == null)
+			return;
+		list.ensureCapacity(list.size() + values.size());
+		for (Object value : values) {
+			add(value);
+		}
+	}
+	
+	/**
+	 * 把给定数组中的所有值依次放入<code>JsonArray</code>对象中
+	 * 
+	 * @param array 数组对象
+	 * @throws IllegalArgumentException
+	 * 			假如给定的参数不是数组类型，则抛出该异常
+	 */
+	public void addArray(Object array){
+		if(array == null)
+			return;
+		if(array instanceof Object[]){
+			Object[] values = (Object[]) array;
+			list.ensureCapacity(list.size() + values.length);
+			for (Object value : values) {
+				add(value);
+			}
+			return;
+		}
+		if(!array.getClass().isArray())
+			throw new IllegalArgumentException("给定的参数必须是数组类型");
+		int length = Array.getLength(array);//用反射获取数组的长度
+		list.ensureCapacity(list.size() + length);
+		for (int i = 0; i < length; i++) {
+			add(Array.get(array, i));//用反射获取数组中的元素
+		}
+	}
+	
 	/**
 	 * 浅克隆
 	 * 
@@ -363,12 +426,8 @@ public final class JsonArray extends Json{
 	 */
 	public Object clone(Object value){
 		if(value == this){
-			JsonArray jsonArray = new JsonArray();
-			List<JsonElement> jsonElements = new LinkedList<JsonElement>(
-					((JsonArray)value).list);
-			for (JsonElement jsonElement : jsonElements) {
-				jsonArray.addElement(jsonElement);
-			}
+			JsonArray jsonArray = new JsonArray(list.size());
+			jsonArray.list.addAll(list);
 			return jsonArray;
 		}
 		return value;
@@ -467,13 +526,8 @@ public final class JsonArray extends Json{
 	public static JsonArray fromArray(Object array, JsonConfig jsonConfig){
 		if(array == null || !array.getClass().isArray())
 			throw new IllegalArgumentException("给定的第一个参数必须是数组类型");
-		JsonArray jsonArray = new JsonArray(jsonConfig);
-		int length = Array.getLength(array);//用反射获取数组的长度
-		Object ele = null;
-		for (int i = 0; i < length; i++) {
-			ele = Array.get(array, i);//用反射获取数组中的元素
-			jsonArray.add(ele);
-		}
+		JsonArray jsonArray = new JsonArray(jsonConfig, Array.getLength(array));
+		jsonArray.addArray(array);
 		return jsonArray;
 	}
 	
@@ -498,15 +552,10 @@ public final class JsonArray extends Json{
 	 */
 	public static <E> JsonArray fromCollection(Collection<E> collection,
 			JsonConfig jsonConfig){
-		JsonArray jsonArray = new JsonArray(jsonConfig);
 		if(collection == null)
-			return jsonArray;
-		Iterator<E> iterator = collection.iterator();//获取迭代器
-		Object ele = null;
-		while (iterator.hasNext()) {//通过迭代器循环遍历集合数据
-			ele = iterator.next();
-			jsonArray.add(ele);
-		}
+			return new JsonArray(jsonConfig);
+		JsonArray jsonArray = new JsonArray(jsonConfig, collection.size());
+		jsonArray.addAll(collection);
 		return jsonArray;
 	}
 	
@@ -521,9 +570,9 @@ public final class JsonArray extends Json{
 	 */
 	public static <T> JsonArray fromCollectionBean(Collection<T> collection,
 			JsonConfig jsonConfig, boolean isUsedAnnotation){
-		JsonArray jsonArray = new JsonArray(jsonConfig);
 		if(collection == null)
-			return jsonArray;
+			return new JsonArray(jsonConfig);
+		JsonArray jsonArray = new JsonArray(jsonConfig, collection.size());
 		Iterator<T> iterator = collection.iterator();//获取迭代器
 		Object ele = null;
 		while (iterator.hasNext()) {//通过迭代器循环遍历集合数据
@@ -591,20 +640,7 @@ public final class JsonArray extends Json{
 			jsonConfig = new JsonConfig();
 		if(jsonString == null)
 			throw new JsonException("要解析的字符串必须不为null");
-		jsonString = jsonString.trim();//去除首尾空格
-		
-		if(!jsonString.startsWith(JsonUtil.LEFT_M))
-			throw new JsonException(jsonString + "该要解析的字符串不是以" + JsonUtil.LEFT_M + "开头");
-		if(!jsonString.endsWith(JsonUtil.RIGHT_M))
-			throw new JsonException(jsonString + "该要解析的字符串不是以" + JsonUtil.RIGHT_M + "结尾");
-	
-		int len = jsonString.length();
-		if(len < LEFT_M_LEN + RIGHT_M_LEN)
-			throw new JsonException(jsonString + "该要解析的字符串不复合json数组格式");
-		
-		if((JsonUtil.LEFT_M + JsonUtil.RIGHT_M).equals(jsonString)) //判断字符串是否==[]
-			return new JsonArray(jsonConfig);
-		return (JsonArray) parser(jsonString, jsonConfig);
+		return new JsonParser(jsonString, jsonConfig).parseJsonArray();
 	}
 	
 	/**
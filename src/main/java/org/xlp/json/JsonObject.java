@@ -1,5 +1,6 @@
 package org.xlp.json;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
@@ -694,29 +695,18 @@ public final class JsonObject extends Json{
 	}
 	
 	/**
-	 * 格式化json字符串
+	 * 把json对象直接写入输出目标中
 	 * 
+	 * @param writer
 	 * @param spaceCount 缩颈空格数
 	 * @param isAddSpace 是否缩进
-	 * @return
+	 * @throws IOException
 	 */
 	@Override
-	String format(int spaceCount, boolean isAddSpace){
-		StringBuilder jsonSB = new StringBuilder();
-		parserString(jsonSB, spaceCount, isAddSpace);
-		String jsonString = jsonSB.toString();
-		return outJsoStringPreDeal == null ? jsonString : 
-				outJsoStringPreDeal.preDeal(jsonString);
-	}
-	
-	/**
-	 * 
-	 * @param jsonSB
-	 */
-	private void parserString(StringBuilder jsonSB, int spaceCount, boolean isAddSpace) {
-		jsonSB.append(JsonUtil.LEFT_B);
+	void write(JsonWriter writer, int spaceCount, boolean isAddSpace) throws IOException {
+		writer.append(JsonUtil.LEFT_B);
 		if(!isEmpty())
-			formatSpace(jsonSB, spaceCount, isAddSpace);
+			writer.formatSpace(spaceCount, isAddSpace);
 		int i = 0;
 		for (Entry<String, Object> entry : map.entrySet()) {
 			Object v = entry.getValue();
@@ -726,14 +716,11 @@ public final class JsonObject extends Json{
 				continue;
 			
 			if(i != 0){
-				jsonSB.append(JsonUtil.COMMA);
-				formatSpace(jsonSB, spaceCount, isAddSpace);
+				writer.append(JsonUtil.COMMA);
+				writer.formatSpace(spaceCount, isAddSpace);
 			}
-			String key = entry.getKey();
-			key = jsonConfig.getSpecialCharacterConfig().toString(key);
-			
-			jsonSB.append(JsonUtil.DOUBLE_QUOTES).append(key)//拼接key
-				.append(JsonUtil.DOUBLE_QUOTES).append(JsonUtil.COLON);
+			writer.appendQuoted(entry.getKey(), jsonConfig.getSpecialCharacterConfig());//拼接key
+			writer.append(JsonUtil.COLON);
 			
 			if (isArray) {
 				JsonElement[] jsonElements = (JsonElement[]) v;
@@ -745,13 +732,13 @@ public final class JsonObject extends Json{
 				v = new JsonElement(List.class, tempList, false, jsonConfig);
 			}
 			JsonElement je = (JsonElement) v;
-			dealValue(je, jsonSB, spaceCount, isAddSpace);
+			dealValue(je, writer, spaceCount, isAddSpace);
 			
 			i++;
 		}
 		if(!isEmpty())
-			formatSpace(jsonSB, spaceCount - this.spaceCount, isAddSpace);
-		jsonSB.append(JsonUtil.RIGHT_B);
+			writer.formatSpace(spaceCount - this.spaceCount, isAddSpace);
+		writer.append(JsonUtil.RIGHT_B);
 	}
 
 	/**
@@ -805,7 +792,7 @@ public final class JsonObject extends Json{
 		JsonObject jsonObject = new JsonObject(jsonConfig);
 		if(bean == null)
 			return jsonObject;
-		PropertyDescriptor<T>[] pds = new JavaBeanPropertiesDescriptor<T>(
+		PropertyDescriptor<T>[] pds = JavaBeanPropertiesDescriptor.getInstance(
 				(Class<T>) bean.getClass()).getPds();
 		
 		FieldName fn = null;
@@ -1008,20 +995,7 @@ public final class JsonObject extends Json{
 			jsonConfig = new JsonConfig();
 		if(jsonString == null)
 			throw new JsonException("要解析的字符串必须不为null");
-		jsonString = jsonString.trim();//去除首尾空格
-		
-		if(!jsonString.startsWith(JsonUtil.LEFT_B))
-			throw new JsonException(jsonString + "该要解析的字符串不是以" + JsonUtil.LEFT_B + "开头");
-		if(!jsonString.endsWith(JsonUtil.RIGHT_B))
-			throw new JsonException(jsonString + "该要解析的字符串不是以" + JsonUtil.RIGHT_B + "结尾");
-	
-		int len = jsonString.length();
-		if(len < LEFT_B_LEN + RIGHT_B_LEN)
-			throw new JsonException(jsonString + "该要解析的字符串不复合json数组格式");
-		
-		if((JsonUtil.LEFT_B + JsonUtil.RIGHT_B).equals(jsonString)) //判断字符串是否=={}
-			return new JsonObject(jsonConfig, true);
-		return (JsonObject) parser(jsonString, jsonConfig);
+		return new JsonParser(jsonString, jsonConfig).parseJsonObject();
 	}
 	
 	/**
@@ -1059,7 +1033,7 @@ public final class JsonObject extends Json{
 	public <T> T toBean(Class<T> beanClass, boolean isUsedAnnotation){
 		if(beanClass == null)
 			throw new NullPointerException("参数必须不为null");
-		PropertyDescriptor<T>[] pds = new JavaBeanPropertiesDescriptor<T>(beanClass)
+		PropertyDescriptor<T>[] pds = JavaBeanPropertiesDescriptor.getInstance(beanClass)
 				.getPds();
 		
 		T bean = BeanUtil.newInstance(beanClass);
@@ -1156,7 +1130,7 @@ public final class JsonObject extends Json{
 	 */
 	public <T> T toBeanExt(Class<T> beanClass, boolean isUsedAnnotation){
 		AssertUtils.isNotNull(beanClass, "beanClass参数必须不为null");
-		PropertyDescriptor<T>[] pds = new JavaBeanPropertiesDescriptor<T>(beanClass)
+		PropertyDescriptor<T>[] pds = JavaBeanPropertiesDescriptor.getInstance(beanClass)
 				.getPds();
 		T bean = BeanUtil.newInstance(beanClass);
 		Set<String> keys = keySet();
@@ -1216,7 +1190,7 @@ public final class JsonObject extends Json{
 					_bean = _beanClass.newInstance();
 					pd.executeWriteMethod(bean, _bean); 
 				}
-				pds = new JavaBeanPropertiesDescriptor(_beanClass).getPds();
+				pds = JavaBeanPropertiesDescriptor.getInstance(_beanClass).getPds();
 				_setBeanValue(fieldName.substring(dotIndex + 1), _bean, pds, jsonElement, isUsedAnnotation);
 			}
 		} 
@@ -0,0 +1,407 @@
+package org.xlp.json;
+
+import org.xlp.json.config.JsonConfig;
+import org.xlp.json.config.SpecialCharacterConfig;
+import org.xlp.json.exception.JsonParseException;
+import org.xlp.json.utils.JsonUtil;
+
+/**
+ * json字符串解析器
+ * <p>
+ * 在原始字符数组上移动游标，一次遍历完成解析，不截取中间子串，转义字符在读取字符串值时直接还原
+ *
+ * @author 徐龙平
+ *
+ * @version 1.0
+ */
+final class JsonParser {
+	/**
+	 * 出错时输出的上下文字符数
+	 */
+	private static final int ERROR_CONTEXT_LEN = 20;
+
+	private final char[] chars;
+
+	/**
+	 * 解析结束位置（不包含）
+	 */
+	private final int end;
+
+	/**
+	 * 解析起始位置
+	 */
+	private final int start;
+
+	/**
+	 * 当前游标位置
+	 */
+	private int pos;
+
+	private final JsonConfig jsonConfig;
+
+	private final SpecialCharacterConfig specialCharacterConfig;
+
+	/**
+	 * 标记是否需要还原转义字符
+	 */
+	private final boolean unescape;
+
+	/**
+	 * 字符串中含有转义字符时使用的缓存，可重复使用
+	 */
+	private StringBuilder buffer;
+
+	JsonParser(CharSequence text, JsonConfig jsonConfig){
+		this(toChars(text), 0, text.length(), jsonConfig);
+	}
+
+	JsonParser(char[] chars, int offset, int length, JsonConfig jsonConfig){
+		this.chars = chars;
+		this.start = offset;
+		this.pos = offset;
+		this.end = offset + length;
+		this.jsonConfig = jsonConfig == null ? new JsonConfig() : jsonConfig;
+		this.specialCharacterConfig = this.jsonConfig.getSpecialCharacterConfig();
+		this.unescape = specialCharacterConfig.isOpen();
+	}
+
+	private static char[] toChars(CharSequence text){
+		if (text instanceof String)
+			return ((String) text).toCharArray();
+		int len = text.length();
+		char[] chars = new char[len];
+		for (int i = 0; i < len; i++) {
+			chars[i] = text.charAt(i);
+		}
+		return chars;
+	}
+
+	/**
+	 * 解析json字符串，返回JsonObject或JsonArray对象
+	 *
+	 * @return
+	 * @throws JsonParseException 假如字符串不符合json格式，则抛出该异常
+	 */
+	Object parse(){
+		skipWhitespace();
+		Object json;
+		char ch = pos < end ? chars[pos] : 0;
+		if (ch == '{') {
+			json = parseObject();
+		}else if (ch == '[') {
+			json = parseArray();
+		}else {
+			throw error();
+		}
+		return finish(json);
+	}
+
+	/**
+	 * 解析jsonObject格式字符串
+	 *
+	 * @return
+	 * @throws JsonParseException 假如字符串不符合json格式，则抛出该异常
+	 */
+	JsonObject parseJsonObject(){
+		skipWhitespace();
+		if (pos >= end || chars[pos] != '{')
+			throw new JsonParseException(context() + "该要解析的字符串不是以" + JsonUtil.LEFT_B + "开头");
+		return (JsonObject) finish(parseObject());
+	}
+
+	/**
+	 * 解析jsonArray格式字符串
+	 *
+	 * @return
+	 * @throws JsonParseException 假如字符串不符合json格式，则抛出该异常
+	 */
+	JsonArray parseJsonArray(){
+		skipWhitespace();
+		if (pos >= end || chars[pos] != '[')
+			throw new JsonParseException(context() + "该要解析的字符串不是以" + JsonUtil.LEFT_M + "开头");
+		return (JsonArray) finish(parseArray());
+	}
+
+	private Object finish(Object json){
+		skipWhitespace();
+		if (pos < end)
+			throw error();
+		return json;
+	}
+
+	private JsonObject parseObject(){
+		JsonObject jsonObject = new JsonObject(jsonConfig, true);
+		pos++;
+		boolean needComma = false;
+		for (;;) {
+			skipWhitespace();
+			if (pos >= end)
+				throw error();
+			char ch = chars[pos];
+			if (ch == '}') {
+				pos++;
+				return jsonObject;
+			}
+			//与原解析方式保持一致，允许多余的逗号
+			if (ch == ',') {
+				pos++;
+				needComma = false;
+				continue;
+			}
+			if (needComma || ch != '"')
+				throw error();
+			String key = readString();
+			skipWhitespace();
+			if (pos >= end || chars[pos] != ':')
+				throw error();
+			pos++;
+			skipWhitespace();
+			jsonObject.putElement(key, readElement());
+			needComma = true;
+		}
+	}
+
+	private JsonArray parseArray(){
+		JsonArray jsonArray = new JsonArray(jsonConfig);
+		pos++;
+		boolean needComma = false;
+		for (;;) {
+			skipWhitespace();
+			if (pos >= end)
+				throw error();
+			char ch = chars[pos];
+			if (ch == ']') {
+				pos++;
+				return jsonArray;
+			}
+			if (ch == ',') {
+				pos++;
+				needComma = false;
+				continue;
+			}
+			if (needComma)
+				throw error();
+			jsonArray.addElement(readElement());
+			needComma = true;
+		}
+	}
+
+	/**
+	 * 读取当前游标处的值，并包装成JsonElement对象
+	 *
+	 * @return
+	 */
+	private JsonElement readElement(){
+		if (pos >= end)
+			throw error();
+		char ch = chars[pos];
+		switch (ch) {
+			case '{':
+				return new JsonElement(JsonObject.class, parseObject(), jsonConfig);
+			case '[':
+				return new JsonElement(JsonArray.class, parseArray(), jsonConfig);
+			case '"':
+				return new JsonElement(String.class, readString(), jsonConfig);
+			case 't':
+				readLiteral("true");
+				return new JsonElement(Boolean.TYPE, true, jsonConfig);
+			case 'f':
+				readLiteral("false");
+				return new JsonElement(Boolean.TYPE, false, jsonConfig);
+			case 'n':
+				readLiteral("null");
+				return new JsonElement(Object.class, null, jsonConfig);
+			default:
+				return new JsonElement(String.class, readNumber(), jsonConfig);
+		}
+	}
+
+	private void readLiteral(String literal){
+		int len = literal.length();
+		if (end - pos < len)
+			throw error();
+		for (int i = 0; i < len; i++) {
+			if (chars[pos + i] != literal.charAt(i))
+				throw error();
+		}
+		pos += len;
+	}
+
+	/**
+	 * 读取数字，数字以字符串形式保存
+	 *
+	 * @return
+	 */
+	private String readNumber(){
+		int begin = pos;
+		int i = pos;
+		if (i < end && (chars[i] == '-' || chars[i] == '+'))
+			i++;
+		int digits = 0;
+		while (i < end && isDigit(chars[i])) {
+			i++;
+			digits++;
+		}
+		if (i < end && chars[i] == '.') {
+			i++;
+			while (i < end && isDigit(chars[i])) {
+				i++;
+				digits++;
+			}
+		}
+		if (digits == 0)
+			throw error();
+		if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+			i++;
+			if (i < end && (chars[i] == '-' || chars[i] == '+'))
+				i++;
+			int expDigits = 0;
+			while (i < end && isDigit(chars[i])) {
+				i++;
+				expDigits++;
+			}
+			if (expDigits == 0) {
+				pos = i;
+				throw error();
+			}
+		}
+		pos = i;
+		return new String(chars, begin, i - begin);
+	}
+
+	private static boolean isDigit(char ch){
+		return ch >= '0' && ch <= '9';
+	}
+
+	/**
+	 * 读取双引号之间的字符串，游标位于起始双引号处
+	 *
+	 * @return
+	 */
+	private String readString(){
+		int begin = ++pos;
+		int i = begin;
+		//快速路径：不含转义字符时直接构造字符串
+		while (i < end) {
+			char ch = chars[i];
+			if (ch == '"') {
+				pos = i + 1;
+				return new String(chars, begin, i - begin);
+			}
+			if (ch == '\\')
+				break;
+			i++;
+		}
+		if (i >= end) {
+			pos = begin - 1;
+			throw error();
+		}
+
+		if (!unescape || !SpecialCharacterConfig.isDefaultEscape()) {
+			int close = findStringEnd(i);
+			pos = close + 1;
+			String raw = new String(chars, begin, close - begin);
+			return unescape ? specialCharacterConfig.toRawString(raw) : raw;
+		}
+
+		StringBuilder sb = buffer == null ? (buffer = new StringBuilder()) : buffer;
+		sb.setLength(0);
+		sb.append(chars, begin, i - begin);
+		while (i < end) {
+			char ch = chars[i];
+			if (ch == '"') {
+				pos = i + 1;
+				return sb.toString();
+			}
+			if (ch != '\\') {
+				sb.append(ch);
+				i++;
+				continue;
+			}
+			if (i + 1 >= end)
+				break;
+			char next = chars[i + 1];
+			switch (next) {
+				case '"': sb.append('"'); break;
+				case '\\': sb.append('\\'); break;
+				case '/': sb.append('/'); break;
+				case 'n': sb.append('\n'); break;
+				case 'r': sb.append('\r'); break;
+				case 't': sb.append('\t'); break;
+				case 'b': sb.append('\b'); break;
+				case 'f': sb.append('\f'); break;
+				case 'u':
+					if (i + 6 <= end) {
+						int code = hexValue(i + 2);
+						if (code >= 0) {
+							sb.append((char) code);
+							i += 6;
+							continue;
+						}
+					}
+					sb.append('\\').append(next);
+					break;
+				default:
+					//未知的转义字符保持原样
+					sb.append('\\').append(next);
+			}
+			i += 2;
+		}
+		pos = begin - 1;
+		throw error();
+	}
+
+	/**
+	 * 从指定位置开始查找字符串结束的双引号
+	 *
+	 * @param from
+	 * @return
+	 */
+	private int findStringEnd(int from){
+		int i = from;
+		while (i < end) {
+			char ch = chars[i];
+			if (ch == '"')
+				return i;
+			i += ch == '\\' ? 2 : 1;
+		}
+		pos = from;
+		throw error();
+	}
+
+	private int hexValue(int from){
+		int code = 0;
+		for (int i = from; i < from + 4; i++) {
+			int digit = Character.digit(chars[i], 16);
+			if (digit < 0)
+				return -1;
+			code = (code << 4) | digit;
+		}
+		return code;
+	}
+
+	private void skipWhitespace(){
+		while (pos < end && chars[pos] <= ' ') {
+			pos++;
+		}
+	}
+
+	/**
+	 * 获取当前位置附近的字符串
+	 *
+	 * @return
+	 */
+	private String context(){
+		int from = Math.max(start, pos - ERROR_CONTEXT_LEN);
+		int to = Math.min(end, pos + ERROR_CONTEXT_LEN);
+		return "..." + new String(chars, from, to - from) + "...";
+	}
+
+	private JsonParseException error(){
+		if (pos >= end)
+			return new JsonParseException(context() + "该字符串不符合json格式，在第"
+					+ (pos - start) + "个字符处意外结束");
+		return new JsonParseException(context() + "该处不符合json格式，错误位置：第"
+				+ (pos - start) + "个字符[" + chars[pos] + "]");
+	}
+}
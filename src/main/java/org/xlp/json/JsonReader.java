@@ -0,0 +1,790 @@
+package org.xlp.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+
+import org.xlp.json.config.JsonConfig;
+import org.xlp.json.config.NumberConfig;
+import org.xlp.json.config.SpecialCharacterConfig;
+import org.xlp.json.exception.JsonParseException;
+import org.xlp.json.jenum.JsonToken;
+import org.xlp.utils.XLPStringUtil;
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * json流式读取器
+ * <p>
+ * 以固定大小的缓冲区从<code>Reader</code>或<code>InputStream</code>中逐个读取json标记，
+ * 不需要把整个json文档读入内存，适合处理大数据量的json数组或换行分隔的多个json文档。
+ * <p>
+ * 使用示例：
+ * <pre>
+ * try (JsonReader reader = new JsonReader(in, "utf-8", jsonConfig)) {
+ *     reader.beginArray();
+ *     while (reader.hasNext()) {
+ *         JsonObject record = (JsonObject) reader.nextValue();
+ *         ...
+ *     }
+ *     reader.endArray();
+ * }
+ * </pre>
+ *
+ * @author 徐龙平
+ *
+ * @version 1.0
+ */
+public class JsonReader implements Closeable {
+	/**
+	 * 默认缓冲区大小
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	/**
+	 * 出错时输出的上下文字符数
+	 */
+	private static final int ERROR_CONTEXT_LEN = 20;
+
+	//嵌套作用域类型
+	private static final int EMPTY_ARRAY = 1;
+	private static final int NONEMPTY_ARRAY = 2;
+	private static final int EMPTY_OBJECT = 3;
+	private static final int DANGLING_NAME = 4;
+	private static final int NONEMPTY_OBJECT = 5;
+	private static final int EMPTY_DOCUMENT = 6;
+	private static final int NONEMPTY_DOCUMENT = 7;
+	private static final int CLOSED = 8;
+
+	private final Reader reader;
+
+	private final JsonConfig jsonConfig;
+
+	private final SpecialCharacterConfig specialCharacterConfig;
+
+	private final char[] buffer;
+
+	private int pos = 0;
+
+	private int limit = 0;
+
+	/**
+	 * 当前缓冲区之前已读取的字符数
+	 */
+	private long bufferStartOffset = 0;
+
+	/**
+	 * 当前行号，从1开始
+	 */
+	private long lineNo = 1;
+
+	private int[] stack = new int[32];
+
+	private int stackSize = 0;
+
+	private JsonToken peeked;
+
+	/**
+	 * 读取字符串时使用的缓存，可重复使用
+	 */
+	private final StringBuilder sb = new StringBuilder();
+
+	public JsonReader(Reader reader) {
+		this(reader, null);
+	}
+
+	public JsonReader(Reader reader, JsonConfig jsonConfig) {
+		this(reader, jsonConfig, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param reader
+	 * @param jsonConfig json配置
+	 * @param bufferSize 缓冲区大小
+	 * @throws NullPointerException 假如reader为null，则抛出该异常
+	 */
+	public JsonReader(Reader reader, JsonConfig jsonConfig, int bufferSize) {
+		if (reader == null)
+			throw new NullPointerException("reader参数必须不为null");
+		this.reader = reader;
+		this.jsonConfig = jsonConfig == null ? new JsonConfig() : jsonConfig;
+		this.specialCharacterConfig = this.jsonConfig.getSpecialCharacterConfig();
+		this.buffer = new char[bufferSize < 64 ? 64 : bufferSize];
+		push(EMPTY_DOCUMENT);
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param in 输入流
+	 * @param charsetName 字符编码，为空时使用utf-8
+	 * @param jsonConfig json配置
+	 * @throws IOException 假如字符编码不支持，则抛出该异常
+	 * @throws NullPointerException 假如in为null，则抛出该异常
+	 */
+	public JsonReader(InputStream in, String charsetName, JsonConfig jsonConfig) throws IOException {
+		this(new InputStreamReader(in, XLPStringUtil.isEmpty(charsetName)
+				? XLPIOUtil.DEFAULT_ENCODIND : charsetName), jsonConfig);
+	}
+
+	public JsonReader(InputStream in) throws IOException {
+		this(in, null, null);
+	}
+
+	public JsonConfig getJsonConfig() {
+		return jsonConfig;
+	}
+
+	/**
+	 * 获取下一个标记的类型，但不消费该标记
+	 *
+	 * @return
+	 * @throws IOException
+	 * @throws JsonParseException 假如数据不符合json格式，则抛出该异常
+	 */
+	public JsonToken peek() throws IOException {
+		if (peeked == null)
+			peeked = doPeek();
+		return peeked;
+	}
+
+	/**
+	 * 判断当前数组或对象中是否还有元素
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public boolean hasNext() throws IOException {
+		JsonToken token = peek();
+		return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY
+				&& token != JsonToken.END_DOCUMENT;
+	}
+
+	/**
+	 * 消费下一个[标记
+	 *
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是[，则抛出该异常
+	 */
+	public void beginArray() throws IOException {
+		expect(JsonToken.BEGIN_ARRAY);
+		pos++;
+		push(EMPTY_ARRAY);
+		peeked = null;
+	}
+
+	/**
+	 * 消费下一个]标记
+	 *
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是]，则抛出该异常
+	 */
+	public void endArray() throws IOException {
+		expect(JsonToken.END_ARRAY);
+		pos++;
+		stackSize--;
+		peeked = null;
+	}
+
+	/**
+	 * 消费下一个{标记
+	 *
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是{，则抛出该异常
+	 */
+	public void beginObject() throws IOException {
+		expect(JsonToken.BEGIN_OBJECT);
+		pos++;
+		push(EMPTY_OBJECT);
+		peeked = null;
+	}
+
+	/**
+	 * 消费下一个}标记
+	 *
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是}，则抛出该异常
+	 */
+	public void endObject() throws IOException {
+		expect(JsonToken.END_OBJECT);
+		pos++;
+		stackSize--;
+		peeked = null;
+	}
+
+	/**
+	 * 读取jsonObject中的下一个key
+	 *
+	 * @return
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是key，则抛出该异常
+	 */
+	public String nextName() throws IOException {
+		expect(JsonToken.NAME);
+		peeked = null;
+		return readString();
+	}
+
+	/**
+	 * 读取下一个字符串或数字值，数字以原始字符串形式返回
+	 *
+	 * @return
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是字符串或数字，则抛出该异常
+	 */
+	public String nextString() throws IOException {
+		JsonToken token = peek();
+		peeked = null;
+		if (token == JsonToken.STRING)
+			return readString();
+		if (token == JsonToken.NUMBER)
+			return readNumber();
+		peeked = token;
+		throw unexpected(JsonToken.STRING);
+	}
+
+	/**
+	 * 读取下一个boolean值
+	 *
+	 * @return
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是boolean值，则抛出该异常
+	 */
+	public boolean nextBoolean() throws IOException {
+		expect(JsonToken.BOOLEAN);
+		peeked = null;
+		if (buffer[pos] == 't') {
+			readLiteral("true");
+			return true;
+		}
+		readLiteral("false");
+		return false;
+	}
+
+	/**
+	 * 读取下一个null值
+	 *
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是null，则抛出该异常
+	 */
+	public void nextNull() throws IOException {
+		expect(JsonToken.NULL);
+		peeked = null;
+		readLiteral("null");
+	}
+
+	/**
+	 * 读取下一个数字值
+	 *
+	 * @return
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是数字或不能转换成long，则抛出该异常
+	 */
+	public long nextLong() throws IOException {
+		String number = nextString();
+		try {
+			return Long.parseLong(number);
+		} catch (NumberFormatException e) {
+			try {
+				return new BigDecimal(number).longValueExact();
+			} catch (RuntimeException e1) {
+				throw new JsonParseException(number + "：该值不能转换成long", e1);
+			}
+		}
+	}
+
+	/**
+	 * 读取下一个数字值
+	 *
+	 * @return
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是数字或不能转换成double，则抛出该异常
+	 */
+	public double nextDouble() throws IOException {
+		String number = nextString();
+		try {
+			return Double.parseDouble(number);
+		} catch (NumberFormatException e) {
+			throw new JsonParseException(number + "：该值不能转换成double", e);
+		}
+	}
+
+	/**
+	 * 读取下一个数字值，假如json配置中开启了数字格式配置，则按配置的小数位数及取舍方式处理
+	 *
+	 * @return
+	 * @throws IOException
+	 * @throws JsonParseException 假如下一个标记不是数字或不能转换成BigDecimal，则抛出该异常
+	 */
+	public BigDecimal nextBigDecimal() throws IOException {
+		String number = nextString();
+		BigDecimal decimal;
+		try {
+			decimal = new BigDecimal(number);
+		} catch (NumberFormatException e) {
+			throw new JsonParseException(number + "：该值不能转换成BigDecimal", e);
+		}
+		NumberConfig numberConfig = jsonConfig.getNumberConfig();
+		if (numberConfig.isOpen()) {
+			decimal = decimal.setScale(numberConfig.getDecimalDigit(), numberConfig.getRoundingMode());
+		}
+		return decimal;
+	}
+
+	/**
+	 * 读取下一个完整的值
+	 *
+	 * @return 返回JsonObject、JsonArray、String（字符串或数字）、Boolean或null
+	 * @throws IOException
+	 * @throws JsonParseException 假如数据不符合json格式，则抛出该异常
+	 */
+	public Object nextValue() throws IOException {
+		switch (peek()) {
+			case BEGIN_OBJECT:
+				JsonObject jsonObject = new JsonObject(jsonConfig, true);
+				beginObject();
+				while (hasNext()) {
+					String key = nextName();
+					jsonObject.putElement(key, nextElement());
+				}
+				endObject();
+				return jsonObject;
+			case BEGIN_ARRAY:
+				JsonArray jsonArray = new JsonArray(jsonConfig);
+				beginArray();
+				while (hasNext()) {
+					jsonArray.addElement(nextElement());
+				}
+				endArray();
+				return jsonArray;
+			case STRING:
+			case NUMBER:
+				return nextString();
+			case BOOLEAN:
+				return nextBoolean();
+			case NULL:
+				nextNull();
+				return null;
+			default:
+				throw unexpected(null);
+		}
+	}
+
+	private JsonElement nextElement() throws IOException {
+		JsonToken token = peek();
+		Object value = nextValue();
+		if (token == JsonToken.BOOLEAN)
+			return new JsonElement(Boolean.TYPE, value, jsonConfig);
+		Class<?> type = value == null ? Object.class : value.getClass();
+		return new JsonElement(type, value, jsonConfig);
+	}
+
+	/**
+	 * 跳过下一个完整的值（包括嵌套的数组或对象）
+	 *
+	 * @throws IOException
+	 * @throws JsonParseException 假如数据不符合json格式，则抛出该异常
+	 */
+	public void skipValue() throws IOException {
+		int depth = 0;
+		do {
+			switch (peek()) {
+				case BEGIN_OBJECT:
+					beginObject();
+					depth++;
+					break;
+				case BEGIN_ARRAY:
+					beginArray();
+					depth++;
+					break;
+				case END_OBJECT:
+					endObject();
+					depth--;
+					break;
+				case END_ARRAY:
+					endArray();
+					depth--;
+					break;
+				case NAME:
+					nextName();
+					break;
+				case STRING:
+				case NUMBER:
+					nextString();
+					break;
+				case BOOLEAN:
+					nextBoolean();
+					break;
+				case NULL:
+					nextNull();
+					break;
+				default:
+					throw unexpected(null);
+			}
+		} while (depth > 0);
+	}
+
+	/**
+	 * 获取当前已读取的字符数
+	 *
+	 * @return
+	 */
+	public long getPosition() {
+		return bufferStartOffset + pos;
+	}
+
+	/**
+	 * 获取当前行号
+	 *
+	 * @return
+	 */
+	public long getLineNo() {
+		return lineNo;
+	}
+
+	@Override
+	public void close() throws IOException {
+		peeked = null;
+		stackSize = 1;
+		stack[0] = CLOSED;
+		reader.close();
+	}
+
+	//--------------------------------------------------------------------
+
+	private void expect(JsonToken token) throws IOException {
+		if (peek() != token)
+			throw unexpected(token);
+	}
+
+	private void push(int scope) {
+		if (stackSize == stack.length) {
+			int[] newStack = new int[stackSize << 1];
+			System.arraycopy(stack, 0, newStack, 0, stackSize);
+			stack = newStack;
+		}
+		stack[stackSize++] = scope;
+	}
+
+	private JsonToken doPeek() throws IOException {
+		int scope = stack[stackSize - 1];
+		int ch;
+		switch (scope) {
+			case EMPTY_ARRAY:
+				stack[stackSize - 1] = NONEMPTY_ARRAY;
+				ch = nextNonWhitespace();
+				if (ch == ']') {
+					pos--;
+					return JsonToken.END_ARRAY;
+				}
+				pos--;
+				break;
+			case NONEMPTY_ARRAY:
+				ch = nextNonWhitespace();
+				if (ch == ']') {
+					pos--;
+					return JsonToken.END_ARRAY;
+				}
+				if (ch != ',')
+					throw syntaxError();
+				break;
+			case EMPTY_OBJECT:
+			case NONEMPTY_OBJECT:
+				stack[stackSize - 1] = DANGLING_NAME;
+				if (scope == NONEMPTY_OBJECT) {
+					ch = nextNonWhitespace();
+					if (ch == '}') {
+						pos--;
+						return JsonToken.END_OBJECT;
+					}
+					if (ch != ',')
+						throw syntaxError();
+				}
+				ch = nextNonWhitespace();
+				if (ch == '"') {
+					pos--;
+					return JsonToken.NAME;
+				}
+				if (ch == '}' && scope == EMPTY_OBJECT) {
+					pos--;
+					return JsonToken.END_OBJECT;
+				}
+				throw syntaxError();
+			case DANGLING_NAME:
+				stack[stackSize - 1] = NONEMPTY_OBJECT;
+				ch = nextNonWhitespace();
+				if (ch != ':')
+					throw syntaxError();
+				break;
+			case EMPTY_DOCUMENT:
+				stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+				break;
+			case NONEMPTY_DOCUMENT:
+				//支持多个连续的json文档，例如换行分隔的json数据
+				ch = nextNonWhitespace();
+				if (ch == -1)
+					return JsonToken.END_DOCUMENT;
+				pos--;
+				break;
+			default:
+				throw new IllegalStateException("JsonReader已关闭");
+		}
+
+		ch = nextNonWhitespace();
+		switch (ch) {
+			case '{':
+				pos--;
+				return JsonToken.BEGIN_OBJECT;
+			case '[':
+				pos--;
+				return JsonToken.BEGIN_ARRAY;
+			case '"':
+				pos--;
+				return JsonToken.STRING;
+			case 't':
+			case 'f':
+				pos--;
+				return JsonToken.BOOLEAN;
+			case 'n':
+				pos--;
+				return JsonToken.NULL;
+			case -1:
+				if (scope == EMPTY_DOCUMENT)
+					return JsonToken.END_DOCUMENT;
+				throw syntaxError();
+			default:
+				if ((ch >= '0' && ch <= '9') || ch == '-' || ch == '+' || ch == '.') {
+					pos--;
+					return JsonToken.NUMBER;
+				}
+				throw syntaxError();
+		}
+	}
+
+	/**
+	 * 确保缓冲区中至少有minimum个未读字符
+	 *
+	 * @param minimum
+	 * @return 假如输入已结束且字符数不足，返回false
+	 * @throws IOException
+	 */
+	private boolean fill(int minimum) throws IOException {
+		if (pos > 0) {
+			bufferStartOffset += pos;
+			limit -= pos;
+			if (limit > 0)
+				System.arraycopy(buffer, pos, buffer, 0, limit);
+			pos = 0;
+		}
+		int count;
+		while (limit < minimum
+				&& (count = reader.read(buffer, limit, buffer.length - limit)) != -1) {
+			limit += count;
+		}
+		return limit >= minimum;
+	}
+
+	/**
+	 * 获取下一个非空白字符，游标位于该字符之后
+	 *
+	 * @return 假如输入已结束，返回-1
+	 * @throws IOException
+	 */
+	private int nextNonWhitespace() throws IOException {
+		for (;;) {
+			if (pos == limit && !fill(1))
+				return -1;
+			char ch = buffer[pos++];
+			if (ch == '\n') {
+				lineNo++;
+			} else if (ch > ' ') {
+				return ch;
+			}
+		}
+	}
+
+	private void readLiteral(String literal) throws IOException {
+		int len = literal.length();
+		if (limit - pos < len && !fill(len))
+			throw syntaxError();
+		for (int i = 0; i < len; i++) {
+			if (buffer[pos + i] != literal.charAt(i))
+				throw syntaxError();
+		}
+		pos += len;
+	}
+
+	/**
+	 * 读取数字，游标位于数字的第一个字符
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	private String readNumber() throws IOException {
+		sb.setLength(0);
+		for (;;) {
+			if (pos == limit && !fill(1))
+				break;
+			char ch = buffer[pos];
+			if ((ch >= '0' && ch <= '9') || ch == '-' || ch == '+'
+					|| ch == '.' || ch == 'e' || ch == 'E') {
+				sb.append(ch);
+				pos++;
+			} else {
+				break;
+			}
+		}
+		if (!isNumber(sb))
+			throw syntaxError();
+		return sb.toString();
+	}
+
+	/**
+	 * 判断给定的字符序列是否是数字，与{@link JsonParser}中的数字格式保持一致
+	 *
+	 * @param cs
+	 * @return
+	 */
+	private static boolean isNumber(CharSequence cs) {
+		int len = cs.length();
+		int i = 0;
+		if (i < len && (cs.charAt(i) == '-' || cs.charAt(i) == '+'))
+			i++;
+		int digits = 0;
+		while (i < len && Character.isDigit(cs.charAt(i))) {
+			i++;
+			digits++;
+		}
+		if (i < len && cs.charAt(i) == '.') {
+			i++;
+			while (i < len && Character.isDigit(cs.charAt(i))) {
+				i++;
+				digits++;
+			}
+		}
+		if (digits == 0)
+			return false;
+		if (i < len && (cs.charAt(i) == 'e' || cs.charAt(i) == 'E')) {
+			i++;
+			if (i < len && (cs.charAt(i) == '-' || cs.charAt(i) == '+'))
+				i++;
+			int expDigits = 0;
+			while (i < len && Character.isDigit(cs.charAt(i))) {
+				i++;
+				expDigits++;
+			}
+			if (expDigits == 0)
+				return false;
+		}
+		return i == len;
+	}
+
+	/**
+	 * 读取字符串，游标位于起始双引号处
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	private String readString() throws IOException {
+		pos++;
+		boolean unescape = specialCharacterConfig.isOpen();
+		boolean decode = unescape && SpecialCharacterConfig.isDefaultEscape();
+		sb.setLength(0);
+		for (;;) {
+			int start = pos;
+			while (pos < limit) {
+				char ch = buffer[pos];
+				if (ch == '"') {
+					sb.append(buffer, start, pos - start);
+					pos++;
+					String value = sb.toString();
+					return unescape && !decode ? specialCharacterConfig.toRawString(value) : value;
+				}
+				if (ch == '\\')
+					break;
+				if (ch == '\n')
+					lineNo++;
+				pos++;
+			}
+			sb.append(buffer, start, pos - start);
+			if (pos == limit) {
+				if (!fill(1))
+					throw syntaxError();
+				continue;
+			}
+			//处理转义字符
+			if (limit - pos < 2 && !fill(2))
+				throw syntaxError();
+			char next = buffer[pos + 1];
+			if (!decode) {
+				sb.append('\\').append(next);
+				pos += 2;
+				continue;
+			}
+			switch (next) {
+				case '"': sb.append('"'); break;
+				case '\\': sb.append('\\'); break;
+				case '/': sb.append('/'); break;
+				case 'n': sb.append('\n'); break;
+				case 'r': sb.append('\r'); break;
+				case 't': sb.append('\t'); break;
+				case 'b': sb.append('\b'); break;
+				case 'f': sb.append('\f'); break;
+				case 'u':
+					if (limit - pos >= 6 || fill(6)) {
+						int code = hexValue(pos + 2);
+						if (code >= 0) {
+							sb.append((char) code);
+							pos += 6;
+							continue;
+						}
+					}
+					sb.append('\\').append(next);
+					break;
+				default:
+					//未知的转义字符保持原样
+					sb.append('\\').append(next);
+			}
+			pos += 2;
+		}
+	}
+
+	private int hexValue(int from) {
+		int code = 0;
+		for (int i = from; i < from + 4; i++) {
+			int digit = Character.digit(buffer[i], 16);
+			if (digit < 0)
+				return -1;
+			code = (code << 4) | digit;
+		}
+		return code;
+	}
+
+	/**
+	 * 获取当前位置附近已缓存的字符串
+	 *
+	 * @return
+	 */
+	private String context() {
+		int from = Math.max(0, pos - ERROR_CONTEXT_LEN);
+		int to = Math.min(limit, pos + ERROR_CONTEXT_LEN);
+		return "..." + new String(buffer, from, to - from) + "...";
+	}
+
+	private String location() {
+		return "错误位置：第" + lineNo + "行，第" + getPosition() + "个字符";
+	}
+
+	private JsonParseException syntaxError() {
+		return new JsonParseException(context() + "该处不符合json格式，" + location());
+	}
+
+	private JsonParseException unexpected(JsonToken expected) {
+		return new JsonParseException(context() + "该处不符合json格式，期望的是"
+				+ (expected == null ? "值" : expected.name()) + "，实际的是" + peeked + "，" + location());
+	}
+}
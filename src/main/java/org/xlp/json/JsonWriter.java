@@ -0,0 +1,267 @@
+package org.xlp.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+import org.xlp.json.config.SpecialCharacterConfig;
+import org.xlp.utils.XLPStringUtil;
+import org.xlp.utils.XLPSystemParamUtil;
+
+/**
+ * json流式输出器
+ * <p>
+ * 所有<code>Json</code>对象（包括嵌套的对象）都直接写入同一个输出目标中，不再为每一层嵌套对象生成中间字符串，
+ * 输出目标为<code>Writer</code>或<code>OutputStream</code>时使用固定大小的缓冲区，内存占用只与嵌套深度有关。
+ * <p>
+ * 字符串中小于0x20的控制字符都会被转义，因此含有\n、\r、\t以外控制字符的字符串与原来的<code>Json.toString</code>输出不同，
+ * 原来这些字符原样输出，生成的不是合法的json
+ *
+ * @author 徐龙平
+ *
+ * @version 1.0
+ */
+public class JsonWriter implements Closeable, Flushable {
+	/**
+	 * 默认缓冲区大小
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	/**
+	 * 非缓冲输出目标，例如StringBuilder
+	 */
+	private final Appendable appendable;
+
+	/**
+	 * 缓冲输出目标
+	 */
+	private final Writer writer;
+
+	private final char[] buffer;
+
+	private int count = 0;
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * 换行符
+	 */
+	private final String newline = XLPSystemParamUtil.getSystemNewline();
+
+	/**
+	 * 构造函数
+	 *
+	 * @param appendable 输出目标，为<code>Writer</code>时使用缓冲区输出
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	public JsonWriter(Appendable appendable) {
+		if (appendable == null)
+			throw new NullPointerException("输出目标参数必须不为null");
+		if (appendable instanceof Writer) {
+			this.writer = (Writer) appendable;
+			this.appendable = null;
+			this.buffer = new char[DEFAULT_BUFFER_SIZE];
+		} else {
+			this.writer = null;
+			this.appendable = appendable;
+			this.buffer = null;
+		}
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param out 输出流
+	 * @param charsetName 字符编码，为空时使用系统默认编码
+	 * @throws NullPointerException 假如输出流为null，则抛出该异常
+	 */
+	public JsonWriter(OutputStream out, String charsetName) {
+		this(new OutputStreamWriter(out, XLPStringUtil.isEmpty(charsetName)
+				? Charset.defaultCharset() : Charset.forName(charsetName)));
+	}
+
+	/**
+	 * 把json对象写入输出目标中
+	 *
+	 * @param json
+	 * @param isFormat 是否格式化字符串，true：格式化 false：不格式化
+	 * @return
+	 * @throws IOException
+	 * @throws NullPointerException 假如json对象为null，则抛出该异常
+	 */
+	public JsonWriter write(Json json, boolean isFormat) throws IOException {
+		json.writeTo(this, isFormat);
+		return this;
+	}
+
+	/**
+	 * 把json对象写入输出目标中，不格式化
+	 *
+	 * @param json
+	 * @return
+	 * @throws IOException
+	 */
+	public JsonWriter write(Json json) throws IOException {
+		return write(json, false);
+	}
+
+	JsonWriter append(char ch) throws IOException {
+		if (buffer == null) {
+			appendable.append(ch);
+		} else {
+			if (count == buffer.length)
+				flushBuffer();
+			buffer[count++] = ch;
+		}
+		return this;
+	}
+
+	JsonWriter append(String str) throws IOException {
+		if (str == null)
+			str = "null";
+		if (buffer == null) {
+			appendable.append(str);
+			return this;
+		}
+		int len = str.length();
+		if (len > buffer.length) {
+			flushBuffer();
+			writer.write(str);
+			return this;
+		}
+		if (len > buffer.length - count)
+			flushBuffer();
+		str.getChars(0, len, buffer, count);
+		count += len;
+		return this;
+	}
+
+	/**
+	 * 写入带双引号的字符串，并按配置转义特殊字符
+	 * <p>
+	 * 除配置的转义字符外，其余小于0x20的控制字符一律转义（\b、\f或以反斜杠u开头的4位十六进制形式），保证输出的是合法的json
+	 *
+	 * @param str
+	 * @param specialCharacterConfig
+	 * @throws IOException
+	 */
+	void appendQuoted(String str, SpecialCharacterConfig specialCharacterConfig) throws IOException {
+		append('"');
+		if (str == null) {
+			append(str);
+		} else if (!specialCharacterConfig.isOpen()) {
+			append(str);
+		} else if (!SpecialCharacterConfig.isDefaultEscape()) {
+			appendEscaped(specialCharacterConfig.toString(str), false);
+		} else {
+			appendEscaped(str, true);
+		}
+		append('"');
+	}
+
+	/**
+	 * 转义并写入字符串
+	 *
+	 * @param str
+	 * @param quoteAndBackslash 是否转义双引号及反斜杠，为false时只转义控制字符
+	 * @throws IOException
+	 */
+	private void appendEscaped(String str, boolean quoteAndBackslash) throws IOException {
+		int len = str.length();
+		int start = 0;
+		for (int i = 0; i < len; i++) {
+			char ch = str.charAt(i);
+			char escaped;
+			switch (ch) {
+				case '\\':
+				case '"':
+					if (!quoteAndBackslash)
+						continue;
+					escaped = ch;
+					break;
+				case '\n': escaped = 'n'; break;
+				case '\r': escaped = 'r'; break;
+				case '\t': escaped = 't'; break;
+				case '\b': escaped = 'b'; break;
+				case '\f': escaped = 'f'; break;
+				default:
+					if (ch >= 0x20)
+						continue;
+					escaped = 'u';
+			}
+			if (i > start)
+				appendRange(str, start, i);
+			append('\\').append(escaped);
+			if (escaped == 'u') {
+				append('0').append('0').append(HEX_DIGITS[ch >> 4]).append(HEX_DIGITS[ch & 0xF]);
+			}
+			start = i + 1;
+		}
+		if (start < len)
+			appendRange(str, start, len);
+	}
+
+	private void appendRange(String str, int start, int end) throws IOException {
+		if (buffer == null) {
+			appendable.append(str, start, end);
+			return;
+		}
+		int len = end - start;
+		if (len > buffer.length - count) {
+			flushBuffer();
+			if (len > buffer.length) {
+				writer.write(str, start, len);
+				return;
+			}
+		}
+		str.getChars(start, end, buffer, count);
+		count += len;
+	}
+
+	/**
+	 * 格式化时输出换行及缩进空格
+	 *
+	 * @param spaceCount 缩进空格数
+	 * @param isAddSpace 是否缩进
+	 * @throws IOException
+	 */
+	void formatSpace(int spaceCount, boolean isAddSpace) throws IOException {
+		if (isAddSpace && spaceCount >= 0) {
+			append(newline);
+			for (int i = 0; i < spaceCount; i++) {
+				append(' ');
+			}
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		if (count > 0) {
+			writer.write(buffer, 0, count);
+			count = 0;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (writer != null) {
+			flushBuffer();
+			writer.flush();
+		} else if (appendable instanceof Flushable) {
+			((Flushable) appendable).flush();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+		if (writer != null) {
+			writer.close();
+		} else if (appendable instanceof Closeable) {
+			((Closeable) appendable).close();
+		}
+	}
+}
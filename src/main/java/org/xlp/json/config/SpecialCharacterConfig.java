@@ -22,6 +22,11 @@ public class SpecialCharacterConfig {
 	 */
 	private static final Map<String, String> ESCAPE_CHARACTER_MAP = new LinkedHashMap<String, String>();
 	
+	/**
+	 * 标记是否通过{@link #add(String, String)}添加过自定义的转义字符映射关系
+	 */
+	private static volatile boolean customized = false;
+	
 	static {
 		//转义字符映射关系
 		ESCAPE_CHARACTER_MAP.put("\\","\\\\");
@@ -67,6 +72,19 @@ public class SpecialCharacterConfig {
 		this.open = open;
 	}
 	
+	public boolean isOpen() {
+		return open;
+	}
+	
+	/**
+	 * 判断是否只使用默认的转义字符映射关系
+	 * 
+	 * @return 假如未添加过自定义的转义字符映射关系，返回true，否则返回false
+	 */
+	public static boolean isDefaultEscape() {
+		return !customized;
+	}
+	
 	/**
 	 * 添加转义字符映射关系
 	 * 
@@ -76,6 +94,7 @@ public class SpecialCharacterConfig {
 	public static void add(String soucre, String target) {
 		if (soucre != null && target != null) {
 			ESCAPE_CHARACTER_MAP.put(soucre, target);
+			customized = true;
 		}
 	}
 }
@@ -0,0 +1,39 @@
+package org.xlp.json.jenum;
+
+/**
+ * json流式读取时的标记类型
+ * 
+ * @author 徐龙平
+ * 
+ * @version 1.0
+ */
+public enum JsonToken {
+	/**
+	 * [
+	 */
+	BEGIN_ARRAY,
+	/**
+	 * ]
+	 */
+	END_ARRAY,
+	/**
+	 * {
+	 */
+	BEGIN_OBJECT,
+	/**
+	 * }
+	 */
+	END_OBJECT,
+	/**
+	 * jsonObject中的key
+	 */
+	NAME,
+	STRING,
+	NUMBER,
+	BOOLEAN,
+	NULL,
+	/**
+	 * 输入结束
+	 */
+	END_DOCUMENT
+}
@@ -1,6 +1,7 @@
 package org.xlp.json.utils;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
@@ -12,6 +13,7 @@ import org.xlp.json.Json;
 import org.xlp.json.JsonArray;
 import org.xlp.json.JsonElement;
 import org.xlp.json.JsonObject;
+import org.xlp.json.JsonWriter;
 import org.xlp.json.config.JsonConfig;
 import org.xlp.utils.XLPStringUtil;
 import org.xlp.utils.io.XLPIOUtil;
@@ -40,7 +42,7 @@ public class JsonHelper {
 			, OutputStream out) throws IOException{
 		if(json == null || out == null)
 			throw new NullPointerException("参数必须不为null");
-		XLPIOUtil.write(json.format(), out, charSet);
+		new JsonWriter(out, charSet).write(json, true).flush();
 	}
 	
 	/**
@@ -72,7 +74,7 @@ public class JsonHelper {
 		throws IOException{
 		if(json == null || writer == null)
 			throw new NullPointerException("参数必须不为null");
-		XLPIOUtil.write(json.format(), writer);
+		new JsonWriter(writer).write(json, true).flush();
 	}
 	
 	/**
@@ -90,7 +92,7 @@ public class JsonHelper {
 			String charSetName) throws IOException{
 		if(json == null || file == null)
 			throw new NullPointerException("参数必须不为null");
-		XLPIOUtil.writeToFile(json.format(), file, charSetName);
+		writeToFile(json, new FileOutputStream(file), charSetName);
 	}
 	
 	
@@ -124,7 +126,7 @@ public class JsonHelper {
 			String charSetName) throws IOException{
 		if(json == null || fileName == null)
 			throw new NullPointerException("参数必须不为null");
-		XLPIOUtil.writeToFile(json.format(), fileName, charSetName);
+		writeToFile(json, new FileOutputStream(fileName), charSetName);
 	}
 	
 	/**
@@ -142,6 +144,23 @@ public class JsonHelper {
 		toFile(json, fileName, null);
 	}
 	
+	/**
+	 * 把json对象写入文件输出流中，并关闭该输出流
+	 * 
+	 * @param json
+	 * @param out
+	 * @param charSetName
+	 * @throws IOException
+	 */
+	private static void writeToFile(Json json, OutputStream out, 
+			String charSetName) throws IOException{
+		try {
+			new JsonWriter(out, charSetName).write(json, true).flush();
+		} finally {
+			XLPIOUtil.closeOutputStream(out);
+		}
+	}
+	
 	/**
 	 * 把jsonObject对象转换成Properties对象
 	 * 
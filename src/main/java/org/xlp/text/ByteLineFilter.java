@@ -0,0 +1,55 @@
+package org.xlp.text;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>创建时间：2026年10月18日 下午11:24:41</p>
+ * @author xlp
+ * @version 1.0
+ * @Description 文本文件字节行过滤器，在解码之前按字节过滤行，只在内存映射模式下使用
+ * <p>
+ * 被该过滤器拒绝的行不会解码成字符串，也不会交给{@link LineFilter}，但仍计入行号
+*/
+@FunctionalInterface
+public interface ByteLineFilter {
+	/**
+	 * 判断是否接受该行
+	 *
+	 * @param buffer 只读的文件数据，必须用绝对位置读取，不能修改其position及limit，
+	 *            其映射在切换窗口或关闭后立即释放，不能在该方法返回后继续引用
+	 * @param start 该行第一个字节的位置（包含）
+	 * @param end 该行最后一个字节之后的位置（不包含），不包括换行符
+	 * @return true：接受该行，false：跳过该行
+	 */
+	boolean accept(ByteBuffer buffer, int start, int end);
+
+	/**
+	 * 创建只接受包含给定字节序列的行的过滤器
+	 *
+	 * @param pattern 要包含的字节序列，例如关键字按文件编码转换成的字节
+	 * @return
+	 * @throws NullPointerException 假如参数为null，则抛出该异常
+	 */
+	static ByteLineFilter contains(byte[] pattern) {
+		final byte[] bytes = pattern.clone();
+		return new ByteLineFilter() {
+			@Override
+			public boolean accept(ByteBuffer buffer, int start, int end) {
+				if (bytes.length == 0)
+					return true;
+				byte first = bytes[0];
+				for (int i = start, max = end - bytes.length; i <= max; i++) {
+					if (buffer.get(i) != first)
+						continue;
+					int j = 1;
+					while (j < bytes.length && buffer.get(i + j) == bytes[j]) {
+						j++;
+					}
+					if (j == bytes.length)
+						return true;
+				}
+				return false;
+			}
+		};
+	}
+}
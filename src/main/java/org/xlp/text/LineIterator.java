@@ -0,0 +1,127 @@
+package org.xlp.text;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>创建时间：2026年10月18日 下午10:02:37</p>
+ * @author xlp
+ * @version 1.0
+ * @Description 文本文件行迭代器，每次只读取一行，不会一次性把全部数据读入内存
+ * <p>
+ * 跳过空行及行过滤器的规则与{@link TextReader#read(LineHandler, LineFilter)}一致；
+ * 读取完毕后按{@link TextReader}的规则关闭读取流，调用{@link #close()}时总是关闭读取流
+*/
+public class LineIterator implements Iterator<LineData>, Closeable {
+	private final TextReader textReader;
+
+	private final LineSource source;
+
+	private final LineFilter lineFilter;
+
+	private final boolean skipEmptyRow;
+
+	/**
+	 * 下一行的行号
+	 */
+	private long lineNo = 1;
+
+	/**
+	 * 已读取的总行数（包括空行及被过滤的行）
+	 */
+	private long allLineCount = 0;
+
+	/**
+	 * 已读取但未返回的行
+	 */
+	private LineData next;
+
+	private boolean finished = false;
+
+	LineIterator(TextReader textReader, LineSource source, LineFilter lineFilter) {
+		this.textReader = textReader;
+		this.source = source;
+		this.lineFilter = lineFilter;
+		this.skipEmptyRow = textReader.isSkipEmptyRow();
+		this.finished = source == null;
+	}
+
+	/**
+	 * @throws UncheckedIOException 假如读取数据失败，则抛出该异常
+	 */
+	@Override
+	public boolean hasNext() {
+		while (next == null && !finished) {
+			String line;
+			try {
+				line = source.readLine();
+			} catch (IOException e) {
+				finish();
+				throw new UncheckedIOException(e);
+			}
+			//内存映射模式下被字节行过滤器跳过的行
+			long skipped = source.skippedLines();
+			lineNo += skipped;
+			allLineCount += skipped;
+			if (line == null) {
+				finish();
+				break;
+			}
+			allLineCount++;
+			LineData lineData = new LineData(lineNo++, line);
+			//判断是否跳过空行
+			if (skipEmptyRow && lineData.isEmpty()) {
+				continue;
+			}
+			if (lineFilter == null || lineFilter.accept(lineData)) {
+				next = lineData;
+			}
+		}
+		return next != null;
+	}
+
+	/**
+	 * @throws UncheckedIOException 假如读取数据失败，则抛出该异常
+	 */
+	@Override
+	public LineData next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		LineData lineData = next;
+		next = null;
+		return lineData;
+	}
+
+	/**
+	 * 获取已读取的总行数（包括空行及被过滤的行）
+	 *
+	 * @return
+	 */
+	public long getAllLineCount() {
+		return allLineCount;
+	}
+
+	/**
+	 * 读取完毕
+	 */
+	private void finish() {
+		finished = true;
+		textReader.readFinished();
+	}
+
+	/**
+	 * 关闭读取流
+	 */
+	@Override
+	public void close() {
+		if (!finished) {
+			finished = true;
+			next = null;
+			textReader.closeReader();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package org.xlp.text;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * <p>创建时间：2026年10月18日 下午11:20:05</p>
+ * @author xlp
+ * @version 1.0
+ * @Description 文本文件行数据来源
+*/
+interface LineSource extends Closeable {
+	/**
+	 * 读取下一行，不包括换行符
+	 *
+	 * @return 读取完毕时返回null
+	 * @throws IOException
+	 */
+	String readLine() throws IOException;
+
+	/**
+	 * 获取上一次调用{@link #readLine()}时被字节行过滤器跳过的行数
+	 *
+	 * @return
+	 */
+	long skippedLines();
+
+	@Override
+	void close();
+
+	/**
+	 * 用BufferedReader创建行数据来源
+	 *
+	 * @param reader
+	 * @return
+	 */
+	static LineSource of(final BufferedReader reader) {
+		return new LineSource() {
+			@Override
+			public String readLine() throws IOException {
+				return reader.readLine();
+			}
+
+			@Override
+			public long skippedLines() {
+				return 0;
+			}
+
+			@Override
+			public void close() {
+				XLPIOUtil.closeReader(reader);
+			}
+		};
+	}
+}
@@ -0,0 +1,219 @@
+package org.xlp.text;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * <p>创建时间：2026年10月18日 下午11:31:18</p>
+ * @author xlp
+ * @version 1.0
+ * @Description 内存映射文件行数据来源
+ * <p>
+ * 文件按窗口分段映射到内存，每次8个字节查找换行符，只把通过{@link ByteLineFilter}的行解码成字符串，
+ * 每行数据只从映射内存复制一次。只支持换行符为单字节'\n'的编码（如UTF-8、GBK、ISO-8859-1），
+ * 以"\n"或"\r\n"作为行结束符。同一时刻只保留一个映射窗口，切换窗口及关闭时立即释放旧窗口的映射
+*/
+final class MappedLineSource implements LineSource {
+	/**
+	 * 默认映射窗口大小
+	 */
+	private static final int WINDOW_SIZE = 256 * 1024 * 1024;
+
+	private static final byte LF = '\n';
+
+	private static final byte CR = '\r';
+
+	private static final long LF_BYTES = 0x0A0A0A0A0A0A0A0AL;
+
+	private static final long LOW_BITS = 0x0101010101010101L;
+
+	private static final long HIGH_BITS = 0x8080808080808080L;
+
+	private final FileChannel channel;
+
+	private final long fileSize;
+
+	private final Charset charset;
+
+	private final ByteLineFilter byteLineFilter;
+
+	/**
+	 * 当前映射窗口，字节顺序为小端，查找换行符时第一个匹配的字节在低位
+	 */
+	private MappedByteBuffer window;
+
+	/**
+	 * 交给字节行过滤器的只读视图
+	 */
+	private ByteBuffer filterView;
+
+	/**
+	 * 解码时批量复制字节使用的视图
+	 */
+	private ByteBuffer copyView;
+
+	/**
+	 * 当前窗口在文件中的起始位置
+	 */
+	private long windowStart = 0;
+
+	private int windowLimit = 0;
+
+	/**
+	 * 下一行在当前窗口中的起始位置
+	 */
+	private int position = 0;
+
+	private byte[] lineBytes = new byte[256];
+
+	private long skipped = 0;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param path 文件
+	 * @param charset 文件编码
+	 * @param byteLineFilter 字节行过滤器，可以为null
+	 * @throws IOException 假如打开文件失败，则抛出该异常
+	 */
+	MappedLineSource(Path path, Charset charset, ByteLineFilter byteLineFilter) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.fileSize = channel.size();
+		this.charset = charset;
+		this.byteLineFilter = byteLineFilter;
+	}
+
+	/**
+	 * 判断给定的编码是否可以按字节'\n'分割行
+	 *
+	 * @param charset
+	 * @return
+	 */
+	static boolean isSupported(Charset charset) {
+		return Arrays.equals("\r\n".getBytes(charset), new byte[] { CR, LF });
+	}
+
+	@Override
+	public String readLine() throws IOException {
+		skipped = 0;
+		while (true) {
+			if (position >= windowLimit && !map(windowStart + position, WINDOW_SIZE)) {
+				return null;
+			}
+			int start = position;
+			int end = indexOfLF(start);
+			if (end < 0) {
+				if (windowStart + windowLimit < fileSize) {
+					// 该行跨越窗口，从该行开始重新映射，行比窗口长时扩大窗口
+					if (start == 0 && windowLimit == Integer.MAX_VALUE)
+						throw new IOException("第" + (windowStart + start) + "个字节开始的行太长");
+					int size = start == 0 ? (int) Math.min(windowLimit * 2L, Integer.MAX_VALUE) : WINDOW_SIZE;
+					map(windowStart + start, size);
+					continue;
+				}
+				end = windowLimit;
+				position = windowLimit;
+			} else {
+				position = end + 1;
+			}
+			if (end > start && window.get(end - 1) == CR) {
+				end--;
+			}
+			if (byteLineFilter != null && !byteLineFilter.accept(filterView, start, end)) {
+				skipped++;
+				continue;
+			}
+			return decode(start, end);
+		}
+	}
+
+	@Override
+	public long skippedLines() {
+		return skipped;
+	}
+
+	/**
+	 * 映射文件的一段
+	 *
+	 * @param offset 在文件中的起始位置
+	 * @param size 最大映射字节数
+	 * @return 没有可映射的数据时返回false
+	 * @throws IOException
+	 */
+	private boolean map(long offset, int size) throws IOException {
+		if (offset >= fileSize)
+			return false;
+		int length = (int) Math.min(size, fileSize - offset);
+		MappedByteBuffer old = window;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+		if (old != null) {
+			XLPIOUtil.unmap(old);
+		}
+		window.order(ByteOrder.LITTLE_ENDIAN);
+		filterView = window.asReadOnlyBuffer();
+		copyView = window.duplicate();
+		windowStart = offset;
+		windowLimit = length;
+		position = 0;
+		return true;
+	}
+
+	/**
+	 * 从给定位置查找换行符，每次比较8个字节
+	 *
+	 * @param from
+	 * @return 未找到时返回-1
+	 */
+	private int indexOfLF(int from) {
+		int i = from;
+		for (int max = windowLimit - 8; i <= max; i += 8) {
+			long word = window.getLong(i) ^ LF_BYTES;
+			long found = (word - LOW_BITS) & ~word & HIGH_BITS;
+			if (found != 0) {
+				return i + (Long.numberOfTrailingZeros(found) >>> 3);
+			}
+		}
+		for (; i < windowLimit; i++) {
+			if (window.get(i) == LF)
+				return i;
+		}
+		return -1;
+	}
+
+	private String decode(int start, int end) {
+		int length = end - start;
+		if (length > lineBytes.length) {
+			lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+		}
+		copyView.clear();
+		copyView.position(start);
+		copyView.get(lineBytes, 0, length);
+		return new String(lineBytes, 0, length, charset);
+	}
+
+	@Override
+	public void close() {
+		MappedByteBuffer old = window;
+		window = null;
+		filterView = null;
+		copyView = null;
+		windowLimit = 0;
+		position = 0;
+		if (old != null) {
+			XLPIOUtil.unmap(old);
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package org.xlp.text;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * <p>创建时间：2026年10月18日 下午10:52:14</p>
+ * @author xlp
+ * @version 1.0
+ * @Description 文本文件行数据并行处理器
+ * <p>
+ * 读取线程按块读取行数据并提交给执行器，行过滤器和行处理器在执行器的线程中调用；
+ * 处理结果总是在读取线程中交给结果处理器，所以结果处理器不需要考虑线程安全问题
+*/
+final class ParallelLineProcessor<T> {
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "text-reader-" + THREAD_NUMBER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	};
+
+	private final LineHandler<T> lineHandler;
+
+	private final LineFilter lineFilter;
+
+	private final TextParallelConfig config;
+
+	private final Consumer<? super T> resultHandler;
+
+	/**
+	 * 处理中的块，按提交顺序排列
+	 */
+	private final ArrayDeque<Future<List<T>>> inFlight = new ArrayDeque<Future<List<T>>>();
+
+	/**
+	 * 按完成顺序返回结果时使用
+	 */
+	private CompletionService<List<T>> completionService;
+
+	private Executor executor;
+
+	/**
+	 * 交给行处理器处理的行数
+	 */
+	private long count = 0;
+
+	ParallelLineProcessor(LineHandler<T> lineHandler, LineFilter lineFilter,
+			TextParallelConfig config, Consumer<? super T> resultHandler) {
+		this.lineHandler = lineHandler;
+		this.lineFilter = lineFilter;
+		this.config = config;
+		this.resultHandler = resultHandler;
+	}
+
+	/**
+	 * 处理迭代器中的所有行
+	 *
+	 * @param iterator
+	 * @return 交给行处理器处理的行数
+	 * @throws IOException 假如读取数据失败或等待时被中断，则抛出该异常
+	 */
+	long process(LineIterator iterator) throws IOException {
+		executor = config.getExecutor();
+		ExecutorService ownExecutor = null;
+		if (executor == null) {
+			ownExecutor = Executors.newFixedThreadPool(config.getParallelism(), THREAD_FACTORY);
+			executor = ownExecutor;
+		}
+		if (!config.isOrdered()) {
+			completionService = new ExecutorCompletionService<List<T>>(executor);
+		}
+		int blockSize = config.getBlockSize();
+		int maxInFlight = config.getMaxInFlightBlocks();
+		try {
+			List<LineData> block = new ArrayList<LineData>(blockSize);
+			while (iterator.hasNext()) {
+				block.add(iterator.next());
+				if (block.size() == blockSize) {
+					while (inFlight.size() >= maxInFlight) {
+						deliver(awaitOne());
+					}
+					submit(block);
+					block = new ArrayList<LineData>(blockSize);
+				}
+			}
+			if (!block.isEmpty()) {
+				submit(block);
+			}
+			while (!inFlight.isEmpty()) {
+				deliver(awaitOne());
+			}
+			return count;
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException ex = new InterruptedIOException("等待行数据处理结果时被中断");
+			ex.initCause(e);
+			throw ex;
+		} finally {
+			for (Future<List<T>> future : inFlight) {
+				future.cancel(true);
+			}
+			inFlight.clear();
+			if (ownExecutor != null) {
+				ownExecutor.shutdownNow();
+			}
+		}
+	}
+
+	private void submit(final List<LineData> block) {
+		Callable<List<T>> task = new Callable<List<T>>() {
+			@Override
+			public List<T> call() {
+				List<T> results = new ArrayList<T>(block.size());
+				for (LineData lineData : block) {
+					if (lineFilter == null || lineFilter.accept(lineData)) {
+						results.add(lineData.lineHandle(lineHandler));
+					}
+				}
+				return results;
+			}
+		};
+		Future<List<T>> future;
+		if (completionService != null) {
+			future = completionService.submit(task);
+		} else {
+			FutureTask<List<T>> futureTask = new FutureTask<List<T>>(task);
+			executor.execute(futureTask);
+			future = futureTask;
+		}
+		inFlight.add(future);
+	}
+
+	/**
+	 * 等待一块处理完毕，按顺序返回时等待最早提交的块，否则等待任意一块
+	 *
+	 * @return
+	 * @throws InterruptedException
+	 */
+	private List<T> awaitOne() throws InterruptedException {
+		Future<List<T>> future;
+		if (completionService != null) {
+			future = completionService.take();
+			inFlight.remove(future);
+		} else {
+			future = inFlight.poll();
+		}
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new RuntimeException(cause);
+		}
+	}
+
+	private void deliver(List<T> results) {
+		count += results.size();
+		if (resultHandler != null) {
+			for (T result : results) {
+				resultHandler.accept(result);
+			}
+		}
+	}
+}
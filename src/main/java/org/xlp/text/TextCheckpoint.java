@@ -0,0 +1,72 @@
+package org.xlp.text;
+
+import java.io.Serializable;
+
+/**
+ * <p>创建时间：2026年10月19日 上午12:05:33</p>
+ * @author xlp
+ * @version 1.0
+ * @Description 持续读取文本文件时的读取位置，不可修改
+ * <p>
+ * 位置之前的行都已交给行处理器处理完毕，保存该对象后重新启动时可从该位置继续读取，不会重复处理
+*/
+public final class TextCheckpoint implements Serializable {
+	private static final long serialVersionUID = -3315848571905273019L;
+
+	/**
+	 * 下一行在文件中的字节位置
+	 */
+	private final long offset;
+
+	/**
+	 * 已读取的行数（包括空行及被过滤的行），也是最后读取的一行的行号
+	 */
+	private final long lineNo;
+
+	/**
+	 * 文件标识，用来判断文件是否被轮转（重命名后新建同名文件），可以为null
+	 */
+	private final String fileKey;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param offset 下一行在文件中的字节位置
+	 * @param lineNo 已读取的行数
+	 * @param fileKey 文件标识，可以为null，为null时不判断文件是否被轮转
+	 */
+	public TextCheckpoint(long offset, long lineNo, String fileKey) {
+		this.offset = offset;
+		this.lineNo = lineNo;
+		this.fileKey = fileKey;
+	}
+
+	/**
+	 * @return 下一行在文件中的字节位置
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return 已读取的行数（包括空行及被过滤的行）
+	 */
+	public long getLineNo() {
+		return lineNo;
+	}
+
+	/**
+	 * @return 文件标识，可能为null
+	 */
+	public String getFileKey() {
+		return fileKey;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("TextCheckpoint [offset=").append(offset).append(", lineNo=").append(lineNo)
+				.append(", fileKey=").append(fileKey).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,422 @@
+package org.xlp.text;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+import org.xlp.assertion.AssertUtils;
+import org.xlp.utils.XLPStringUtil;
+
+/**
+ * <p>创建时间：2026年10月19日 上午12:14:52</p>
+ * @author xlp
+ * @version 1.0
+ * @Description 持续读取只追加的文本文件（例如日志文件），类似<code>tail -f</code>
+ * <p>
+ * 只处理以换行符结束的完整行，最后一行未写完时等下次读取；每处理完一行更新读取位置，
+ * 可用{@link #getCheckpoint()}获取并保存，重新启动时传入构造函数即可继续读取。
+ * 文件被轮转（重命名后新建同名文件）时先读完原文件再从头读取新文件，文件被截断时从头读取。
+ * 只支持换行符为单字节'\n'的编码（如UTF-8、GBK、ISO-8859-1），以"\n"或"\r\n"作为行结束符。
+ * 该类不是线程安全的，除{@link #stop()}和{@link #getCheckpoint()}外只能在一个线程中使用
+*/
+public class TextFollower implements Closeable {
+	/**
+	 * 默认轮询间隔，单位毫秒
+	 */
+	public static final long DEFAULT_POLL_INTERVAL = 1000;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final byte LF = '\n';
+
+	private static final byte CR = '\r';
+
+	private final Path path;
+
+	private final Charset charset;
+
+	/**
+	 * 记录是否跳过空行，默认跳过空行
+	 */
+	private boolean skipEmptyRow = true;
+
+	/**
+	 * 轮询间隔，单位毫秒
+	 */
+	private long pollInterval = DEFAULT_POLL_INTERVAL;
+
+	/**
+	 * 是否使用WatchService等待文件变化，默认只轮询
+	 */
+	private boolean useWatchService = false;
+
+	private FileChannel channel;
+
+	private WatchService watchService;
+
+	/**
+	 * 下一行在文件中的字节位置
+	 */
+	private long offset;
+
+	/**
+	 * 已读取的行数
+	 */
+	private long lineNo;
+
+	private String fileKey;
+
+	/**
+	 * 最近一次发布的读取位置
+	 */
+	private volatile TextCheckpoint checkpoint;
+
+	private volatile boolean stopped = false;
+
+	private byte[] buffer = new byte[BUFFER_SIZE];
+
+	/**
+	 * 构造函数，从文件开头读取
+	 *
+	 * @param txtFile 要读取的文件，可以暂时不存在
+	 * @param charsetName 文件字符编码，为空时使用utf-8编码
+	 * @throws NullPointerException 假如文件参数为null，则抛该异常
+	 * @throws IllegalArgumentException 假如编码不支持，则抛该异常
+	 */
+	public TextFollower(File txtFile, String charsetName) {
+		this(txtFile, charsetName, null);
+	}
+
+	/**
+	 * 构造函数，从给定的读取位置继续读取
+	 *
+	 * @param txtFile 要读取的文件，可以暂时不存在
+	 * @param charsetName 文件字符编码，为空时使用utf-8编码
+	 * @param checkpoint 上次保存的读取位置，为null时从文件开头读取
+	 * @throws NullPointerException 假如文件参数为null，则抛该异常
+	 * @throws IllegalArgumentException 假如编码不支持，则抛该异常
+	 */
+	public TextFollower(File txtFile, String charsetName, TextCheckpoint checkpoint) {
+		AssertUtils.isNotNull(txtFile, "txtFile paramter is null!");
+		charsetName = XLPStringUtil.isEmpty(charsetName) ? TextReader.DEFAULT_CHARSET : charsetName.trim();
+		this.charset = Charset.forName(charsetName);
+		if (!MappedLineSource.isSupported(charset))
+			throw new IllegalArgumentException("不支持该编码：" + charsetName);
+		this.path = txtFile.toPath().toAbsolutePath();
+		if (checkpoint != null) {
+			this.offset = checkpoint.getOffset();
+			this.lineNo = checkpoint.getLineNo();
+			this.fileKey = checkpoint.getFileKey();
+		}
+		publish();
+	}
+
+	/**
+	 * @return 是否跳过空行，默认跳过空行
+	 */
+	public boolean isSkipEmptyRow() {
+		return skipEmptyRow;
+	}
+
+	/**
+	 * @param skipEmptyRow
+	 *            设置是否跳过空行，默认跳过空行
+	 */
+	public void setSkipEmptyRow(boolean skipEmptyRow) {
+		this.skipEmptyRow = skipEmptyRow;
+	}
+
+	/**
+	 * @return 轮询间隔，单位毫秒
+	 */
+	public long getPollInterval() {
+		return pollInterval;
+	}
+
+	/**
+	 * @param pollInterval
+	 *            轮询间隔，单位毫秒，默认1000，小于1时为1
+	 */
+	public void setPollInterval(long pollInterval) {
+		this.pollInterval = Math.max(pollInterval, 1);
+	}
+
+	/**
+	 * @return 是否使用WatchService等待文件变化
+	 */
+	public boolean isUseWatchService() {
+		return useWatchService;
+	}
+
+	/**
+	 * @param useWatchService
+	 *            是否使用WatchService等待文件变化，默认只轮询；使用时文件变化后可立即读取，
+	 *            仍以轮询间隔作为最长等待时间
+	 */
+	public void setUseWatchService(boolean useWatchService) {
+		this.useWatchService = useWatchService;
+	}
+
+	/**
+	 * 获取读取位置，该位置之前的行都已处理完毕，可在其他线程中调用
+	 *
+	 * @return
+	 */
+	public TextCheckpoint getCheckpoint() {
+		return checkpoint;
+	}
+
+	/**
+	 * 读取一次新追加的完整行并交给行处理器处理，没有新数据时立即返回
+	 *
+	 * @param lineHandler 行处理器
+	 * @param lineFilter 行过滤器，可以为null
+	 * @return 返回交给行处理器处理的行数
+	 * @throws IOException 假如io异常，则抛出该异常
+	 * @throws NullPointerException 假如行处理器为null，则抛出该异常
+	 */
+	public long poll(LineHandler<?> lineHandler, LineFilter lineFilter) throws IOException {
+		AssertUtils.isNotNull(lineHandler, "lineHandler paramter is null!");
+		stopped = false;
+		return doPoll(lineHandler, lineFilter);
+	}
+
+	/**
+	 * 持续读取新追加的完整行并交给行处理器处理，直到调用{@link #stop()}或当前线程被中断
+	 *
+	 * @param lineHandler 行处理器
+	 * @param lineFilter 行过滤器，可以为null
+	 * @return 返回交给行处理器处理的行数
+	 * @throws IOException 假如io异常，则抛出该异常
+	 * @throws InterruptedIOException 假如等待时当前线程被中断，则抛出该异常
+	 * @throws NullPointerException 假如行处理器为null，则抛出该异常
+	 */
+	public long follow(LineHandler<?> lineHandler, LineFilter lineFilter) throws IOException {
+		AssertUtils.isNotNull(lineHandler, "lineHandler paramter is null!");
+		stopped = false;
+		long count = 0;
+		while (!stopped) {
+			long before = offset;
+			count += doPoll(lineHandler, lineFilter);
+			if (offset == before && !stopped) {
+				await();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 停止{@link #follow(LineHandler, LineFilter)}，当前行处理完毕后返回，可在其他线程或行处理器中调用
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	private long doPoll(LineHandler<?> lineHandler, LineFilter lineFilter) throws IOException {
+		if (channel == null && !open()) {
+			return 0;
+		}
+		long count = readAvailable(lineHandler, lineFilter);
+		if (stopped) {
+			return count;
+		}
+		String currentKey = currentFileKey();
+		if (currentKey != null && fileKey != null && !currentKey.equals(fileKey)) {
+			// 文件已轮转，原文件已读完，从头读取新文件
+			closeChannel();
+			reset(null);
+			if (open()) {
+				count += readAvailable(lineHandler, lineFilter);
+			}
+		} else if (channel.size() < offset) {
+			// 文件被截断
+			reset(fileKey);
+			count += readAvailable(lineHandler, lineFilter);
+		}
+		return count;
+	}
+
+	/**
+	 * 打开文件
+	 *
+	 * @return 文件不存在时返回false
+	 * @throws IOException
+	 */
+	private boolean open() throws IOException {
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+		} catch (NoSuchFileException e) {
+			return false;
+		}
+		String currentKey = currentFileKey();
+		if (fileKey != null && currentKey != null && !fileKey.equals(currentKey)) {
+			// 保存读取位置后文件已轮转
+			reset(currentKey);
+		} else {
+			fileKey = currentKey;
+		}
+		if (channel.size() < offset) {
+			reset(fileKey);
+		}
+		publish();
+		return true;
+	}
+
+	private void reset(String newFileKey) {
+		offset = 0;
+		lineNo = 0;
+		fileKey = newFileKey;
+		publish();
+	}
+
+	/**
+	 * 获取当前路径上的文件标识
+	 *
+	 * @return 文件不存在时返回null
+	 */
+	private String currentFileKey() {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+			Object key = attributes.fileKey();
+			return key != null ? key.toString() : String.valueOf(attributes.creationTime().toMillis());
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 从当前读取位置读取到文件末尾，处理其中的完整行
+	 *
+	 * @param lineHandler
+	 * @param lineFilter
+	 * @return
+	 * @throws IOException
+	 */
+	private long readAvailable(LineHandler<?> lineHandler, LineFilter lineFilter) throws IOException {
+		long count = 0;
+		long readPosition = offset;
+		int length = 0;
+		try {
+			while (!stopped) {
+				if (length == buffer.length) {
+					// 行比缓冲区长
+					byte[] newBuffer = new byte[buffer.length * 2];
+					System.arraycopy(buffer, 0, newBuffer, 0, length);
+					buffer = newBuffer;
+				}
+				int n = channel.read(ByteBuffer.wrap(buffer, length, buffer.length - length), readPosition);
+				if (n <= 0) {
+					break;
+				}
+				readPosition += n;
+				length += n;
+				int start = 0;
+				for (int i = indexOfLF(start, length); i >= 0 && !stopped; i = indexOfLF(start, length)) {
+					int end = i > start && buffer[i - 1] == CR ? i - 1 : i;
+					LineData lineData = new LineData(lineNo + 1, new String(buffer, start, end - start, charset));
+					if (!(skipEmptyRow && lineData.isEmpty())
+							&& (lineFilter == null || lineFilter.accept(lineData))) {
+						lineHandler.handle(lineData);
+						count++;
+					}
+					lineNo++;
+					offset += i + 1 - start;
+					start = i + 1;
+				}
+				if (stopped) {
+					break;
+				}
+				length -= start;
+				System.arraycopy(buffer, start, buffer, 0, length);
+			}
+		} finally {
+			publish();
+		}
+		return count;
+	}
+
+	private int indexOfLF(int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (buffer[i] == LF)
+				return i;
+		}
+		return -1;
+	}
+
+	private void publish() {
+		checkpoint = new TextCheckpoint(offset, lineNo, fileKey);
+	}
+
+	/**
+	 * 等待文件变化
+	 *
+	 * @throws IOException
+	 */
+	private void await() throws IOException {
+		try {
+			if (useWatchService) {
+				if (watchService == null) {
+					watchService = FileSystems.getDefault().newWatchService();
+					path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+							StandardWatchEventKinds.ENTRY_MODIFY);
+				}
+				WatchKey key = watchService.poll(pollInterval, TimeUnit.MILLISECONDS);
+				if (key != null) {
+					key.pollEvents();
+					key.reset();
+				}
+			} else {
+				Thread.sleep(pollInterval);
+			}
+		} catch (ClosedWatchServiceException e) {
+			stopped = true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stopped = true;
+			InterruptedIOException ex = new InterruptedIOException("等待文件变化时被中断");
+			ex.initCause(e);
+			throw ex;
+		}
+	}
+
+	private void closeChannel() {
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+			}
+			channel = null;
+		}
+	}
+
+	/**
+	 * 关闭打开的文件，读取位置仍可通过{@link #getCheckpoint()}获取
+	 */
+	@Override
+	public void close() {
+		stopped = true;
+		closeChannel();
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+			}
+			watchService = null;
+		}
+	}
+}
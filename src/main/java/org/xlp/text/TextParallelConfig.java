@@ -0,0 +1,135 @@
+package org.xlp.text;
+
+import java.util.concurrent.Executor;
+
+/**
+ * <p>创建时间：2026年10月18日 下午10:40:26</p>
+ * @author xlp
+ * @version 1.0
+ * @Description 文本文件并行处理配置类
+ * <p>
+ * 读取线程把行数据按块分组后交给执行器并行处理，同时处理中的块数不超过{@link #getMaxInFlightBlocks()}，
+ * 处理速度跟不上读取速度时读取线程等待，内存占用与文件大小无关
+*/
+public class TextParallelConfig {
+	/**
+	 * 默认每块行数
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+	/**
+	 * 执行器为null时创建的线程数，默认为CPU核数
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * 每块行数
+	 */
+	private int blockSize = DEFAULT_BLOCK_SIZE;
+
+	/**
+	 * 同时处理中的最大块数，小于1时为线程数的2倍
+	 */
+	private int maxInFlightBlocks = 0;
+
+	/**
+	 * 是否按行的顺序返回处理结果，默认按顺序返回
+	 */
+	private boolean ordered = true;
+
+	/**
+	 * 处理行数据使用的执行器，为null时每次处理创建一个固定大小的线程池并在处理完毕后关闭
+	 */
+	private Executor executor;
+
+	/**
+	 * 获取执行器为null时创建的线程数，默认为CPU核数
+	 *
+	 * @return
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * 设置执行器为null时创建的线程数，默认为CPU核数
+	 *
+	 * @param parallelism 小于1时为1
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(parallelism, 1);
+	}
+
+	/**
+	 * 获取每块行数
+	 *
+	 * @return
+	 */
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * 设置每块行数，默认1024，处理每行耗时越少时应设置得越大
+	 *
+	 * @param blockSize 小于1时为1
+	 */
+	public void setBlockSize(int blockSize) {
+		this.blockSize = Math.max(blockSize, 1);
+	}
+
+	/**
+	 * 获取同时处理中的最大块数，未设置时为线程数的2倍
+	 *
+	 * @return
+	 */
+	public int getMaxInFlightBlocks() {
+		return maxInFlightBlocks > 0 ? maxInFlightBlocks : parallelism * 2;
+	}
+
+	/**
+	 * 设置同时处理中的最大块数，用来限制内存占用
+	 *
+	 * @param maxInFlightBlocks 小于1时为线程数的2倍
+	 */
+	public void setMaxInFlightBlocks(int maxInFlightBlocks) {
+		this.maxInFlightBlocks = maxInFlightBlocks;
+	}
+
+	/**
+	 * 获取是否按行的顺序返回处理结果，默认按顺序返回
+	 *
+	 * @return
+	 */
+	public boolean isOrdered() {
+		return ordered;
+	}
+
+	/**
+	 * 设置是否按行的顺序返回处理结果，false时按块处理完成的顺序返回
+	 *
+	 * @param ordered
+	 */
+	public void setOrdered(boolean ordered) {
+		this.ordered = ordered;
+	}
+
+	/**
+	 * 获取处理行数据使用的执行器
+	 *
+	 * @return
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * 设置处理行数据使用的执行器，由调用者负责关闭；JDK21及以上版本可传入
+	 * <code>Executors.newVirtualThreadPerTaskExecutor()</code>使用虚拟线程
+	 *
+	 * @param executor 为null时每次处理创建一个固定大小的线程池并在处理完毕后关闭
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+}
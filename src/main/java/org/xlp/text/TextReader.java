@@ -8,8 +8,16 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.xlp.assertion.AssertUtils;
 import org.xlp.assertion.IllegalObjectException;
@@ -42,6 +50,11 @@ public class TextReader {
 	 */
 	private BufferedReader reader;
 
+	/**
+	 * 内存映射模式下的行数据来源
+	 */
+	private MappedLineSource mappedSource;
+
 	/**
 	 * 记录是否关闭读取流
 	 */
@@ -188,6 +201,72 @@ public class TextReader {
 		}
 	}
 
+	private TextReader(MappedLineSource mappedSource) {
+		this.mappedSource = mappedSource;
+		this.isAutoClose = true;
+	}
+
+	/**
+	 * 用内存映射方式读取文本文件，按字节查找换行符，只把需要的行解码成字符串，适合读取很大的文件。
+	 * 只支持换行符为单字节'\n'的编码（如UTF-8、GBK、ISO-8859-1），以"\n"或"\r\n"作为行结束符，
+	 * 编码不支持且未给定字节行过滤器时使用普通方式读取
+	 * 
+	 * @param txtFile
+	 *            txt文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @param byteLineFilter
+	 *            字节行过滤器，在解码之前过滤行，可以为null
+	 * @return
+	 * @throws IOException
+	 *             假如io异常，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如文件参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws IllegalArgumentException
+	 *             假如编码不支持内存映射方式且给定了字节行过滤器，则抛出该异常
+	 */
+	public static TextReader mapped(File txtFile, String charsetName, ByteLineFilter byteLineFilter)
+			throws IOException {
+		AssertUtils.assertFile(txtFile);
+		charsetName = XLPStringUtil.isEmpty(charsetName) ? DEFAULT_CHARSET : charsetName.trim();
+		Charset charset = Charset.forName(charsetName);
+		if (!MappedLineSource.isSupported(charset)) {
+			//普通方式读取时无法按字节过滤，不能忽略过滤器
+			if (byteLineFilter != null)
+				throw new IllegalArgumentException("该编码不支持字节行过滤器：" + charsetName);
+			return new TextReader(txtFile, charsetName);
+		}
+		return new TextReader(new MappedLineSource(txtFile.toPath(), charset, byteLineFilter));
+	}
+
+	/**
+	 * 用内存映射方式读取文本文件
+	 * 
+	 * @param path
+	 *            txt文件
+	 * @param charsetName
+	 *            文件字符编码，为空时使用utf-8编码
+	 * @param byteLineFilter
+	 *            字节行过滤器，在解码之前过滤行，可以为null
+	 * @return
+	 * @throws IOException
+	 *             假如io异常，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如文件参数为null，则抛该异常
+	 * @throws IllegalObjectException
+	 *             假如给定的文件是目录或不存在，则抛出该异常
+	 * @throws IllegalArgumentException
+	 *             假如编码不支持内存映射方式且给定了字节行过滤器，则抛出该异常
+	 * @see #mapped(File, String, ByteLineFilter)
+	 */
+	public static TextReader mapped(Path path, String charsetName, ByteLineFilter byteLineFilter)
+			throws IOException {
+		AssertUtils.isNotNull(path, "path paramter is null!");
+		return mapped(path.toFile(), charsetName, byteLineFilter);
+	}
+
 	/**
 	 * @return 是否跳过空行，默认跳过空行
 	 */
@@ -211,6 +290,31 @@ public class TextReader {
 			XLPIOUtil.closeReader(reader);
 		}
 		reader = null;
+		if (mappedSource != null) {
+			mappedSource.close();
+			mappedSource = null;
+		}
+	}
+
+	/**
+	 * 读取完毕，按规则关闭读取流
+	 */
+	void readFinished() {
+		if (isAutoClose) {
+			closeReader();
+		}
+	}
+
+	/**
+	 * 关闭读取流
+	 */
+	void closeReader() {
+		XLPIOUtil.closeReader(reader);
+		reader = null;
+		if (mappedSource != null) {
+			mappedSource.close();
+			mappedSource = null;
+		}
 	}
 
 	/**
@@ -226,29 +330,177 @@ public class TextReader {
 	 */
 	public <T> List<T> read(LineHandler<T> lineHandler, LineFilter lineFilter) throws IOException {
 		List<T> list = new ArrayList<T>();
-		int lineNo = 1;
-		String line = null;
-		LineData lineData;
+		LineIterator iterator = iterator(lineFilter);
 		try {
-			//读取每行数据
-			while ((line = reader.readLine()) != null) {
-				lineData = new LineData(lineNo++, line);
-				//判断是否跳过空行
-				if (skipEmptyRow && lineData.isEmpty()) {
-					continue;
-				}
-				if (lineFilter == null || lineFilter.accept(lineData)) { 
-					list.add(lineData.lineHandle(lineHandler));
-				}
+			while (iterator.hasNext()) {
+				list.add(iterator.next().lineHandle(lineHandler));
 			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
 		} finally {
 			if (isAutoClose) {
-				XLPIOUtil.closeReader(reader);
-				reader = null;
+				iterator.close();
 			}
 		}
 		return list;
 	}
+
+	/**
+	 * 逐行读取文本文件并交给行处理器处理，不保存处理结果，内存占用与文件大小无关
+	 * 
+	 * @param lineHandler
+	 *            行处理器
+	 * @param lineFilter
+	 *            行过滤器
+	 * @return 返回交给行处理器处理的行数
+	 * @throws IOException
+	 *             假如io异常，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如行处理器为null，则抛出该异常
+	 */
+	public long forEach(LineHandler<?> lineHandler, LineFilter lineFilter) throws IOException {
+		AssertUtils.isNotNull(lineHandler, "lineHandler paramter is null!");
+		long count = 0;
+		LineIterator iterator = iterator(lineFilter);
+		try {
+			while (iterator.hasNext()) {
+				lineHandler.handle(iterator.next());
+				count++;
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			if (isAutoClose) {
+				iterator.close();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 逐行读取文本文件并交给行处理器处理，不保存处理结果，内存占用与文件大小无关
+	 * 
+	 * @param lineHandler
+	 *            行处理器
+	 * @return 返回交给行处理器处理的行数
+	 * @throws IOException
+	 *             假如io异常，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如行处理器为null，则抛出该异常
+	 */
+	public long forEach(LineHandler<?> lineHandler) throws IOException {
+		return forEach(lineHandler, null);
+	}
+
+	/**
+	 * 并行处理文本文件的每行数据，读取线程按块分组后交给执行器处理，行过滤器和行处理器在执行器的线程中调用，
+	 * 因此必须是线程安全的；处理结果在调用线程中交给结果处理器，不保存处理结果
+	 * 
+	 * @param lineHandler
+	 *            行处理器
+	 * @param lineFilter
+	 *            行过滤器
+	 * @param config
+	 *            并行处理配置，为null时使用默认配置
+	 * @param resultHandler
+	 *            结果处理器，按配置以行的顺序或处理完成的顺序接收每行的处理结果，可以为null
+	 * @return 返回交给行处理器处理的行数
+	 * @throws IOException
+	 *             假如io异常或等待时被中断，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如行处理器为null，则抛出该异常
+	 */
+	public <T> long forEachParallel(LineHandler<T> lineHandler, LineFilter lineFilter,
+			TextParallelConfig config, Consumer<? super T> resultHandler) throws IOException {
+		AssertUtils.isNotNull(lineHandler, "lineHandler paramter is null!");
+		config = config == null ? new TextParallelConfig() : config;
+		LineIterator iterator = iterator();
+		try {
+			return new ParallelLineProcessor<T>(lineHandler, lineFilter, config, resultHandler)
+					.process(iterator);
+		} finally {
+			if (isAutoClose) {
+				iterator.close();
+			}
+		}
+	}
+
+	/**
+	 * 并行获取文本文件每行处理后的数据，行过滤器和行处理器在执行器的线程中调用，因此必须是线程安全的
+	 * 
+	 * @param lineHandler
+	 *            行处理器
+	 * @param lineFilter
+	 *            行过滤器
+	 * @param config
+	 *            并行处理配置，为null时使用默认配置
+	 * @return 返回文本文件每行处理后的数据，按配置以行的顺序或处理完成的顺序排列
+	 * @throws IOException
+	 *             假如io异常或等待时被中断，则抛出该异常
+	 * @throws NullPointerException
+	 *             假如行处理器为null，则抛出该异常
+	 */
+	public <T> List<T> readParallel(LineHandler<T> lineHandler, LineFilter lineFilter,
+			TextParallelConfig config) throws IOException {
+		final List<T> list = new ArrayList<T>();
+		forEachParallel(lineHandler, lineFilter, config, new Consumer<T>() {
+			@Override
+			public void accept(T result) {
+				list.add(result);
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * 获取逐行读取文本文件的迭代器，读取完毕后按构造函数的规则关闭读取流，提前结束时应调用{@link LineIterator#close()}
+	 * 
+	 * @param lineFilter
+	 *            行过滤器
+	 * @return
+	 */
+	public LineIterator iterator(LineFilter lineFilter) {
+		LineSource source = mappedSource != null ? mappedSource
+				: reader == null ? null : LineSource.of(reader);
+		return new LineIterator(this, source, lineFilter);
+	}
+
+	/**
+	 * 获取逐行读取文本文件的迭代器，读取完毕后按构造函数的规则关闭读取流，提前结束时应调用{@link LineIterator#close()}
+	 * 
+	 * @return
+	 */
+	public LineIterator iterator() {
+		return iterator(null);
+	}
+
+	/**
+	 * 获取逐行读取文本文件的流，读取过程中的io异常以{@link UncheckedIOException}抛出，使用完毕后应关闭该流
+	 * 
+	 * @param lineFilter
+	 *            行过滤器
+	 * @return
+	 */
+	public Stream<LineData> lines(LineFilter lineFilter) {
+		final LineIterator iterator = iterator(lineFilter);
+		Spliterator<LineData> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(new Runnable() {
+			@Override
+			public void run() {
+				iterator.close();
+			}
+		});
+	}
+
+	/**
+	 * 获取逐行读取文本文件的流，读取过程中的io异常以{@link UncheckedIOException}抛出，使用完毕后应关闭该流
+	 * 
+	 * @return
+	 */
+	public Stream<LineData> lines() {
+		return lines(null);
+	}
 	
 	/**
 	 * 获取文本文件每行数据
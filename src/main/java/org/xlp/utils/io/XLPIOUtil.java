@@ -17,6 +17,10 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.charset.Charset;
 
 import org.xlp.utils.XLPStringUtil;
@@ -938,6 +942,66 @@ public class XLPIOUtil {
 		return closeSucc;
 	}
 
+	/**
+	 * 立即释放内存映射缓冲区占用的映射，不必等待垃圾回收（在Windows下映射未释放时文件不能删除或重命名）
+	 * <p>
+	 * 释放后不能再访问该缓冲区及由它创建的其他缓冲区，否则可能导致虚拟机崩溃
+	 * 
+	 * @param buffer
+	 * @return 当释放出错或当前运行环境不支持时，返回false，此时映射在缓冲区被垃圾回收时释放
+	 */
+	public static boolean unmap(MappedByteBuffer buffer) {
+		if (buffer == null) {
+			return false;
+		}
+		try {
+			BufferCleaner.clean(buffer);
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * 直接缓冲区释放器，java9及以上版本使用sun.misc.Unsafe.invokeCleaner，java8使用DirectByteBuffer.cleaner()
+	 */
+	private static final class BufferCleaner {
+		private static final Object UNSAFE;
+
+		private static final Method INVOKE_CLEANER;
+
+		static {
+			Object unsafe = null;
+			Method invokeCleaner = null;
+			try {
+				Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+				invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+				Field field = unsafeClass.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				unsafe = field.get(null);
+			} catch (Exception e) {
+				invokeCleaner = null;
+			}
+			UNSAFE = unsafe;
+			INVOKE_CLEANER = invokeCleaner;
+		}
+
+		static void clean(ByteBuffer buffer) throws Exception {
+			if (INVOKE_CLEANER != null) {
+				INVOKE_CLEANER.invoke(UNSAFE, buffer);
+				return;
+			}
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+			if (cleaner != null) {
+				Method cleanMethod = cleaner.getClass().getMethod("clean");
+				cleanMethod.setAccessible(true);
+				cleanMethod.invoke(cleaner);
+			}
+		}
+	}
+
 	/**
 	 * 把指定的数据写入指定的输出流中
 	 * 
@@ -0,0 +1,393 @@
+package org.xlp.zip;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * zip并行压缩类
+ * <p>
+ * 每个文件在线程池中独立压缩到各自的缓存中（超过阈值时转存到临时文件），调用线程按实体顺序把压缩好的数据写入zip文件，
+ * 生成的zip文件中实体的顺序与线程执行顺序无关。同时压缩中的实体数有上限，内存占用与文件数量及大小无关。
+ * 未修改的实体可以直接从之前的zip文件中复制压缩数据，不再重新压缩
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+final class ParallelZipCompressor {
+	/**
+	 * 单个实体压缩数据在内存中最多保存的字节数，超过后转存到临时文件
+	 */
+	private static final int SPILL_THRESHOLD = 8 * 1024 * 1024;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	private final Charset charset;
+
+	private final int level;
+
+	private final int parallelism;
+
+	/**
+	 * 可重用的压缩上下文，每个线程同时只使用一个
+	 */
+	private final ConcurrentLinkedQueue<DeflateContext> contexts = new ConcurrentLinkedQueue<DeflateContext>();
+
+	/**
+	 * 已压缩完成但尚未写入zip文件的压缩数据，压缩失败时用来删除临时文件，压缩中的数据由压缩线程自己删除
+	 */
+	private final Set<SpillBuffer> pending = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * 压缩是否已结束，结束后完成的压缩结果直接丢弃，压缩上下文由压缩线程自己释放
+	 */
+	private volatile boolean closed = false;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param charset 实体名称编码
+	 * @param level 压缩级别
+	 * @param parallelism 压缩线程数
+	 */
+	ParallelZipCompressor(Charset charset, int level, int parallelism) {
+		this.charset = charset;
+		this.level = level;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * 压缩给定的实体并写入输出流，完成后关闭输出流
+	 *
+	 * @param sources 要压缩的实体，按该顺序写入zip文件
+	 * @param out
+	 * @param manifest 记录写入的文件实体信息的清单，可以为null
+	 * @return 压缩统计信息
+	 * @throws IOException 假如压缩失败，则抛出该异常
+	 */
+	ZipStats compress(List<SourceEntry> sources, OutputStream out, ZipManifest manifest) throws IOException {
+		long start = System.currentTimeMillis();
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "xlp-zip-" + THREAD_NUMBER.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		int maxInFlight = parallelism * 2;
+		ArrayDeque<Future<CompressedEntry>> inFlight = new ArrayDeque<Future<CompressedEntry>>(maxInFlight);
+		RawZipWriter writer = new RawZipWriter(out, charset);
+		byte[] buffer = new byte[BUFFER_SIZE];
+		long totalBytes = 0;
+		long compressedBytes = 0;
+		int reused = 0;
+		boolean success = false;
+		try {
+			int next = 0;
+			int size = sources.size();
+			while (next < size || !inFlight.isEmpty()) {
+				while (next < size && inFlight.size() < maxInFlight) {
+					SourceEntry source = sources.get(next++);
+					if (source.file == null || source.copy != null) {
+						// 目录及直接复制的实体不需要压缩，由调用线程写入
+						inFlight.add(CompletableFuture.completedFuture(prepared(source)));
+					} else {
+						inFlight.add(executor.submit(newTask(source)));
+					}
+				}
+				CompressedEntry compressed = await(inFlight.poll());
+				try {
+					writer.putEntry(compressed.entry);
+					if (compressed.data != null) {
+						compressed.data.writeTo(writer, buffer);
+					} else if (compressed.source.copy != null) {
+						compressed.source.copy.writeTo(writer, buffer);
+						reused++;
+					}
+					writer.closeEntry();
+				} finally {
+					delete(compressed.data);
+				}
+				if (manifest != null && compressed.source.file != null) {
+					manifest.put(compressed.entry.name, compressed.entry.size, compressed.source.time,
+							compressed.entry.crc);
+				}
+				totalBytes += compressed.entry.size;
+				compressedBytes += compressed.entry.compressedSize;
+			}
+			writer.finish();
+			success = true;
+		} finally {
+			closed = true;
+			executor.shutdownNow();
+			awaitTermination(executor);
+			for (SpillBuffer data : pending) {
+				delete(data);
+			}
+			DeflateContext context;
+			while ((context = contexts.poll()) != null) {
+				context.deflater.end();
+			}
+			if (success) {
+				writer.close();
+			} else {
+				writer.abort();
+			}
+		}
+		return new ZipStats(sources.size(), totalBytes, compressedBytes, writer.getWritten(),
+				System.currentTimeMillis() - start, parallelism, reused);
+	}
+
+	private Callable<CompressedEntry> newTask(final SourceEntry source) {
+		return new Callable<CompressedEntry>() {
+			@Override
+			public CompressedEntry call() throws IOException {
+				return deflate(source);
+			}
+		};
+	}
+
+	/**
+	 * 获取目录或直接复制的实体的头信息
+	 *
+	 * @param source
+	 * @return
+	 */
+	private CompressedEntry prepared(SourceEntry source) {
+		RawZipWriter.Entry entry;
+		if (source.copy != null) {
+			ZipCentralDirectory.RawEntry raw = source.copy.entry;
+			entry = new RawZipWriter.Entry(source.name, raw.method, raw.crc, raw.compressedSize, raw.size,
+					source.time);
+		} else {
+			entry = new RawZipWriter.Entry(source.name, ZipEntry.STORED, 0, 0, 0, source.time);
+		}
+		return new CompressedEntry(source, entry, null);
+	}
+
+	private CompressedEntry deflate(SourceEntry source) throws IOException {
+		DeflateContext context = contexts.poll();
+		if (context == null) {
+			context = new DeflateContext(level);
+		}
+		Deflater deflater = context.deflater;
+		CRC32 crc = context.crc;
+		byte[] input = context.input;
+		byte[] output = context.output;
+		deflater.reset();
+		crc.reset();
+		SpillBuffer data = new SpillBuffer(SPILL_THRESHOLD);
+		InputStream in = null;
+		boolean registered = false;
+		boolean success = false;
+		try {
+			in = new FileInputStream(source.file);
+			int n;
+			while ((n = in.read(input)) != -1) {
+				crc.update(input, 0, n);
+				deflater.setInput(input, 0, n);
+				while (!deflater.needsInput()) {
+					data.write(output, 0, deflater.deflate(output));
+				}
+			}
+			deflater.finish();
+			while (!deflater.finished()) {
+				data.write(output, 0, deflater.deflate(output));
+			}
+			data.close();
+			pending.add(data);
+			registered = true;
+			RawZipWriter.Entry entry = new RawZipWriter.Entry(source.name, ZipEntry.DEFLATED, crc.getValue(),
+					deflater.getBytesWritten(), deflater.getBytesRead(), source.time);
+			success = !closed;
+			return new CompressedEntry(source, entry, data);
+		} finally {
+			XLPIOUtil.closeInputStream(in);
+			if (!success && (!registered || pending.remove(data))) {
+				data.delete();
+			}
+			release(context);
+		}
+	}
+
+	/**
+	 * 归还压缩上下文，压缩已结束时直接释放，避免调用线程清理后归还的上下文占用的本地内存不能释放
+	 *
+	 * @param context
+	 */
+	private void release(DeflateContext context) {
+		contexts.offer(context);
+		// 调用线程可能已经清理过上下文，由remove保证同一个上下文只释放一次
+		if (closed && contexts.remove(context)) {
+			context.deflater.end();
+		}
+	}
+
+	/**
+	 * 等待线程池中的所有线程结束，等待期间的中断在结束后恢复
+	 *
+	 * @param executor
+	 */
+	static void awaitTermination(ExecutorService executor) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+					break;
+				}
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static CompressedEntry await(Future<CompressedEntry> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("压缩被中断", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	private void delete(SpillBuffer data) {
+		if (data != null && pending.remove(data)) {
+			data.delete();
+		}
+	}
+
+	/**
+	 * 要压缩的实体
+	 */
+	static final class SourceEntry {
+		/**
+		 * 要压缩的文件，为null时表示目录实体
+		 */
+		final File file;
+
+		final String name;
+
+		final long time;
+
+		/**
+		 * 不为null时直接从之前的zip文件中复制压缩数据
+		 */
+		RawCopy copy;
+
+		SourceEntry(File file, String name, long time) {
+			this.file = file;
+			this.name = name;
+			this.time = time;
+		}
+	}
+
+	/**
+	 * 之前的zip文件中可以直接复制的实体
+	 */
+	static final class RawCopy {
+		final FileChannel channel;
+
+		final ZipCentralDirectory.RawEntry entry;
+
+		RawCopy(FileChannel channel, ZipCentralDirectory.RawEntry entry) {
+			this.channel = channel;
+			this.entry = entry;
+		}
+
+		/**
+		 * 把实体的压缩数据原样写入zip当前实体
+		 *
+		 * @param writer
+		 * @param buffer
+		 * @throws IOException
+		 */
+		void writeTo(RawZipWriter writer, byte[] buffer) throws IOException {
+			long position = ZipCentralDirectory.dataOffset(channel, entry);
+			long remaining = entry.compressedSize;
+			ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+			while (remaining > 0) {
+				byteBuffer.clear();
+				if (remaining < buffer.length) {
+					byteBuffer.limit((int) remaining);
+				}
+				int n = channel.read(byteBuffer, position);
+				if (n < 0) {
+					throw new IOException("之前的zip文件数据不完整");
+				}
+				writer.writeData(buffer, 0, n);
+				position += n;
+				remaining -= n;
+			}
+		}
+	}
+
+	private static final class CompressedEntry {
+		final SourceEntry source;
+
+		final RawZipWriter.Entry entry;
+
+		final SpillBuffer data;
+
+		CompressedEntry(SourceEntry source, RawZipWriter.Entry entry, SpillBuffer data) {
+			this.source = source;
+			this.entry = entry;
+			this.data = data;
+		}
+	}
+
+	private static final class DeflateContext {
+		final Deflater deflater;
+
+		final CRC32 crc = new CRC32();
+
+		final byte[] input = new byte[BUFFER_SIZE];
+
+		final byte[] output = new byte[BUFFER_SIZE];
+
+		DeflateContext(int level) {
+			deflater = new Deflater(level, true);
+		}
+	}
+}
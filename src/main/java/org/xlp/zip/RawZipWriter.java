@@ -0,0 +1,445 @@
+package org.xlp.zip;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * zip文件底层写入类，直接写入已压缩好的实体数据，不再对数据进行压缩
+ * <p>
+ * 写入的数据必须是原始deflate格式（无zlib头）或未压缩数据。实体的CRC及压缩前后的大小可以在写入数据之前确定，
+ * 也可以在写完数据后用数据描述符写入（流式写入），文件或实体超过4G、实体数超过65535时自动使用ZIP64格式
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+final class RawZipWriter implements Closeable {
+	private static final int LOCAL_HEADER_SIG = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+	private static final int END_SIG = 0x06054b50;
+	private static final int ZIP64_END_SIG = 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+	private static final int DATA_DESCRIPTOR_SIG = 0x08074b50;
+	private static final int ZIP64_EXTRA_ID = 0x0001;
+
+	private static final int VERSION_DEFAULT = 20;
+	private static final int VERSION_ZIP64 = 45;
+
+	/**
+	 * 通用标记位：文件名使用UTF-8编码
+	 */
+	private static final int FLAG_UTF8 = 0x0800;
+
+	/**
+	 * 通用标记位：CRC及大小在数据之后的数据描述符中
+	 */
+	private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+	private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final OutputStream out;
+
+	private final Charset charset;
+
+	private final int flag;
+
+	private final List<Entry> entries = new ArrayList<Entry>();
+
+	private final Set<String> names = new HashSet<String>();
+
+	private final byte[] header = new byte[64];
+
+	/**
+	 * 当前实体
+	 */
+	private Entry current;
+
+	/**
+	 * 当前实体已写入的数据字节数
+	 */
+	private long currentWritten;
+
+	/**
+	 * 已写入的字节数
+	 */
+	private long written = 0;
+
+	private boolean finished = false;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param out 输出流
+	 * @param charset 实体名称编码
+	 */
+	RawZipWriter(OutputStream out, Charset charset) {
+		this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+		this.charset = charset;
+		this.flag = StandardCharsets.UTF_8.equals(charset) ? FLAG_UTF8 : 0;
+	}
+
+	/**
+	 * 开始写入一个实体，写入实体头信息
+	 *
+	 * @param entry
+	 * @throws ZipException 假如实体名称重复，则抛出该异常
+	 * @throws IOException 假如写入失败，则抛出该异常
+	 */
+	void putEntry(Entry entry) throws IOException {
+		if (current != null) {
+			closeEntry();
+		}
+		if (!names.add(entry.name)) {
+			throw new ZipException("duplicate entry: " + entry.name);
+		}
+		byte[] nameBytes = entry.name.getBytes(charset);
+		boolean zip64 = entry.zip64 || entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+		entry.zip64 = zip64;
+		entry.offset = written;
+		entry.nameBytes = nameBytes;
+		int pos = 0;
+		pos = putInt(header, pos, LOCAL_HEADER_SIG);
+		pos = putShort(header, pos, zip64 ? VERSION_ZIP64 : VERSION_DEFAULT);
+		pos = putShort(header, pos, flags(entry));
+		pos = putShort(header, pos, entry.method);
+		pos = putInt(header, pos, (int) entry.dosTime);
+		pos = putInt(header, pos, (int) entry.crc);
+		pos = putInt(header, pos, (int) (zip64 ? ZIP64_MAGIC : entry.compressedSize));
+		pos = putInt(header, pos, (int) (zip64 ? ZIP64_MAGIC : entry.size));
+		pos = putShort(header, pos, nameBytes.length);
+		pos = putShort(header, pos, zip64 ? 20 : 0);
+		write(header, 0, pos);
+		write(nameBytes, 0, nameBytes.length);
+		if (zip64) {
+			pos = putShort(header, 0, ZIP64_EXTRA_ID);
+			pos = putShort(header, pos, 16);
+			pos = putLong(header, pos, entry.size);
+			pos = putLong(header, pos, entry.compressedSize);
+			write(header, 0, pos);
+		}
+		current = entry;
+		currentWritten = 0;
+		entries.add(entry);
+	}
+
+	/**
+	 * 开始写入一个CRC及大小未知的压缩实体，这些信息在{@link #closeEntry(long, long)}时写入数据描述符
+	 * <p>
+	 * 读取时按本地实体头解析的工具（如{@link java.util.zip.ZipInputStream}）只能识别使用数据描述符的压缩实体，
+	 * 不压缩的实体需要先确定CRC及大小再用{@link #putEntry(Entry)}写入
+	 *
+	 * @param name 实体名称
+	 * @param time 修改时间（毫秒数）
+	 * @param zip64 实体是否可能超过4G，为true时在本地实体头中写入ZIP64扩展字段，数据描述符使用8字节的大小
+	 * @throws ZipException 假如实体名称重复，则抛出该异常
+	 * @throws IOException 假如写入失败，则抛出该异常
+	 */
+	void putStreamingEntry(String name, long time, boolean zip64) throws IOException {
+		Entry entry = new Entry(name, ZipEntry.DEFLATED, 0, 0, 0, time);
+		entry.dataDescriptor = true;
+		entry.zip64 = zip64;
+		putEntry(entry);
+	}
+
+	/**
+	 * 结束用{@link #putStreamingEntry(String, int, long)}开始的实体，写入数据描述符
+	 *
+	 * @param crc 未压缩数据的CRC-32值
+	 * @param size 未压缩的字节数
+	 * @throws ZipException 假如当前实体不是流式写入的实体，或超过4G但本地实体头中没有ZIP64扩展字段，则抛出该异常
+	 * @throws IOException 假如写入失败，则抛出该异常
+	 */
+	void closeEntry(long crc, long size) throws IOException {
+		if (current == null || !current.dataDescriptor) {
+			throw new ZipException("no current streaming ZIP entry");
+		}
+		Entry entry = current;
+		entry.crc = crc;
+		entry.size = size;
+		entry.compressedSize = currentWritten;
+		if (!entry.zip64 && (size >= ZIP64_MAGIC || currentWritten >= ZIP64_MAGIC)) {
+			throw new ZipException("streaming ZIP entry exceeds 4G without ZIP64 extra field: " + entry.name);
+		}
+		// 本地实体头中有ZIP64扩展字段时数据描述符必须使用8字节的大小
+		int pos = putInt(header, 0, DATA_DESCRIPTOR_SIG);
+		pos = putInt(header, pos, (int) crc);
+		if (entry.zip64) {
+			pos = putLong(header, pos, currentWritten);
+			pos = putLong(header, pos, size);
+		} else {
+			pos = putInt(header, pos, (int) currentWritten);
+			pos = putInt(header, pos, (int) size);
+		}
+		write(header, 0, pos);
+		current = null;
+	}
+
+	/**
+	 * 把缓冲的数据写入输出流
+	 *
+	 * @throws IOException
+	 */
+	void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * 写入当前实体的数据（已压缩的数据）
+	 *
+	 * @param b
+	 * @param off
+	 * @param len
+	 * @throws IOException
+	 */
+	void writeData(byte[] b, int off, int len) throws IOException {
+		if (current == null) {
+			throw new ZipException("no current ZIP entry");
+		}
+		write(b, off, len);
+		currentWritten += len;
+	}
+
+	/**
+	 * 结束当前实体
+	 *
+	 * @throws ZipException 假如写入的数据大小与实体头中的大小不一致，则抛出该异常
+	 */
+	void closeEntry() throws IOException {
+		if (current == null) {
+			return;
+		}
+		Entry entry = current;
+		if (entry.dataDescriptor) {
+			throw new ZipException("streaming ZIP entry must be closed with crc and size: " + entry.name);
+		}
+		current = null;
+		if (currentWritten != entry.compressedSize) {
+			throw new ZipException("invalid entry compressed size (expected " + entry.compressedSize
+					+ " but got " + currentWritten + " bytes): " + entry.name);
+		}
+	}
+
+	/**
+	 * 获取已写入的字节数
+	 *
+	 * @return
+	 */
+	long getWritten() {
+		return written;
+	}
+
+	/**
+	 * 写入中央目录，结束zip文件，不关闭输出流
+	 *
+	 * @throws IOException
+	 */
+	void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		closeEntry();
+		finished = true;
+		long cdOffset = written;
+		for (Entry entry : entries) {
+			writeCentralHeader(entry);
+		}
+		long cdSize = written - cdOffset;
+		int count = entries.size();
+		if (count >= ZIP64_MAGIC_COUNT || cdOffset >= ZIP64_MAGIC || cdSize >= ZIP64_MAGIC) {
+			long zip64EndOffset = written;
+			int pos = putInt(header, 0, ZIP64_END_SIG);
+			pos = putLong(header, pos, 44);
+			pos = putShort(header, pos, VERSION_ZIP64);
+			pos = putShort(header, pos, VERSION_ZIP64);
+			pos = putInt(header, pos, 0);
+			pos = putInt(header, pos, 0);
+			pos = putLong(header, pos, count);
+			pos = putLong(header, pos, count);
+			pos = putLong(header, pos, cdSize);
+			pos = putLong(header, pos, cdOffset);
+			write(header, 0, pos);
+			pos = putInt(header, 0, ZIP64_LOCATOR_SIG);
+			pos = putInt(header, pos, 0);
+			pos = putLong(header, pos, zip64EndOffset);
+			pos = putInt(header, pos, 1);
+			write(header, 0, pos);
+		}
+		int pos = putInt(header, 0, END_SIG);
+		pos = putShort(header, pos, 0);
+		pos = putShort(header, pos, 0);
+		pos = putShort(header, pos, Math.min(count, ZIP64_MAGIC_COUNT));
+		pos = putShort(header, pos, Math.min(count, ZIP64_MAGIC_COUNT));
+		pos = putInt(header, pos, (int) Math.min(cdSize, ZIP64_MAGIC));
+		pos = putInt(header, pos, (int) Math.min(cdOffset, ZIP64_MAGIC));
+		pos = putShort(header, pos, 0);
+		write(header, 0, pos);
+		out.flush();
+	}
+
+	private void writeCentralHeader(Entry entry) throws IOException {
+		boolean sizeZip64 = entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+		boolean offsetZip64 = entry.offset >= ZIP64_MAGIC;
+		int extraLength = (sizeZip64 ? 16 : 0) + (offsetZip64 ? 8 : 0);
+		int version = sizeZip64 || offsetZip64 ? VERSION_ZIP64 : VERSION_DEFAULT;
+		int pos = putInt(header, 0, CENTRAL_HEADER_SIG);
+		pos = putShort(header, pos, version);
+		pos = putShort(header, pos, version);
+		pos = putShort(header, pos, flags(entry));
+		pos = putShort(header, pos, entry.method);
+		pos = putInt(header, pos, (int) entry.dosTime);
+		pos = putInt(header, pos, (int) entry.crc);
+		pos = putInt(header, pos, (int) (sizeZip64 ? ZIP64_MAGIC : entry.compressedSize));
+		pos = putInt(header, pos, (int) (sizeZip64 ? ZIP64_MAGIC : entry.size));
+		pos = putShort(header, pos, entry.nameBytes.length);
+		pos = putShort(header, pos, extraLength == 0 ? 0 : extraLength + 4);
+		pos = putShort(header, pos, 0);
+		pos = putShort(header, pos, 0);
+		pos = putShort(header, pos, 0);
+		// 外部属性：目录实体设置MS-DOS目录属性
+		pos = putInt(header, pos, entry.name.endsWith("/") ? 0x10 : 0);
+		pos = putInt(header, pos, (int) (offsetZip64 ? ZIP64_MAGIC : entry.offset));
+		write(header, 0, pos);
+		write(entry.nameBytes, 0, entry.nameBytes.length);
+		if (extraLength > 0) {
+			pos = putShort(header, 0, ZIP64_EXTRA_ID);
+			pos = putShort(header, pos, extraLength);
+			if (sizeZip64) {
+				pos = putLong(header, pos, entry.size);
+				pos = putLong(header, pos, entry.compressedSize);
+			}
+			if (offsetZip64) {
+				pos = putLong(header, pos, entry.offset);
+			}
+			write(header, 0, pos);
+		}
+	}
+
+	private int flags(Entry entry) {
+		return entry.dataDescriptor ? flag | FLAG_DATA_DESCRIPTOR : flag;
+	}
+
+	private void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+		written += len;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			finish();
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * 写入失败时直接关闭输出流，不写入中央目录
+	 */
+	void abort() {
+		finished = true;
+		try {
+			out.close();
+		} catch (IOException e) {
+		}
+	}
+
+	private static int putShort(byte[] b, int pos, int value) {
+		b[pos] = (byte) value;
+		b[pos + 1] = (byte) (value >>> 8);
+		return pos + 2;
+	}
+
+	private static int putInt(byte[] b, int pos, int value) {
+		b[pos] = (byte) value;
+		b[pos + 1] = (byte) (value >>> 8);
+		b[pos + 2] = (byte) (value >>> 16);
+		b[pos + 3] = (byte) (value >>> 24);
+		return pos + 4;
+	}
+
+	private static int putLong(byte[] b, int pos, long value) {
+		putInt(b, pos, (int) value);
+		return putInt(b, pos + 4, (int) (value >>> 32));
+	}
+
+	/**
+	 * 把java时间转换成MS-DOS时间，高16位为日期，低16位为时间
+	 *
+	 * @param time 毫秒数
+	 * @return
+	 */
+	static long toDosTime(long time) {
+		LocalDateTime d = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year = d.getYear();
+		if (year < 1980) {
+			return (1 << 21) | (1 << 16);
+		}
+		return ((long) (year - 1980) << 25) | (d.getMonthValue() << 21) | (d.getDayOfMonth() << 16)
+				| (d.getHour() << 11) | (d.getMinute() << 5) | (d.getSecond() >> 1);
+	}
+
+	/**
+	 * 已压缩好的zip实体信息
+	 */
+	static final class Entry {
+		final String name;
+
+		final int method;
+
+		final long dosTime;
+
+		long crc;
+
+		long compressedSize;
+
+		long size;
+
+		/**
+		 * CRC及大小是否写在数据之后的数据描述符中
+		 */
+		boolean dataDescriptor = false;
+
+		/**
+		 * 本地实体头中是否有ZIP64扩展字段
+		 */
+		boolean zip64 = false;
+
+		byte[] nameBytes;
+
+		long offset;
+
+		/**
+		 * 构造函数
+		 *
+		 * @param name 实体名称
+		 * @param method 压缩方式，{@link ZipEntry#DEFLATED}或{@link ZipEntry#STORED}
+		 * @param crc 未压缩数据的CRC-32值
+		 * @param compressedSize 压缩后的字节数
+		 * @param size 未压缩的字节数
+		 * @param time 修改时间（毫秒数）
+		 */
+		Entry(String name, int method, long crc, long compressedSize, long size, long time) {
+			this.name = name;
+			this.method = method;
+			this.crc = crc;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.dosTime = toDosTime(time);
+		}
+	}
+}
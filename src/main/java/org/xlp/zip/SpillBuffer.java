@@ -0,0 +1,136 @@
+package org.xlp.zip;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * 压缩数据缓存，数据量不超过阈值时保存在内存中，超过后转存到临时文件
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+final class SpillBuffer extends OutputStream {
+	/**
+	 * 内存中最多保存的字节数
+	 */
+	private final int threshold;
+
+	private byte[] buf = new byte[8 * 1024];
+
+	private int count = 0;
+
+	private File file;
+
+	private OutputStream fileOut;
+
+	private long size = 0;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param threshold 内存中最多保存的字节数
+	 */
+	SpillBuffer(int threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (file == null && count + len > threshold) {
+			spill();
+		}
+		if (file != null) {
+			fileOut.write(b, off, len);
+		} else {
+			if (count + len > buf.length) {
+				buf = Arrays.copyOf(buf, Math.min(Math.max(count + len, buf.length * 2), threshold));
+			}
+			System.arraycopy(b, off, buf, count, len);
+			count += len;
+		}
+		size += len;
+	}
+
+	private void spill() throws IOException {
+		file = File.createTempFile("xlp-zip-", ".tmp");
+		fileOut = new FileOutputStream(file);
+		fileOut.write(buf, 0, count);
+		buf = null;
+		count = 0;
+	}
+
+	/**
+	 * 获取已写入的字节数
+	 *
+	 * @return
+	 */
+	long size() {
+		return size;
+	}
+
+	/**
+	 * 是否已转存到临时文件
+	 *
+	 * @return
+	 */
+	boolean isSpilled() {
+		return file != null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (fileOut != null) {
+			fileOut.close();
+			fileOut = null;
+		}
+	}
+
+	/**
+	 * 把缓存的数据写入zip当前实体
+	 *
+	 * @param writer
+	 * @param buffer 从临时文件读取数据时使用的缓冲区
+	 * @throws IOException
+	 */
+	void writeTo(RawZipWriter writer, byte[] buffer) throws IOException {
+		if (file == null) {
+			writer.writeData(buf, 0, count);
+			return;
+		}
+		close();
+		InputStream in = new FileInputStream(file);
+		try {
+			int n;
+			while ((n = in.read(buffer)) != -1) {
+				writer.writeData(buffer, 0, n);
+			}
+		} finally {
+			XLPIOUtil.closeInputStream(in);
+		}
+	}
+
+	/**
+	 * 释放缓存，删除临时文件
+	 */
+	void delete() {
+		buf = null;
+		if (file != null) {
+			XLPIOUtil.closeOutputStream(fileOut);
+			fileOut = null;
+			file.delete();
+			file = null;
+		}
+	}
+}
@@ -34,6 +34,11 @@ public class UnZip {
 	
 	private boolean closeZipInputStream = false;
 	
+	/**
+	 * 用zip文件创建对象时的zip文件，用来随机读取及并行解压
+	 */
+	private File zipFile;
+	
 	/**
 	 * 输入流
 	 * 
@@ -91,6 +96,7 @@ public class UnZip {
 		zipInputStream = new ZipInputStream(new FileInputStream(zipFile), 
 				Charset.forName(charsetName));
 		closeZipInputStream = true;
+		this.zipFile = zipFile;
 	}
 	
 	/**
@@ -124,6 +130,7 @@ public class UnZip {
 		zipInputStream = new ZipInputStream(new FileInputStream(zipFile), 
 				Charset.forName(charsetName));
 		closeZipInputStream = true;
+		this.zipFile = new File(zipFile);
 	}
 
 	public String getCharsetName() {
@@ -237,6 +244,92 @@ public class UnZip {
 		unZip(new File(destDir));
 	}
 	
+	/**
+	 * 读取zip文件的中央目录后并行解压与给定通配符匹配的实体，只能用于用zip文件创建的对象，
+	 * 通配符规则见{@link ZipExtractor#getEntries(String)}
+	 * 
+	 * @param destDir
+	 *            保存文件目标目录
+	 * @param glob
+	 *            通配符，为空时解压所有实体
+	 * @param parallelism
+	 *            解压线程数，小于1时为CPU核数
+	 * @return 解压统计信息
+	 * @throws IOException
+	 *             假如文件读写失败，抛出该异常
+	 * @throws NullPointerException
+	 *             假如目标目录为空，抛出该异常
+	 * @throws IllegalStateException
+	 *             假如该对象不是用zip文件创建的，抛出该异常
+	 */
+	public ZipStats unZip(File destDir, String glob, int parallelism) throws IOException {
+		ZipExtractor extractor = openExtractor();
+		try {
+			return extractor.extract(destDir, glob, parallelism);
+		} finally {
+			extractor.close();
+		}
+	}
+	
+	/**
+	 * 读取zip文件的中央目录后并行解压所有实体，只能用于用zip文件创建的对象
+	 * 
+	 * @param destDir
+	 *            保存文件目标目录
+	 * @param parallelism
+	 *            解压线程数，小于1时为CPU核数
+	 * @return 解压统计信息
+	 * @throws IOException
+	 *             假如文件读写失败，抛出该异常
+	 * @throws NullPointerException
+	 *             假如目标目录为空，抛出该异常
+	 * @throws IllegalStateException
+	 *             假如该对象不是用zip文件创建的，抛出该异常
+	 */
+	public ZipStats unZip(File destDir, int parallelism) throws IOException {
+		return unZip(destDir, null, parallelism);
+	}
+	
+	/**
+	 * 只解压给定名称的实体，不解压其他实体，只能用于用zip文件创建的对象
+	 * 
+	 * @param entryName
+	 *            实体名称
+	 * @param destDir
+	 *            保存文件目标目录
+	 * @return 解压后的文件或目录，实体不存在时返回null
+	 * @throws IOException
+	 *             假如文件读写失败，抛出该异常
+	 * @throws NullPointerException
+	 *             假如目标目录为空，抛出该异常
+	 * @throws IllegalStateException
+	 *             假如该对象不是用zip文件创建的，抛出该异常
+	 */
+	public File unZipEntry(String entryName, File destDir) throws IOException {
+		ZipExtractor extractor = openExtractor();
+		try {
+			return extractor.extract(entryName, destDir);
+		} finally {
+			extractor.close();
+		}
+	}
+	
+	/**
+	 * 创建zip文件随机读取对象，同时关闭不再使用的输入流
+	 * 
+	 * @return
+	 * @throws IOException
+	 */
+	private ZipExtractor openExtractor() throws IOException {
+		if (zipFile == null) {
+			throw new IllegalStateException("只有用zip文件创建的对象才能随机读取及并行解压！");
+		}
+		if (closeZipInputStream) {
+			XLPIOUtil.closeInputStream(zipInputStream);
+		}
+		return new ZipExtractor(zipFile, charsetName);
+	}
+	
 	public boolean isCloseZipInputStream() {
 		return closeZipInputStream;
 	}
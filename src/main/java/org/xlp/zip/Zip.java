@@ -6,8 +6,15 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipOutputStream;
 
 import org.xlp.utils.XLPStringUtil;
@@ -38,6 +45,10 @@ public class Zip {
 	 * 给zip内部添加目录
 	 */
 	private String zipInDir = ""; 
+	/**
+	 * 并行压缩时的压缩级别
+	 */
+	private int level = Deflater.DEFAULT_COMPRESSION;
 	
 	/**
 	 * @param srcFiles
@@ -148,11 +159,7 @@ public class Zip {
 		ZipOutputStream zos = null;
 		try {
 			zos = new ZipOutputStream(out, Charset.forName(charsetName)); 
-			zipInDir = XLPStringUtil.emptyTrim(zipInDir);
-			zipInDir = zipInDir.replace("\\", "/");
-			if (!zipInDir.endsWith("/")) {
-				zipInDir += "/";
-			}
+			normalizeZipInDir();
 			for (File srcFile : srcFiles) { 
 				//判断压缩文件是否存在，存在则进行压缩
 				if (srcFile.exists()) {
@@ -187,6 +194,26 @@ public class Zip {
 	 * @throws IOException 假如文件压缩失败，则抛出该异常  
 	 */
 	public void toZip(File destFile, boolean keepDirStructure) throws IOException {
+		BufferedOutputStream out = null;
+		try {
+			out = new BufferedOutputStream(new FileOutputStream(resolveDestFile(destFile)));
+			toZip(out, keepDirStructure);
+		} finally{
+			if (out != null) {
+				out.close();
+				out = null;
+			}
+		}
+	}
+	
+	/**
+	 * 获取zip目标保存文件，并创建其父目录
+	 * 
+	 * @param destFile
+	 *            zip目标保存文件，为null或目录时使用第一个源文件的名称
+	 * @return
+	 */
+	private File resolveDestFile(File destFile) {
 		File srcFile = srcFiles[0];
 		String name = srcFile.getName();
 		if (srcFile.isFile()) { 
@@ -208,16 +235,17 @@ public class Zip {
 		if (parentFile != null && !parentFile.exists()) {
 			parentFile.mkdirs();
 		}
-		
-		BufferedOutputStream out = null;
-		try {
-			out = new BufferedOutputStream(new FileOutputStream(destFile));
-			toZip(out, keepDirStructure);
-		} finally{
-			if (out != null) {
-				out.close();
-				out = null;
-			}
+		return destFile;
+	}
+	
+	/**
+	 * 格式化zip内部目录，统一使用"/"分隔并以"/"结尾
+	 */
+	private void normalizeZipInDir() {
+		zipInDir = XLPStringUtil.emptyTrim(zipInDir);
+		zipInDir = zipInDir.replace("\\", "/");
+		if (!zipInDir.endsWith("/")) {
+			zipInDir += "/";
 		}
 	}
 	
@@ -263,6 +291,259 @@ public class Zip {
 		toZip(destFile, false);
 	}
 	
+	/**
+	 * 并行zip压缩
+	 * <p>
+	 * 每个文件在线程池中独立压缩，然后按与{@link #toZip(OutputStream, boolean)}相同的实体顺序写入zip文件，
+	 * 文件较多或较大时可以利用多个CPU核。实体修改时间为源文件的修改时间。压缩完成后关闭输出流
+	 * 
+	 * @param out
+	 *            压缩文件输出流
+	 * @param keepDirStructure
+	 *            是否保留原来的目录结构,true:保留目录结构;
+	 *            false:所有文件跑到压缩包根目录下(注意：不保留目录结构可能会出现同名文件,会压缩失败)
+	 * @param parallelism
+	 *            压缩线程数，小于1时为CPU核数
+	 * @return 压缩统计信息
+	 * @throws IOException 假如文件压缩失败，则抛出该异常  
+	 * @throws NullPointerException 假如参数为空，则抛出该异常 
+	 */
+	public ZipStats toZipParallel(OutputStream out, boolean keepDirStructure, int parallelism) throws IOException{
+		if (out == null) {
+			throw new NullPointerException("out 参数不能为空！");
+		}
+		if (parallelism < 1) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		}
+		List<ParallelZipCompressor.SourceEntry> sources;
+		try {
+			sources = collectSources(keepDirStructure);
+		} catch (RuntimeException e) {
+			out.close();
+			throw e;
+		}
+		ParallelZipCompressor compressor = new ParallelZipCompressor(Charset.forName(charsetName), 
+				level, parallelism);
+		return compressor.compress(sources, out, null);
+	}
+	
+	/**
+	 * 并行zip压缩，压缩线程数为CPU核数
+	 * 
+	 * @param out
+	 *            压缩文件输出流
+	 * @param keepDirStructure
+	 *            是否保留原来的目录结构,true:保留目录结构;
+	 *            false:所有文件跑到压缩包根目录下(注意：不保留目录结构可能会出现同名文件,会压缩失败)
+	 * @return 压缩统计信息
+	 * @throws IOException 假如文件压缩失败，则抛出该异常  
+	 * @throws NullPointerException 假如参数为空，则抛出该异常 
+	 */
+	public ZipStats toZipParallel(OutputStream out, boolean keepDirStructure) throws IOException{
+		return toZipParallel(out, keepDirStructure, 0);
+	}
+	
+	/**
+	 * 并行压缩成ZIP
+	 * 
+	 * @param destFile
+	 *            zip目标保存文件
+	 * @param keepDirStructure
+	 *            是否保留原来的目录结构,true:保留目录结构;
+	 *            false:所有文件跑到压缩包根目录下(注意：不保留目录结构可能会出现同名文件,会压缩失败)
+	 * @param parallelism
+	 *            压缩线程数，小于1时为CPU核数
+	 * @return 压缩统计信息
+	 * @throws IOException 假如文件压缩失败，则抛出该异常  
+	 */
+	public ZipStats toZipParallel(File destFile, boolean keepDirStructure, int parallelism) throws IOException {
+		return toZipParallel(new FileOutputStream(resolveDestFile(destFile)), keepDirStructure, parallelism);
+	}
+	
+	/**
+	 * 并行压缩成ZIP
+	 * 
+	 * @param destFile
+	 *            zip目标保存文件
+	 * @param keepDirStructure
+	 *            是否保留原来的目录结构,true:保留目录结构;
+	 *            false:所有文件跑到压缩包根目录下(注意：不保留目录结构可能会出现同名文件,会压缩失败)
+	 * @param parallelism
+	 *            压缩线程数，小于1时为CPU核数
+	 * @return 压缩统计信息
+	 * @throws IOException 假如文件压缩失败，则抛出该异常  
+	 */
+	public ZipStats toZipParallel(String destFile, boolean keepDirStructure, int parallelism) throws IOException {
+		File file = null;
+		if (!XLPStringUtil.isEmpty(destFile)) {
+			file = new File(destFile.trim());
+		}
+		return toZipParallel(file, keepDirStructure, parallelism);
+	}
+	
+	/**
+	 * 增量压缩成ZIP
+	 * <p>
+	 * 与之前的zip文件的清单（zip文件名加".manifest"）比较，大小及修改时间都未变化的文件直接复制之前的zip文件中的压缩数据，
+	 * 不再重新压缩，只有新增及修改过的文件在线程池中并行压缩。之前的zip文件或清单不存在时全部压缩。
+	 * 新的zip文件先写入临时文件，完成后替换目标文件，然后在目标文件旁边保存新的清单。
+	 * 注意：修改内容后又还原修改时间且大小不变的文件不会重新压缩
+	 * 
+	 * @param destFile
+	 *            zip目标保存文件
+	 * @param previousZip
+	 *            之前的zip文件，为null时为目标文件
+	 * @param keepDirStructure
+	 *            是否保留原来的目录结构,true:保留目录结构;
+	 *            false:所有文件跑到压缩包根目录下(注意：不保留目录结构可能会出现同名文件,会压缩失败)
+	 * @param parallelism
+	 *            压缩线程数，小于1时为CPU核数
+	 * @return 压缩统计信息
+	 * @throws IOException 假如文件压缩失败，则抛出该异常  
+	 */
+	public ZipStats toZipIncremental(File destFile, File previousZip, boolean keepDirStructure, 
+			int parallelism) throws IOException {
+		destFile = resolveDestFile(destFile).getAbsoluteFile();
+		if (previousZip == null) {
+			previousZip = destFile;
+		}
+		if (parallelism < 1) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		}
+		Charset charset = Charset.forName(charsetName);
+		List<ParallelZipCompressor.SourceEntry> sources = collectSources(keepDirStructure);
+		ZipManifest previous = previousZip.isFile() 
+				? ZipManifest.load(ZipManifest.manifestFile(previousZip)) : null;
+		File temp = File.createTempFile(destFile.getName() + "-", ".tmp", destFile.getParentFile());
+		FileChannel channel = null;
+		try {
+			if (previous != null) {
+				channel = FileChannel.open(previousZip.toPath(), StandardOpenOption.READ);
+				markUnchanged(sources, previous, channel, charset);
+			}
+			ZipManifest manifest = new ZipManifest();
+			ParallelZipCompressor compressor = new ParallelZipCompressor(charset, level, parallelism);
+			ZipStats stats = compressor.compress(sources, new FileOutputStream(temp), manifest);
+			if (channel != null) {
+				channel.close();
+				channel = null;
+			}
+			ZipManifest.replace(temp, destFile);
+			manifest.store(ZipManifest.manifestFile(destFile));
+			return stats;
+		} finally {
+			if (channel != null) {
+				channel.close();
+			}
+			temp.delete();
+		}
+	}
+	
+	/**
+	 * 增量压缩成ZIP，与目标文件及其清单比较，详见{@link #toZipIncremental(File, File, boolean, int)}
+	 * 
+	 * @param destFile
+	 *            zip目标保存文件
+	 * @param keepDirStructure
+	 *            是否保留原来的目录结构,true:保留目录结构;
+	 *            false:所有文件跑到压缩包根目录下(注意：不保留目录结构可能会出现同名文件,会压缩失败)
+	 * @param parallelism
+	 *            压缩线程数，小于1时为CPU核数
+	 * @return 压缩统计信息
+	 * @throws IOException 假如文件压缩失败，则抛出该异常  
+	 */
+	public ZipStats toZipIncremental(File destFile, boolean keepDirStructure, int parallelism) 
+			throws IOException {
+		return toZipIncremental(destFile, null, keepDirStructure, parallelism);
+	}
+	
+	/**
+	 * 标记大小及修改时间与清单一致、且在之前的zip文件中存在的文件实体，这些实体直接复制压缩数据
+	 * 
+	 * @param sources
+	 * @param previous 之前的清单
+	 * @param channel 之前的zip文件
+	 * @param charset
+	 * @throws IOException
+	 */
+	private void markUnchanged(List<ParallelZipCompressor.SourceEntry> sources, ZipManifest previous,
+			FileChannel channel, Charset charset) throws IOException {
+		Map<String, ZipCentralDirectory.RawEntry> rawEntries;
+		try {
+			rawEntries = ZipCentralDirectory.read(channel, charset);
+		} catch (ZipException e) {
+			// 之前的zip文件已损坏时全部重新压缩
+			return;
+		}
+		for (ParallelZipCompressor.SourceEntry source : sources) {
+			if (source.file == null) {
+				continue;
+			}
+			ZipManifest.Item item = previous.get(source.name);
+			ZipCentralDirectory.RawEntry raw = rawEntries.get(source.name);
+			if (item != null && raw != null && item.time == source.time && item.size == source.file.length()
+					&& raw.size == item.size && raw.crc == item.crc
+					&& (raw.method == ZipEntry.DEFLATED || raw.method == ZipEntry.STORED)) {
+				source.copy = new ParallelZipCompressor.RawCopy(channel, raw);
+			}
+		}
+	}
+	
+	/**
+	 * 收集要并行压缩的实体
+	 * 
+	 * @param keepDirStructure
+	 *            是否保留原来的目录结构
+	 * @return
+	 */
+	private List<ParallelZipCompressor.SourceEntry> collectSources(boolean keepDirStructure) {
+		normalizeZipInDir();
+		List<ParallelZipCompressor.SourceEntry> sources = new ArrayList<ParallelZipCompressor.SourceEntry>();
+		for (File srcFile : srcFiles) { 
+			//判断压缩文件是否存在，存在则进行压缩
+			if (srcFile.exists()) {
+				collect(srcFile, sources, zipInDir + srcFile.getName(), keepDirStructure);
+			}
+		}
+		return sources;
+	}
+	
+	/**
+	 * 递归收集要并行压缩的实体，实体名称及顺序与{@link #compress(File, ZipOutputStream, String, boolean)}相同
+	 * 
+	 * @param sourceFile
+	 *            源文件
+	 * @param sources
+	 *            收集到的实体
+	 * @param name
+	 *            压缩后的名称
+	 * @param keepDirStructure
+	 *            是否保留原来的目录结构
+	 */
+	private void collect(File sourceFile, List<ParallelZipCompressor.SourceEntry> sources,
+			String name, boolean keepDirStructure) {
+		if (sourceFile.isFile()) {
+			sources.add(new ParallelZipCompressor.SourceEntry(sourceFile, name, sourceFile.lastModified()));
+		} else {
+			File[] listFiles = sourceFile.listFiles();
+			if (listFiles == null || listFiles.length == 0) {
+				// 需要保留原来的文件结构时,需要对空文件夹进行处理
+				if (keepDirStructure) {
+					sources.add(new ParallelZipCompressor.SourceEntry(null, name + "/", 
+							sourceFile.lastModified()));
+				}
+			} else {
+				for (File file : listFiles) {
+					if (keepDirStructure) {
+						collect(file, sources, name + "/" + file.getName(), keepDirStructure);
+					} else {
+						collect(file, sources, file.getName(), keepDirStructure);
+					}
+				}
+			}
+		}
+	}
+	
 	/**
 	 * 递归压缩方法
 	 * 
@@ -354,6 +635,23 @@ public class Zip {
 		this.srcFiles = srcFiles;
 	}
 
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * 设置并行压缩时的压缩级别
+	 * 
+	 * @param level 0-9，或{@link Deflater#DEFAULT_COMPRESSION}
+	 * @throws IllegalArgumentException 假如压缩级别无效，则抛出该异常
+	 */
+	public void setLevel(int level) {
+		if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException("无效的压缩级别：" + level);
+		}
+		this.level = level;
+	}
+
 	public String getZipInDir() {
 		return zipInDir;
 	}
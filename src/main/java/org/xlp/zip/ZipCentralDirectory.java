@@ -0,0 +1,187 @@
+package org.xlp.zip;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipException;
+
+/**
+ * zip文件中央目录读取类，读取每个实体的CRC、大小及在zip文件中的位置，用来直接复制实体的压缩数据
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+final class ZipCentralDirectory {
+	private static final int LOCAL_HEADER_SIG = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+	private static final int END_SIG = 0x06054b50;
+	private static final int ZIP64_END_SIG = 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+	private static final int ZIP64_EXTRA_ID = 0x0001;
+
+	private static final int END_SIZE = 22;
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+	private static final int FLAG_UTF8 = 0x0800;
+
+	private ZipCentralDirectory() {
+	}
+
+	/**
+	 * 读取zip文件中央目录
+	 *
+	 * @param channel zip文件通道
+	 * @param charset 未设置UTF-8标记的实体名称编码
+	 * @return 实体名称与实体信息的映射
+	 * @throws ZipException 假如zip文件格式错误，则抛出该异常
+	 * @throws IOException 假如读取失败，则抛出该异常
+	 */
+	static Map<String, RawEntry> read(FileChannel channel, Charset charset) throws IOException {
+		long fileSize = channel.size();
+		int tailSize = (int) Math.min(fileSize, END_SIZE + MAX_COMMENT_SIZE);
+		ByteBuffer tail = readFully(channel, fileSize - tailSize, tailSize);
+		int endPos = -1;
+		for (int i = tailSize - END_SIZE; i >= 0; i--) {
+			if (tail.getInt(i) == END_SIG) {
+				endPos = i;
+				break;
+			}
+		}
+		if (endPos < 0) {
+			throw new ZipException("zip END header not found");
+		}
+		long count = tail.getShort(endPos + 10) & 0xFFFF;
+		long cdSize = tail.getInt(endPos + 12) & ZIP64_MAGIC;
+		long cdOffset = tail.getInt(endPos + 16) & ZIP64_MAGIC;
+		long endOffset = fileSize - tailSize + endPos;
+		if (endOffset >= ZIP64_LOCATOR_SIZE) {
+			ByteBuffer locator = readFully(channel, endOffset - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+			if (locator.getInt(0) == ZIP64_LOCATOR_SIG) {
+				ByteBuffer zip64End = readFully(channel, locator.getLong(8), 56);
+				if (zip64End.getInt(0) != ZIP64_END_SIG) {
+					throw new ZipException("invalid zip64 END header");
+				}
+				count = zip64End.getLong(32);
+				cdSize = zip64End.getLong(40);
+				cdOffset = zip64End.getLong(48);
+			}
+		}
+		if (cdSize > Integer.MAX_VALUE) {
+			throw new ZipException("zip central directory too large");
+		}
+		ByteBuffer cd = readFully(channel, cdOffset, (int) cdSize);
+		Map<String, RawEntry> entries = new HashMap<String, RawEntry>((int) Math.min(count * 2, 1 << 20));
+		int pos = 0;
+		for (long i = 0; i < count; i++) {
+			if (pos + CENTRAL_HEADER_SIZE > cdSize || cd.getInt(pos) != CENTRAL_HEADER_SIG) {
+				throw new ZipException("invalid zip central directory header");
+			}
+			int flag = cd.getShort(pos + 8) & 0xFFFF;
+			int method = cd.getShort(pos + 10) & 0xFFFF;
+			long crc = cd.getInt(pos + 16) & ZIP64_MAGIC;
+			long compressedSize = cd.getInt(pos + 20) & ZIP64_MAGIC;
+			long size = cd.getInt(pos + 24) & ZIP64_MAGIC;
+			int nameLength = cd.getShort(pos + 28) & 0xFFFF;
+			int extraLength = cd.getShort(pos + 30) & 0xFFFF;
+			int commentLength = cd.getShort(pos + 32) & 0xFFFF;
+			long offset = cd.getInt(pos + 42) & ZIP64_MAGIC;
+			byte[] nameBytes = new byte[nameLength];
+			ByteBuffer view = cd.duplicate();
+			view.position(pos + CENTRAL_HEADER_SIZE);
+			view.get(nameBytes);
+			// ZIP64扩展字段中只包含头信息中值为0xFFFFFFFF的字段，按大小、压缩后大小、位置的顺序
+			int extra = pos + CENTRAL_HEADER_SIZE + nameLength;
+			int extraEnd = extra + extraLength;
+			while (extra + 4 <= extraEnd) {
+				int id = cd.getShort(extra) & 0xFFFF;
+				int length = cd.getShort(extra + 2) & 0xFFFF;
+				if (id == ZIP64_EXTRA_ID) {
+					int field = extra + 4;
+					if (size == ZIP64_MAGIC) {
+						size = cd.getLong(field);
+						field += 8;
+					}
+					if (compressedSize == ZIP64_MAGIC) {
+						compressedSize = cd.getLong(field);
+						field += 8;
+					}
+					if (offset == ZIP64_MAGIC) {
+						offset = cd.getLong(field);
+					}
+					break;
+				}
+				extra += 4 + length;
+			}
+			String name = new String(nameBytes, (flag & FLAG_UTF8) != 0 ? StandardCharsets.UTF_8 : charset);
+			entries.put(name, new RawEntry(method, crc, compressedSize, size, offset));
+			pos = extraEnd + commentLength;
+		}
+		return entries;
+	}
+
+	/**
+	 * 获取实体压缩数据在zip文件中的起始位置
+	 *
+	 * @param channel zip文件通道
+	 * @param entry
+	 * @return
+	 * @throws ZipException 假如实体头信息错误，则抛出该异常
+	 * @throws IOException 假如读取失败，则抛出该异常
+	 */
+	static long dataOffset(FileChannel channel, RawEntry entry) throws IOException {
+		ByteBuffer header = readFully(channel, entry.offset, LOCAL_HEADER_SIZE);
+		if (header.getInt(0) != LOCAL_HEADER_SIG) {
+			throw new ZipException("invalid zip local header at " + entry.offset);
+		}
+		int nameLength = header.getShort(26) & 0xFFFF;
+		int extraLength = header.getShort(28) & 0xFFFF;
+		return entry.offset + LOCAL_HEADER_SIZE + nameLength + extraLength;
+	}
+
+	private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new ZipException("unexpected end of zip file");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * 中央目录中的实体信息
+	 */
+	static final class RawEntry {
+		final int method;
+
+		final long crc;
+
+		final long compressedSize;
+
+		final long size;
+
+		/**
+		 * 实体头在zip文件中的位置
+		 */
+		final long offset;
+
+		RawEntry(int method, long crc, long compressedSize, long size, long offset) {
+			this.method = method;
+			this.crc = crc;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.offset = offset;
+		}
+	}
+}
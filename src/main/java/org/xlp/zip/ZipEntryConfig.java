@@ -0,0 +1,128 @@
+package org.xlp.zip;
+
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * 流式zip写入时单个实体的配置类
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+public class ZipEntryConfig {
+	/**
+	 * 压缩方式，{@link ZipEntry#DEFLATED}或{@link ZipEntry#STORED}
+	 */
+	private int method = ZipEntry.DEFLATED;
+
+	/**
+	 * 压缩级别，只对{@link ZipEntry#DEFLATED}有效
+	 */
+	private int level = Deflater.DEFAULT_COMPRESSION;
+
+	/**
+	 * 修改时间（毫秒数），小于0时为写入时的时间
+	 */
+	private long time = -1;
+
+	/**
+	 * 压缩时大小未知的实体是否可能超过4G，为true时在实体头中预留ZIP64扩展字段
+	 */
+	private boolean zip64 = false;
+
+	/**
+	 * 使用默认压缩级别压缩的配置
+	 *
+	 * @return
+	 */
+	public static ZipEntryConfig deflated() {
+		return new ZipEntryConfig();
+	}
+
+	/**
+	 * 使用给定压缩级别压缩的配置
+	 *
+	 * @param level 0-9，或{@link Deflater#DEFAULT_COMPRESSION}
+	 * @return
+	 * @throws IllegalArgumentException 假如压缩级别无效，则抛出该异常
+	 */
+	public static ZipEntryConfig deflated(int level) {
+		ZipEntryConfig config = new ZipEntryConfig();
+		config.setLevel(level);
+		return config;
+	}
+
+	/**
+	 * 不压缩的配置，适用于jpg、zip等已压缩的内容
+	 *
+	 * @return
+	 */
+	public static ZipEntryConfig stored() {
+		ZipEntryConfig config = new ZipEntryConfig();
+		config.setMethod(ZipEntry.STORED);
+		return config;
+	}
+
+	public int getMethod() {
+		return method;
+	}
+
+	/**
+	 * 设置压缩方式
+	 *
+	 * @param method {@link ZipEntry#DEFLATED}或{@link ZipEntry#STORED}
+	 * @throws IllegalArgumentException 假如压缩方式无效，则抛出该异常
+	 */
+	public void setMethod(int method) {
+		if (method != ZipEntry.DEFLATED && method != ZipEntry.STORED) {
+			throw new IllegalArgumentException("无效的压缩方式：" + method);
+		}
+		this.method = method;
+	}
+
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * 设置压缩级别，只对{@link ZipEntry#DEFLATED}有效
+	 *
+	 * @param level 0-9，或{@link Deflater#DEFAULT_COMPRESSION}
+	 * @throws IllegalArgumentException 假如压缩级别无效，则抛出该异常
+	 */
+	public void setLevel(int level) {
+		if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException("无效的压缩级别：" + level);
+		}
+		this.level = level;
+	}
+
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * 设置修改时间
+	 *
+	 * @param time 毫秒数，小于0时为写入时的时间
+	 */
+	public void setTime(long time) {
+		this.time = time;
+	}
+
+	public boolean isZip64() {
+		return zip64;
+	}
+
+	/**
+	 * 设置边读取边压缩的实体是否可能超过4G，未设置时这样的实体超过4G会写入失败
+	 * <p>
+	 * 设置后实体的数据描述符总是使用8字节的大小，
+	 * 按已读取字节数判断数据描述符格式的工具（如较早版本的{@link java.util.zip.ZipInputStream}）不能读取小于4G的该实体
+	 *
+	 * @param zip64
+	 */
+	public void setZip64(boolean zip64) {
+		this.zip64 = zip64;
+	}
+}
@@ -0,0 +1,406 @@
+package org.xlp.zip;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.xlp.utils.XLPStringUtil;
+import org.xlp.utils.io.XLPIOUtil;
+import org.xlp.utils.io.path.XLPFilePathUtil;
+
+/**
+ * zip文件随机读取及并行解压类
+ * <p>
+ * 创建对象时一次读取zip文件的中央目录，之后可以直接读取或解压任意实体，不需要解压其前面的实体；
+ * 多个实体解压时在线程池中并行解压，大的实体先解压。解压的文件按实体记录的大小预先分配空间，
+ * 实体名称经过{@link XLPFilePathUtil#normalize(String)}处理，不会解压到目标目录之外。
+ * 多个实体（名称重复或处理后相同）对应同一个文件时只解压最后一个实体
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+public class ZipExtractor implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	private final File file;
+
+	private final ZipFile zipFile;
+
+	/**
+	 * 中央目录中的实体，按在zip文件中的顺序
+	 */
+	private final List<ZipEntry> entries;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param file zip文件
+	 * @param charsetName zip编码，为空时使用{@link UnZip#ZIP_DEFAULT_CHARSET_NAME}
+	 * @throws IOException 假如文件读取失败，抛出该异常
+	 * @throws NullPointerException 假如参数为空，抛出该异常
+	 */
+	public ZipExtractor(File file, String charsetName) throws IOException {
+		if (file == null) {
+			throw new NullPointerException("file 参数不能为空！");
+		}
+		if (XLPStringUtil.isEmpty(charsetName)) {
+			charsetName = UnZip.ZIP_DEFAULT_CHARSET_NAME;
+		}
+		this.file = file;
+		this.zipFile = new ZipFile(file, Charset.forName(charsetName.trim()));
+		List<ZipEntry> list = new ArrayList<ZipEntry>(zipFile.size());
+		Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
+		while (enumeration.hasMoreElements()) {
+			list.add(enumeration.nextElement());
+		}
+		this.entries = Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param file zip文件
+	 * @throws IOException 假如文件读取失败，抛出该异常
+	 * @throws NullPointerException 假如参数为空，抛出该异常
+	 */
+	public ZipExtractor(File file) throws IOException {
+		this(file, UnZip.ZIP_DEFAULT_CHARSET_NAME);
+	}
+
+	/**
+	 * 获取所有实体
+	 *
+	 * @return 不可修改的集合
+	 */
+	public List<ZipEntry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * 获取给定名称的实体
+	 *
+	 * @param entryName 实体名称
+	 * @return 不存在时返回null
+	 */
+	public ZipEntry getEntry(String entryName) {
+		return entryName == null ? null : zipFile.getEntry(entryName);
+	}
+
+	/**
+	 * 获取给定名称的实体的解压数据流，可以在多个线程中同时读取不同的实体
+	 *
+	 * @param entryName 实体名称
+	 * @return 实体不存在时返回null
+	 * @throws IOException 假如读取失败，抛出该异常
+	 */
+	public InputStream getInputStream(String entryName) throws IOException {
+		ZipEntry entry = getEntry(entryName);
+		return entry == null ? null : zipFile.getInputStream(entry);
+	}
+
+	/**
+	 * 获取与给定通配符匹配的实体
+	 * <p>
+	 * 通配符中"*"匹配不包括"/"的任意字符，"**"匹配包括"/"的任意字符，"?"匹配一个不是"/"的字符，
+	 * 匹配时忽略实体名称开头的"/"
+	 *
+	 * @param glob 通配符，为空时返回所有实体
+	 * @return
+	 */
+	public List<ZipEntry> getEntries(String glob) {
+		if (XLPStringUtil.isEmpty(glob)) {
+			return entries;
+		}
+		Pattern pattern = toPattern(glob.trim());
+		List<ZipEntry> matched = new ArrayList<ZipEntry>();
+		for (ZipEntry entry : entries) {
+			if (pattern.matcher(trimLeadingSlash(entry.getName())).matches()) {
+				matched.add(entry);
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * 解压单个实体，不解压其他实体
+	 *
+	 * @param entryName 实体名称
+	 * @param destDir 保存文件目标目录
+	 * @return 解压后的文件或目录，实体不存在时返回null
+	 * @throws IOException 假如文件读写失败，抛出该异常
+	 * @throws NullPointerException 假如目标目录为空，抛出该异常
+	 */
+	public File extract(String entryName, File destDir) throws IOException {
+		destDir = prepareDestDir(destDir);
+		ZipEntry entry = getEntry(entryName);
+		if (entry == null) {
+			return null;
+		}
+		File target = targetFile(destDir, entry);
+		if (entry.isDirectory()) {
+			mkdirs(target);
+		} else {
+			extract(entry, target, new byte[BUFFER_SIZE]);
+		}
+		return target;
+	}
+
+	/**
+	 * 并行解压与给定通配符匹配的实体，通配符规则见{@link #getEntries(String)}
+	 *
+	 * @param destDir 保存文件目标目录
+	 * @param glob 通配符，为空时解压所有实体
+	 * @param parallelism 解压线程数，小于1时为CPU核数
+	 * @return 解压统计信息
+	 * @throws IOException 假如文件读写失败，抛出该异常
+	 * @throws NullPointerException 假如目标目录为空，抛出该异常
+	 */
+	public ZipStats extract(File destDir, String glob, int parallelism) throws IOException {
+		long start = System.currentTimeMillis();
+		destDir = prepareDestDir(destDir);
+		if (parallelism < 1) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		}
+		List<ZipEntry> selected = getEntries(glob);
+		// 目标文件 -> 实体，对应同一文件的实体只保留最后一个，避免多个线程同时写同一个文件
+		Map<File, ZipEntry> targets = new LinkedHashMap<File, ZipEntry>();
+		for (ZipEntry entry : selected) {
+			File target = targetFile(destDir, entry);
+			if (entry.isDirectory()) {
+				mkdirs(target);
+			} else {
+				targets.put(target, entry);
+			}
+		}
+		List<Map.Entry<File, ZipEntry>> files = new ArrayList<Map.Entry<File, ZipEntry>>(targets.entrySet());
+		long totalBytes = 0;
+		long compressedBytes = 0;
+		for (Map.Entry<File, ZipEntry> target : files) {
+			totalBytes += Math.max(target.getValue().getSize(), 0);
+			compressedBytes += Math.max(target.getValue().getCompressedSize(), 0);
+		}
+		// 大的实体先解压，使各线程的负载更均衡
+		Collections.sort(files, new Comparator<Map.Entry<File, ZipEntry>>() {
+			@Override
+			public int compare(Map.Entry<File, ZipEntry> o1, Map.Entry<File, ZipEntry> o2) {
+				return Long.compare(o2.getValue().getSize(), o1.getValue().getSize());
+			}
+		});
+		if (parallelism == 1 || files.size() <= 1) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			for (Map.Entry<File, ZipEntry> target : files) {
+				extract(target.getValue(), target.getKey(), buffer);
+			}
+		} else {
+			extractParallel(files, parallelism);
+		}
+		return new ZipStats(selected.size(), totalBytes, compressedBytes, file.length(),
+				System.currentTimeMillis() - start, parallelism);
+	}
+
+	/**
+	 * 并行解压所有实体
+	 *
+	 * @param destDir 保存文件目标目录
+	 * @param parallelism 解压线程数，小于1时为CPU核数
+	 * @return 解压统计信息
+	 * @throws IOException 假如文件读写失败，抛出该异常
+	 * @throws NullPointerException 假如目标目录为空，抛出该异常
+	 */
+	public ZipStats extractAll(File destDir, int parallelism) throws IOException {
+		return extract(destDir, null, parallelism);
+	}
+
+	private void extractParallel(List<Map.Entry<File, ZipEntry>> files, int parallelism) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, files.size()),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "xlp-unzip-" + THREAD_NUMBER.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		final ThreadLocal<byte[]> buffers = new ThreadLocal<byte[]>() {
+			@Override
+			protected byte[] initialValue() {
+				return new byte[BUFFER_SIZE];
+			}
+		};
+		List<Future<Void>> futures = new ArrayList<Future<Void>>(files.size());
+		try {
+			for (final Map.Entry<File, ZipEntry> target : files) {
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws IOException {
+						extract(target.getValue(), target.getKey(), buffers.get());
+						return null;
+					}
+				}));
+			}
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("解压被中断", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		} finally {
+			executor.shutdownNow();
+			// 失败时其余线程可能仍在读取zip文件，等其结束后调用方才能关闭zip文件
+			ParallelZipCompressor.awaitTermination(executor);
+		}
+	}
+
+	/**
+	 * 解压一个文件实体，按实体记录的大小预先分配文件空间
+	 *
+	 * @param entry
+	 * @param target
+	 * @param buffer
+	 * @throws IOException
+	 */
+	private void extract(ZipEntry entry, File target, byte[] buffer) throws IOException {
+		mkdirs(target.getParentFile());
+		InputStream in = null;
+		RandomAccessFile out = null;
+		try {
+			in = zipFile.getInputStream(entry);
+			out = new RandomAccessFile(target, "rw");
+			long size = entry.getSize();
+			out.setLength(Math.max(size, 0));
+			FileChannel channel = out.getChannel();
+			ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+			long written = 0;
+			int n;
+			while ((n = in.read(buffer)) != -1) {
+				byteBuffer.clear().limit(n);
+				while (byteBuffer.hasRemaining()) {
+					channel.write(byteBuffer);
+				}
+				written += n;
+			}
+			if (written != size) {
+				out.setLength(written);
+			}
+		} finally {
+			XLPIOUtil.closeInputStream(in);
+			if (out != null) {
+				out.close();
+			}
+		}
+	}
+
+	private static File prepareDestDir(File destDir) {
+		if (destDir == null) {
+			throw new NullPointerException("destDir 参数不能空！");
+		}
+		if (!destDir.exists()) {
+			destDir.mkdirs();
+		}
+		if (destDir.isFile()) {
+			destDir = destDir.getParentFile();
+		}
+		return destDir;
+	}
+
+	private static File targetFile(File destDir, ZipEntry entry) {
+		return new File(destDir, XLPFilePathUtil.normalize(entry.getName()));
+	}
+
+	/**
+	 * 创建目录，多个线程同时创建同一目录时不会失败
+	 *
+	 * @param dir
+	 * @throws IOException 假如目录创建失败，抛出该异常
+	 */
+	private static void mkdirs(File dir) throws IOException {
+		if (dir != null && !dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+			throw new IOException("目录创建失败：" + dir);
+		}
+	}
+
+	private static String trimLeadingSlash(String name) {
+		int i = 0;
+		while (i < name.length() && name.charAt(i) == '/') {
+			i++;
+		}
+		return name.substring(i);
+	}
+
+	/**
+	 * 把通配符转换成正则表达式
+	 *
+	 * @param glob
+	 * @return
+	 */
+	private static Pattern toPattern(String glob) {
+		glob = trimLeadingSlash(glob.replace('\\', '/'));
+		StringBuilder regex = new StringBuilder(glob.length() * 2);
+		int length = glob.length();
+		for (int i = 0; i < length; i++) {
+			char c = glob.charAt(i);
+			if (c == '*') {
+				if (i + 1 < length && glob.charAt(i + 1) == '*') {
+					i++;
+					// "**/"可以匹配零层或多层目录
+					if (i + 1 < length && glob.charAt(i + 1) == '/') {
+						i++;
+						regex.append("(?:.*/)?");
+					} else {
+						regex.append(".*");
+					}
+				} else {
+					regex.append("[^/]*");
+				}
+			} else if (c == '?') {
+				regex.append("[^/]");
+			} else if ("\\.[]{}()+-^$|".indexOf(c) >= 0) {
+				regex.append('\\').append(c);
+			} else {
+				regex.append(c);
+			}
+		}
+		return Pattern.compile(regex.toString());
+	}
+
+	@Override
+	public void close() throws IOException {
+		zipFile.close();
+	}
+}
@@ -0,0 +1,167 @@
+package org.xlp.zip;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * 增量zip压缩清单，记录每个文件实体的大小、修改时间及CRC
+ * <p>
+ * 清单文件与zip文件放在一起（zip文件名加{@link #SUFFIX}），UTF-8编码，第一行为{@link #HEADER}，
+ * 之后每行一个实体："大小\t修改时间\tCRC\t实体名称"
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+final class ZipManifest {
+	/**
+	 * 清单文件名后缀
+	 */
+	static final String SUFFIX = ".manifest";
+
+	static final String HEADER = "#xlp-zip-manifest 1";
+
+	private final Map<String, Item> items = new LinkedHashMap<String, Item>();
+
+	/**
+	 * 获取zip文件对应的清单文件
+	 *
+	 * @param zipFile
+	 * @return
+	 */
+	static File manifestFile(File zipFile) {
+		return new File(zipFile.getPath() + SUFFIX);
+	}
+
+	/**
+	 * 读取清单文件
+	 *
+	 * @param file
+	 * @return 文件不存在或格式不正确时返回null
+	 * @throws IOException 假如读取失败，则抛出该异常
+	 */
+	static ZipManifest load(File file) throws IOException {
+		if (!file.isFile()) {
+			return null;
+		}
+		BufferedReader reader = null;
+		try {
+			reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+			if (!HEADER.equals(reader.readLine())) {
+				return null;
+			}
+			ZipManifest manifest = new ZipManifest();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				String[] parts = line.split("\t", 4);
+				if (parts.length != 4) {
+					return null;
+				}
+				try {
+					manifest.put(parts[3], Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+							Long.parseLong(parts[2], 16));
+				} catch (NumberFormatException e) {
+					return null;
+				}
+			}
+			return manifest;
+		} finally {
+			XLPIOUtil.closeReader(reader);
+		}
+	}
+
+	/**
+	 * 保存清单文件，先写入临时文件再替换，写入失败时不破坏原有的清单文件
+	 *
+	 * @param file
+	 * @throws IOException 假如写入失败，则抛出该异常
+	 */
+	void store(File file) throws IOException {
+		File temp = new File(file.getPath() + ".tmp");
+		Writer writer = null;
+		try {
+			writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8));
+			writer.write(HEADER);
+			writer.write('\n');
+			for (Map.Entry<String, Item> entry : items.entrySet()) {
+				Item item = entry.getValue();
+				writer.write(Long.toString(item.size));
+				writer.write('\t');
+				writer.write(Long.toString(item.time));
+				writer.write('\t');
+				writer.write(Long.toHexString(item.crc));
+				writer.write('\t');
+				writer.write(entry.getKey());
+				writer.write('\n');
+			}
+			writer.close();
+			writer = null;
+			replace(temp, file);
+		} finally {
+			XLPIOUtil.closeWrite(writer);
+			temp.delete();
+		}
+	}
+
+	/**
+	 * 用源文件替换目标文件，支持时使用原子操作
+	 *
+	 * @param source
+	 * @param target
+	 * @throws IOException 假如替换失败，则抛出该异常
+	 */
+	static void replace(File source, File target) throws IOException {
+		try {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	void put(String name, long size, long time, long crc) {
+		items.put(name, new Item(size, time, crc));
+	}
+
+	Item get(String name) {
+		return items.get(name);
+	}
+
+	int size() {
+		return items.size();
+	}
+
+	/**
+	 * 清单中的实体信息
+	 */
+	static final class Item {
+		final long size;
+
+		final long time;
+
+		final long crc;
+
+		Item(long size, long time, long crc) {
+			this.size = size;
+			this.time = time;
+			this.crc = crc;
+		}
+	}
+}
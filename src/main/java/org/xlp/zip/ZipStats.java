@@ -0,0 +1,138 @@
+package org.xlp.zip;
+
+/**
+ * zip压缩统计信息
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+public class ZipStats {
+	/**
+	 * 实体数（包括目录实体）
+	 */
+	private final int entryCount;
+
+	/**
+	 * 压缩前的总字节数
+	 */
+	private final long totalBytes;
+
+	/**
+	 * 压缩后实体数据的总字节数
+	 */
+	private final long compressedBytes;
+
+	/**
+	 * zip文件总字节数
+	 */
+	private final long archiveBytes;
+
+	/**
+	 * 耗时（毫秒）
+	 */
+	private final long elapsedMillis;
+
+	/**
+	 * 压缩线程数
+	 */
+	private final int parallelism;
+
+	/**
+	 * 直接从之前的zip文件中复制、未重新压缩的实体数
+	 */
+	private final int reusedEntryCount;
+
+	/**
+	 * 构造函数
+	 *
+	 * @param entryCount 实体数
+	 * @param totalBytes 压缩前的总字节数
+	 * @param compressedBytes 压缩后实体数据的总字节数
+	 * @param archiveBytes zip文件总字节数
+	 * @param elapsedMillis 耗时（毫秒）
+	 * @param parallelism 压缩线程数
+	 */
+	public ZipStats(int entryCount, long totalBytes, long compressedBytes, long archiveBytes,
+			long elapsedMillis, int parallelism) {
+		this(entryCount, totalBytes, compressedBytes, archiveBytes, elapsedMillis, parallelism, 0);
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param entryCount 实体数
+	 * @param totalBytes 压缩前的总字节数
+	 * @param compressedBytes 压缩后实体数据的总字节数
+	 * @param archiveBytes zip文件总字节数
+	 * @param elapsedMillis 耗时（毫秒）
+	 * @param parallelism 压缩线程数
+	 * @param reusedEntryCount 直接从之前的zip文件中复制的实体数
+	 */
+	public ZipStats(int entryCount, long totalBytes, long compressedBytes, long archiveBytes,
+			long elapsedMillis, int parallelism, int reusedEntryCount) {
+		this.entryCount = entryCount;
+		this.totalBytes = totalBytes;
+		this.compressedBytes = compressedBytes;
+		this.archiveBytes = archiveBytes;
+		this.elapsedMillis = elapsedMillis;
+		this.parallelism = parallelism;
+		this.reusedEntryCount = reusedEntryCount;
+	}
+
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	public long getCompressedBytes() {
+		return compressedBytes;
+	}
+
+	public long getArchiveBytes() {
+		return archiveBytes;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public int getReusedEntryCount() {
+		return reusedEntryCount;
+	}
+
+	/**
+	 * 获取压缩率（压缩后字节数/压缩前字节数）
+	 *
+	 * @return 压缩前字节数为0时返回1
+	 */
+	public double getCompressionRatio() {
+		return totalBytes == 0 ? 1 : (double) compressedBytes / totalBytes;
+	}
+
+	/**
+	 * 获取吞吐量，按压缩前的字节数计算
+	 *
+	 * @return 每秒处理的MB数
+	 */
+	public double getThroughputMBps() {
+		return totalBytes / (1024.0 * 1024.0) / (Math.max(elapsedMillis, 1) / 1000.0);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ZipStats [entryCount=").append(entryCount).append(", totalBytes=").append(totalBytes)
+				.append(", compressedBytes=").append(compressedBytes).append(", archiveBytes=")
+				.append(archiveBytes).append(", elapsedMillis=").append(elapsedMillis).append(", parallelism=")
+				.append(parallelism).append(", reusedEntryCount=").append(reusedEntryCount)
+				.append(", throughput=").append(String.format("%.2f", getThroughputMBps())).append("MB/s]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,471 @@
+package org.xlp.zip;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.xlp.utils.XLPStringUtil;
+import org.xlp.utils.io.XLPIOUtil;
+
+/**
+ * 流式zip写入类，边读取实体数据边压缩写入目标输出流
+ * <p>
+ * 实体数据由{@link InputStream}、{@link Supplier}或{@link ReadableByteChannel}提供，不需要事先全部读入内存，
+ * 读取及压缩使用同一个可重用的缓冲区，内存占用与实体大小及zip文件大小无关，适合边生成边下载的场景。
+ * 每个实体可以单独设置压缩级别，已压缩的内容可以设置成不压缩（{@link ZipEntry#STORED}）。
+ * <p>
+ * 压缩实体的CRC及大小写在实体数据之后的数据描述符中；不压缩的实体必须由{@link Supplier}提供数据，
+ * 先读取一遍计算CRC及大小写入实体头，再读取一遍写入数据，使{@link java.util.zip.ZipInputStream}也能读取。
+ * 边读取边压缩的实体可能超过4G时需设置{@link ZipEntryConfig#setZip64(boolean)}。该类不是线程安全的
+ *
+ * @author xlp
+ * @date 2026-10-19
+ */
+public class ZipStreamBuilder implements Closeable, Flushable {
+	/**
+	 * 默认缓冲区大小
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+	/**
+	 * 最小缓冲区大小
+	 */
+	private static final int MIN_BUFFER_SIZE = 8 * 1024;
+
+	private final RawZipWriter writer;
+
+	/**
+	 * 读取实体数据的缓冲区
+	 */
+	private final byte[] input;
+
+	/**
+	 * 压缩输出缓冲区
+	 */
+	private final byte[] output;
+
+	private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+	private final CRC32 crc = new CRC32();
+
+	/**
+	 * 未设置实体配置时使用的配置
+	 */
+	private ZipEntryConfig defaultConfig = new ZipEntryConfig();
+
+	private final long startTime = System.currentTimeMillis();
+
+	private int entryCount = 0;
+
+	private long totalBytes = 0;
+
+	private long compressedBytes = 0;
+
+	/**
+	 * 写入失败后不再写入中央目录
+	 */
+	private boolean failed = false;
+
+	private boolean closed = false;
+
+	/**
+	 * 构造函数，实体名称编码为{@link ZipUtils#ZIP_DEFAULT_CHARSET_NAME}
+	 *
+	 * @param out 目标输出流
+	 * @throws NullPointerException 假如参数为空，则抛出该异常
+	 */
+	public ZipStreamBuilder(OutputStream out) {
+		this(out, ZipUtils.ZIP_DEFAULT_CHARSET_NAME);
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param out 目标输出流
+	 * @param charsetName 实体名称编码，为空时为{@link ZipUtils#ZIP_DEFAULT_CHARSET_NAME}
+	 * @throws NullPointerException 假如输出流为空，则抛出该异常
+	 */
+	public ZipStreamBuilder(OutputStream out, String charsetName) {
+		this(out, charsetName, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * 构造函数
+	 *
+	 * @param out 目标输出流
+	 * @param charsetName 实体名称编码，为空时为{@link ZipUtils#ZIP_DEFAULT_CHARSET_NAME}
+	 * @param bufferSize 缓冲区大小，最小为8K
+	 * @throws NullPointerException 假如输出流为空，则抛出该异常
+	 */
+	public ZipStreamBuilder(OutputStream out, String charsetName, int bufferSize) {
+		if (out == null) {
+			throw new NullPointerException("out 参数不能为空！");
+		}
+		if (XLPStringUtil.isEmpty(charsetName)) {
+			charsetName = ZipUtils.ZIP_DEFAULT_CHARSET_NAME;
+		}
+		bufferSize = Math.max(bufferSize, MIN_BUFFER_SIZE);
+		this.writer = new RawZipWriter(out, Charset.forName(charsetName.trim()));
+		this.input = new byte[bufferSize];
+		this.output = new byte[bufferSize];
+	}
+
+	/**
+	 * 设置未单独设置配置的实体使用的配置
+	 *
+	 * @param defaultConfig 为null时使用默认压缩级别压缩
+	 */
+	public void setDefaultConfig(ZipEntryConfig defaultConfig) {
+		this.defaultConfig = defaultConfig == null ? new ZipEntryConfig() : defaultConfig;
+	}
+
+	public ZipEntryConfig getDefaultConfig() {
+		return defaultConfig;
+	}
+
+	/**
+	 * 添加一个实体，输入流读取完毕后不关闭
+	 *
+	 * @param name 实体名称
+	 * @param in 实体数据
+	 * @return 该对象
+	 * @throws IOException 假如读取或写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为空，则抛出该异常
+	 */
+	public ZipStreamBuilder addEntry(String name, InputStream in) throws IOException {
+		return addEntry(name, in, null);
+	}
+
+	/**
+	 * 添加一个实体，输入流读取完毕后不关闭
+	 *
+	 * @param name 实体名称
+	 * @param in 实体数据
+	 * @param config 实体配置，为null时使用默认配置
+	 * @return 该对象
+	 * @throws java.util.zip.ZipException 假如配置为不压缩，则抛出该异常，不压缩的实体需由{@link Supplier}提供数据
+	 * @throws IOException 假如读取或写入失败，则抛出该异常
+	 * @throws NullPointerException 假如名称或输入流为空，则抛出该异常
+	 */
+	public ZipStreamBuilder addEntry(String name, final InputStream in, ZipEntryConfig config)
+			throws IOException {
+		if (in == null) {
+			throw new NullPointerException("in 参数不能为空！");
+		}
+		writeEntry(name, new DataSource() {
+			@Override
+			public int read(byte[] buffer) throws IOException {
+				return in.read(buffer);
+			}
+		}, config);
+		return this;
+	}
+
+	/**
+	 * 添加一个实体，写入该实体时才获取输入流，读取完毕后关闭该输入流
+	 *
+	 * @param name 实体名称
+	 * @param supplier 实体数据提供者
+	 * @return 该对象
+	 * @throws IOException 假如读取或写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为空，则抛出该异常
+	 */
+	public ZipStreamBuilder addEntry(String name, Supplier<? extends InputStream> supplier) throws IOException {
+		return addEntry(name, supplier, null);
+	}
+
+	/**
+	 * 添加一个实体，写入该实体时才获取输入流，读取完毕后关闭该输入流
+	 * <p>
+	 * 不压缩的实体会获取两次输入流，两次提供的数据必须相同
+	 *
+	 * @param name 实体名称
+	 * @param supplier 实体数据提供者
+	 * @param config 实体配置，为null时使用默认配置
+	 * @return 该对象
+	 * @throws IOException 假如读取或写入失败，则抛出该异常
+	 * @throws NullPointerException 假如名称或数据提供者为空，或提供的输入流为空，则抛出该异常
+	 */
+	public ZipStreamBuilder addEntry(String name, Supplier<? extends InputStream> supplier,
+			ZipEntryConfig config) throws IOException {
+		if (supplier == null) {
+			throw new NullPointerException("supplier 参数不能为空！");
+		}
+		if (config == null) {
+			config = defaultConfig;
+		}
+		if (config.getMethod() == ZipEntry.STORED) {
+			writeStoredEntry(name, supplier, config);
+			return this;
+		}
+		InputStream in = supplier.get();
+		try {
+			addEntry(name, in, config);
+		} finally {
+			XLPIOUtil.closeInputStream(in);
+		}
+		return this;
+	}
+
+	/**
+	 * 添加一个实体，通道读取完毕后不关闭，通道必须是阻塞模式
+	 *
+	 * @param name 实体名称
+	 * @param channel 实体数据
+	 * @return 该对象
+	 * @throws IOException 假如读取或写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为空，则抛出该异常
+	 */
+	public ZipStreamBuilder addEntry(String name, ReadableByteChannel channel) throws IOException {
+		return addEntry(name, channel, null);
+	}
+
+	/**
+	 * 添加一个实体，通道读取完毕后不关闭，通道必须是阻塞模式
+	 *
+	 * @param name 实体名称
+	 * @param channel 实体数据
+	 * @param config 实体配置，为null时使用默认配置
+	 * @return 该对象
+	 * @throws java.util.zip.ZipException 假如配置为不压缩，则抛出该异常，不压缩的实体需由{@link Supplier}提供数据
+	 * @throws IOException 假如读取或写入失败，则抛出该异常
+	 * @throws NullPointerException 假如名称或通道为空，则抛出该异常
+	 */
+	public ZipStreamBuilder addEntry(String name, final ReadableByteChannel channel, ZipEntryConfig config)
+			throws IOException {
+		if (channel == null) {
+			throw new NullPointerException("channel 参数不能为空！");
+		}
+		final ByteBuffer byteBuffer = ByteBuffer.wrap(input);
+		writeEntry(name, new DataSource() {
+			@Override
+			public int read(byte[] buffer) throws IOException {
+				byteBuffer.clear();
+				return channel.read(byteBuffer);
+			}
+		}, config);
+		return this;
+	}
+
+	/**
+	 * 添加一个目录实体
+	 *
+	 * @param name 目录名称，不以"/"结尾时自动添加
+	 * @return 该对象
+	 * @throws IOException 假如写入失败，则抛出该异常
+	 * @throws NullPointerException 假如参数为空，则抛出该异常
+	 */
+	public ZipStreamBuilder addDirectory(String name) throws IOException {
+		if (XLPStringUtil.isEmpty(name)) {
+			throw new NullPointerException("name 参数不能为空！");
+		}
+		name = name.replace("\\", "/");
+		if (!name.endsWith("/")) {
+			name += "/";
+		}
+		ensureOpen();
+		boolean success = false;
+		try {
+			writer.putEntry(new RawZipWriter.Entry(name, ZipEntry.STORED, 0, 0, 0, System.currentTimeMillis()));
+			writer.closeEntry();
+			success = true;
+		} finally {
+			failed = !success;
+		}
+		entryCount++;
+		return this;
+	}
+
+	/**
+	 * 边读取边压缩写入一个实体，CRC及大小写入数据描述符
+	 *
+	 * @param name
+	 * @param source
+	 * @param config
+	 * @throws IOException
+	 */
+	private void writeEntry(String name, DataSource source, ZipEntryConfig config) throws IOException {
+		if (XLPStringUtil.isEmpty(name)) {
+			throw new NullPointerException("name 参数不能为空！");
+		}
+		ensureOpen();
+		if (config == null) {
+			config = defaultConfig;
+		}
+		if (config.getMethod() == ZipEntry.STORED) {
+			// 使用数据描述符的不压缩实体不能按本地实体头读取，只能读取一遍的数据无法事先计算CRC及大小
+			throw new ZipException("不压缩的实体需由Supplier提供数据：" + name);
+		}
+		long time = config.getTime() < 0 ? System.currentTimeMillis() : config.getTime();
+		boolean success = false;
+		try {
+			writer.putStreamingEntry(name, time, config.isZip64());
+			crc.reset();
+			deflater.reset();
+			deflater.setLevel(config.getLevel());
+			long size = 0;
+			int n;
+			while ((n = source.read(input)) != -1) {
+				if (n == 0) {
+					continue;
+				}
+				crc.update(input, 0, n);
+				size += n;
+				deflater.setInput(input, 0, n);
+				while (!deflater.needsInput()) {
+					deflate();
+				}
+			}
+			deflater.finish();
+			while (!deflater.finished()) {
+				deflate();
+			}
+			compressedBytes += deflater.getBytesWritten();
+			writer.closeEntry(crc.getValue(), size);
+			totalBytes += size;
+			entryCount++;
+			success = true;
+		} finally {
+			failed = !success;
+		}
+	}
+
+	/**
+	 * 写入一个不压缩的实体，先读取一遍数据计算CRC及大小写入实体头，再读取一遍写入数据
+	 *
+	 * @param name
+	 * @param supplier
+	 * @param config
+	 * @throws IOException
+	 */
+	private void writeStoredEntry(String name, Supplier<? extends InputStream> supplier, ZipEntryConfig config)
+			throws IOException {
+		if (XLPStringUtil.isEmpty(name)) {
+			throw new NullPointerException("name 参数不能为空！");
+		}
+		ensureOpen();
+		long size = 0;
+		crc.reset();
+		InputStream in = open(supplier);
+		try {
+			int n;
+			while ((n = in.read(input)) != -1) {
+				crc.update(input, 0, n);
+				size += n;
+			}
+		} finally {
+			XLPIOUtil.closeInputStream(in);
+		}
+		long checksum = crc.getValue();
+		long time = config.getTime() < 0 ? System.currentTimeMillis() : config.getTime();
+		boolean success = false;
+		try {
+			writer.putEntry(new RawZipWriter.Entry(name, ZipEntry.STORED, checksum, size, size, time));
+			crc.reset();
+			in = open(supplier);
+			try {
+				int n;
+				while ((n = in.read(input)) != -1) {
+					crc.update(input, 0, n);
+					writer.writeData(input, 0, n);
+				}
+			} finally {
+				XLPIOUtil.closeInputStream(in);
+			}
+			if (crc.getValue() != checksum) {
+				throw new ZipException("实体数据提供者两次提供的数据不一致：" + name);
+			}
+			// 检查两次读取的大小是否一致
+			writer.closeEntry();
+			totalBytes += size;
+			compressedBytes += size;
+			entryCount++;
+			success = true;
+		} finally {
+			failed = !success;
+		}
+	}
+
+	private static InputStream open(Supplier<? extends InputStream> supplier) {
+		InputStream in = supplier.get();
+		if (in == null) {
+			throw new NullPointerException("supplier 提供的输入流不能为空！");
+		}
+		return in;
+	}
+
+	private void deflate() throws IOException {
+		int n = deflater.deflate(output);
+		if (n > 0) {
+			writer.writeData(output, 0, n);
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("ZipStreamBuilder已关闭");
+		}
+		if (failed) {
+			throw new IOException("之前的实体写入失败，不能继续写入");
+		}
+	}
+
+	/**
+	 * 获取已写入的统计信息，耗时从创建该对象开始计算
+	 *
+	 * @return
+	 */
+	public ZipStats getStats() {
+		return new ZipStats(entryCount, totalBytes, compressedBytes, writer.getWritten(),
+				System.currentTimeMillis() - startTime, 1);
+	}
+
+	/**
+	 * 把已写入的数据输出到目标输出流
+	 */
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	/**
+	 * 写入中央目录并关闭目标输出流，之前的实体写入失败时只关闭输出流
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		deflater.end();
+		if (failed) {
+			writer.abort();
+		} else {
+			writer.close();
+		}
+	}
+
+	/**
+	 * 实体数据来源
+	 */
+	private interface DataSource {
+		/**
+		 * 读取数据到缓冲区
+		 *
+		 * @param buffer
+		 * @return 读取的字节数，读取完毕时返回-1
+		 * @throws IOException
+		 */
+		int read(byte[] buffer) throws IOException;
+	}
+}
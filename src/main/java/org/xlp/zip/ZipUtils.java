@@ -4,10 +4,12 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -888,6 +890,104 @@ public class ZipUtils {
 		return toZip(byteList, inZipNames, destFile);
 	}
 
+	/**
+	 * 创建流式zip写入对象，使用该工具类设置的字符编码，实体数据边读取边压缩写入输出流，内存占用与zip文件大小无关
+	 * 
+	 * @param out
+	 *            输出流，调用写入对象的close方法时关闭
+	 * @return
+	 * @throws NullPointerException 假如参数为空，则抛出该异常
+	 */
+	public static ZipStreamBuilder newStreamBuilder(OutputStream out) {
+		return new ZipStreamBuilder(out, charsetName);
+	}
+	
+	/**
+	 * 流式压缩成ZIP，每个实体写入时才获取其输入流，写入后关闭该输入流，不需要事先把实体数据读入内存
+	 * 
+	 * @param suppliers
+	 *            实体数据提供者
+	 * @param inZipNames
+	 *            Zip内部对应输入流的文件名称
+	 * @param out
+	 *            输出流
+	 * @param config
+	 *            实体配置，为null时使用默认压缩级别压缩，不压缩时每个实体获取两次输入流
+	 * @return 压缩成功返回true，否则，返回false
+	 */
+	public static boolean toZipStream(List<? extends Supplier<? extends InputStream>> suppliers, 
+			List<String> inZipNames, OutputStream out, ZipEntryConfig config) {
+		if (XLPCollectionUtil.isEmpty(suppliers) || XLPCollectionUtil.isEmpty(inZipNames)
+				|| out == null) { 
+			return false;
+		}
+		int len = Math.min(suppliers.size(), inZipNames.size());
+		
+		ZipStreamBuilder builder = null;
+		try {
+			builder = newStreamBuilder(out);
+			for(int i = 0; i < len; i++){
+				builder.addEntry(inZipNames.get(i), suppliers.get(i), config);
+			}
+			builder.close();
+		} catch (Exception e) {
+			XLPOutputInfoUtil.println(e.getMessage());
+			if (builder != null) {
+				try {
+					builder.close();
+				} catch (IOException e1) {
+				}
+			}
+			return false;
+		} finally {
+			XLPIOUtil.closeOutputStream(out);
+		}
+		return true;
+	}
+	
+	/**
+	 * 流式压缩成ZIP，每个实体写入时才获取其输入流，写入后关闭该输入流，不需要事先把实体数据读入内存
+	 * 
+	 * @param suppliers
+	 *            实体数据提供者
+	 * @param inZipNames
+	 *            Zip内部对应输入流的文件名称
+	 * @param out
+	 *            输出流
+	 * @return 压缩成功返回true，否则，返回false
+	 */
+	public static boolean toZipStream(List<? extends Supplier<? extends InputStream>> suppliers, 
+			List<String> inZipNames, OutputStream out) {
+		return toZipStream(suppliers, inZipNames, out, null);
+	}
+
+	/**
+	 * 增量压缩成ZIP，只压缩新增及修改过的文件，未修改的文件直接复制目标文件中已有的压缩数据，
+	 * 详见{@link Zip#toZipIncremental(File, File, boolean, int)}
+	 * 
+	 * @param srcDir
+	 *            压缩文件夹路径
+	 * @param destFile
+	 *            zip目标保存文件，同时也是之前的zip文件
+	 * @param keepDirStructure
+	 *            是否保留原来的目录结构,true:保留目录结构;
+	 *            false:所有文件跑到压缩包根目录下(注意：不保留目录结构可能会出现同名文件,会压缩失败)
+	 * @return 压缩成功返回true，否则，返回false
+	 */
+	public static boolean toZipIncremental(String srcDir, String destFile, boolean keepDirStructure) {
+		if (XLPStringUtil.isEmpty(srcDir)) {
+			return false;
+		}
+		File file = XLPStringUtil.isEmpty(destFile) ? null : new File(destFile.trim());
+		try {
+			new Zip(srcDir, charsetName).toZipIncremental(file, keepDirStructure, 0);
+		} catch (Exception e) {
+			XLPOutputInfoUtil.println(e.getMessage());
+			return false;
+		}
+		return true;
+	}
+	
 	/**
 	 * 设置压缩文件时字符编码
 	 * 
@@ -0,0 +1,90 @@
+package org.xlp.beancovert;
+
+import org.xlp.beancovert.exception.BeanConvertException;
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+
+import junit.framework.TestCase;
+
+/**
+ * bean拷贝计划缓存测试
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class BeanCopyPlanTest extends TestCase {
+	public static class Source {
+		private String name;
+
+		private int age;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+	}
+
+	public static class Target {
+		private String name;
+
+		private String age;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getAge() {
+			return age;
+		}
+
+		public void setAge(String age) {
+			this.age = age;
+		}
+	}
+
+	public void testPlanIsCachedUntilDescriptorCacheCleared() {
+		BeanCopyPlan plan = BeanCopyPlan.getPlan(Source.class, Target.class, null);
+		assertSame(plan, BeanCopyPlan.getPlan(Source.class, Target.class, null));
+		JavaBeanPropertiesDescriptor.clearCache();
+		BeanCopyPlan rebuilt = BeanCopyPlan.getPlan(Source.class, Target.class, null);
+		assertNotSame(plan, rebuilt);
+		assertSame(rebuilt.pairs[0].tp, JavaBeanPropertiesDescriptor.getInstance(Target.class).getDescriptor("name"));
+
+		BeanFieldConvertSettings settings = new BeanFieldConvertSettings();
+		plan = BeanCopyPlan.getPlan(Source.class, Target.class, settings);
+		assertSame(plan, BeanCopyPlan.getPlan(Source.class, Target.class, settings));
+		JavaBeanPropertiesDescriptor.clearCache(Target.class);
+		assertNotSame(plan, BeanCopyPlan.getPlan(Source.class, Target.class, settings));
+	}
+
+	public void testCovertAfterClearCache() throws BeanConvertException {
+		Source source = new Source();
+		source.setName("a");
+		source.setAge(3);
+		BeanCovert covert = new BeanCovert();
+		Target target = new Target();
+		covert.covert(target, source);
+		assertEquals("a", target.getName());
+		assertEquals("3", target.getAge());
+
+		JavaBeanPropertiesDescriptor.clearCache();
+		target = new Target();
+		covert.covert(target, source);
+		assertEquals("a", target.getName());
+		assertEquals("3", target.getAge());
+	}
+}
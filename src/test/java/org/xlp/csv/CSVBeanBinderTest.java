@@ -0,0 +1,141 @@
+package org.xlp.csv;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * csv行数据与bean绑定测试
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class CSVBeanBinderTest extends TestCase {
+	public static class Person {
+		private String name;
+
+		private String code;
+
+		private int age;
+
+		public Person() {
+		}
+
+		public Person(String name, String code, int age) {
+			this.name = name;
+			this.code = code;
+			this.age = age;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * 只读属性，写入csv但读取时跳过
+		 */
+		public String getCode() {
+			return code;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+	}
+
+	public static class Employee extends Person {
+		private String dept;
+
+		public Employee() {
+		}
+
+		public Employee(String name, String code, int age, String dept) {
+			super(name, code, age);
+			this.dept = dept;
+		}
+
+		public String getDept() {
+			return dept;
+		}
+
+		public void setDept(String dept) {
+			this.dept = dept;
+		}
+	}
+
+	private static <T> List<T> roundTrip(List<? extends T> beans, Class<T> beanClass, boolean header) {
+		StringWriter out = new StringWriter();
+		CSVWriter writer = new CSVWriter(out);
+		writer.writeBeans(beans, beanClass, header);
+		writer.close();
+
+		CSVReaderConfig config = new CSVReaderConfig();
+		config.setHasHeader(header);
+		final List<T> result = new ArrayList<T>();
+		new CSVReader(config).readBeans(new StringReader(out.toString()), new CSVBeanBinder<T>(beanClass),
+				1, new CSVBeanHandler<T>() {
+					@Override
+					public boolean handle(List<T> batch) {
+						result.addAll(batch);
+						return true;
+					}
+				});
+		return result;
+	}
+
+	public void testRoundTripWithHeader() {
+		List<Person> beans = roundTrip(Arrays.asList(new Person("a", "x", 1), new Person("b", "y", 2)),
+				Person.class, true);
+		assertEquals(2, beans.size());
+		assertEquals("a", beans.get(0).getName());
+		assertEquals(1, beans.get(0).getAge());
+		assertNull(beans.get(0).getCode());
+		assertEquals("b", beans.get(1).getName());
+		assertEquals(2, beans.get(1).getAge());
+	}
+
+	public void testRoundTripWithoutHeaderSkipsReadOnlyColumn() {
+		List<Person> beans = roundTrip(Arrays.asList(new Person("a", "x", 1), new Person("b", "y", 2)),
+				Person.class, false);
+		assertEquals(2, beans.size());
+		assertEquals("a", beans.get(0).getName());
+		assertEquals(1, beans.get(0).getAge());
+		assertNull(beans.get(0).getCode());
+		assertEquals("b", beans.get(1).getName());
+		assertEquals(2, beans.get(1).getAge());
+	}
+
+	public void testSubclassRoundTrip() {
+		List<Employee> employees = Arrays.asList(new Employee("a", "x", 1, "d1"), new Employee("b", "y", 2, "d2"));
+		for (boolean header : new boolean[]{true, false}) {
+			List<Employee> beans = roundTrip(employees, Employee.class, header);
+			assertEquals(2, beans.size());
+			assertEquals("a", beans.get(0).getName());
+			assertEquals(1, beans.get(0).getAge());
+			assertEquals("d1", beans.get(0).getDept());
+			assertEquals("b", beans.get(1).getName());
+			assertEquals(2, beans.get(1).getAge());
+			assertEquals("d2", beans.get(1).getDept());
+		}
+	}
+
+	public void testSubclassBeansWrittenAsBaseClass() {
+		List<Person> beans = roundTrip(Arrays.<Person>asList(new Person("a", "x", 1),
+				new Employee("b", "y", 2, "d")), Person.class, false);
+		assertEquals(2, beans.size());
+		assertEquals("b", beans.get(1).getName());
+		assertEquals(2, beans.get(1).getAge());
+	}
+}
@@ -0,0 +1,124 @@
+package org.xlp.csv;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * csv文件并行读取测试，结果必须与顺序读取一致
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class CSVParallelReaderTest extends TestCase {
+	private File file;
+
+	@Override
+	protected void setUp() throws IOException {
+		file = File.createTempFile("xlp-csv-", ".csv");
+	}
+
+	@Override
+	protected void tearDown() {
+		file.delete();
+	}
+
+	private void writeFile(String lineSeparator, String charsetName) throws IOException {
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), charsetName);
+		try {
+			writer.write("id,name,remark" + lineSeparator);
+			for (int i = 0; i < 20000; i++) {
+				writer.write(i + ",名称" + i + ",");
+				if (i % 7 == 0) {
+					// 引号内的换行符及转义的引号不是记录边界
+					writer.write("\"多行" + lineSeparator + "备注,\"\"" + i + "\"\"\"");
+				} else if (i % 11 == 0) {
+					writer.write("");
+				} else {
+					writer.write("remark-" + i);
+				}
+				writer.write(lineSeparator);
+				if (i % 1000 == 0) {
+					writer.write(lineSeparator);
+				}
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static CSVReaderConfig newConfig() {
+		CSVReaderConfig config = new CSVReaderConfig();
+		config.setParallelism(4);
+		config.setParallelChunkSize(64 * 1024);
+		return config;
+	}
+
+	private void assertSameAsSequential(String lineSeparator, String charsetName) throws IOException {
+		writeFile(lineSeparator, charsetName);
+		assertTrue(file.length() > 4 * 64 * 1024);
+
+		CSVReader sequential = new CSVReader(newConfig());
+		sequential.read(file, charsetName);
+		CSVReader parallel = new CSVReader(newConfig());
+		parallel.readParallel(file, charsetName);
+
+		List<CSVRow> expected = sequential.getCsvRows();
+		List<CSVRow> actual = parallel.getCsvRows();
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getLineNo(), actual.get(i).getLineNo());
+			assertEquals(expected.get(i).getRowData(), actual.get(i).getRowData());
+		}
+		assertEquals(sequential.getAllRowCount(), parallel.getAllRowCount());
+		assertEquals(sequential.getValidRowCount(), parallel.getValidRowCount());
+		assertEquals("多行" + lineSeparator + "备注,\"7\"", actual.get(8).getCellData("remark"));
+	}
+
+	public void testCRLF() throws IOException {
+		assertSameAsSequential("\r\n", "UTF-8");
+	}
+
+	public void testLF() throws IOException {
+		assertSameAsSequential("\n", "UTF-8");
+	}
+
+	public void testCROnly() throws IOException {
+		assertSameAsSequential("\r", "UTF-8");
+	}
+
+	public void testGB18030() throws IOException {
+		assertSameAsSequential("\r\n", "GB18030");
+	}
+
+	public void testUnorderedOutputContainsAllRows() throws IOException {
+		writeFile("\r", "UTF-8");
+		CSVReaderConfig config = newConfig();
+		config.setOrderedOutput(false);
+		final List<Long> lineNos = new ArrayList<Long>();
+		new CSVReader(config).readParallel(file, "UTF-8", new CSVRowHandler() {
+			@Override
+			public boolean handle(CSVRow csvRow) {
+				lineNos.add(csvRow.getLineNo());
+				return true;
+			}
+		});
+		CSVReader sequential = new CSVReader(newConfig());
+		sequential.read(file, "UTF-8");
+		assertEquals(sequential.getCsvRows().size(), lineNos.size());
+	}
+
+	public void testReadParallelDoesNotChangeSharedConfig() throws IOException {
+		writeFile("\n", "UTF-8");
+		CSVReaderConfig config = newConfig();
+		config.setOrderedOutput(false);
+		new CSVReader(config).readParallel(file, "UTF-8");
+		assertFalse(config.isOrderedOutput());
+	}
+}
@@ -0,0 +1,54 @@
+package org.xlp.csv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * csv行数据标题索引测试
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class CSVRowTest extends TestCase {
+	private static CSVRow header(String... titles) {
+		CSVRow row = new CSVRow(1, new ArrayList<String>(Arrays.asList(titles)), null, true);
+		row.setConfig(new CSVReaderConfig());
+		return row;
+	}
+
+	public void testHeaderIndexIsCached() {
+		CSVRow row = header("name", "age");
+		CSVHeader index = row.getHeaderIndex();
+		assertSame(index, row.getHeaderIndex());
+		assertEquals(1, index.indexOf("age"));
+	}
+
+	public void testHeaderIndexRebuiltWhenRowDataChanges() {
+		CSVRow row = header("name");
+		CSVHeader index = row.getHeaderIndex();
+		row.addCellData("age");
+		assertNotSame(index, row.getHeaderIndex());
+		assertEquals(1, row.getHeaderIndex().indexOf("age"));
+
+		row.setRowData(new ArrayList<String>(Arrays.asList("id")));
+		assertEquals(0, row.getHeaderIndex().indexOf("id"));
+		assertEquals(-1, row.getHeaderIndex().indexOf("age"));
+
+		row.setHeader(false);
+		assertNull(row.getHeaderIndex());
+	}
+
+	public void testHeaderMapIsMutableCopy() {
+		CSVRow row = header("name", "age");
+		Map<Integer, String> map = row.getHeaderMap();
+		map.put(Integer.valueOf(2), "sex");
+		assertEquals("age", map.get(Integer.valueOf(1)));
+		assertEquals(2, row.getHeaderIndex().size());
+
+		row.setHeaderMap(map);
+		assertEquals(2, row.getHeaderIndex().indexOf("sex"));
+	}
+}
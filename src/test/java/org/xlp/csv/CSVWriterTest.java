@@ -0,0 +1,140 @@
+package org.xlp.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+
+import junit.framework.TestCase;
+
+/**
+ * csv文件写入测试
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class CSVWriterTest extends TestCase {
+	public static class Base {
+		private String name;
+
+		private int age;
+
+		public Base() {
+		}
+
+		public Base(String name, int age) {
+			this.name = name;
+			this.age = age;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+	}
+
+	public static class Sub extends Base {
+		private String extra;
+
+		public Sub(String name, int age, String extra) {
+			super(name, age);
+			this.extra = extra;
+		}
+
+		public String getExtra() {
+			return extra;
+		}
+	}
+
+	public static class Broken {
+		private String value;
+
+		public String getValue() {
+			throw new IllegalStateException("broken");
+		}
+	}
+
+	private static List<CSVRow> read(String csv) {
+		CSVReaderConfig config = new CSVReaderConfig();
+		config.setSkipEmptyRow(false);
+		CSVReader reader = new CSVReader(config);
+		reader.read(new StringReader(csv));
+		return reader.getCsvRows();
+	}
+
+	public void testSpecialCellsRoundTrip() {
+		List<String> cells = Arrays.asList("plain", "a,b", "say \"hi\"", "line1\r\nline2", "", "中文");
+		StringWriter out = new StringWriter();
+		CSVWriter writer = new CSVWriter(out);
+		writer.writeRow(cells);
+		writer.writeRow("x", null, "y");
+		writer.close();
+		assertTrue(out.toString().startsWith("plain,\"a,b\",\"say \"\"hi\"\"\","));
+
+		List<CSVRow> rows = read(out.toString());
+		assertEquals(2, rows.size());
+		assertEquals(cells, rows.get(0).getRowData());
+		assertEquals(Arrays.asList("x", "", "y"), rows.get(1).getRowData());
+	}
+
+	public void testSubclassBeansUseDeclaredClassColumns() {
+		StringWriter out = new StringWriter();
+		CSVWriter writer = new CSVWriter(out);
+		writer.writeBeans(Arrays.<Base>asList(new Base("a", 1), new Sub("b", 2, "e")), Base.class, true);
+		writer.close();
+
+		List<CSVRow> rows = read(out.toString());
+		assertEquals(Arrays.asList("name", "age"), rows.get(0).getRowData());
+		assertEquals(Arrays.asList("a", "1"), rows.get(1).getRowData());
+		assertEquals(Arrays.asList("b", "2"), rows.get(2).getRowData());
+	}
+
+	public void testColumnsRebuiltAfterClearCache() {
+		StringWriter out = new StringWriter();
+		CSVWriter writer = new CSVWriter(out);
+		writer.writeBean(new Base("a", 1));
+		JavaBeanPropertiesDescriptor.clearCache();
+		writer.writeBean(new Base("b", 2));
+		writer.close();
+
+		List<CSVRow> rows = read(out.toString());
+		assertEquals(Arrays.asList("a", "1"), rows.get(0).getRowData());
+		assertEquals(Arrays.asList("b", "2"), rows.get(1).getRowData());
+	}
+
+	public void testGetterFailureIsReported() {
+		CSVWriter writer = new CSVWriter(new StringWriter());
+		try {
+			writer.writeBean(new Broken());
+			fail("读方法出错时应抛出异常");
+		} catch (CSVException e) {
+			assertTrue(e.getMessage().contains("value"));
+		}
+	}
+
+	public void testInvalidCharsetDoesNotCreateFile() throws IOException {
+		File file = File.createTempFile("xlp-csv-", ".csv");
+		assertTrue(file.delete());
+		try {
+			new CSVWriter(file, "no-such-charset");
+			fail("编码无效时应抛出异常");
+		} catch (RuntimeException e) {
+			assertFalse(file.exists());
+		}
+	}
+}
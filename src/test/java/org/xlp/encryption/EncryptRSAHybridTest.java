@@ -0,0 +1,147 @@
+package org.xlp.encryption;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * RSA + AES-GCM混合加密测试
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class EncryptRSAHybridTest extends TestCase {
+	private static EncryptRSA rsa;
+
+	private File src;
+
+	private File dest;
+
+	@Override
+	protected void setUp() throws Exception {
+		if (rsa == null) {
+			rsa = new EncryptRSA(2048);
+		}
+		src = File.createTempFile("xlp-rsa-", ".src");
+		dest = File.createTempFile("xlp-rsa-", ".dest");
+	}
+
+	@Override
+	protected void tearDown() {
+		src.delete();
+		dest.delete();
+	}
+
+	private static HybridEncryptConfig smallChunks() {
+		HybridEncryptConfig config = new HybridEncryptConfig();
+		config.setChunkSize(HybridEncryptConfig.MIN_CHUNK_SIZE);
+		config.setParallelism(3);
+		return config;
+	}
+
+	private static byte[] data(int length) {
+		byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		return data;
+	}
+
+	private static byte[] encrypt(byte[] data, HybridEncryptConfig config) throws EncryptException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		rsa.encryptInputStreamHybridByPublicKey(new ByteArrayInputStream(data), out, config);
+		return out.toByteArray();
+	}
+
+	private static byte[] decrypt(byte[] encrypted, HybridEncryptConfig config) throws EncryptException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		rsa.decryptInputStreamHybridByPrivateKey(new ByteArrayInputStream(encrypted), out, config);
+		return out.toByteArray();
+	}
+
+	private static void write(File file, byte[] data) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(data);
+		} finally {
+			out.close();
+		}
+	}
+
+	public void testStreamRoundTrip() throws EncryptException {
+		int chunk = HybridEncryptConfig.MIN_CHUNK_SIZE;
+		for (int length : new int[] { 0, 1, chunk - 1, chunk, chunk * 10 + 7 }) {
+			byte[] data = data(length);
+			byte[] encrypted = encrypt(data, smallChunks());
+			assertTrue(Arrays.equals(data, decrypt(encrypted, smallChunks())));
+			// 解密时分块大小从密文头中读取，与解密配置无关
+			assertTrue(Arrays.equals(data, decrypt(encrypted, null)));
+		}
+	}
+
+	public void testFileRoundTrip() throws Exception {
+		byte[] data = data(HybridEncryptConfig.MIN_CHUNK_SIZE * 5 + 3);
+		write(src, data);
+		File encrypted = new File(dest.getPath() + ".enc");
+		try {
+			rsa.encryptFileHybridByPublicKey(src, encrypted, smallChunks());
+			rsa.decryptFileHybridByPrivateKey(encrypted, dest);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			Files.copy(dest.toPath(), out);
+			assertTrue(Arrays.equals(data, out.toByteArray()));
+		} finally {
+			encrypted.delete();
+		}
+	}
+
+	public void testTamperedDataIsRejected() throws EncryptException {
+		byte[] encrypted = encrypt(data(HybridEncryptConfig.MIN_CHUNK_SIZE * 3), smallChunks());
+		int[] positions = { 0, encrypted.length / 2, encrypted.length - 1 };
+		for (int position : positions) {
+			byte[] tampered = encrypted.clone();
+			tampered[position] ^= 1;
+			try {
+				decrypt(tampered, null);
+				fail("密文第" + position + "个字节被修改时应解密失败");
+			} catch (EncryptException e) {
+				// 期望的异常
+			}
+		}
+		try {
+			decrypt(Arrays.copyOf(encrypted, encrypted.length - HybridEncryptConfig.MIN_CHUNK_SIZE), null);
+			fail("密文被截断时应解密失败");
+		} catch (EncryptException e) {
+			// 期望的异常
+		}
+	}
+
+	public void testTamperedFileLeavesNoOutput() throws Exception {
+		byte[] encrypted = encrypt(data(HybridEncryptConfig.MIN_CHUNK_SIZE * 3), smallChunks());
+		encrypted[encrypted.length - 1] ^= 1;
+		write(src, encrypted);
+		try {
+			rsa.decryptFileHybridByPrivateKey(src, dest);
+			fail("密文被篡改时应解密失败");
+		} catch (EncryptException e) {
+			assertFalse(dest.exists());
+		}
+	}
+
+	public void testFailedEncryptionLeavesNoOutput() throws Exception {
+		write(src, data(100));
+		// 512位的密钥不能包装数据密钥
+		EncryptRSA weak = new EncryptRSA(512);
+		try {
+			weak.encryptFileHybridByPublicKey(src, dest);
+			fail("密钥太短时应加密失败");
+		} catch (EncryptException e) {
+			assertFalse(dest.exists());
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package org.xlp.javabean.config;
+
+import org.xlp.javabean.AccessorStrategy;
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+import org.xlp.javabean.PropertyDescriptor;
+
+import junit.framework.TestCase;
+
+/**
+ * 读写方法调用方式配置测试
+ *
+ * @author 徐龙平
+ * @version 1.0
+ */
+public class AccessorConfigTest extends TestCase {
+	public static class User {
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	@Override
+	protected void tearDown() {
+		AccessorConfig.setStrategy(User.class, null);
+		AccessorConfig.setDefaultStrategy(null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static String readName(User user) throws Exception {
+		PropertyDescriptor<User> pd = JavaBeanPropertiesDescriptor.getInstance(User.class).getDescriptor("name");
+		return (String) pd.executeReadMethod(user);
+	}
+
+	public void testChangingStrategyRefreshesDescriptors() throws Exception {
+		User user = new User();
+		user.setName("x");
+		JavaBeanPropertiesDescriptor<User> before = JavaBeanPropertiesDescriptor.getInstance(User.class);
+		assertEquals("x", readName(user));
+
+		AccessorConfig.setStrategy(User.class, AccessorStrategy.GENERATED);
+		JavaBeanPropertiesDescriptor<User> generated = JavaBeanPropertiesDescriptor.getInstance(User.class);
+		assertNotSame(before, generated);
+		assertEquals("x", readName(user));
+
+		// 设置相同的调用方式时不清除缓存
+		AccessorConfig.setStrategy(User.class, AccessorStrategy.GENERATED);
+		assertSame(generated, JavaBeanPropertiesDescriptor.getInstance(User.class));
+
+		AccessorConfig.setStrategy(User.class, null);
+		JavaBeanPropertiesDescriptor<User> reset = JavaBeanPropertiesDescriptor.getInstance(User.class);
+		assertNotSame(generated, reset);
+
+		AccessorConfig.setDefaultStrategy(AccessorStrategy.GENERATED);
+		assertNotSame(reset, JavaBeanPropertiesDescriptor.getInstance(User.class));
+		assertEquals("x", readName(user));
+	}
+}
@@ -0,0 +1,93 @@
+package org.xlp.javabean.convert.mapandbean;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.xlp.javabean.JavaBeanPropertiesDescriptor;
+import org.xlp.javabean.PropertyDescriptor;
+
+import junit.framework.TestCase;
+
+/**
+ * map与bean转换时映射字段名索引的缓存测试
+ *
+ * @author 徐龙平
+ * @version 1.0
+ */
+public class MapBeanNameIndexTest extends TestCase {
+	public static class User {
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	/**
+	 * 映射字段名依赖实例状态的转换器
+	 */
+	static class PrefixMapBean extends MapBeanAbstract<User> {
+		private final String prefix;
+
+		PrefixMapBean(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		protected String virtualReadFieldName(PropertyDescriptor<?> pd) {
+			return prefix + pd.getFieldName();
+		}
+
+		@Override
+		protected String virtualWriteFieldName(PropertyDescriptor<?> pd) {
+			return prefix + pd.getFieldName();
+		}
+
+		@Override
+		protected boolean canUseBeanAnnotation() {
+			return false;
+		}
+	}
+
+	private static User user(String name) {
+		User user = new User();
+		user.setName(name);
+		return user;
+	}
+
+	public void testStatefulConvertersKeepTheirOwnNames() {
+		PrefixMapBean a = new PrefixMapBean("a_");
+		PrefixMapBean b = new PrefixMapBean("b_");
+		assertEquals("x", a.beanToMap(user("x")).get("a_name"));
+		assertEquals("y", b.beanToMap(user("y")).get("b_name"));
+		assertNull(b.beanToMap(user("y")).get("a_name"));
+
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("b_name", "z");
+		assertEquals("z", b.mapToBean(map, User.class).getName());
+		assertNull(a.mapToBean(map, User.class).getName());
+	}
+
+	public void testStatelessConvertersShareNames() {
+		assertTrue(new DefaultMapBean<User>().isNameMappingStateless());
+		assertTrue(new MapBeanConverter<User>().isNameMappingStateless());
+		// 子类可能覆盖映射方法，不共用
+		assertFalse(new DefaultMapBean<User>() {
+		}.isNameMappingStateless());
+		assertEquals("x", new DefaultMapBean<User>().beanToMap(user("x")).get("name"));
+	}
+
+	public void testIndexRebuiltAfterClearCache() {
+		DefaultMapBean<User> mapBean = new DefaultMapBean<User>();
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("name", "x");
+		assertEquals("x", mapBean.mapToBean(map, User.class).getName());
+		JavaBeanPropertiesDescriptor.clearCache();
+		assertEquals("x", mapBean.mapToBean(map, User.class).getName());
+		assertEquals("x", mapBean.beanToMap(user("x")).get("name"));
+	}
+}
@@ -0,0 +1,55 @@
+package org.xlp.json;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import junit.framework.TestCase;
+
+/**
+ * json字符串转义及反转义测试
+ *
+ * @author 徐龙平
+ *
+ * @version 1.0
+ */
+public class JsonEscapeTest extends TestCase {
+	private static final String RAW = "a\"b\\c/d\ne\rf\tg\bh\fi\u0001j\u001fk中";
+
+	public void testParserDecodesEscapes() {
+		JsonObject json = JsonObject.fromJsonString(
+				"{\"v\":\"a\\\"b\\\\c\\/d\\ne\\rf\\tg\\bh\\fi\\u0001j\\u001Fk\\u4e2d\"}");
+		assertEquals(RAW, json.getString("v"));
+	}
+
+	public void testWriterEscapesControlCharacters() {
+		JsonObject json = new JsonObject();
+		json.put("v", RAW);
+		String text = json.toString();
+		for (int i = 0; i < text.length(); i++) {
+			assertTrue("未转义的控制字符：" + (int) text.charAt(i), text.charAt(i) >= 0x20);
+		}
+		assertTrue(text.contains("\\b") && text.contains("\\f") && text.contains("\\u0001"));
+	}
+
+	public void testParseWriteRoundTrip() {
+		JsonObject json = new JsonObject();
+		json.put("v", RAW);
+		JsonObject parsed = JsonObject.fromJsonString(json.toString());
+		assertEquals(RAW, parsed.getString("v"));
+		assertEquals(json.toString(), parsed.toString());
+	}
+
+	public void testReaderRoundTrip() throws IOException {
+		JsonObject json = new JsonObject();
+		json.put("v", RAW);
+		JsonReader reader = new JsonReader(new StringReader(json.toString()));
+		try {
+			reader.beginObject();
+			assertEquals("v", reader.nextName());
+			assertEquals(RAW, reader.nextString());
+			reader.endObject();
+		} finally {
+			reader.close();
+		}
+	}
+}
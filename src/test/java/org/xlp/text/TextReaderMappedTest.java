@@ -0,0 +1,86 @@
+package org.xlp.text;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * 内存映射方式读取文本文件测试
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class TextReaderMappedTest extends TestCase {
+	private File file;
+
+	@Override
+	protected void setUp() throws IOException {
+		file = File.createTempFile("xlp-text-", ".txt");
+	}
+
+	@Override
+	protected void tearDown() {
+		file.delete();
+	}
+
+	private void write(String text, String charsetName) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(text.getBytes(charsetName));
+		} finally {
+			out.close();
+		}
+	}
+
+	private static List<String> lines(TextReader reader) throws IOException {
+		try {
+			List<String> lines = new ArrayList<String>();
+			for (LineData lineData : reader.read()) {
+				lines.add(lineData.getLineNo() + ":" + lineData.getLineData());
+			}
+			return lines;
+		} finally {
+			reader.close();
+		}
+	}
+
+	public void testMappedMatchesPlainReader() throws IOException {
+		write("第一行\r\nkey=1\n\nlast key=2", "UTF-8");
+		assertEquals(lines(new TextReader(file, "UTF-8")), lines(TextReader.mapped(file, "UTF-8", null)));
+	}
+
+	public void testByteLineFilter() throws IOException {
+		write("a key\r\nb\r\n中文key\nc", "GBK");
+		ByteLineFilter filter = ByteLineFilter.contains("key".getBytes(StandardCharsets.US_ASCII));
+		assertEquals(Arrays.asList("1:a key", "3:中文key"), lines(TextReader.mapped(file, "GBK", filter)));
+	}
+
+	public void testUnsupportedCharsetWithFilterIsRejected() throws IOException {
+		write("a\nb", "UTF-16");
+		try {
+			TextReader.mapped(file, "UTF-16", ByteLineFilter.contains(new byte[] { 'a' }));
+			fail("编码不支持字节行过滤器时应抛出异常");
+		} catch (IllegalArgumentException e) {
+			// 期望的异常
+		}
+		assertEquals(Arrays.asList("1:a", "2:b"), lines(TextReader.mapped(file, "UTF-16", null)));
+	}
+
+	public void testCloseBeforeEnd() throws IOException {
+		write("a\nb\nc", "UTF-8");
+		TextReader reader = TextReader.mapped(file, "UTF-8", null);
+		LineIterator iterator = reader.iterator();
+		assertEquals("a", iterator.next().getLineData());
+		iterator.close();
+		assertFalse(iterator.hasNext());
+		reader.close();
+		assertTrue(file.delete());
+	}
+}
@@ -0,0 +1,115 @@
+package org.xlp.zip;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import junit.framework.TestCase;
+
+/**
+ * zip文件并行解压测试
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class ZipExtractorTest extends TestCase {
+	/**
+	 * 处理后都对应a/b.txt的实体名称，最后一个实体应覆盖前面的实体
+	 */
+	private static final String[] COLLIDING_NAMES = { "a/b.txt", "a//b.txt", "./a/b.txt", "../a/b.txt",
+			"a/./b.txt", "/a/b.txt", "a\\b.txt", "../../a/../b.txt" };
+
+	private File root;
+
+	private File zip;
+
+	@Override
+	protected void setUp() throws IOException {
+		root = File.createTempFile("xlp-unzip-", "");
+		assertTrue(root.delete());
+		assertTrue(root.mkdirs());
+		zip = new File(root, "test.zip");
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip));
+		try {
+			for (int i = 0; i < COLLIDING_NAMES.length; i++) {
+				out.putNextEntry(new ZipEntry(COLLIDING_NAMES[i]));
+				out.write(content(i));
+				out.closeEntry();
+			}
+			out.putNextEntry(new ZipEntry("c.txt"));
+			out.write(content(0));
+			out.closeEntry();
+		} finally {
+			out.close();
+		}
+	}
+
+	@Override
+	protected void tearDown() {
+		ZipParallelTest.delete(root);
+	}
+
+	/**
+	 * 每个实体的内容及长度都不同，多个线程同时写同一文件时结果会不一致
+	 */
+	private static byte[] content(int index) {
+		byte[] data = new byte[(COLLIDING_NAMES.length - index) * 100 * 1024];
+		Arrays.fill(data, (byte) ('0' + index));
+		return data;
+	}
+
+	private static byte[] read(File file) throws IOException {
+		RandomAccessFile in = new RandomAccessFile(file, "r");
+		try {
+			byte[] data = new byte[(int) in.length()];
+			in.readFully(data);
+			return data;
+		} finally {
+			in.close();
+		}
+	}
+
+	public void testCollidingEntriesLastOneWins() throws IOException {
+		for (int parallelism : new int[] { 1, 4 }) {
+			File dest = new File(root, "dest" + parallelism);
+			ZipExtractor extractor = new ZipExtractor(zip, "UTF-8");
+			try {
+				ZipStats stats = extractor.extractAll(dest, parallelism);
+				assertEquals(COLLIDING_NAMES.length + 1, stats.getEntryCount());
+				assertEquals(content(COLLIDING_NAMES.length - 1).length + content(0).length,
+						stats.getTotalBytes());
+			} finally {
+				extractor.close();
+			}
+			assertTrue(Arrays.equals(content(COLLIDING_NAMES.length - 1), read(new File(dest, "a/b.txt"))));
+			assertTrue(Arrays.equals(content(0), read(new File(dest, "c.txt"))));
+			assertEquals(2, dest.list().length);
+		}
+		// ".."不会使实体解压到目标目录之外
+		assertFalse(new File(root, "a").exists());
+		assertFalse(new File(root, "b.txt").exists());
+	}
+
+	public void testFailedExtractionStopsWorkers() throws IOException {
+		File dest = new File(root, "dest");
+		assertTrue(dest.mkdirs());
+		// 与目录a同名的文件使a/b.txt解压失败
+		ZipParallelTest.write(new File(dest, "a"), new byte[0]);
+		ZipExtractor extractor = new ZipExtractor(zip, "UTF-8");
+		try {
+			extractor.extractAll(dest, 4);
+			fail("解压失败时应抛出异常");
+		} catch (IOException e) {
+			// 期望的异常
+		} finally {
+			extractor.close();
+		}
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			assertFalse(thread.isAlive() && thread.getName().startsWith("xlp-unzip-"));
+		}
+	}
+}
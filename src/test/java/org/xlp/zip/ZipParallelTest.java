@@ -0,0 +1,185 @@
+package org.xlp.zip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import junit.framework.TestCase;
+
+/**
+ * zip并行及增量压缩测试，结果与顺序压缩{@link Zip#toZip(File, boolean)}比较
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class ZipParallelTest extends TestCase {
+	private File root;
+
+	private File src;
+
+	@Override
+	protected void setUp() throws IOException {
+		root = File.createTempFile("xlp-zip-", "");
+		assertTrue(root.delete());
+		src = new File(root, "src");
+		write(new File(src, "a.txt"), "hello zip".getBytes("UTF-8"));
+		write(new File(src, "empty.txt"), new byte[0]);
+		write(new File(src, "dir/中文.txt"), "中文内容".getBytes("UTF-8"));
+		assertTrue(new File(src, "dir/emptyDir").mkdirs());
+		byte[] text = new byte[300 * 1024];
+		for (int i = 0; i < text.length; i++) {
+			text[i] = (byte) ('a' + i % 26);
+		}
+		write(new File(src, "dir/text.log"), text);
+		// 不可压缩的数据，压缩结果超过内存缓存阈值后转存到临时文件
+		byte[] random = new byte[9 * 1024 * 1024];
+		new Random(1).nextBytes(random);
+		write(new File(src, "random.bin"), random);
+	}
+
+	@Override
+	protected void tearDown() {
+		delete(root);
+	}
+
+	static void write(File file, byte[] data) throws IOException {
+		file.getParentFile().mkdirs();
+		OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(data);
+		} finally {
+			out.close();
+		}
+	}
+
+	static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	/**
+	 * 按顺序读取zip文件中的全部实体
+	 */
+	static Map<String, String> entries(File zip) throws IOException {
+		Map<String, String> entries = new LinkedHashMap<String, String>();
+		ZipFile zipFile = new ZipFile(zip, StandardCharsets.UTF_8);
+		try {
+			Enumeration<? extends ZipEntry> e = zipFile.entries();
+			while (e.hasMoreElements()) {
+				ZipEntry entry = e.nextElement();
+				ByteArrayOutputStream data = new ByteArrayOutputStream();
+				InputStream in = zipFile.getInputStream(entry);
+				try {
+					byte[] buffer = new byte[8192];
+					int n;
+					while ((n = in.read(buffer)) != -1) {
+						data.write(buffer, 0, n);
+					}
+				} finally {
+					in.close();
+				}
+				entries.put(entry.getName(), data.toString("ISO-8859-1"));
+			}
+		} finally {
+			zipFile.close();
+		}
+		return entries;
+	}
+
+	private static List<Thread> zipThreads() {
+		List<Thread> threads = new ArrayList<Thread>();
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.isAlive() && thread.getName().startsWith("xlp-zip-")) {
+				threads.add(thread);
+			}
+		}
+		return threads;
+	}
+
+	public void testParallelMatchesSequential() throws IOException {
+		for (boolean keepDirStructure : new boolean[]{true, false}) {
+			File sequential = new File(root, "sequential-" + keepDirStructure + ".zip");
+			File parallel = new File(root, "parallel-" + keepDirStructure + ".zip");
+			new Zip(src, "UTF-8").toZip(sequential, keepDirStructure);
+			ZipStats stats = new Zip(src, "UTF-8").toZipParallel(parallel, keepDirStructure, 3);
+
+			Map<String, String> expected = entries(sequential);
+			assertEquals(new ArrayList<String>(expected.keySet()), new ArrayList<String>(entries(parallel).keySet()));
+			assertEquals(expected, entries(parallel));
+			assertEquals(expected.size(), stats.getEntryCount());
+		}
+	}
+
+	public void testIncrementalMatchesSequential() throws IOException {
+		File incremental = new File(root, "incremental.zip");
+		File sequential = new File(root, "sequential.zip");
+		ZipStats stats = new Zip(src, "UTF-8").toZipIncremental(incremental, true, 3);
+		assertEquals(0, stats.getReusedEntryCount());
+		assertTrue(new File(root, "incremental.zip.manifest").isFile());
+		new Zip(src, "UTF-8").toZip(sequential, true);
+		assertEquals(entries(sequential), entries(incremental));
+
+		// 修改、新增及删除文件后再次增量压缩，未变化的文件直接复制
+		File modified = new File(src, "a.txt");
+		write(modified, "hello incremental zip".getBytes("UTF-8"));
+		assertTrue(modified.setLastModified(modified.lastModified() + 2000));
+		write(new File(src, "dir/new.txt"), "new".getBytes("UTF-8"));
+		assertTrue(new File(src, "empty.txt").delete());
+		stats = new Zip(src, "UTF-8").toZipIncremental(incremental, true, 3);
+		assertEquals(3, stats.getReusedEntryCount());
+		assertTrue(sequential.delete());
+		new Zip(src, "UTF-8").toZip(sequential, true);
+		Map<String, String> expected = entries(sequential);
+		assertEquals(new ArrayList<String>(expected.keySet()), new ArrayList<String>(entries(incremental).keySet()));
+		assertEquals(expected, entries(incremental));
+		assertTrue(expected.containsValue("hello incremental zip"));
+
+		// 没有变化时全部复制
+		stats = new Zip(src, "UTF-8").toZipIncremental(incremental, true, 3);
+		assertEquals(5, stats.getReusedEntryCount());
+		assertEquals(expected, entries(incremental));
+	}
+
+	public void testFailedOutputStopsWorkers() throws IOException {
+		OutputStream failing = new OutputStream() {
+			private int written = 0;
+
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				written += len;
+				if (written > 1024) {
+					throw new IOException("disk full");
+				}
+			}
+		};
+		try {
+			new Zip(src, "UTF-8").toZipParallel(failing, true, 3);
+			fail("写入失败时应抛出异常");
+		} catch (IOException e) {
+			// 期望的异常
+		}
+		assertTrue(zipThreads().isEmpty());
+	}
+}
@@ -0,0 +1,130 @@
+package org.xlp.zip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+import junit.framework.TestCase;
+
+/**
+ * 流式zip写入测试
+ *
+ * @author xlp
+ * @version 1.0
+ */
+public class ZipStreamBuilderTest extends TestCase {
+	private static Supplier<InputStream> supplier(final String data) {
+		return new Supplier<InputStream>() {
+			@Override
+			public InputStream get() {
+				return new ByteArrayInputStream(data.getBytes());
+			}
+		};
+	}
+
+	/**
+	 * 按本地实体头顺序读取zip数据中的全部实体
+	 */
+	private static Map<String, String> readStream(byte[] zip) throws IOException {
+		Map<String, String> entries = new LinkedHashMap<String, String>();
+		ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip));
+		try {
+			ZipEntry entry;
+			while ((entry = in.getNextEntry()) != null) {
+				ByteArrayOutputStream data = new ByteArrayOutputStream();
+				byte[] buffer = new byte[8192];
+				int n;
+				while ((n = in.read(buffer)) != -1) {
+					data.write(buffer, 0, n);
+				}
+				entries.put(entry.getName() + ":" + entry.getMethod(), data.toString());
+			}
+		} finally {
+			in.close();
+		}
+		return entries;
+	}
+
+	public void testStoredEntriesReadableByZipInputStream() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		List<Supplier<InputStream>> suppliers = Arrays.asList(supplier("hello"), supplier(""), supplier("zip"));
+		assertTrue(ZipUtils.toZipStream(suppliers, Arrays.asList("a.txt", "empty.txt", "b.txt"), out,
+				ZipEntryConfig.stored()));
+
+		Map<String, String> entries = readStream(out.toByteArray());
+		assertEquals(3, entries.size());
+		assertEquals("hello", entries.get("a.txt:" + ZipEntry.STORED));
+		assertEquals("", entries.get("empty.txt:" + ZipEntry.STORED));
+		assertEquals("zip", entries.get("b.txt:" + ZipEntry.STORED));
+	}
+
+	public void testStoredSinglePassSourceIsRejected() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ZipStreamBuilder builder = new ZipStreamBuilder(out);
+		try {
+			builder.addEntry("a.txt", new ByteArrayInputStream("hello".getBytes()), ZipEntryConfig.stored());
+			fail("只能读取一遍的数据不能写入不压缩的实体");
+		} catch (ZipException e) {
+			// 期望的异常
+		}
+		// 没有写入任何数据，可以继续写入
+		builder.addEntry("a.txt", new ByteArrayInputStream("hello".getBytes()));
+		builder.close();
+		assertEquals("hello", readStream(out.toByteArray()).get("a.txt:" + ZipEntry.DEFLATED));
+	}
+
+	public void testChangedSupplierDataIsRejected() throws IOException {
+		final String[] data = { "first", "second" };
+		Supplier<InputStream> changing = new Supplier<InputStream>() {
+			private int count = 0;
+
+			@Override
+			public InputStream get() {
+				return new ByteArrayInputStream(data[count++].getBytes());
+			}
+		};
+		ZipStreamBuilder builder = new ZipStreamBuilder(new ByteArrayOutputStream());
+		try {
+			builder.addEntry("a.txt", changing, ZipEntryConfig.stored());
+			fail("两次提供的数据不一致时应写入失败");
+		} catch (ZipException e) {
+			// 期望的异常
+		} finally {
+			builder.close();
+		}
+	}
+
+	public void testZip64EntryHasExtraFieldInLocalHeader() throws IOException {
+		ZipEntryConfig config = new ZipEntryConfig();
+		config.setZip64(true);
+		File zip = File.createTempFile("xlp-zip64-", ".zip");
+		try {
+			ZipStreamBuilder builder = new ZipStreamBuilder(new FileOutputStream(zip), "UTF-8");
+			builder.addEntry("a.txt", new ByteArrayInputStream("hello zip64".getBytes()), config);
+			builder.addEntry("b.txt", new ByteArrayInputStream("small".getBytes()));
+			builder.close();
+
+			byte[] bytes = Files.readAllBytes(zip.toPath());
+			// 本地实体头中扩展字段的长度及ID
+			assertEquals(20, (bytes[28] & 0xFF) | (bytes[29] & 0xFF) << 8);
+			assertEquals(1, (bytes[30 + "a.txt".length()] & 0xFF));
+			Map<String, String> entries = ZipParallelTest.entries(zip);
+			assertEquals("hello zip64", entries.get("a.txt"));
+			assertEquals("small", entries.get("b.txt"));
+		} finally {
+			zip.delete();
+		}
+	}
+}